@@ -0,0 +1,51 @@
+package com.global.lbc.loadtest;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Counters and latency histogram for one scenario.
+public class EndpointStats {
+
+    private final Scenario scenario;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public EndpointStats(Scenario scenario) {
+        this.scenario = scenario;
+    }
+
+    public void recordSuccess(long latencyMicros) {
+        latency.record(latencyMicros);
+    }
+
+    public void recordError(long latencyMicros) {
+        latency.record(latencyMicros);
+        errors.incrementAndGet();
+    }
+
+    // A request that could not be issued at all (e.g. approve with no pending vacation available)
+    public void recordDropped() {
+        dropped.incrementAndGet();
+    }
+
+    public Scenario scenario() {
+        return scenario;
+    }
+
+    public LatencyHistogram latency() {
+        return latency;
+    }
+
+    public long errors() {
+        return errors.get();
+    }
+
+    public long dropped() {
+        return dropped.get();
+    }
+
+    public double errorRate() {
+        long total = latency.count();
+        return total == 0 ? 0 : (double) errors.get() / total;
+    }
+}
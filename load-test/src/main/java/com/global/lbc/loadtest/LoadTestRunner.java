@@ -0,0 +1,213 @@
+package com.global.lbc.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// ============================================================
+// OPEN-MODEL LOAD GENERATOR
+// Requests arrive as a Poisson process at the configured rate, independently of how
+// fast the server answers (no coordinated omission): latency is measured from the
+// scheduled arrival time, not from when the request actually left the client.
+//
+//   run:     --base-url http://localhost:8080 --rate 200 --duration 60s --warmup 10s
+//            --mix list=50,search=20,create=20,approve=10 --label baseline --results-dir load-test/results
+//            --email admin@example.com --password ... (default: AUTH_BOOTSTRAP_ADMIN_EMAIL/_PASSWORD)
+//   compare: --compare load-test/results/a.csv load-test/results/b.csv
+// ============================================================
+public class LoadTestRunner {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+
+        if (options.containsKey("compare")) {
+            String[] files = options.get("compare").split(" ");
+            RunResult baseline = RunResult.read(Path.of(files[0]));
+            RunResult candidate = RunResult.read(Path.of(files[1]));
+            System.out.print(RunResult.compare(baseline, candidate));
+            return;
+        }
+
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        double rate = Double.parseDouble(options.getOrDefault("rate", "100"));
+        Duration duration = parseDuration(options.getOrDefault("duration", "60s"));
+        Duration warmup = parseDuration(options.getOrDefault("warmup", "10s"));
+        TrafficMix mix = TrafficMix.parse(options.getOrDefault("mix", TrafficMix.DEFAULT));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "2000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        String label = options.getOrDefault("label", "run");
+        // exec:java sets loadtest.results-dir to load-test/results, independent of the working directory
+        Path resultsDir = Path.of(options.getOrDefault("results-dir",
+                System.getProperty("loadtest.results-dir", "results")));
+        // Same variables that create the first ADMIN login of the API
+        String email = options.getOrDefault("email", System.getenv("AUTH_BOOTSTRAP_ADMIN_EMAIL"));
+        String password = options.getOrDefault("password", System.getenv("AUTH_BOOTSTRAP_ADMIN_PASSWORD"));
+        if (email == null || password == null) {
+            throw new IllegalArgumentException(
+                    "--email and --password (or AUTH_BOOTSTRAP_ADMIN_EMAIL and AUTH_BOOTSTRAP_ADMIN_PASSWORD) are required");
+        }
+
+        new LoadTestRunner().run(new TargetApi(baseUrl, email, password), baseUrl, rate, duration, warmup, mix,
+                maxInFlight, seed, label, resultsDir);
+    }
+
+    private void run(TargetApi api, String baseUrl, double rate, Duration duration, Duration warmup, TrafficMix mix,
+                     int maxInFlight, long seed, String label, Path resultsDir) throws Exception {
+        ExecutorService responseExecutor = Executors.newFixedThreadPool(
+                Math.max(4, Runtime.getRuntime().availableProcessors()));
+        HttpClient client = HttpClient.newBuilder()
+                .executor(responseExecutor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+
+        api.login(client);
+        HttpResponse<String> seed100 = client.send(api.employeeSeedRequest(100), HttpResponse.BodyHandlers.ofString());
+        if (seed100.statusCode() != 200) {
+            throw new IllegalStateException("Could not load employees from " + baseUrl + " (HTTP " + seed100.statusCode() + ")");
+        }
+        api.registerEmployees(seed100.body());
+        System.out.printf("Target %s, %d employees known, mix %s, %.1f req/s%n", baseUrl, api.knownEmployees(), mix, rate);
+
+        if (!warmup.isZero()) {
+            System.out.printf("Warm-up for %ds...%n", warmup.toSeconds());
+            drive(client, api, mix, rate, warmup, maxInFlight, new SplittableRandom(seed ^ 0x5DEECE66DL));
+        }
+
+        System.out.printf("Measuring for %ds...%n", duration.toSeconds());
+        long started = System.nanoTime();
+        Map<Scenario, EndpointStats> stats = drive(client, api, mix, rate, duration, maxInFlight, new SplittableRandom(seed));
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        Map<String, String> metadata = new LinkedHashMap<>();
+        metadata.put("label", label);
+        metadata.put("started", LocalDateTime.now().toString());
+        metadata.put("base_url", baseUrl);
+        metadata.put("rate", String.valueOf(rate));
+        metadata.put("duration_s", String.valueOf(duration.toSeconds()));
+        metadata.put("mix", mix.toString());
+        metadata.put("seed", String.valueOf(seed));
+
+        RunResult result = RunResult.from(metadata, new ArrayList<>(stats.values()), seconds);
+        System.out.print(result.toTable());
+
+        Path file = resultsDir.resolve(LocalDateTime.now().format(FILE_TIMESTAMP) + "-" + label + ".csv");
+        result.write(file);
+        System.out.println("Results written to " + file);
+
+        responseExecutor.shutdown();
+        responseExecutor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private Map<Scenario, EndpointStats> drive(HttpClient client, TargetApi api, TrafficMix mix, double rate,
+                                              Duration duration, int maxInFlight, SplittableRandom random)
+            throws InterruptedException {
+        Map<Scenario, EndpointStats> stats = new EnumMap<>(Scenario.class);
+        for (Scenario scenario : Scenario.values()) {
+            stats.put(scenario, new EndpointStats(scenario));
+        }
+
+        AtomicInteger inFlight = new AtomicInteger();
+        double meanIntervalNanos = 1e9 / rate;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long nextArrival = start;
+
+        while (nextArrival < end) {
+            long wait = nextArrival - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            api.renewLoginIfExpiring(client);
+            final long scheduledAt = nextArrival;
+            Scenario scenario = mix.next(random);
+            EndpointStats endpoint = stats.get(scenario);
+            HttpRequest request = api.build(scenario, random);
+
+            if (request == null) {
+                endpoint.recordDropped();
+            } else if (inFlight.get() >= maxInFlight) {
+                // The client itself is saturated; count it against the endpoint rather than slowing arrivals
+                endpoint.recordError(0);
+            } else {
+                inFlight.incrementAndGet();
+                client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                        .whenComplete((response, error) -> {
+                            inFlight.decrementAndGet();
+                            long latencyMicros = (System.nanoTime() - scheduledAt) / 1_000;
+                            if (error != null || response.statusCode() >= 400) {
+                                endpoint.recordError(latencyMicros);
+                            } else {
+                                endpoint.recordSuccess(latencyMicros);
+                                api.onResponse(scenario, response);
+                            }
+                        });
+            }
+
+            // Exponential inter-arrival times give a Poisson arrival process
+            nextArrival += (long) (-Math.log(1.0 - random.nextDouble()) * meanIntervalNanos);
+        }
+
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        return stats;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            String key = arg.substring(2);
+            if (key.equals("compare")) {
+                if (i + 2 >= args.length) {
+                    throw new IllegalArgumentException("--compare needs two result files");
+                }
+                options.put(key, args[i + 1] + " " + args[i + 2]);
+                i += 2;
+                continue;
+            }
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + arg);
+            }
+            options.put(key, args[++i]);
+        }
+        return options;
+    }
+
+    private static Duration parseDuration(String value) {
+        String v = value.trim().toLowerCase();
+        if (v.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+        }
+        if (v.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        if (v.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(v));
+    }
+}
@@ -0,0 +1,114 @@
+package com.global.lbc.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// ============================================================
+// Summary of one run, stored as CSV (with "# key=value" metadata lines) so that
+// runs can be diffed, committed or loaded into a spreadsheet.
+// ============================================================
+public record RunResult(Map<String, String> metadata, List<Row> rows) {
+
+    private static final String HEADER =
+            "endpoint,requests,errors,dropped,error_rate,throughput_rps,mean_ms,p50_ms,p90_ms,p99_ms,p999_ms,max_ms";
+
+    public record Row(String endpoint, long requests, long errors, long dropped, double errorRate,
+                      double throughput, double mean, double p50, double p90, double p99, double p999, double max) {
+    }
+
+    public static RunResult from(Map<String, String> metadata, List<EndpointStats> stats, double seconds) {
+        List<Row> rows = new ArrayList<>();
+        for (EndpointStats s : stats) {
+            LatencyHistogram h = s.latency();
+            rows.add(new Row(
+                    s.scenario().key(),
+                    h.count(),
+                    s.errors(),
+                    s.dropped(),
+                    s.errorRate(),
+                    h.count() / seconds,
+                    h.meanMicros() / 1000.0,
+                    h.percentileMicros(50) / 1000.0,
+                    h.percentileMicros(90) / 1000.0,
+                    h.percentileMicros(99) / 1000.0,
+                    h.percentileMicros(99.9) / 1000.0,
+                    h.maxMicros() / 1000.0
+            ));
+        }
+        return new RunResult(metadata, rows);
+    }
+
+    public void write(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        StringBuilder sb = new StringBuilder();
+        metadata.forEach((k, v) -> sb.append("# ").append(k).append('=').append(v).append('\n'));
+        sb.append(HEADER).append('\n');
+        for (Row r : rows) {
+            sb.append(String.format(Locale.ROOT, "%s,%d,%d,%d,%.5f,%.2f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+                    r.endpoint, r.requests, r.errors, r.dropped, r.errorRate, r.throughput,
+                    r.mean, r.p50, r.p90, r.p99, r.p999, r.max));
+        }
+        Files.writeString(file, sb.toString());
+    }
+
+    public static RunResult read(Path file) throws IOException {
+        Map<String, String> metadata = new LinkedHashMap<>();
+        List<Row> rows = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            if (line.isBlank() || line.startsWith(HEADER)) {
+                continue;
+            }
+            if (line.startsWith("# ")) {
+                String[] kv = line.substring(2).split("=", 2);
+                metadata.put(kv[0], kv.length > 1 ? kv[1] : "");
+                continue;
+            }
+            String[] c = line.split(",");
+            rows.add(new Row(c[0], Long.parseLong(c[1]), Long.parseLong(c[2]), Long.parseLong(c[3]),
+                    Double.parseDouble(c[4]), Double.parseDouble(c[5]), Double.parseDouble(c[6]),
+                    Double.parseDouble(c[7]), Double.parseDouble(c[8]), Double.parseDouble(c[9]),
+                    Double.parseDouble(c[10]), Double.parseDouble(c[11])));
+        }
+        return new RunResult(metadata, rows);
+    }
+
+    public String toTable() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%-8s %9s %7s %8s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "err%", "rps", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (Row r : rows) {
+            sb.append(String.format(Locale.ROOT, "%-8s %9d %7d %7.2f%% %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    r.endpoint, r.requests, r.errors, r.errorRate * 100, r.throughput,
+                    r.p50, r.p90, r.p99, r.p999, r.max));
+        }
+        return sb.toString();
+    }
+
+    public static String compare(RunResult baseline, RunResult candidate) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%-8s %-10s %12s %12s %9s%n", "endpoint", "metric", "baseline", "candidate", "delta"));
+        for (Row b : baseline.rows) {
+            Row c = candidate.rows.stream().filter(r -> r.endpoint.equals(b.endpoint)).findFirst().orElse(null);
+            if (c == null) {
+                sb.append(String.format(Locale.ROOT, "%-8s (missing in candidate)%n", b.endpoint));
+                continue;
+            }
+            appendDelta(sb, b.endpoint, "rps", b.throughput, c.throughput);
+            appendDelta(sb, b.endpoint, "p50 ms", b.p50, c.p50);
+            appendDelta(sb, b.endpoint, "p99 ms", b.p99, c.p99);
+            appendDelta(sb, b.endpoint, "err%", b.errorRate * 100, c.errorRate * 100);
+        }
+        return sb.toString();
+    }
+
+    private static void appendDelta(StringBuilder sb, String endpoint, String metric, double baseline, double candidate) {
+        String delta = baseline == 0 ? "n/a" : String.format(Locale.ROOT, "%+.1f%%", (candidate - baseline) / baseline * 100);
+        sb.append(String.format(Locale.ROOT, "%-8s %-10s %12.2f %12.2f %9s%n", endpoint, metric, baseline, candidate, delta));
+    }
+}
@@ -0,0 +1,34 @@
+package com.global.lbc.loadtest;
+
+// Traffic types driven by the load test. The label is used as the per-endpoint key in reports.
+public enum Scenario {
+    LIST("list", "GET /employees"),
+    SEARCH("search", "GET /employees/search"),
+    CREATE_VACATION("create", "POST /vacations"),
+    APPROVE("approve", "PUT /vacations/{id}/approve");
+
+    private final String key;
+    private final String endpoint;
+
+    Scenario(String key, String endpoint) {
+        this.key = key;
+        this.endpoint = endpoint;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public String endpoint() {
+        return endpoint;
+    }
+
+    public static Scenario fromKey(String key) {
+        for (Scenario scenario : values()) {
+            if (scenario.key.equalsIgnoreCase(key)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scenario: " + key + " (expected list, search, create or approve)");
+    }
+}
@@ -0,0 +1,178 @@
+package com.global.lbc.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.random.RandomGenerator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// ============================================================
+// Builds the HTTP requests for each scenario against the running API and keeps the
+// small amount of state the mix needs: known employee IDs (for creates) and the
+// vacations created during the run that are still pending (for approvals).
+// Every request carries the bearer token of one login, taken once before the run and renewed in
+// the background shortly before it expires. The API rate-limits per authenticated user, so the
+// whole run shares that user's buckets (see README).
+// ============================================================
+public class TargetApi {
+
+    private static final Pattern ID_PATTERN = Pattern.compile("\"id\"\\s*:\\s*\"([0-9a-fA-F-]{36})\"");
+    private static final String[] SEARCH_TERMS = {
+            "ana", "sousa", "rui", "lopes", "mar", "silva", "jo", "pinto", "costa", "fer"
+    };
+    private static final Pattern TOKEN_PATTERN = Pattern.compile("\"accessToken\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern EXPIRES_IN_PATTERN = Pattern.compile("\"expiresIn\"\\s*:\\s*(\\d+)");
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    // Renew the token this long before it expires; also the pause after a failed renewal
+    private static final Duration RENEW_MARGIN = Duration.ofMinutes(1);
+
+    private final String baseUrl;
+    private final String email;
+    private final String password;
+    private volatile String token;
+    private volatile long renewAt;
+    private final AtomicBoolean renewing = new AtomicBoolean();
+    private final List<UUID> employeeIds = new ArrayList<>();
+    private final ConcurrentLinkedQueue<UUID> pendingVacations = new ConcurrentLinkedQueue<>();
+
+    public TargetApi(String baseUrl, String email, String password) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.email = email;
+        this.password = password;
+    }
+
+    public void login(HttpClient client) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(loginRequest(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200 || !registerToken(response.body())) {
+            throw new IllegalStateException("Could not log in to " + baseUrl + " as " + email
+                    + " (HTTP " + response.statusCode() + ")");
+        }
+    }
+
+    // Called from the arrival loop: never blocks it, at most one renewal in flight
+    public void renewLoginIfExpiring(HttpClient client) {
+        if (System.nanoTime() < renewAt || !renewing.compareAndSet(false, true)) {
+            return;
+        }
+        client.sendAsync(loginRequest(), HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, error) -> {
+                    if (error != null || response.statusCode() != 200 || !registerToken(response.body())) {
+                        renewAt = System.nanoTime() + RENEW_MARGIN.toNanos();
+                    }
+                    renewing.set(false);
+                });
+    }
+
+    public HttpRequest employeeSeedRequest(int size) {
+        return get("/employees/active?page=0&size=" + size);
+    }
+
+    public void registerEmployees(String body) {
+        Matcher matcher = ID_PATTERN.matcher(body);
+        while (matcher.find()) {
+            employeeIds.add(UUID.fromString(matcher.group(1)));
+        }
+    }
+
+    public int knownEmployees() {
+        return employeeIds.size();
+    }
+
+    // Returns null when the scenario cannot be issued right now (e.g. nothing left to approve)
+    public HttpRequest build(Scenario scenario, RandomGenerator random) {
+        return switch (scenario) {
+            case LIST -> get("/employees?page=" + random.nextInt(0, 20) + "&size=50");
+            case SEARCH -> get("/employees/search?q=" + SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)]);
+            case CREATE_VACATION -> createVacation(random);
+            case APPROVE -> approve();
+        };
+    }
+
+    public void onResponse(Scenario scenario, HttpResponse<String> response) {
+        if (scenario == Scenario.CREATE_VACATION && response.statusCode() == 201) {
+            Matcher matcher = ID_PATTERN.matcher(response.body());
+            if (matcher.find()) {
+                pendingVacations.add(UUID.fromString(matcher.group(1)));
+            }
+        }
+    }
+
+    private boolean registerToken(String body) {
+        Matcher accessToken = TOKEN_PATTERN.matcher(body);
+        Matcher expiresIn = EXPIRES_IN_PATTERN.matcher(body);
+        if (!accessToken.find() || !expiresIn.find()) {
+            return false;
+        }
+        long lifetime = TimeUnit.SECONDS.toNanos(Long.parseLong(expiresIn.group(1)));
+        token = accessToken.group(1);
+        renewAt = System.nanoTime() + Math.max(lifetime / 2, lifetime - RENEW_MARGIN.toNanos());
+        return true;
+    }
+
+    private HttpRequest loginRequest() {
+        String body = "{\"email\":\"" + json(email) + "\",\"password\":\"" + json(password) + "\"}";
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest createVacation(RandomGenerator random) {
+        if (employeeIds.isEmpty()) {
+            return null;
+        }
+        UUID employeeId = employeeIds.get(random.nextInt(employeeIds.size()));
+        LocalDate start = LocalDate.now().plusDays(random.nextInt(1, 700));
+        LocalDate end = start.plusDays(random.nextInt(0, 10));
+        String body = "{\"employeeId\":\"" + employeeId + "\",\"startDate\":\"" + start
+                + "\",\"endDate\":\"" + end + "\",\"requestNotes\":\"load-test\"}";
+
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/vacations"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest approve() {
+        UUID vacationId = pendingVacations.poll();
+        if (vacationId == null) {
+            return null;
+        }
+        // The approver is the logged-in user: it needs the MANAGER or ADMIN role
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/vacations/" + vacationId + "/approve"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "application/json")
+                .PUT(HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+
+    private static String json(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
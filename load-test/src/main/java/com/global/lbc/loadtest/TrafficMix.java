@@ -0,0 +1,71 @@
+package com.global.lbc.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+// Weighted scenario mix parsed from "list=50,search=20,create=20,approve=10".
+public class TrafficMix {
+
+    public static final String DEFAULT = "list=50,search=20,create=20,approve=10";
+
+    private final Scenario[] scenarios;
+    private final double[] cumulative;
+    private final Map<Scenario, Integer> weights;
+
+    private TrafficMix(Map<Scenario, Integer> weights) {
+        this.weights = weights;
+        this.scenarios = weights.keySet().toArray(new Scenario[0]);
+        this.cumulative = new double[scenarios.length];
+
+        double total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        double running = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            running += weights.get(scenarios[i]) / total;
+            cumulative[i] = running;
+        }
+    }
+
+    public static TrafficMix parse(String spec) {
+        Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+        for (String part : spec.split(",")) {
+            String[] keyValue = part.trim().split("=");
+            if (keyValue.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + part);
+            }
+            int weight = Integer.parseInt(keyValue[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Mix weights cannot be negative: " + part);
+            }
+            if (weight > 0) {
+                weights.put(Scenario.fromKey(keyValue[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Traffic mix must contain at least one positive weight");
+        }
+        return new TrafficMix(weights);
+    }
+
+    public Scenario next(RandomGenerator random) {
+        double roll = random.nextDouble();
+        for (int i = 0; i < scenarios.length; i++) {
+            if (roll < cumulative[i]) {
+                return scenarios[i];
+            }
+        }
+        return scenarios[scenarios.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        weights.forEach((scenario, weight) -> {
+            if (!sb.isEmpty()) {
+                sb.append(',');
+            }
+            sb.append(scenario.key()).append('=').append(weight);
+        });
+        return sb.toString();
+    }
+}
@@ -0,0 +1,146 @@
+#!/usr/bin/env bash
+# ========================================
+# STARTUP BENCHMARK
+# ========================================
+# Measures the time from process launch to the first successful GET /employees
+# for the JVM, AppCDS and native builds, and appends one CSV row per run to
+# benchmarks/startup/results.csv (keyed by git commit).
+#
+# Requires a reachable PostgreSQL (docker compose -f docker-compose.java-quarkus.yml up -d postgres)
+# whose schema is already migrated: the faststart profile only validates migrations.
+#
+# GET /employees needs a bearer token (auth.required): every run logs in with
+# AUTH_BOOTSTRAP_ADMIN_EMAIL / AUTH_BOOTSTRAP_ADMIN_PASSWORD as soon as the instance answers, then
+# reads with that token. The measured time therefore includes one login (a bcrypt verification at
+# auth.hashing.cost). The variables are passed to the instance too, so a database without any
+# login gets that ADMIN on its first start; otherwise they must name an existing login.
+#
+# Usage:
+#   scripts/startup-benchmark.sh [jvm|appcds|native|all] [runs]
+#
+# Environment:
+#   SKIP_BUILD=true        reuse the existing artifacts in target/
+#   QUARKUS_PROFILE=...    profile(s) used for the measured runs (default: prod,faststart)
+#   PORT=8080              HTTP port of the measured instance
+#   AUTH_BOOTSTRAP_ADMIN_EMAIL / AUTH_BOOTSTRAP_ADMIN_PASSWORD   login used by the probe (required)
+set -euo pipefail
+
+ROOT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")/.." && pwd)"
+RESULTS_FILE="${ROOT_DIR}/benchmarks/startup/results.csv"
+MODE="${1:-all}"
+RUNS="${2:-5}"
+PORT="${PORT:-8080}"
+PROFILE="${QUARKUS_PROFILE:-prod,faststart}"
+TIMEOUT_SECONDS=120
+
+if [[ -z "${AUTH_BOOTSTRAP_ADMIN_EMAIL:-}" || -z "${AUTH_BOOTSTRAP_ADMIN_PASSWORD:-}" ]]; then
+    echo "AUTH_BOOTSTRAP_ADMIN_EMAIL and AUTH_BOOTSTRAP_ADMIN_PASSWORD must be set (see the header)" >&2
+    exit 1
+fi
+export AUTH_BOOTSTRAP_ADMIN_EMAIL AUTH_BOOTSTRAP_ADMIN_PASSWORD
+LOGIN_BODY="{\"email\":\"${AUTH_BOOTSTRAP_ADMIN_EMAIL}\",\"password\":\"${AUTH_BOOTSTRAP_ADMIN_PASSWORD}\"}"
+
+GIT_SHA="$(git -C "${ROOT_DIR}" rev-parse --short HEAD 2>/dev/null || echo unknown)"
+
+build() {
+    local build_type="$1"
+    if [[ "${SKIP_BUILD:-false}" == "true" ]]; then
+        return
+    fi
+    case "${build_type}" in
+        jvm)    (cd "${ROOT_DIR}" && ./mvnw -B -q package -DskipTests) ;;
+        appcds) (cd "${ROOT_DIR}" && ./mvnw -B -q package -DskipTests -Pappcds) ;;
+        native) (cd "${ROOT_DIR}" && ./mvnw -B -q package -DskipTests -Pnative) ;;
+    esac
+}
+
+launch() {
+    local build_type="$1"
+    case "${build_type}" in
+        jvm)
+            java -Dquarkus.profile="${PROFILE}" -Dquarkus.http.port="${PORT}" \
+                -jar "${ROOT_DIR}/target/quarkus-app/quarkus-run.jar" ;;
+        appcds)
+            java -XX:SharedArchiveFile="${ROOT_DIR}/target/quarkus-app/app-cds.jsa" \
+                -Dquarkus.profile="${PROFILE}" -Dquarkus.http.port="${PORT}" \
+                -jar "${ROOT_DIR}/target/quarkus-app/quarkus-run.jar" ;;
+        native)
+            "${ROOT_DIR}"/target/*-runner -Dquarkus.profile="${PROFILE}" -Dquarkus.http.port="${PORT}" ;;
+    esac
+}
+
+now_ms() {
+    date +%s%3N
+}
+
+# Prints the access token, or nothing while the instance cannot log in yet
+login() {
+    curl -fs -X POST -H 'Content-Type: application/json' -d "${LOGIN_BODY}" \
+        "http://localhost:${PORT}/auth/login" 2>/dev/null \
+        | sed -n 's/.*"accessToken" *: *"\([^"]*\)".*/\1/p' || true
+}
+
+measure() {
+    local build_type="$1"
+    local run="$2"
+    local log_file="${ROOT_DIR}/target/startup-${build_type}-${run}.log"
+
+    local started
+    started="$(now_ms)"
+    launch "${build_type}" >"${log_file}" 2>&1 &
+    local pid=$!
+
+    local elapsed=""
+    local token=""
+    while (( $(now_ms) - started < TIMEOUT_SECONDS * 1000 )); do
+        if [[ -z "${token}" ]]; then
+            token="$(login)"
+        fi
+        if [[ -n "${token}" ]] && curl -fs -o /dev/null -H "Authorization: Bearer ${token}" \
+                "http://localhost:${PORT}/employees?page=0&size=1"; then
+            elapsed=$(( $(now_ms) - started ))
+            break
+        fi
+        sleep 0.01
+    done
+
+    local rss_kb
+    rss_kb="$(ps -o rss= -p "${pid}" 2>/dev/null | tr -d ' ' || echo 0)"
+
+    kill "${pid}" 2>/dev/null || true
+    wait "${pid}" 2>/dev/null || true
+
+    if [[ -z "${elapsed}" ]]; then
+        echo "[${build_type}] run ${run}: no successful response within ${TIMEOUT_SECONDS}s (see ${log_file})" >&2
+        return 1
+    fi
+
+    echo "[${build_type}] run ${run}: ${elapsed} ms to login and first GET /employees (rss ${rss_kb} kB)"
+    echo "$(date -u +%Y-%m-%dT%H:%M:%SZ),${GIT_SHA},${build_type},${run},${elapsed},${rss_kb}" >>"${RESULTS_FILE}"
+}
+
+benchmark() {
+    local build_type="$1"
+    build "${build_type}"
+    for run in $(seq 1 "${RUNS}"); do
+        measure "${build_type}" "${run}"
+    done
+}
+
+mkdir -p "$(dirname "${RESULTS_FILE}")" "${ROOT_DIR}/target"
+if [[ ! -f "${RESULTS_FILE}" ]]; then
+    echo "timestamp,git_sha,build,run,ms_to_first_request,rss_kb" >"${RESULTS_FILE}"
+fi
+
+case "${MODE}" in
+    jvm|appcds|native) benchmark "${MODE}" ;;
+    all)
+        benchmark jvm
+        benchmark appcds
+        benchmark native
+        ;;
+    *)
+        echo "Unknown mode: ${MODE} (expected jvm, appcds, native or all)" >&2
+        exit 1
+        ;;
+esac
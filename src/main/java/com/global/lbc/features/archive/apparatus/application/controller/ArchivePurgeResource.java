@@ -0,0 +1,38 @@
+package com.global.lbc.features.archive.apparatus.application.controller;
+
+import com.global.lbc.features.archive.apparatus.application.service.ArchivePurgeService;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+@Path("/archive/purge")
+@Produces(MediaType.APPLICATION_JSON)
+public class ArchivePurgeResource {
+
+    @Inject
+    ArchivePurgeService purgeService;
+
+    @GET
+    @Path("/status")
+    public Response status() {
+        return Response.ok(purgeService.status()).build();
+    }
+
+    // Runs a purge immediately (same rules as the nightly job) and returns its outcome
+    @POST
+    @Path("/run")
+    public Response run() {
+        if (!purgeService.run()) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(new ErrorResponse("A purge run is already in progress"))
+                    .build();
+        }
+        return Response.ok(purgeService.status()).build();
+    }
+
+    public record ErrorResponse(String error) {}
+}
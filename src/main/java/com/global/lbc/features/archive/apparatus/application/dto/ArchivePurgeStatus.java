@@ -0,0 +1,35 @@
+package com.global.lbc.features.archive.apparatus.application.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Snapshot of the current (or last) purge run, exposed by GET /archive/purge/status
+public class ArchivePurgeStatus {
+
+    public boolean running;
+    public LocalDateTime startedAt;
+    public LocalDateTime finishedAt;
+    public LocalDateTime cutoff;
+    public String lastError;
+    public List<TableProgress> tables = new ArrayList<>();
+    // Tenants another instance was already purging when this run reached them
+    public List<String> skippedTenants = new ArrayList<>();
+
+    public static class TableProgress {
+        public String tenant;
+        public String table;
+        public long rowsArchived;
+        public int batches;
+        public double rowsPerSecond;
+        public boolean completed;
+
+        public TableProgress() {
+        }
+
+        public TableProgress(String tenant, String table) {
+            this.tenant = tenant;
+            this.table = table;
+        }
+    }
+}
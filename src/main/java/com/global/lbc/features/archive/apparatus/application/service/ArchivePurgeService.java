@@ -0,0 +1,307 @@
+package com.global.lbc.features.archive.apparatus.application.service;
+
+import com.global.lbc.features.archive.apparatus.application.dto.ArchivePurgeStatus;
+import com.global.lbc.features.archive.apparatus.application.dto.ArchivePurgeStatus.TableProgress;
+import com.global.lbc.shared.tenant.Tenant;
+import com.global.lbc.shared.tenant.TenantRegistry;
+import com.global.lbc.shared.tenant.Tenants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// ============================================================
+// ARCHIVE PURGE: moves soft-deleted rows older than the retention into the *_archive tables
+// (V1.0.5) in bounded batches. Each batch is a single DELETE ... RETURNING -> INSERT statement
+// in autocommit, so locks are held for one short transaction at a time and a failure
+// never loses rows. Children go first (bookings -> vacations -> employees) so the
+// RESTRICT foreign keys never block; employees that still manage someone are skipped,
+// the same rule EmployeeService.purgeEmployee applies. An employee's ledger movements and
+// balance snapshots are archived by the same statement that archives the employee (V1.0.17).
+// Tenants are purged one after the other within the same run budget, each on its own schema.
+// ============================================================
+@ApplicationScoped
+public class ArchivePurgeService {
+
+    private static final Logger LOG = Logger.getLogger(ArchivePurgeService.class);
+
+    // Shared by every instance and hashed with the schema: only one of them purges a tenant at a time
+    static final long ADVISORY_LOCK_KEY = 0x6172636869766521L;
+
+    // Archive inserts name their columns: a positional SELECT moved.* would silently shift values
+    // into the wrong archive column as soon as the two tables' column order differs
+    private static final String BOOKING_COLUMNS = "id, employee_id, vacation_id, start_date, end_date, days_reserved, "
+            + "booking_status, is_active, request_notes, deleted_at, deleted_by, created_at, updated_at";
+    private static final String VACATION_COLUMNS = "id, employee_id, start_date, end_date, days_requested, "
+            + "vacation_status, is_active, approving_by, approval_date, request_notes, rejection_reason, "
+            + "deleted_at, deleted_by, created_at, updated_at";
+    private static final String EMPLOYEE_COLUMNS = "id, name, surname, fiscal_number, fiscal_number_country, "
+            + "social_number, date_of_birth, contract_role, employee_role, hire_date, termination_date, salary_base, "
+            + "is_active, deleted_at, deleted_by, manager_id, vacation_days_balance, vacation_days_used, "
+            + "created_at, updated_at";
+    private static final String LEDGER_COLUMNS = "id, employee_id, vacation_id, entry_type, balance_delta, used_delta, "
+            + "effective_date, reason, created_by, created_at";
+    private static final String SNAPSHOT_COLUMNS = "employee_id, as_of_date, balance, used, created_at";
+
+    enum PurgeStep {
+        BOOKINGS("vacation_booking", """
+                WITH batch AS (
+                    SELECT b.id, b.start_date FROM vacation_booking b
+                    WHERE b.is_active = FALSE AND b.deleted_at IS NOT NULL AND b.deleted_at < ?
+                    ORDER BY b.deleted_at
+                    LIMIT ?
+                    FOR UPDATE SKIP LOCKED
+                ), moved AS (
+                    DELETE FROM vacation_booking b USING batch
+                    WHERE b.id = batch.id AND b.start_date = batch.start_date
+                    RETURNING b.*
+                )
+                INSERT INTO vacation_booking_archive (%1$s, archived_at)
+                SELECT %1$s, CURRENT_TIMESTAMP FROM moved
+                """.formatted(BOOKING_COLUMNS)),
+
+        VACATIONS("vacation_request", """
+                WITH batch AS (
+                    SELECT v.id, v.start_date FROM vacation_request v
+                    WHERE v.is_active = FALSE AND v.deleted_at IS NOT NULL AND v.deleted_at < ?
+                      AND NOT EXISTS (SELECT 1 FROM vacation_booking b WHERE b.vacation_id = v.id)
+                    ORDER BY v.deleted_at
+                    LIMIT ?
+                    FOR UPDATE SKIP LOCKED
+                ), moved AS (
+                    DELETE FROM vacation_request v USING batch
+                    WHERE v.id = batch.id AND v.start_date = batch.start_date
+                    RETURNING v.*
+                )
+                INSERT INTO vacation_request_archive (%1$s, archived_at)
+                SELECT %1$s, CURRENT_TIMESTAMP FROM moved
+                """.formatted(VACATION_COLUMNS)),
+
+        EMPLOYEES("employee_profile", """
+                WITH batch AS (
+                    SELECT e.id FROM employee_profile e
+                    WHERE e.is_active = FALSE AND e.deleted_at IS NOT NULL AND e.deleted_at < ?
+                      AND NOT EXISTS (SELECT 1 FROM employee_profile s WHERE s.manager_id = e.id)
+                      AND NOT EXISTS (SELECT 1 FROM vacation_request v WHERE v.employee_id = e.id)
+                      AND NOT EXISTS (SELECT 1 FROM vacation_booking b WHERE b.employee_id = e.id)
+                    ORDER BY e.deleted_at
+                    LIMIT ?
+                    FOR UPDATE SKIP LOCKED
+                ), ledger AS (
+                    DELETE FROM vacation_ledger_entry l USING batch
+                    WHERE l.employee_id = batch.id
+                    RETURNING l.*
+                ), archived_ledger AS (
+                    INSERT INTO vacation_ledger_entry_archive (%2$s, archived_at)
+                    SELECT %2$s, CURRENT_TIMESTAMP FROM ledger
+                ), snapshots AS (
+                    DELETE FROM vacation_balance_snapshot s USING batch
+                    WHERE s.employee_id = batch.id
+                    RETURNING s.*
+                ), archived_snapshots AS (
+                    INSERT INTO vacation_balance_snapshot_archive (%3$s, archived_at)
+                    SELECT %3$s, CURRENT_TIMESTAMP FROM snapshots
+                ), moved AS (
+                    DELETE FROM employee_profile e USING batch
+                    WHERE e.id = batch.id
+                    RETURNING e.*
+                )
+                INSERT INTO employee_profile_archive (%1$s, archived_at)
+                SELECT %1$s, CURRENT_TIMESTAMP FROM moved
+                """.formatted(EMPLOYEE_COLUMNS, LEDGER_COLUMNS, SNAPSHOT_COLUMNS));
+
+        final String table;
+        final String sql;
+
+        PurgeStep(String table, String sql) {
+            this.table = table;
+            this.sql = sql;
+        }
+    }
+
+    @Inject
+    Tenants tenants;
+
+    @Inject
+    TenantRegistry tenantRegistry;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "archive.purge.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "archive.purge.retention-days", defaultValue = "30")
+    int retentionDays;
+
+    @ConfigProperty(name = "archive.purge.batch-size", defaultValue = "500")
+    int batchSize;
+
+    // Pause between batches so the purge never saturates I/O or the WAL
+    @ConfigProperty(name = "archive.purge.pause-between-batches", defaultValue = "200ms")
+    Duration pauseBetweenBatches;
+
+    // Anything left over is picked up by the next run
+    @ConfigProperty(name = "archive.purge.max-run-duration", defaultValue = "15m")
+    Duration maxRunDuration;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Map<String, AtomicLong> rowsPerSecond = new ConcurrentHashMap<>();
+    private volatile ArchivePurgeStatus lastStatus = new ArchivePurgeStatus();
+
+    @Scheduled(cron = "${archive.purge.cron:0 30 2 * * ?}", identity = "archive-purge",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void scheduledRun() {
+        if (enabled) {
+            run();
+        }
+    }
+
+    public ArchivePurgeStatus status() {
+        return lastStatus;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    // Returns false when a run is already in progress on this instance
+    public boolean run() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        ArchivePurgeStatus status = new ArchivePurgeStatus();
+        status.running = true;
+        status.startedAt = LocalDateTime.now();
+        status.cutoff = status.startedAt.minusDays(retentionDays);
+        lastStatus = status;
+
+        long deadline = System.nanoTime() + maxRunDuration.toNanos();
+        try {
+            for (Tenant tenant : tenantRegistry.all()) {
+                if (!purge(tenant, status, deadline)) {
+                    break;
+                }
+            }
+        } catch (SQLException e) {
+            status.lastError = e.getMessage();
+            LOG.errorf(e, "Archive purge failed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            status.lastError = "interrupted";
+        } finally {
+            status.running = false;
+            status.finishedAt = LocalDateTime.now();
+            running.set(false);
+        }
+        return true;
+    }
+
+    // Returns false when the run budget ran out before the tenant was fully purged
+    private boolean purge(Tenant tenant, ArchivePurgeStatus status, long deadline)
+            throws SQLException, InterruptedException {
+        try (Connection connection = tenants.connection(tenant)) {
+            connection.setAutoCommit(true);
+            if (!tryLock(connection)) {
+                // Not purged by this run: the status says so instead of reporting the tenant as done
+                status.skippedTenants.add(tenant.id());
+                LOG.infof("Archive purge of tenant %s skipped: already running on another instance", tenant.id());
+                return true;
+            }
+            try {
+                for (PurgeStep step : PurgeStep.values()) {
+                    TableProgress progress = new TableProgress(tenant.id(), step.table);
+                    status.tables.add(progress);
+                    purge(connection, tenant, step, status.cutoff, deadline, progress);
+                    if (!progress.completed) {
+                        LOG.infof("Archive purge stopped at %s.%s after %s; resuming on the next run",
+                                tenant.schema(), step.table, maxRunDuration);
+                        return false;
+                    }
+                }
+                return true;
+            } finally {
+                unlock(connection);
+            }
+        }
+    }
+
+    private void purge(Connection connection, Tenant tenant, PurgeStep step, LocalDateTime cutoff, long deadline,
+                       TableProgress progress) throws SQLException, InterruptedException {
+        Tags tags = Tags.of("table", step.table, "tenant", tenant.id());
+        Counter rows = registry.counter("archive.purge.rows", tags);
+        Timer batchTimer = registry.timer("archive.purge.batch", tags);
+        AtomicLong rate = rowsPerSecond.computeIfAbsent(tenant.id() + '/' + step.table, key ->
+                registry.gauge("archive.purge.rows.per.second", tags, new AtomicLong()));
+
+        long started = System.nanoTime();
+        try (PreparedStatement ps = connection.prepareStatement(step.sql)) {
+            ps.setTimestamp(1, Timestamp.valueOf(cutoff));
+            ps.setInt(2, batchSize);
+            while (true) {
+                long batchStarted = System.nanoTime();
+                int moved = ps.executeUpdate();
+                batchTimer.record(Duration.ofNanos(System.nanoTime() - batchStarted));
+
+                progress.batches++;
+                progress.rowsArchived += moved;
+                rows.increment(moved);
+                double elapsedSeconds = (System.nanoTime() - started) / 1_000_000_000.0;
+                progress.rowsPerSecond = elapsedSeconds > 0 ? progress.rowsArchived / elapsedSeconds : 0;
+                rate.set(Math.round(progress.rowsPerSecond));
+
+                if (moved < batchSize) {
+                    progress.completed = true;
+                    break;
+                }
+                if (progress.batches % 20 == 0) {
+                    LOG.infof("Archive purge %s.%s: %d rows in %d batches (%.0f rows/s)",
+                            tenant.schema(), step.table, progress.rowsArchived, progress.batches, progress.rowsPerSecond);
+                }
+                if (System.nanoTime() >= deadline) {
+                    break;
+                }
+                Thread.sleep(pauseBetweenBatches.toMillis());
+            }
+        }
+        if (progress.rowsArchived > 0) {
+            LOG.infof("Archive purge %s.%s: archived %d rows in %d batches (%.0f rows/s)",
+                    tenant.schema(), step.table, progress.rowsArchived, progress.batches, progress.rowsPerSecond);
+        }
+    }
+
+    private boolean tryLock(Connection connection) throws SQLException {
+        String sql = "SELECT pg_try_advisory_lock(hashtextextended(current_schema(), ?))";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setLong(1, ADVISORY_LOCK_KEY);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private void unlock(Connection connection) throws SQLException {
+        String sql = "SELECT pg_advisory_unlock(hashtextextended(current_schema(), ?))";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setLong(1, ADVISORY_LOCK_KEY);
+            ps.execute();
+        }
+    }
+}
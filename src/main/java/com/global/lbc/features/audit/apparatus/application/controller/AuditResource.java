@@ -0,0 +1,72 @@
+package com.global.lbc.features.audit.apparatus.application.controller;
+
+import com.global.lbc.features.audit.apparatus.application.dto.AuditLogResponse;
+import com.global.lbc.features.audit.apparatus.application.service.AuditService;
+import com.global.lbc.shared.PaginatedResponse;
+import com.global.lbc.shared.TotalsMode;
+import com.global.lbc.shared.WireFormats;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.UUID;
+
+@Path("/audit")
+@Produces({MediaType.APPLICATION_JSON, WireFormats.APPLICATION_CBOR, WireFormats.APPLICATION_SMILE})
+public class AuditResource {
+
+    @Inject
+    AuditService auditService;
+
+    @GET
+    public Response find(
+            @QueryParam("entityType") String entityType,
+            @QueryParam("entityId") String entityId,
+            @QueryParam("from") String from,
+            @QueryParam("to") String to,
+            @QueryParam("page") @DefaultValue("0") int page,
+            @QueryParam("size") @DefaultValue("50") int size,
+            @QueryParam("totals") @DefaultValue("exact") String totals
+    ) {
+        try {
+            PaginatedResponse<AuditLogResponse> response = auditService.find(
+                    entityType,
+                    entityId == null || entityId.isBlank() ? null : UUID.fromString(entityId),
+                    parseDateTime(from),
+                    parseDateTime(to),
+                    page,
+                    size,
+                    TotalsMode.fromParam(totals)
+            );
+            return Response.ok(response).build();
+        } catch (DateTimeParseException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse("Invalid date-time (expected yyyy-MM-ddTHH:mm:ss): " + e.getParsedString()))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        }
+    }
+
+    @GET
+    @Path("/{entityType}/{entityId}")
+    public Response history(
+            @PathParam("entityType") String entityType,
+            @PathParam("entityId") String entityId,
+            @QueryParam("page") @DefaultValue("0") int page,
+            @QueryParam("size") @DefaultValue("50") int size
+    ) {
+        return find(entityType, entityId, null, null, page, size, "exact");
+    }
+
+    private static LocalDateTime parseDateTime(String value) {
+        return (value == null || value.isBlank()) ? null : LocalDateTime.parse(value);
+    }
+
+    public record ErrorResponse(String error) {}
+}
@@ -0,0 +1,19 @@
+package com.global.lbc.features.audit.apparatus.application.dto;
+
+import com.global.lbc.features.audit.apparatus.model.util.AuditAction;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+public class AuditLogResponse {
+
+    public Long id;
+    public String entityType;
+    public UUID entityId;
+    public AuditAction action;
+    public Map<String, Object> changes;
+    public String changedBy;
+    public LocalDateTime changedAt;
+    public LocalDateTime recordedAt;
+}
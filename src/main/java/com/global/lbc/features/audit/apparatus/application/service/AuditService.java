@@ -0,0 +1,103 @@
+package com.global.lbc.features.audit.apparatus.application.service;
+
+import com.global.lbc.features.audit.apparatus.application.dto.AuditLogResponse;
+import com.global.lbc.features.audit.apparatus.model.AuditLog;
+import com.global.lbc.shared.PaginatedResponse;
+import com.global.lbc.shared.PaginationTotals;
+import com.global.lbc.shared.TotalsMode;
+import com.global.lbc.shared.TotalsQuery;
+import com.global.lbc.shared.routing.ReadReplica;
+import io.quarkus.panache.common.Parameters;
+import io.quarkus.panache.common.Sort;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@ApplicationScoped
+public class AuditService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final Set<String> ENTITY_TYPES = Set.of("Employee", "Vacation");
+
+    @Inject
+    PaginationTotals paginationTotals;
+
+    // History of one entity or of one entity type, newest first.
+    // At least entityId or entityType is required so the query always uses an index.
+    @ReadReplica
+    public PaginatedResponse<AuditLogResponse> find(String entityType, UUID entityId, LocalDateTime from, LocalDateTime to,
+                                                    int page, int size, TotalsMode totals) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page number cannot be negative");
+        }
+        if (size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (entityId == null && (entityType == null || entityType.isBlank())) {
+            throw new IllegalArgumentException("Either entityId or entityType is required");
+        }
+        if (entityType != null && !entityType.isBlank() && !ENTITY_TYPES.contains(entityType)) {
+            throw new IllegalArgumentException("Invalid entity type: " + entityType + " (expected one of " + ENTITY_TYPES + ")");
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' cannot be after 'to'");
+        }
+
+        List<String> hql = new ArrayList<>();
+        List<String> sql = new ArrayList<>();
+        List<Object> sqlParams = new ArrayList<>();
+        Parameters params = new Parameters();
+        if (entityId != null) {
+            hql.add("entityId = :entityId");
+            params.and("entityId", entityId);
+            sqlParams.add(entityId);
+            sql.add("entity_id = ?" + sqlParams.size());
+        }
+        if (entityType != null && !entityType.isBlank()) {
+            hql.add("entityType = :entityType");
+            params.and("entityType", entityType);
+            sqlParams.add(entityType);
+            sql.add("entity_type = ?" + sqlParams.size());
+        }
+        if (from != null) {
+            hql.add("changedAt >= :from");
+            params.and("from", from);
+            sqlParams.add(from);
+            sql.add("changed_at >= ?" + sqlParams.size());
+        }
+        if (to != null) {
+            hql.add("changedAt <= :to");
+            params.and("to", to);
+            sqlParams.add(to);
+            sql.add("changed_at <= ?" + sqlParams.size());
+        }
+
+        String query = String.join(" AND ", hql);
+        return paginationTotals.paginate(
+                AuditLog.<AuditLog>find(query, Sort.by("changedAt", Sort.Direction.Descending).and("id", Sort.Direction.Descending), params),
+                page,
+                size,
+                this::toDto,
+                totals,
+                TotalsQuery.of("audit_log", String.join(" AND ", sql), sqlParams, () -> AuditLog.count(query, params))
+        );
+    }
+
+    private AuditLogResponse toDto(AuditLog entry) {
+        AuditLogResponse dto = new AuditLogResponse();
+        dto.id = entry.id;
+        dto.entityType = entry.entityType;
+        dto.entityId = entry.entityId;
+        dto.action = entry.action;
+        dto.changes = entry.changes;
+        dto.changedBy = entry.changedBy;
+        dto.changedAt = entry.changedAt;
+        dto.recordedAt = entry.recordedAt;
+        return dto;
+    }
+}
@@ -0,0 +1,51 @@
+package com.global.lbc.features.audit.apparatus.model;
+
+import com.global.lbc.features.audit.apparatus.model.util.AuditAction;
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+// ============================================================
+// ENTITY: AuditLog (read model of audit_log)
+// Rows are written only by AuditWriter through JDBC batches; through JPA the table is read-only.
+// ============================================================
+
+@Entity
+@Immutable
+@Table(name = "audit_log")
+public class AuditLog extends PanacheEntityBase {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    public Long id;
+
+    @Column(name = "entity_type", nullable = false, length = 50)
+    public String entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    public UUID entityId;
+
+    @Column(name = "action", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    public AuditAction action;
+
+    // {"field": {"old": ..., "new": ...}}
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "changes", nullable = false, columnDefinition = "jsonb")
+    public Map<String, Object> changes;
+
+    @Column(name = "changed_by")
+    public String changedBy;
+
+    @Column(name = "changed_at", nullable = false)
+    public LocalDateTime changedAt;
+
+    @Column(name = "recorded_at", nullable = false)
+    public LocalDateTime recordedAt;
+}
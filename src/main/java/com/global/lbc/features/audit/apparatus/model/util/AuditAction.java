@@ -0,0 +1,7 @@
+package com.global.lbc.features.audit.apparatus.model.util;
+
+public enum AuditAction {
+    CREATE,
+    UPDATE,
+    DELETE
+}
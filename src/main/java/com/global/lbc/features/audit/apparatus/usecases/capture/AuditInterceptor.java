@@ -0,0 +1,171 @@
+package com.global.lbc.features.audit.apparatus.usecases.capture;
+
+import com.global.lbc.features.audit.apparatus.model.util.AuditAction;
+import com.global.lbc.features.audit.apparatus.usecases.writer.AuditWriter;
+import com.global.lbc.features.employee.apparatus.model.Employee;
+import com.global.lbc.features.employee.apparatus.usecases.pt.social.number.SocialNumber;
+import com.global.lbc.features.vacation.apparatus.model.Vacation;
+import com.global.lbc.shared.client.ClientIdentity;
+import com.global.lbc.shared.tenant.Tenants;
+import io.quarkus.arc.Arc;
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import jakarta.enterprise.context.Dependent;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.hibernate.Interceptor;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.type.Type;
+
+import java.security.Principal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+// ============================================================
+// Captures field-level changes of Employee and Vacation from Hibernate's flush events.
+// One instance per session (@Dependent): changes are staged for the current JTA transaction
+// and handed to the AuditWriter only after it commits, so a rollback leaves no audit rows
+// and the business transaction never waits for the audit insert.
+// ============================================================
+@Dependent
+@PersistenceUnitExtension
+public class AuditInterceptor implements Interceptor {
+
+    private static final Set<String> IGNORED_PROPERTIES = Set.of("createdAt", "updatedAt", "subordinates");
+    private static final Object SKIP = new Object();
+
+    @Inject
+    AuditWriter writer;
+
+    @Inject
+    TransactionSynchronizationRegistry transactions;
+
+    // A session only ever works on one tenant's schema; its changes go to that tenant's audit_log
+    @Inject
+    Tenants tenants;
+
+    private final List<AuditRecord> staged = new ArrayList<>();
+    private Object stagedFor;
+
+    @Override
+    public boolean onPersist(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        capture(AuditAction.CREATE, entity, id, null, state, propertyNames);
+        return false;
+    }
+
+    @Override
+    public boolean onFlushDirty(Object entity, Object id, Object[] currentState, Object[] previousState,
+                                String[] propertyNames, Type[] types) {
+        capture(AuditAction.UPDATE, entity, id, previousState, currentState, propertyNames);
+        return false;
+    }
+
+    @Override
+    public void onRemove(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        capture(AuditAction.DELETE, entity, id, state, null, propertyNames);
+    }
+
+    private void capture(AuditAction action, Object entity, Object id, Object[] before, Object[] after,
+                         String[] propertyNames) {
+        if (!(entity instanceof Employee) && !(entity instanceof Vacation) || !(id instanceof UUID entityId)) {
+            return;
+        }
+
+        Map<String, Map<String, Object>> changes = new LinkedHashMap<>();
+        for (int i = 0; i < propertyNames.length; i++) {
+            if (IGNORED_PROPERTIES.contains(propertyNames[i])) {
+                continue;
+            }
+            Object oldValue = before == null ? null : auditValue(before[i]);
+            Object newValue = after == null ? null : auditValue(after[i]);
+            if (oldValue == SKIP || newValue == SKIP || Objects.equals(oldValue, newValue)) {
+                continue;
+            }
+            Map<String, Object> change = new LinkedHashMap<>();
+            change.put("old", oldValue);
+            change.put("new", newValue);
+            changes.put(propertyNames[i], change);
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        stage(new AuditRecord(entity.getClass().getSimpleName(), entityId, action, changes, currentActor(),
+                LocalDateTime.now(), tenants.current().id()));
+    }
+
+    private void stage(AuditRecord record) {
+        Object transactionKey = transactions.getTransactionKey();
+        if (transactionKey == null) {
+            // Flush outside a JTA transaction: nothing to wait for
+            writer.submit(List.of(record));
+            return;
+        }
+        if (!transactionKey.equals(stagedFor)) {
+            staged.clear();
+            stagedFor = transactionKey;
+            transactions.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == Status.STATUS_COMMITTED && !staged.isEmpty()) {
+                        writer.submit(List.copyOf(staged));
+                    }
+                    staged.clear();
+                    stagedFor = null;
+                }
+            });
+        }
+        staged.add(record);
+    }
+
+    // Plain JSON values only: associations become their id, collections are not audited
+    private static Object auditValue(Object value) {
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean) {
+            return value;
+        }
+        if (value instanceof HibernateProxy proxy) {
+            return String.valueOf(proxy.getHibernateLazyInitializer().getIdentifier());
+        }
+        if (value instanceof Employee employee) {
+            return employee.id == null ? null : employee.id.toString();
+        }
+        if (value instanceof Vacation vacation) {
+            return vacation.id == null ? null : vacation.id.toString();
+        }
+        if (value instanceof Collection<?> || value instanceof Map<?, ?>) {
+            return SKIP;
+        }
+        if (value instanceof SocialNumber socialNumber) {
+            // The audit trail records that the number changed, not the number itself
+            return socialNumber.getMasked();
+        }
+        if (value instanceof Enum<?> constant) {
+            return constant.name();
+        }
+        return value.toString();
+    }
+
+    // The authenticated caller, never X-Client-Id (the client picks that header). Changes made
+    // without one (scheduled jobs, event lanes, tenant bootstrap) are recorded as "system".
+    private static String currentActor() {
+        if (Arc.container().requestContext().isActive()) {
+            Principal principal = Arc.container().instance(ClientIdentity.class).get().principal();
+            if (principal != null) {
+                return principal.getName();
+            }
+        }
+        return "system";
+    }
+}
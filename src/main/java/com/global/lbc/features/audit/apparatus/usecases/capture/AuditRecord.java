@@ -0,0 +1,13 @@
+package com.global.lbc.features.audit.apparatus.usecases.capture;
+
+import com.global.lbc.features.audit.apparatus.model.util.AuditAction;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+// One captured change, waiting in the AuditWriter buffer. changes maps field -> {"old", "new"}.
+// tenantId is the tenant whose audit_log receives it (null in spill files older than multi-tenancy: default).
+public record AuditRecord(String entityType, UUID entityId, AuditAction action, Map<String, Map<String, Object>> changes,
+                          String changedBy, LocalDateTime changedAt, String tenantId) {
+}
@@ -0,0 +1,299 @@
+package com.global.lbc.features.audit.apparatus.usecases.writer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.global.lbc.features.audit.apparatus.usecases.capture.AuditRecord;
+import com.global.lbc.shared.tenant.Tenant;
+import com.global.lbc.shared.tenant.Tenants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// ============================================================
+// AUDIT WRITER: bounded ring buffer (ArrayBlockingQueue) drained by one flusher thread
+// that inserts audit_log rows in JDBC batches.
+//
+// - Backpressure: when the buffer stays full for audit.offer-timeout, the submitting thread
+//   writes a batch itself (caller-runs) instead of dropping records or growing the buffer.
+// - Failures: a batch is retried a few times, then appended to the spill file (NDJSON).
+// - Shutdown: the flusher drains the buffer within audit.shutdown-timeout; whatever is left
+//   goes to the spill file, which is replayed into audit_log on the next startup.
+// - Tenants: one buffer for all of them; a batch is split by tenant and each part is inserted
+//   into that tenant's audit_log.
+// ============================================================
+@ApplicationScoped
+public class AuditWriter {
+
+    private static final Logger LOG = Logger.getLogger(AuditWriter.class);
+
+    private static final String INSERT_SQL = """
+            INSERT INTO audit_log (entity_type, entity_id, action, changes, changed_by, changed_at)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Inject
+    Tenants tenants;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "audit.buffer.capacity", defaultValue = "8192")
+    int capacity;
+
+    @ConfigProperty(name = "audit.batch-size", defaultValue = "500")
+    int batchSize;
+
+    @ConfigProperty(name = "audit.flush-interval", defaultValue = "200ms")
+    Duration flushInterval;
+
+    @ConfigProperty(name = "audit.offer-timeout", defaultValue = "50ms")
+    Duration offerTimeout;
+
+    @ConfigProperty(name = "audit.shutdown-timeout", defaultValue = "10s")
+    Duration shutdownTimeout;
+
+    @ConfigProperty(name = "audit.spill-file", defaultValue = "audit-spill.ndjson")
+    Path spillFile;
+
+    private ArrayBlockingQueue<AuditRecord> buffer;
+    private Thread flusher;
+    private volatile boolean running;
+
+    private Counter written;
+    private Counter spilled;
+    private Counter callerRuns;
+
+    void onStart(@Observes StartupEvent event) {
+        buffer = new ArrayBlockingQueue<>(capacity);
+        written = registry.counter("audit.records.written");
+        spilled = registry.counter("audit.records.spilled");
+        callerRuns = registry.counter("audit.backpressure.caller.runs");
+        registry.gaugeCollectionSize("audit.buffer.size", Tags.empty(), buffer);
+
+        replaySpillFile();
+
+        running = true;
+        flusher = new Thread(this::flushLoop, "audit-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        running = false;
+        if (flusher == null) {
+            return;
+        }
+        try {
+            flusher.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (flusher.isAlive()) {
+            flusher.interrupt();
+        }
+        List<AuditRecord> remaining = new ArrayList<>();
+        buffer.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            LOG.warnf("Audit writer stopped with %d buffered records, spilling them to %s", remaining.size(), spillFile);
+            spill(remaining);
+        }
+    }
+
+    // Called after the business transaction committed
+    public void submit(List<AuditRecord> records) {
+        for (AuditRecord record : records) {
+            try {
+                while (!buffer.offer(record, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    // Buffer full: this thread pays for one batch, which makes room for the record
+                    callerRuns.increment();
+                    List<AuditRecord> batch = new ArrayList<>(batchSize);
+                    buffer.drainTo(batch, batchSize);
+                    writeOrSpill(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                spill(List.of(record));
+            }
+        }
+    }
+
+    private void flushLoop() {
+        List<AuditRecord> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                AuditRecord first = buffer.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, batchSize - 1);
+                writeOrSpill(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeOrSpill(List<AuditRecord> batch) throws InterruptedException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        // Each tenant's part is retried (or spilled) on its own, so no part is ever inserted twice
+        List<List<AuditRecord>> parts = new ArrayList<>(byTenant(batch).values());
+        for (int i = 0; i < parts.size(); i++) {
+            try {
+                writeOrSpillPart(parts.get(i));
+            } catch (InterruptedException e) {
+                // The interrupted part is already spilled; the parts not tried yet follow it
+                for (List<AuditRecord> part : parts.subList(i + 1, parts.size())) {
+                    spill(part);
+                }
+                throw e;
+            }
+        }
+    }
+
+    private void writeOrSpillPart(List<AuditRecord> part) throws InterruptedException {
+        boolean stored = false;
+        try {
+            for (int attempt = 1; attempt <= MAX_ATTEMPTS && !stored; attempt++) {
+                try {
+                    write(part);
+                    stored = true;
+                } catch (SQLException | IOException e) {
+                    LOG.warnf("Audit batch of %d records failed (attempt %d/%d): %s",
+                            part.size(), attempt, MAX_ATTEMPTS, e.getMessage());
+                    if (attempt < MAX_ATTEMPTS) {
+                        Thread.sleep(100L * attempt);
+                    }
+                }
+            }
+        } finally {
+            // Also when the backoff is interrupted (shutdown): the records are in the batch only
+            if (!stored) {
+                spill(part);
+            }
+        }
+    }
+
+    private static Map<String, List<AuditRecord>> byTenant(List<AuditRecord> batch) {
+        Map<String, List<AuditRecord>> parts = new LinkedHashMap<>();
+        for (AuditRecord record : batch) {
+            parts.computeIfAbsent(tenantId(record), id -> new ArrayList<>()).add(record);
+        }
+        return parts;
+    }
+
+    private static String tenantId(AuditRecord record) {
+        return record.tenantId() == null ? Tenant.DEFAULT_ID : record.tenantId();
+    }
+
+    // All records of the list belong to the same tenant
+    private void write(List<AuditRecord> records) throws SQLException, IOException {
+        try (Connection connection = tenants.connection(Tenant.of(tenantId(records.get(0))));
+             PreparedStatement ps = connection.prepareStatement(INSERT_SQL)) {
+            for (AuditRecord record : records) {
+                ps.setString(1, record.entityType());
+                ps.setObject(2, record.entityId());
+                ps.setString(3, record.action().name());
+                ps.setObject(4, objectMapper.writeValueAsString(record.changes()), Types.OTHER);
+                ps.setString(5, record.changedBy());
+                ps.setTimestamp(6, Timestamp.valueOf(record.changedAt()));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+        written.increment(records.size());
+    }
+
+    private synchronized void spill(List<AuditRecord> records) {
+        try (BufferedWriter out = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (AuditRecord record : records) {
+                out.write(objectMapper.writeValueAsString(record));
+                out.newLine();
+            }
+            spilled.increment(records.size());
+        } catch (IOException e) {
+            LOG.errorf(e, "Could not spill %d audit records to %s", records.size(), spillFile);
+        }
+    }
+
+    private synchronized void replaySpillFile() {
+        if (!Files.exists(spillFile)) {
+            return;
+        }
+        List<AuditRecord> records = new ArrayList<>();
+        try (BufferedReader in = Files.newBufferedReader(spillFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!line.isBlank()) {
+                    records.add(objectMapper.readValue(line, AuditRecord.class));
+                }
+            }
+        } catch (IOException e) {
+            LOG.errorf(e, "Could not read audit spill file %s, leaving it in place", spillFile);
+            return;
+        }
+
+        int replayed = 0;
+        try {
+            while (replayed < records.size()) {
+                // Consecutive records of one tenant, so "replayed" stays an exact position in the file
+                String tenantId = tenantId(records.get(replayed));
+                int end = replayed + 1;
+                while (end < records.size() && end - replayed < batchSize && tenantId.equals(tenantId(records.get(end)))) {
+                    end++;
+                }
+                List<AuditRecord> batch = records.subList(replayed, end);
+                write(batch);
+                replayed += batch.size();
+            }
+            Files.delete(spillFile);
+            LOG.infof("Replayed %d spilled audit records from %s", replayed, spillFile);
+        } catch (IOException | SQLException e) {
+            // Keep only what was not written, so the next startup does not insert duplicates
+            LOG.errorf(e, "Could not replay audit spill file %s after %d of %d records", spillFile, replayed, records.size());
+            try {
+                Files.delete(spillFile);
+            } catch (IOException deleteError) {
+                LOG.errorf(deleteError, "Could not rewrite audit spill file %s", spillFile);
+                return;
+            }
+            spill(records.subList(replayed, records.size()));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.global.lbc.features.auth.apparatus.application.controller;
+
+import com.global.lbc.features.auth.apparatus.application.dto.AuthUserResponse;
+import com.global.lbc.features.auth.apparatus.application.dto.CreateUserRequest;
+import com.global.lbc.features.auth.apparatus.application.dto.LoginRequest;
+import com.global.lbc.features.auth.apparatus.application.dto.TokenResponse;
+import com.global.lbc.features.auth.apparatus.application.service.AuthService;
+import com.global.lbc.features.auth.apparatus.usecases.security.AuthPrincipal;
+import com.global.lbc.features.auth.apparatus.usecases.security.PasswordHasher;
+import com.global.lbc.features.employee.apparatus.model.util.EmployeeRole;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.SecurityContext;
+
+@Path("/auth")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public class AuthResource {
+
+    @Inject
+    AuthService authService;
+
+    // Not @Transactional: see AuthService.login
+    @POST
+    @Path("/login")
+    public Response login(LoginRequest request) {
+        try {
+            TokenResponse token = authService.login(
+                    request == null ? null : request.email,
+                    request == null ? null : request.password);
+            return Response.ok(token)
+                    .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                    .build();
+        } catch (AuthService.AuthenticationFailedException e) {
+            return Response.status(Response.Status.UNAUTHORIZED)
+                    .header(HttpHeaders.WWW_AUTHENTICATE, "Bearer")
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        } catch (PasswordHasher.HashingOverloadedException e) {
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, 1)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        }
+    }
+
+    // Identity of the bearer token, straight from its claims (no DB lookup)
+    @GET
+    @Path("/me")
+    public Response me(@Context SecurityContext security) {
+        if (!(security.getUserPrincipal() instanceof AuthPrincipal principal)) {
+            return Response.status(Response.Status.UNAUTHORIZED)
+                    .header(HttpHeaders.WWW_AUTHENTICATE, "Bearer")
+                    .entity(new ErrorResponse("Authentication required"))
+                    .build();
+        }
+        return Response.ok(principal).build();
+    }
+
+    // Only ADMINs create logins; the first one of a tenant comes from AuthService.bootstrapAdmin
+    @POST
+    @Path("/users")
+    public Response createUser(@Context SecurityContext security, CreateUserRequest request) {
+        if (security.getUserPrincipal() == null) {
+            return Response.status(Response.Status.UNAUTHORIZED)
+                    .header(HttpHeaders.WWW_AUTHENTICATE, "Bearer")
+                    .entity(new ErrorResponse("Authentication required"))
+                    .build();
+        }
+        if (!security.isUserInRole(EmployeeRole.ADMIN.name())) {
+            return Response.status(Response.Status.FORBIDDEN)
+                    .entity(new ErrorResponse("Only administrators can create users"))
+                    .build();
+        }
+        try {
+            AuthUserResponse created = authService.createUser(request);
+            return Response.status(Response.Status.CREATED)
+                    .entity(created)
+                    .build();
+        } catch (NotFoundException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        } catch (IllegalStateException e) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        } catch (PasswordHasher.HashingOverloadedException e) {
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, 1)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        }
+    }
+
+    public record ErrorResponse(String error) {}
+}
@@ -0,0 +1,16 @@
+package com.global.lbc.features.auth.apparatus.application.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class AuthUserResponse {
+    public UUID id;
+    public String name;
+    public String surname;
+    public String email;
+    public UUID employeeId;
+    public Boolean isActive;
+    public Boolean isLocked;
+    public LocalDateTime lastLoginAt;
+    public LocalDateTime createdAt;
+}
@@ -0,0 +1,12 @@
+package com.global.lbc.features.auth.apparatus.application.dto;
+
+import java.util.UUID;
+
+public class CreateUserRequest {
+    public String name;
+    public String surname;
+    public String email;
+    public String password;
+    // Optional: links the login to an employee, whose role goes into the token
+    public UUID employeeId;
+}
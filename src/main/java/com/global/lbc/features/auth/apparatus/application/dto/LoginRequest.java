@@ -0,0 +1,6 @@
+package com.global.lbc.features.auth.apparatus.application.dto;
+
+public class LoginRequest {
+    public String email;
+    public String password;
+}
@@ -0,0 +1,16 @@
+package com.global.lbc.features.auth.apparatus.application.dto;
+
+public class TokenResponse {
+    public String accessToken;
+    public String tokenType = "Bearer";
+    // Seconds until the token expires
+    public long expiresIn;
+
+    public TokenResponse() {
+    }
+
+    public TokenResponse(String accessToken, long expiresIn) {
+        this.accessToken = accessToken;
+        this.expiresIn = expiresIn;
+    }
+}
@@ -0,0 +1,100 @@
+package com.global.lbc.features.auth.apparatus.application.filter;
+
+import com.global.lbc.features.auth.apparatus.usecases.security.AuthPrincipal;
+import com.global.lbc.features.auth.apparatus.usecases.security.TokenService;
+import com.global.lbc.shared.client.ClientIdentity;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.SecurityContext;
+import jakarta.ws.rs.ext.Provider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.security.Principal;
+import java.util.List;
+
+// Turns "Authorization: Bearer <token>" into the request's SecurityContext. The token is checked
+// locally by TokenService (HMAC + expiry), so authenticated requests never touch the database.
+// Runs first, so RateLimitFilter can key quotas on the verified user instead of a client-chosen
+// header; a bad token costs one local HMAC before its 401.
+@Provider
+@Priority(Priorities.AUTHENTICATION + 10)
+public class BearerTokenFilter implements ContainerRequestFilter {
+
+    private static final String BEARER = "Bearer ";
+
+    @Inject
+    TokenService tokenService;
+
+    @Inject
+    ClientIdentity clientIdentity;
+
+    // When false (dev only), anonymous requests are served; HierarchyAuthorization still refuses their writes
+    @ConfigProperty(name = "auth.required", defaultValue = "true")
+    boolean required;
+
+    @ConfigProperty(name = "auth.public-paths", defaultValue = "/auth/login")
+    List<String> publicPaths;
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        String header = request.getHeaderString(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            AuthPrincipal principal = tokenService.verify(header.substring(BEARER.length()).trim());
+            if (principal == null) {
+                // A token that was sent but does not verify is always an error, even where auth is optional
+                request.abortWith(unauthorized("Invalid or expired token"));
+                return;
+            }
+            request.setSecurityContext(new TokenSecurityContext(principal, request.getSecurityContext().isSecure()));
+            clientIdentity.authenticated(principal);
+            return;
+        }
+        if (required && !isPublic(request.getUriInfo().getPath())) {
+            request.abortWith(unauthorized("Authentication required"));
+        }
+    }
+
+    private boolean isPublic(String path) {
+        String normalized = path.startsWith("/") ? path : "/" + path;
+        return publicPaths.stream().anyMatch(normalized::startsWith);
+    }
+
+    private static Response unauthorized(String message) {
+        return Response.status(Response.Status.UNAUTHORIZED)
+                .header(HttpHeaders.WWW_AUTHENTICATE, "Bearer")
+                .type(MediaType.APPLICATION_JSON)
+                .entity(new ErrorResponse(message))
+                .build();
+    }
+
+    public record ErrorResponse(String error) {}
+
+    private record TokenSecurityContext(AuthPrincipal principal, boolean secure) implements SecurityContext {
+
+        @Override
+        public Principal getUserPrincipal() {
+            return principal;
+        }
+
+        @Override
+        public boolean isUserInRole(String role) {
+            return role != null && role.equals(principal.role());
+        }
+
+        @Override
+        public boolean isSecure() {
+            return secure;
+        }
+
+        @Override
+        public String getAuthenticationScheme() {
+            return "Bearer";
+        }
+    }
+}
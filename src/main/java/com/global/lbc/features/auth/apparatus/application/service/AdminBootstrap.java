@@ -0,0 +1,43 @@
+package com.global.lbc.features.auth.apparatus.application.service;
+
+import com.global.lbc.features.auth.apparatus.application.dto.AuthUserResponse;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.Optional;
+
+// ============================================================
+// ADMIN BOOTSTRAP: every write needs a token, and only an ADMIN can create logins.
+// On startup, when the default tenant has no login at all, the login configured in
+// auth.bootstrap.admin-email/-password is created as its first ADMIN. Once any login exists the
+// settings are ignored; the password should still leave the environment after the first start.
+// Tenants provisioned later get their first ADMIN from POST /tenants.
+// ============================================================
+@ApplicationScoped
+public class AdminBootstrap {
+
+    private static final Logger LOG = Logger.getLogger(AdminBootstrap.class);
+
+    @Inject
+    AuthService authService;
+
+    @ConfigProperty(name = "auth.bootstrap.admin-email")
+    Optional<String> email;
+
+    @ConfigProperty(name = "auth.bootstrap.admin-password")
+    Optional<String> password;
+
+    void onStart(@Observes StartupEvent event) {
+        if (email.isEmpty() || password.isEmpty()) {
+            return;
+        }
+        AuthUserResponse created = authService.bootstrapAdmin(email.get(), password.get());
+        if (created != null) {
+            LOG.infof("Created the first administrator login %s", created.email);
+        }
+    }
+}
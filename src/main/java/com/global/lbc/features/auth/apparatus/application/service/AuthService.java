@@ -0,0 +1,315 @@
+package com.global.lbc.features.auth.apparatus.application.service;
+
+import com.global.lbc.features.auth.apparatus.application.dto.AuthUserResponse;
+import com.global.lbc.features.auth.apparatus.application.dto.CreateUserRequest;
+import com.global.lbc.features.auth.apparatus.application.dto.TokenResponse;
+import com.global.lbc.features.auth.apparatus.model.AuthUser;
+import com.global.lbc.features.auth.apparatus.usecases.security.PasswordHasher;
+import com.global.lbc.features.auth.apparatus.usecases.security.TokenService;
+import com.global.lbc.features.employee.apparatus.model.Employee;
+import com.global.lbc.features.employee.apparatus.model.events.EmployeeEvents;
+import com.global.lbc.features.employee.apparatus.model.util.EmployeeRole;
+import com.global.lbc.features.employee.apparatus.model.util.EmploymentType;
+import com.global.lbc.shared.events.DomainEvent;
+import com.global.lbc.shared.tenant.Tenants;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import jakarta.persistence.NoResultException;
+import jakarta.ws.rs.NotFoundException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.UUID;
+
+// ============================================================
+// AUTH SERVICE: login (bcrypt check + token) and lockout.
+// login() is deliberately not @Transactional: the password check takes tens of milliseconds on
+// the PasswordHasher pool and must not hold a connection or a transaction meanwhile.
+// Failed attempts and the lock are written by one UPDATE whose SET expressions read the current
+// row, so concurrent failures on the same account are all counted and the lock cannot be skipped.
+// bootstrapAdmin() creates the first ADMIN of a tenant that has no login yet (AdminBootstrap,
+// TenantService); every later login is created by an ADMIN through createUser().
+// ============================================================
+@ApplicationScoped
+public class AuthService {
+
+    private static final int MIN_PASSWORD_LENGTH = 8;
+
+    // Attempts after this failure; a lock that already expired starts a new count
+    private static final String NEXT_ATTEMPTS =
+            "(CASE WHEN locked_until IS NOT NULL AND locked_until <= ? THEN 1 ELSE failed_login_attempts + 1 END)";
+
+    private static final String RECORD_FAILURE_SQL = "UPDATE auth_user_profile"
+            + " SET failed_login_attempts = " + NEXT_ATTEMPTS
+            + ", is_locked = " + NEXT_ATTEMPTS + " >= ?"
+            + ", locked_until = CASE WHEN " + NEXT_ATTEMPTS + " >= ? THEN ? ELSE NULL END"
+            + ", updated_at = ?"
+            + " WHERE id = ?"
+            + " RETURNING is_locked";
+
+    // Manual locks (is_locked without locked_until) are never cleared by a login
+    private static final String RECORD_SUCCESS_SQL = """
+            UPDATE auth_user_profile
+            SET failed_login_attempts = 0, is_locked = FALSE, locked_until = NULL, last_login_at = ?, updated_at = ?
+            WHERE id = ? AND (is_locked = FALSE OR locked_until IS NOT NULL)
+            """;
+
+    // Serializes concurrent bootstraps of the same tenant (several instances starting together)
+    private static final long BOOTSTRAP_LOCK_KEY = 0x626f6f7473747261L;
+
+    @Inject
+    PasswordHasher passwordHasher;
+
+    @Inject
+    TokenService tokenService;
+
+    // Users live in the tenant's schema: login and lockout act on the request's tenant
+    @Inject
+    Tenants tenants;
+
+    @Inject
+    MeterRegistry registry;
+
+    @Inject
+    Event<DomainEvent> domainEvents;
+
+    @ConfigProperty(name = "auth.lockout.max-attempts", defaultValue = "5")
+    int maxAttempts;
+
+    @ConfigProperty(name = "auth.lockout.duration", defaultValue = "15m")
+    Duration lockoutDuration;
+
+    public TokenResponse login(String email, String password) {
+        if (email == null || email.isBlank() || password == null || password.isEmpty()) {
+            throw new IllegalArgumentException("Email and password are required");
+        }
+        String normalized = normalize(email);
+        LocalDateTime now = LocalDateTime.now();
+
+        Credentials credentials = findCredentials(normalized);
+        if (credentials == null) {
+            passwordHasher.matchDecoy(password);
+            throw failed("unknown");
+        }
+        // No bcrypt for a locked account: guessing against it costs the server nothing
+        if (credentials.lockedAt(now)) {
+            throw failed("locked");
+        }
+        if (!passwordHasher.matches(password, credentials.passwordHash())) {
+            boolean lockedNow = recordFailure(credentials.userId(), now);
+            throw failed(lockedNow ? "locked_now" : "invalid");
+        }
+
+        recordSuccess(credentials.userId(), now);
+        count("success");
+        String token = tokenService.issue(credentials.userId(), normalized, credentials.employeeId(), credentials.role(),
+                tenants.current().id());
+        return new TokenResponse(token, tokenService.ttlSeconds());
+    }
+
+    public AuthUserResponse createUser(CreateUserRequest request) {
+        validate(request);
+        String email = normalize(request.email);
+        // Hashed before the transaction starts, for the same reason as in login()
+        String hash = passwordHasher.hash(request.password);
+
+        return QuarkusTransaction.requiringNew().call(() -> {
+            if (AuthUser.count("email", email) > 0) {
+                throw new IllegalStateException("A user with this email already exists");
+            }
+            AuthUser user = new AuthUser();
+            user.name = request.name.trim();
+            user.surname = request.surname.trim();
+            user.email = email;
+            user.passwd = hash;
+            if (request.employeeId != null) {
+                Employee employee = Employee.findById(request.employeeId);
+                if (employee == null) {
+                    throw new NotFoundException("Employee not found: " + request.employeeId);
+                }
+                if (AuthUser.count("employeeRecordModel.id", request.employeeId) > 0) {
+                    throw new IllegalStateException("Employee already has a user");
+                }
+                user.employeeRecordModel = employee;
+            }
+            user.persist();
+            return toDto(user);
+        });
+    }
+
+    // null when the current tenant already has a login: the bootstrap can never add a second ADMIN.
+    // The login gets its own ADMIN employee, which is what puts the role into its tokens.
+    public AuthUserResponse bootstrapAdmin(String email, String password) {
+        CreateUserRequest request = bootstrapRequest(email, password);
+        validate(request);
+        String normalized = normalize(email);
+        String hash = passwordHasher.hash(password);
+
+        return QuarkusTransaction.requiringNew().call(() -> {
+            lockBootstrap();
+            if (AuthUser.count() > 0) {
+                return null;
+            }
+            Employee employee = new Employee();
+            employee.name = request.name;
+            employee.surname = request.surname;
+            employee.employmentType = EmploymentType.FULL_TIME;
+            employee.employeeRole = EmployeeRole.ADMIN;
+            employee.hireDate = LocalDate.now();
+            employee.persist();
+            domainEvents.fire(EmployeeEvents.created(employee));
+
+            AuthUser user = new AuthUser();
+            user.name = request.name;
+            user.surname = request.surname;
+            user.email = normalized;
+            user.passwd = hash;
+            user.employeeRecordModel = employee;
+            user.persist();
+            return toDto(user);
+        });
+    }
+
+    // IllegalArgumentException for credentials bootstrapAdmin() would refuse, before anything is created
+    public void validateBootstrapAdmin(String email, String password) {
+        validate(bootstrapRequest(email, password));
+    }
+
+    private static CreateUserRequest bootstrapRequest(String email, String password) {
+        CreateUserRequest request = new CreateUserRequest();
+        request.name = "Administrator";
+        request.surname = "Bootstrap";
+        request.email = email;
+        request.password = password;
+        return request;
+    }
+
+    private void lockBootstrap() {
+        try (Connection connection = tenants.connection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT pg_advisory_xact_lock(hashtextextended(current_schema(), ?))")) {
+            statement.setLong(1, BOOTSTRAP_LOCK_KEY);
+            statement.execute();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not lock the admin bootstrap", e);
+        }
+    }
+
+    private Credentials findCredentials(String email) {
+        try {
+            Object[] row = AuthUser.getEntityManager().createQuery("""
+                            SELECT u.id, u.passwd, u.isLocked, u.lockedUntil, e.id, e.employeeRole
+                            FROM AuthUser u LEFT JOIN u.employeeRecordModel e
+                            WHERE u.email = :email AND u.isActive = true
+                            """, Object[].class)
+                    .setParameter("email", email)
+                    .getSingleResult();
+            return new Credentials((UUID) row[0], (String) row[1], Boolean.TRUE.equals(row[2]),
+                    (LocalDateTime) row[3], (UUID) row[4], row[5] == null ? null : row[5].toString());
+        } catch (NoResultException e) {
+            return null;
+        }
+    }
+
+    // true when this failure locked the account
+    private boolean recordFailure(UUID userId, LocalDateTime now) {
+        Timestamp at = Timestamp.valueOf(now);
+        try (Connection connection = tenants.connection();
+             PreparedStatement statement = connection.prepareStatement(RECORD_FAILURE_SQL)) {
+            statement.setTimestamp(1, at);
+            statement.setTimestamp(2, at);
+            statement.setInt(3, maxAttempts);
+            statement.setTimestamp(4, at);
+            statement.setInt(5, maxAttempts);
+            statement.setTimestamp(6, Timestamp.valueOf(now.plus(lockoutDuration)));
+            statement.setTimestamp(7, at);
+            statement.setObject(8, userId);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not record the failed login", e);
+        }
+    }
+
+    private void recordSuccess(UUID userId, LocalDateTime now) {
+        Timestamp at = Timestamp.valueOf(now);
+        try (Connection connection = tenants.connection();
+             PreparedStatement statement = connection.prepareStatement(RECORD_SUCCESS_SQL)) {
+            statement.setTimestamp(1, at);
+            statement.setTimestamp(2, at);
+            statement.setObject(3, userId);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not record the login", e);
+        }
+    }
+
+    private AuthenticationFailedException failed(String outcome) {
+        count(outcome);
+        return new AuthenticationFailedException();
+    }
+
+    private void count(String outcome) {
+        registry.counter("auth.logins", "outcome", outcome).increment();
+    }
+
+    private void validate(CreateUserRequest request) {
+        if (request == null) {
+            throw new IllegalArgumentException("Request body is required");
+        }
+        if (request.name == null || request.name.isBlank() || request.surname == null || request.surname.isBlank()) {
+            throw new IllegalArgumentException("Name and surname are required");
+        }
+        if (request.email == null || !request.email.contains("@")) {
+            throw new IllegalArgumentException("A valid email is required");
+        }
+        if (request.password == null || request.password.length() < MIN_PASSWORD_LENGTH) {
+            throw new IllegalArgumentException("Password must have at least " + MIN_PASSWORD_LENGTH + " characters");
+        }
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private AuthUserResponse toDto(AuthUser user) {
+        AuthUserResponse dto = new AuthUserResponse();
+        dto.id = user.id;
+        dto.name = user.name;
+        dto.surname = user.surname;
+        dto.email = user.email;
+        dto.employeeId = user.employeeRecordModel != null ? user.employeeRecordModel.id : null;
+        dto.isActive = user.isActive;
+        dto.isLocked = user.isLocked;
+        dto.lastLoginAt = user.lastLoginAt;
+        dto.createdAt = user.getCreatedAt();
+        return dto;
+    }
+
+    private record Credentials(UUID userId, String passwordHash, boolean locked, LocalDateTime lockedUntil,
+                               UUID employeeId, String role) {
+
+        boolean lockedAt(LocalDateTime now) {
+            return locked && (lockedUntil == null || lockedUntil.isAfter(now));
+        }
+    }
+
+    // Same answer for unknown e-mail, wrong password and locked account
+    public static class AuthenticationFailedException extends RuntimeException {
+        public AuthenticationFailedException() {
+            super("Invalid email or password");
+        }
+    }
+}
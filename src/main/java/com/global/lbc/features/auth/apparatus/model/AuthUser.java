@@ -40,6 +40,10 @@ public class AuthUser extends PanacheEntityBase {
     @Column(name = "is_locked", nullable = false, columnDefinition = "BOOLEAN DEFAULT false")
     public Boolean isLocked = false;
 
+    // null while isLocked = true means a manual lock without expiry
+    @Column(name = "locked_until")
+    public LocalDateTime lockedUntil;
+
     @Column(name = "phone", length = 20)
     public String phone;
 
@@ -0,0 +1,16 @@
+package com.global.lbc.features.auth.apparatus.usecases.security;
+
+import com.global.lbc.shared.tenant.TenantPrincipal;
+
+import java.util.UUID;
+
+// Identity carried by a verified token; getName() is what approve/reject record as the approver.
+// tenantId is the tenant the user logged into: the token is only accepted for that tenant.
+public record AuthPrincipal(UUID userId, String email, UUID employeeId, String role, long expiresAtEpochSecond,
+                            String tenantId) implements TenantPrincipal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
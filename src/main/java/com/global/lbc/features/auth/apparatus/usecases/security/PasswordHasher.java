@@ -0,0 +1,122 @@
+package com.global.lbc.features.auth.apparatus.usecases.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.elytron.security.common.BcryptUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// ============================================================
+// PASSWORD HASHER: bcrypt on a small dedicated pool.
+// A bcrypt check costs tens of milliseconds of pure CPU. Running it on the request threads would
+// let a burst of logins (or a password-guessing client) occupy every core; here at most
+// auth.hashing.threads hashes run at once and at most auth.hashing.queue wait. Anything beyond
+// that is rejected immediately (HashingOverloadedException -> 503) instead of queueing without bound.
+// ============================================================
+@ApplicationScoped
+public class PasswordHasher {
+
+    @ConfigProperty(name = "auth.hashing.threads", defaultValue = "2")
+    int threads;
+
+    @ConfigProperty(name = "auth.hashing.queue", defaultValue = "64")
+    int queueCapacity;
+
+    @ConfigProperty(name = "auth.hashing.cost", defaultValue = "12")
+    int cost;
+
+    @ConfigProperty(name = "auth.hashing.timeout", defaultValue = "5s")
+    Duration timeout;
+
+    @Inject
+    MeterRegistry registry;
+
+    private ThreadPoolExecutor executor;
+    private Timer hashTimer;
+    // Hash of a random password with the same cost: unknown e-mails are checked against it,
+    // so they take as long as known ones and the response time does not reveal which accounts exist
+    private String timingDecoy;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        timingDecoy = BcryptUtil.bcryptHash(UUID.randomUUID().toString(), cost);
+        hashTimer = registry.timer("auth.hashing.duration");
+        registry.gauge("auth.hashing.queue.depth", executor, e -> e.getQueue().size());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public String hash(String password) {
+        return run(() -> BcryptUtil.bcryptHash(password, cost));
+    }
+
+    public boolean matches(String password, String hash) {
+        return run(() -> BcryptUtil.matches(password, hash));
+    }
+
+    // Same cost as matches() for an account that does not exist
+    public void matchDecoy(String password) {
+        run(() -> BcryptUtil.matches(password, timingDecoy));
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    return task.call();
+                } finally {
+                    hashTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            throw new HashingOverloadedException();
+        }
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new HashingOverloadedException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Interrupted while hashing", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    public static class HashingOverloadedException extends RuntimeException {
+        public HashingOverloadedException() {
+            super("Too many concurrent logins, retry later");
+        }
+    }
+}
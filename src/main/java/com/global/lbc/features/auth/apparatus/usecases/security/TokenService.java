@@ -0,0 +1,159 @@
+package com.global.lbc.features.auth.apparatus.usecases.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.global.lbc.shared.tenant.Tenant;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.UUID;
+
+// ============================================================
+// TOKENS: HS256 JWTs signed and verified in process.
+// Verification is a single HMAC over the token plus a JSON parse of the claims: no DB lookup and
+// no remote call per request. The key is decoded once at startup and every thread keeps its own
+// initialised Mac, so neither Mac.getInstance nor key setup runs on the request path.
+// Tokens are short-lived (auth.token.ttl) because nothing revokes them before they expire.
+// ============================================================
+@ApplicationScoped
+public class TokenService {
+
+    private static final Logger LOG = Logger.getLogger(TokenService.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_KEY_BYTES = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final String HEADER = ENCODER.encodeToString(
+            "{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    // Base64 of at least 32 random bytes; must be the same on every instance
+    @ConfigProperty(name = "auth.token.secret", defaultValue = "")
+    String secret;
+
+    @ConfigProperty(name = "auth.token.ttl", defaultValue = "15m")
+    Duration ttl;
+
+    @ConfigProperty(name = "auth.token.issuer", defaultValue = "taskflow-holiday-manager")
+    String issuer;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    Clock clock = Clock.systemUTC();
+
+    private SecretKeySpec key;
+    private ThreadLocal<Mac> macs;
+
+    @PostConstruct
+    void init() {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            LOG.warn("auth.token.secret is not set: using a random key, tokens are only valid on this instance until restart");
+            keyBytes = new byte[MIN_KEY_BYTES];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = Base64.getDecoder().decode(secret.trim());
+        }
+        if (keyBytes.length < MIN_KEY_BYTES) {
+            throw new IllegalStateException("auth.token.secret must decode to at least " + MIN_KEY_BYTES + " bytes");
+        }
+        key = new SecretKeySpec(keyBytes, ALGORITHM);
+        macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public String issue(UUID userId, String email, UUID employeeId, String role, String tenantId) {
+        long now = clock.instant().getEpochSecond();
+        ObjectNode claims = objectMapper.createObjectNode()
+                .put("iss", issuer)
+                .put("sub", userId.toString())
+                .put("email", email)
+                .put("iat", now)
+                .put("exp", now + ttl.toSeconds())
+                .put("tid", tenantId);
+        if (employeeId != null) {
+            claims.put("emp", employeeId.toString());
+        }
+        if (role != null) {
+            claims.put("role", role);
+        }
+        String signingInput = HEADER + "." + ENCODER.encodeToString(writeClaims(claims));
+        return signingInput + "." + ENCODER.encodeToString(sign(signingInput));
+    }
+
+    public long ttlSeconds() {
+        return ttl.toSeconds();
+    }
+
+    // null when the token is malformed, forged, expired or from another issuer
+    public AuthPrincipal verify(String token) {
+        if (token == null) {
+            return null;
+        }
+        int firstDot = token.indexOf('.');
+        int lastDot = token.lastIndexOf('.');
+        if (firstDot <= 0 || lastDot == firstDot || !HEADER.equals(token.substring(0, firstDot))) {
+            return null;
+        }
+        try {
+            byte[] expected = sign(token.substring(0, lastDot));
+            byte[] actual = DECODER.decode(token.substring(lastDot + 1));
+            if (!MessageDigest.isEqual(expected, actual)) {
+                return null;
+            }
+            JsonNode claims = objectMapper.readTree(DECODER.decode(token.substring(firstDot + 1, lastDot)));
+            long expiresAt = claims.path("exp").asLong(0);
+            if (expiresAt <= clock.instant().getEpochSecond() || !issuer.equals(claims.path("iss").asText())) {
+                return null;
+            }
+            return new AuthPrincipal(
+                    UUID.fromString(claims.path("sub").asText()),
+                    claims.path("email").asText(),
+                    claims.hasNonNull("emp") ? UUID.fromString(claims.get("emp").asText()) : null,
+                    claims.hasNonNull("role") ? claims.get("role").asText() : null,
+                    expiresAt,
+                    // Tokens issued before multi-tenancy belong to the default tenant
+                    claims.hasNonNull("tid") ? claims.get("tid").asText() : Tenant.DEFAULT_ID
+            );
+        } catch (IllegalArgumentException | IOException e) {
+            return null;
+        }
+    }
+
+    private byte[] sign(String signingInput) {
+        Mac mac = macs.get();
+        // doFinal resets the Mac, so the same instance is reused by the next call on this thread
+        return mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private byte[] writeClaims(ObjectNode claims) {
+        try {
+            return objectMapper.writeValueAsBytes(claims);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialize token claims", e);
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+}
@@ -4,30 +4,54 @@ import com.global.lbc.features.employee.apparatus.application.dto.EmployeeRespon
 import com.global.lbc.features.employee.apparatus.application.service.EmployeeService;
 import com.global.lbc.features.employee.apparatus.model.util.EmployeeRole;
 import com.global.lbc.features.employee.apparatus.model.util.EmploymentType;
+import com.global.lbc.features.vacation.apparatus.application.dto.VacationPlanResponse;
+import com.global.lbc.features.vacation.apparatus.application.service.VacationService;
+import com.global.lbc.shared.BatchGet;
+import com.global.lbc.shared.BatchGetRequest;
+import com.global.lbc.shared.PaginatedResponse;
+import com.global.lbc.shared.TotalsMode;
+import com.global.lbc.shared.WireFormats;
+import com.global.lbc.shared.idempotency.Idempotent;
+import com.global.lbc.shared.ratelimit.EndpointClass;
+import com.global.lbc.shared.ratelimit.RateLimitClass;
+import com.global.lbc.shared.routing.ReadOnlyRequest;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.SecurityContext;
 
 import java.util.List;
 import java.util.UUID;
 
 @Path("/employees")
-@Produces(MediaType.APPLICATION_JSON)
-@Consumes(MediaType.APPLICATION_JSON)
+@Produces({MediaType.APPLICATION_JSON, WireFormats.APPLICATION_CBOR, WireFormats.APPLICATION_SMILE})
+@Consumes({MediaType.APPLICATION_JSON, WireFormats.APPLICATION_CBOR, WireFormats.APPLICATION_SMILE})
 public class EmployeeResource {
 
     @Inject
     EmployeeService employeeService;
 
+    @Inject
+    BatchGet batchGet;
+
+    @Inject
+    VacationService vacationService;
+
+    // fields=id,name,surname returns only those keys and selects only those columns
     @GET
     public Response listEmployees(
             @QueryParam("page") @DefaultValue("0") int page,
-            @QueryParam("size") @DefaultValue("50") int size
+            @QueryParam("size") @DefaultValue("50") int size,
+            @QueryParam("fields") String fields
     ) {
         try {
+            if (fields != null && !fields.isBlank()) {
+                return Response.ok(employeeService.findAll(page, size, fields)).build();
+            }
             List<EmployeeResponse> employees = employeeService.findAll(page, size);
             return Response.ok(employees).build();
         } catch (IllegalArgumentException e) {
@@ -53,11 +77,55 @@ public class EmployeeResource {
         }
     }
 
+    @GET
+    @Path("/paged")
+    public Response listEmployeesPaged(
+            @QueryParam("page") @DefaultValue("0") int page,
+            @QueryParam("size") @DefaultValue("50") int size,
+            @QueryParam("sortField") @DefaultValue("name") String sortField,
+            @QueryParam("sortOrder") @DefaultValue("asc") String sortOrder,
+            @QueryParam("activeOnly") @DefaultValue("false") boolean activeOnly,
+            @QueryParam("totals") @DefaultValue("exact") String totals,
+            @QueryParam("fields") String fields
+    ) {
+        try {
+            TotalsMode totalsMode = TotalsMode.fromParam(totals);
+            if (fields != null && !fields.isBlank()) {
+                return Response.ok(activeOnly
+                        ? employeeService.getActiveEmployees(page, size, totalsMode, fields)
+                        : employeeService.getPaginatedEmployees(page, size, sortField, sortOrder, totalsMode, fields)
+                ).build();
+            }
+            PaginatedResponse<EmployeeResponse> response = activeOnly
+                    ? employeeService.getActiveEmployees(page, size, totalsMode)
+                    : employeeService.getPaginatedEmployees(page, size, sortField, sortOrder, totalsMode);
+            return Response.ok(response).build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        }
+    }
+
     @GET
     @Path("/{id}")
-    public Response getEmployeeById(@PathParam("id") String idStr) {
+    public Response getEmployeeById(@PathParam("id") String idStr, @QueryParam("fields") String fields) {
+        UUID id;
         try {
-            UUID id = UUID.fromString(idStr);
+            id = UUID.fromString(idStr);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse("Invalid ID: " + e.getMessage()))
+                    .build();
+        }
+        try {
+            if (fields != null && !fields.isBlank()) {
+                return employeeService.findById(id, fields)
+                        .map(employee -> Response.ok(employee).build())
+                        .orElse(Response.status(Response.Status.NOT_FOUND)
+                                .entity(new ErrorResponse("Employee not found with ID: " + id))
+                                .build());
+            }
             // ✅ CORREÇÃO: Desempacotar o Optional
             return employeeService.findById(id)
                     .map(employee -> Response.ok(employee).build())
@@ -66,13 +134,14 @@ public class EmployeeResource {
                             .build());
         } catch (IllegalArgumentException e) {
             return Response.status(Response.Status.BAD_REQUEST)
-                    .entity(new ErrorResponse("Invalid ID: " + e.getMessage()))
+                    .entity(new ErrorResponse(e.getMessage()))
                     .build();
         }
     }
 
     @GET
     @Path("/search")
+    @RateLimitClass(EndpointClass.SEARCH)
     public Response searchByName(@QueryParam("q") String query) {
         if (query == null || query.trim().isEmpty()) {
             return Response.status(Response.Status.BAD_REQUEST)
@@ -132,14 +201,66 @@ public class EmployeeResource {
         }
     }
 
+    // Best leave windows of the year (bridges over weekends and national holidays) within the balance
+    // left after pending requests. budget = max days charged per window (defaults to that), limit = periods returned
+    @GET
+    @Path("/{id}/vacation-plan")
+    public Response getVacationPlan(
+            @PathParam("id") String idStr,
+            @QueryParam("year") Integer year,
+            @QueryParam("budget") Integer budget,
+            @QueryParam("limit") Integer limit,
+            @Context SecurityContext security
+    ) {
+        try {
+            UUID id = UUID.fromString(idStr);
+            VacationPlanResponse plan = vacationService.planVacation(id, year, budget, limit, security.getUserPrincipal());
+            return Response.ok(plan).build();
+        } catch (NotFoundException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        } catch (ForbiddenException e) {
+            return Response.status(Response.Status.FORBIDDEN)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        }
+    }
+
+    // {"ids": [...]} -> JSON array in the same order, {"id", "found", "item"} per ID, streamed chunk by chunk
+    @POST
+    @Path("/batch-get")
+    @Produces(MediaType.APPLICATION_JSON)
+    @ReadOnlyRequest
+    @RateLimitClass(EndpointClass.READ)
+    public Response batchGet(BatchGetRequest request) {
+        try {
+            List<UUID> ids = batchGet.validate(request);
+            return Response.ok(batchGet.stream(ids, employeeService::findByIds)).build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        }
+    }
+
     @POST
+    @Idempotent
     @Transactional
-    public Response create(@Valid EmployeeResponse dto) {
+    public Response create(@Valid EmployeeResponse dto, @Context SecurityContext security) {
         try {
-            EmployeeResponse created = employeeService.create(dto);
+            EmployeeResponse created = employeeService.create(dto, security.getUserPrincipal());
             return Response.status(Response.Status.CREATED)
                     .entity(created)
                     .build();
+        } catch (ForbiddenException e) {
+            return Response.status(Response.Status.FORBIDDEN)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
         } catch (IllegalArgumentException e) {
             return Response.status(Response.Status.BAD_REQUEST)
                     .entity(new ErrorResponse(e.getMessage()))
@@ -150,11 +271,16 @@ public class EmployeeResource {
     @PUT
     @Path("/{id}")
     @Transactional
-    public Response update(@PathParam("id") String idStr, @Valid EmployeeResponse dto) {
+    public Response update(@PathParam("id") String idStr, @Valid EmployeeResponse dto,
+                           @Context SecurityContext security) {
         try {
             UUID id = UUID.fromString(idStr);
-            EmployeeResponse updated = employeeService.update(id, dto);
+            EmployeeResponse updated = employeeService.update(id, dto, security.getUserPrincipal());
             return Response.ok(updated).build();
+        } catch (ForbiddenException e) {
+            return Response.status(Response.Status.FORBIDDEN)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
         } catch (IllegalArgumentException e) {
             return Response.status(Response.Status.BAD_REQUEST)
                     .entity(new ErrorResponse(e.getMessage()))
@@ -169,13 +295,17 @@ public class EmployeeResource {
     @DELETE
     @Path("/{id}")
     @Transactional
-    public Response delete(@PathParam("id") String idStr) {
+    public Response delete(@PathParam("id") String idStr, @Context SecurityContext security) {
         try {
             UUID id = UUID.fromString(idStr);
-            employeeService.delete(id);
+            employeeService.delete(id, security.getUserPrincipal());
             return Response.ok()
                     .entity(new SuccessResponse("Employee deleted successfully"))
                     .build();
+        } catch (ForbiddenException e) {
+            return Response.status(Response.Status.FORBIDDEN)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
         } catch (NotFoundException e) {
             return Response.status(Response.Status.NOT_FOUND)
                     .entity(new ErrorResponse(e.getMessage()))
@@ -196,15 +326,20 @@ public class EmployeeResource {
     @Transactional
     public Response assignManager(
             @PathParam("employeeId") String employeeIdStr,
-            @PathParam("managerId") String managerIdStr
+            @PathParam("managerId") String managerIdStr,
+            @Context SecurityContext security
     ) {
         try {
             UUID employeeId = UUID.fromString(employeeIdStr);
             UUID managerId = UUID.fromString(managerIdStr);
-            employeeService.assignManager(employeeId, managerId);
+            employeeService.assignManager(employeeId, managerId, security.getUserPrincipal());
             return Response.ok()
                     .entity(new SuccessResponse("Manager assigned successfully"))
                     .build();
+        } catch (ForbiddenException e) {
+            return Response.status(Response.Status.FORBIDDEN)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
         } catch (NotFoundException e) {
             return Response.status(Response.Status.NOT_FOUND)
                     .entity(new ErrorResponse(e.getMessage()))
@@ -223,13 +358,18 @@ public class EmployeeResource {
     @DELETE
     @Path("/{employeeId}/manager")
     @Transactional
-    public Response removeManager(@PathParam("employeeId") String employeeIdStr) {
+    public Response removeManager(@PathParam("employeeId") String employeeIdStr,
+                                  @Context SecurityContext security) {
         try {
             UUID employeeId = UUID.fromString(employeeIdStr);
-            employeeService.removeManager(employeeId);
+            employeeService.removeManager(employeeId, security.getUserPrincipal());
             return Response.ok()
                     .entity(new SuccessResponse("Manager removed successfully"))
                     .build();
+        } catch (ForbiddenException e) {
+            return Response.status(Response.Status.FORBIDDEN)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
         } catch (NotFoundException e) {
             return Response.status(Response.Status.NOT_FOUND)
                     .entity(new ErrorResponse(e.getMessage()))
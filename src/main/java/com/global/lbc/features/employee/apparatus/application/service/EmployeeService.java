@@ -2,21 +2,36 @@ package com.global.lbc.features.employee.apparatus.application.service;
 
 import com.global.lbc.features.employee.apparatus.application.dto.EmployeeResponse;
 import com.global.lbc.features.employee.apparatus.model.Employee;
+import com.global.lbc.features.employee.apparatus.model.events.EmployeeEvents;
 import com.global.lbc.features.employee.apparatus.model.util.EmployeeRole;
 import com.global.lbc.features.employee.apparatus.model.util.EmploymentType;
 import com.global.lbc.features.employee.apparatus.usecases.any.fiscal.number.factory.TaxIdentifierFactory;
 import com.global.lbc.features.employee.apparatus.usecases.any.fiscal.number.interfaces.TaxIdentifier;
+import com.global.lbc.features.employee.apparatus.usecases.hierarchy.HierarchyAuthorization;
+import com.global.lbc.features.vacation.apparatus.usecases.ledger.VacationLedger;
 import com.global.lbc.features.employee.apparatus.usecases.pt.social.number.SocialNumber;
+import com.global.lbc.shared.FieldSelection;
 import com.global.lbc.shared.PaginatedResponse;
+import com.global.lbc.shared.PaginationTotals;
+import com.global.lbc.shared.TotalsMode;
+import com.global.lbc.shared.TotalsQuery;
+import com.global.lbc.shared.coalescing.Coalesce;
+import com.global.lbc.shared.events.DomainEvent;
+import com.global.lbc.shared.routing.ReadReplica;
 import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.NotFoundException;
 
+import java.security.Principal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -28,28 +43,82 @@ public class EmployeeService {
     private static final int MAX_PAGE_SIZE = 100;
     private static final int PURGE_DAYS_THRESHOLD = 30;
 
+    // ?fields= whitelist (JSON name -> Employee attribute); managerId reads manager_id without joining.
+    // salaryBase and socialNumber stay out: a projection must never be a way around field-level access.
+    private static final FieldSelection SPARSE_FIELDS = FieldSelection.of("Employee")
+            .field("name")
+            .field("surname")
+            .field("fiscalNumber")
+            .field("fiscalNumberCountry")
+            .field("dateOfBirth")
+            .field("employmentType")
+            .field("employeeRole")
+            .field("hireDate")
+            .field("terminationDate")
+            .field("isActive")
+            .field("managerId", "manager.id")
+            .field("vacationDaysBalance")
+            .field("vacationDaysUsed")
+            .field("createdAt")
+            .field("updatedAt")
+            .build();
+
+    @Inject
+    PaginationTotals paginationTotals;
+
+    @Inject
+    Event<DomainEvent> domainEvents;
+
+    // Checks run before the entity is touched: the resources catch the exception inside the transaction
+    @Inject
+    HierarchyAuthorization authorization;
+
+    @Inject
+    VacationLedger ledger;
+
+    @ReadReplica
     public PaginatedResponse<EmployeeResponse> getPaginatedEmployees(int page, int size, String sortField, String sortOrder) {
+        return getPaginatedEmployees(page, size, sortField, sortOrder, TotalsMode.EXACT);
+    }
+
+    @Coalesce
+    @ReadReplica
+    public PaginatedResponse<EmployeeResponse> getPaginatedEmployees(int page, int size, String sortField, String sortOrder,
+                                                                     TotalsMode totals) {
         validatePagination(page, size);
         validateSortField(sortField);
 
         Sort sortBy = buildSort(sortField, sortOrder);
 
-        var query = Employee.<Employee>findAll(sortBy).page(page, size);
-        long totalItems = Employee.count();
-        int totalPages = (int) Math.ceil((double) totalItems / size);
+        return paginationTotals.paginate(
+                Employee.<Employee>findAll(sortBy),
+                page,
+                size,
+                this::toDto,
+                totals,
+                TotalsQuery.of("employee_profile", Employee::count)
+        );
+    }
 
-        List<EmployeeResponse> employees = query.list().stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+    // Sparse variant: only the requested columns are selected, rows come back as JSON objects
+    @ReadReplica
+    public PaginatedResponse<Map<String, Object>> getPaginatedEmployees(int page, int size, String sortField, String sortOrder,
+                                                                        TotalsMode totals, String fields) {
+        validatePagination(page, size);
+        validateSortField(sortField);
 
-        return new PaginatedResponse<>(
-                employees,
-                totalItems,
-                totalPages,
-                page
+        FieldSelection.Selected selected = SPARSE_FIELDS.parse(fields);
+        return paginationTotals.paginate(
+                selected.query(null, Map.of(), buildOrderBy(sortField, sortOrder)),
+                page,
+                size,
+                selected::toMap,
+                totals,
+                TotalsQuery.of("employee_profile", Employee::count)
         );
     }
 
+    @ReadReplica
     public List<EmployeeResponse> getFirst50ActiveEmployees() {
         return Employee.<Employee>find("isActive = true", Sort.by("name").ascending())
                 .page(0, DEFAULT_PAGE_SIZE)
@@ -59,26 +128,43 @@ public class EmployeeService {
                 .collect(Collectors.toList());
     }
 
+    @ReadReplica
     public PaginatedResponse<EmployeeResponse> getActiveEmployees(int page, int size) {
+        return getActiveEmployees(page, size, TotalsMode.EXACT);
+    }
+
+    @Coalesce
+    @ReadReplica
+    public PaginatedResponse<EmployeeResponse> getActiveEmployees(int page, int size, TotalsMode totals) {
         validatePagination(page, size);
 
-        var query = Employee.<Employee>find("isActive = true", Sort.by("name").ascending())
-                .page(page, size);
-        long totalItems = Employee.count("isActive = true");
-        int totalPages = (int) Math.ceil((double) totalItems / size);
+        return paginationTotals.paginate(
+                Employee.<Employee>find("isActive = true", Sort.by("name").ascending()),
+                page,
+                size,
+                this::toDto,
+                totals,
+                TotalsQuery.of("employee_profile", "is_active = true", () -> Employee.count("isActive = true"))
+        );
+    }
 
-        List<EmployeeResponse> employees = query.list().stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+    @ReadReplica
+    public PaginatedResponse<Map<String, Object>> getActiveEmployees(int page, int size, TotalsMode totals, String fields) {
+        validatePagination(page, size);
 
-        return new PaginatedResponse<>(
-                employees,
-                totalItems,
-                totalPages,
-                page
+        FieldSelection.Selected selected = SPARSE_FIELDS.parse(fields);
+        return paginationTotals.paginate(
+                selected.query("isActive = true", Map.of(), "name ASC"),
+                page,
+                size,
+                selected::toMap,
+                totals,
+                TotalsQuery.of("employee_profile", "is_active = true", () -> Employee.count("isActive = true"))
         );
     }
 
+    @Coalesce
+    @ReadReplica
     public Optional<EmployeeResponse> findById(UUID id) {
         if (id == null) {
             throw new IllegalArgumentException("ID cannot be null");
@@ -87,6 +173,27 @@ public class EmployeeService {
         return Optional.ofNullable(employee).map(this::toDto);
     }
 
+    // One chunk of POST /employees/batch-get (see BatchGet): a single IN query, missing IDs are simply absent
+    @ReadReplica
+    public Map<UUID, EmployeeResponse> findByIds(List<UUID> ids) {
+        return Employee.<Employee>list("id in ?1", ids)
+                .stream()
+                .collect(Collectors.toMap(employee -> employee.id, this::toDto));
+    }
+
+    @ReadReplica
+    public Optional<Map<String, Object>> findById(UUID id, String fields) {
+        if (id == null) {
+            throw new IllegalArgumentException("ID cannot be null");
+        }
+        FieldSelection.Selected selected = SPARSE_FIELDS.parse(fields);
+        return selected.query("id = :id", Map.of("id", id), null)
+                .getResultStream()
+                .findFirst()
+                .map(selected::toMap);
+    }
+
+    @ReadReplica
     public EmployeeResponse findByFiscalNumber(String fiscalNumber, String country) {
         if (fiscalNumber == null || fiscalNumber.isBlank()) {
             throw new IllegalArgumentException("Fiscal number cannot be empty");
@@ -107,6 +214,7 @@ public class EmployeeService {
         return toDto(employee);
     }
 
+    @ReadReplica
     public EmployeeResponse findBySocialNumber(String socialNumberStr) {
         if (socialNumberStr == null || socialNumberStr.isBlank()) {
             throw new IllegalArgumentException("Social number cannot be empty");
@@ -125,6 +233,7 @@ public class EmployeeService {
         return toDto(employee);
     }
 
+    @ReadReplica
     public List<EmployeeResponse> searchByName(String searchTerm) {
         if (searchTerm == null || searchTerm.isBlank()) {
             throw new IllegalArgumentException("Search term cannot be empty");
@@ -141,6 +250,7 @@ public class EmployeeService {
                 .collect(Collectors.toList());
     }
 
+    @ReadReplica
     public List<EmployeeResponse> findByRole(EmployeeRole role) {
         if (role == null) {
             throw new IllegalArgumentException("Role cannot be null");
@@ -153,6 +263,7 @@ public class EmployeeService {
                 .collect(Collectors.toList());
     }
 
+    @ReadReplica
     public List<EmployeeResponse> findByEmploymentType(EmploymentType type) {
         if (type == null) {
             throw new IllegalArgumentException("Employment type cannot be null");
@@ -220,8 +331,20 @@ public class EmployeeService {
     }
 
     @Transactional
-    public EmployeeResponse create(EmployeeResponse dto) {
+    public EmployeeResponse create(EmployeeResponse dto, Principal caller) {
         validateEmployeeData(dto);
+        // A manager can add people to their own subtree; top-level employees and ADMINs need an ADMIN
+        if (dto.managerId == null || dto.employeeRole == EmployeeRole.ADMIN) {
+            authorization.requireAdmin(caller);
+        } else {
+            authorization.requireSelfOrManagerOf(caller, dto.managerId);
+        }
+
+        long openingBalance = dto.vacationDaysBalance != null ? dto.vacationDaysBalance : 0L;
+        long openingUsed = dto.vacationDaysUsed != null ? dto.vacationDaysUsed : 0L;
+        if (openingBalance < 0 || openingUsed < 0) {
+            throw new IllegalArgumentException("Vacation days cannot be negative");
+        }
 
         String socialNumberStr = (dto.socialNumber != null) ? dto.socialNumber.getValue() : null;
         validateUniqueIdentifiers(dto.fiscalNumber, dto.fiscalNumberCountry, socialNumberStr, null);
@@ -233,16 +356,27 @@ public class EmployeeService {
         }
 
         employee.persist();
+        // The initial balance becomes the first ledger movement
+        ledger.open(employee, openingBalance, openingUsed, caller != null ? caller.getName() : "system");
+        domainEvents.fire(EmployeeEvents.created(employee));
 
         return toDto(employee);
     }
 
     @Transactional
-    public EmployeeResponse update(UUID id, EmployeeResponse dto) {
+    public EmployeeResponse update(UUID id, EmployeeResponse dto, Principal caller) {
         Employee employee = Employee.findById(id);
         if (employee == null) {
             throw new NotFoundException("Employee not found: " + id);
         }
+        authorization.requireManagerOf(caller, id);
+        if (dto.employeeRole == EmployeeRole.ADMIN && employee.employeeRole != EmployeeRole.ADMIN) {
+            authorization.requireAdmin(caller);
+        }
+        UUID currentManagerId = employee.manager == null ? null : employee.manager.id;
+        if (!Objects.equals(dto.managerId, currentManagerId)) {
+            authorizeManagerChange(caller, dto.managerId);
+        }
 
         validateEmployeeData(dto);
 
@@ -254,6 +388,7 @@ public class EmployeeService {
         if (employee.manager != null) {
             validateManagerAssignment(id, employee.manager.id);
         }
+        domainEvents.fire(EmployeeEvents.updated(employee));
 
         return toDto(employee);
     }
@@ -287,6 +422,7 @@ public class EmployeeService {
         employee.terminationDate = LocalDate.now();
 
         employee.persist();
+        domainEvents.fire(EmployeeEvents.deactivated(employee));
     }
 
     @Transactional
@@ -295,8 +431,9 @@ public class EmployeeService {
     }
 
     @Transactional
-    public void delete(UUID id) {
-        deactivateEmployee(id, "system");
+    public void delete(UUID id, Principal caller) {
+        authorization.requireManagerOf(caller, id);
+        deactivateEmployee(id, caller != null ? caller.getName() : "system");
     }
 
     @Transactional
@@ -317,6 +454,7 @@ public class EmployeeService {
         employee.terminationDate = null;
 
         employee.persist();
+        domainEvents.fire(EmployeeEvents.restored(employee));
     }
 
     @Transactional
@@ -353,9 +491,11 @@ public class EmployeeService {
             );
         }
 
+        ledger.archive(id);
         employee.delete();
     }
 
+    @ReadReplica
     public List<EmployeeResponse> getDeletedEmployees() {
         return Employee.<Employee>find("isActive = false AND deletedAt IS NOT NULL")
                 .list()
@@ -364,26 +504,27 @@ public class EmployeeService {
                 .collect(Collectors.toList());
     }
 
+    @ReadReplica
     public PaginatedResponse<EmployeeResponse> getDeletedEmployees(int page, int size) {
-        validatePagination(page, size);
-
-        var query = Employee.<Employee>find("isActive = false AND deletedAt IS NOT NULL", Sort.by("deletedAt").descending())
-                .page(page, size);
-        long totalItems = Employee.count("isActive = false AND deletedAt IS NOT NULL");
-        int totalPages = (int) Math.ceil((double) totalItems / size);
+        return getDeletedEmployees(page, size, TotalsMode.EXACT);
+    }
 
-        List<EmployeeResponse> employees = query.list().stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+    @ReadReplica
+    public PaginatedResponse<EmployeeResponse> getDeletedEmployees(int page, int size, TotalsMode totals) {
+        validatePagination(page, size);
 
-        return new PaginatedResponse<>(
-                employees,
-                totalItems,
-                totalPages,
-                page
+        return paginationTotals.paginate(
+                Employee.<Employee>find("isActive = false AND deletedAt IS NOT NULL", Sort.by("deletedAt").descending()),
+                page,
+                size,
+                this::toDto,
+                totals,
+                TotalsQuery.of("employee_profile", "is_active = false AND deleted_at IS NOT NULL",
+                        () -> Employee.count("isActive = false AND deletedAt IS NOT NULL"))
         );
     }
 
+    @ReadReplica
     public List<EmployeeResponse> getDeletedEmployeesBetween(LocalDateTime startDate, LocalDateTime endDate) {
         if (startDate == null || endDate == null) {
             throw new IllegalArgumentException("Dates cannot be null");
@@ -403,6 +544,7 @@ public class EmployeeService {
                 .collect(Collectors.toList());
     }
 
+    @ReadReplica
     public List<EmployeeResponse> getDeletedEmployeesByUser(String deletedBy) {
         if (deletedBy == null || deletedBy.isBlank()) {
             throw new IllegalArgumentException("Username cannot be empty");
@@ -416,8 +558,10 @@ public class EmployeeService {
     }
 
     @Transactional
-    public void assignManager(UUID employeeId, UUID managerId) {
+    public void assignManager(UUID employeeId, UUID managerId, Principal caller) {
         validateManagerAssignment(employeeId, managerId);
+        authorization.requireManagerOf(caller, employeeId);
+        authorizeManagerChange(caller, managerId);
 
         Employee employee = Employee.findById(employeeId);
         Employee manager = Employee.findById(managerId);
@@ -426,18 +570,25 @@ public class EmployeeService {
             throw new NotFoundException("Employee or manager not found");
         }
 
+        UUID previousManagerId = employee.manager == null ? null : employee.manager.id;
         employee.manager = manager;
+        domainEvents.fire(EmployeeEvents.managerAssigned(employee, previousManagerId));
     }
 
     @Transactional
-    public void removeManager(UUID employeeId) {
+    public void removeManager(UUID employeeId, Principal caller) {
         Employee employee = Employee.findById(employeeId);
         if (employee == null) {
             throw new NotFoundException("Employee not found: " + employeeId);
         }
+        // Without a manager the employee becomes top-level, which only an ADMIN may create
+        authorization.requireAdmin(caller);
+        UUID previousManagerId = employee.manager == null ? null : employee.manager.id;
         employee.manager = null;
+        domainEvents.fire(EmployeeEvents.managerRemoved(employee, previousManagerId));
     }
 
+    @ReadReplica
     public List<EmployeeResponse> getSubordinates(UUID managerId) {
         if (managerId == null) {
             throw new IllegalArgumentException("Manager ID cannot be null");
@@ -450,6 +601,7 @@ public class EmployeeService {
                 .collect(Collectors.toList());
     }
 
+    @ReadReplica
     public List<EmployeeResponse> getAllManagers() {
         List<UUID> managerIds = Employee.find(
                 "SELECT DISTINCT e.manager.id FROM Employee e WHERE e.manager IS NOT NULL AND e.isActive = true"
@@ -466,6 +618,7 @@ public class EmployeeService {
                 .collect(Collectors.toList());
     }
 
+    @ReadReplica
     public List<EmployeeResponse> getTopLevelEmployees() {
         return Employee.<Employee>find("manager IS NULL AND isActive = true")
                 .list()
@@ -474,6 +627,7 @@ public class EmployeeService {
                 .collect(Collectors.toList());
     }
 
+    @ReadReplica
     public List<EmployeeResponse> findAll(int page, int size) {
         validatePagination(page, size);
 
@@ -485,6 +639,21 @@ public class EmployeeService {
                 .collect(Collectors.toList());
     }
 
+    @ReadReplica
+    public List<Map<String, Object>> findAll(int page, int size, String fields) {
+        validatePagination(page, size);
+
+        FieldSelection.Selected selected = SPARSE_FIELDS.parse(fields);
+        return selected.query(null, Map.of(), "name ASC")
+                .setFirstResult(page * size)
+                .setMaxResults(size)
+                .getResultList()
+                .stream()
+                .map(selected::toMap)
+                .collect(Collectors.toList());
+    }
+
+    @ReadReplica
     public List<EmployeeResponse> findActiveEmployees(int page, int size) {
         validatePagination(page, size);
 
@@ -508,8 +677,6 @@ public class EmployeeService {
         employee.terminationDate = dto.terminationDate;
         employee.salaryBase = dto.salaryBase;
         employee.isActive = dto.isActive != null ? dto.isActive : true;
-        employee.vacationDaysBalance = dto.vacationDaysBalance != null ? dto.vacationDaysBalance : 0L;
-        employee.vacationDaysUsed = dto.vacationDaysUsed != null ? dto.vacationDaysUsed : 0L;
 
         if (dto.fiscalNumber != null && dto.fiscalNumberCountry != null) {
             TaxIdentifier taxId = TaxIdentifierFactory.create(dto.fiscalNumberCountry, dto.fiscalNumber);
@@ -565,8 +732,8 @@ public class EmployeeService {
         employee.terminationDate = dto.terminationDate;
         employee.salaryBase = dto.salaryBase;
         employee.isActive = dto.isActive;
-        employee.vacationDaysBalance = dto.vacationDaysBalance;
-        employee.vacationDaysUsed = dto.vacationDaysUsed;
+        // vacationDaysBalance/vacationDaysUsed are a projection of the vacation ledger and are
+        // never taken from the request; use POST /vacations/balance/{employeeId}/entries
 
         if (dto.fiscalNumber != null && dto.fiscalNumberCountry != null) {
             TaxIdentifier taxId = TaxIdentifierFactory.create(dto.fiscalNumberCountry, dto.fiscalNumber);
@@ -623,6 +790,15 @@ public class EmployeeService {
         }
     }
 
+    // The new manager must be the caller or inside the caller's subtree; no manager means top-level
+    private void authorizeManagerChange(Principal caller, UUID newManagerId) {
+        if (newManagerId == null) {
+            authorization.requireAdmin(caller);
+        } else {
+            authorization.requireSelfOrManagerOf(caller, newManagerId);
+        }
+    }
+
     private void validateManagerAssignment(UUID employeeId, UUID managerId) {
         if (managerId == null) {
             return;
@@ -674,6 +850,11 @@ public class EmployeeService {
                 : Sort.by(sortField).ascending();
     }
 
+    // Same ordering as buildSort for the HQL projections; sortField is already whitelisted
+    private String buildOrderBy(String sortField, String sortOrder) {
+        return sortField + ("desc".equalsIgnoreCase(sortOrder) ? " DESC" : " ASC");
+    }
+
     private boolean hasActiveSubordinates(UUID managerId) {
         return Employee.count("manager.id = ?1 AND isActive = true", managerId) > 0;
     }
@@ -695,22 +876,30 @@ public class EmployeeService {
         return Employee.findById(id);
     }
 
+    @Coalesce
+    @ReadReplica
     public long countActiveEmployees() {
         return Employee.count("isActive = true");
     }
 
+    @ReadReplica
     public long countDeletedEmployees() {
         return Employee.count("isActive = false AND deletedAt IS NOT NULL");
     }
 
+    @Coalesce
+    @ReadReplica
     public long countByRole(EmployeeRole role) {
         return Employee.count("employeeRole = ?1 AND isActive = true", role);
     }
 
+    @Coalesce
+    @ReadReplica
     public long countByEmploymentType(EmploymentType type) {
         return Employee.count("employmentType = ?1 AND isActive = true", type);
     }
 
+    @ReadReplica
     public List<EmployeeResponse> findByHireDateRange(LocalDate startDate, LocalDate endDate) {
         if (startDate == null || endDate == null) {
             throw new IllegalArgumentException("Dates cannot be null");
@@ -0,0 +1,85 @@
+package com.global.lbc.features.employee.apparatus.model.events;
+
+import com.global.lbc.features.employee.apparatus.model.Employee;
+import com.global.lbc.features.employee.apparatus.model.util.EmployeeRole;
+import com.global.lbc.shared.events.DomainEvent;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// ============================================================
+// DOMAIN EVENTS: Employee
+// ============================================================
+public final class EmployeeEvents {
+
+    public static final String AGGREGATE_TYPE = "employee";
+
+    private EmployeeEvents() {
+    }
+
+    public interface EmployeeEvent extends DomainEvent {
+        UUID employeeId();
+
+        @Override
+        default UUID aggregateId() {
+            return employeeId();
+        }
+
+        @Override
+        default String aggregateType() {
+            return AGGREGATE_TYPE;
+        }
+    }
+
+    public record EmployeeCreated(UUID employeeId, UUID managerId, EmployeeRole role, boolean active, Instant occurredAt)
+            implements EmployeeEvent {
+    }
+
+    public record EmployeeUpdated(UUID employeeId, UUID managerId, EmployeeRole role, boolean active, Instant occurredAt)
+            implements EmployeeEvent {
+    }
+
+    public record EmployeeDeactivated(UUID employeeId, UUID managerId, String deletedBy, Instant occurredAt)
+            implements EmployeeEvent {
+    }
+
+    public record EmployeeRestored(UUID employeeId, UUID managerId, Instant occurredAt) implements EmployeeEvent {
+    }
+
+    public record ManagerAssigned(UUID employeeId, UUID managerId, UUID previousManagerId, Instant occurredAt)
+            implements EmployeeEvent {
+    }
+
+    public record ManagerRemoved(UUID employeeId, UUID previousManagerId, Instant occurredAt) implements EmployeeEvent {
+    }
+
+    public static EmployeeCreated created(Employee employee) {
+        return new EmployeeCreated(employee.id, managerId(employee), employee.employeeRole,
+                !Boolean.FALSE.equals(employee.isActive), Instant.now());
+    }
+
+    public static EmployeeUpdated updated(Employee employee) {
+        return new EmployeeUpdated(employee.id, managerId(employee), employee.employeeRole,
+                !Boolean.FALSE.equals(employee.isActive), Instant.now());
+    }
+
+    public static EmployeeDeactivated deactivated(Employee employee) {
+        return new EmployeeDeactivated(employee.id, managerId(employee), employee.deletedBy, Instant.now());
+    }
+
+    public static EmployeeRestored restored(Employee employee) {
+        return new EmployeeRestored(employee.id, managerId(employee), Instant.now());
+    }
+
+    public static ManagerAssigned managerAssigned(Employee employee, UUID previousManagerId) {
+        return new ManagerAssigned(employee.id, managerId(employee), previousManagerId, Instant.now());
+    }
+
+    public static ManagerRemoved managerRemoved(Employee employee, UUID previousManagerId) {
+        return new ManagerRemoved(employee.id, previousManagerId, Instant.now());
+    }
+
+    private static UUID managerId(Employee employee) {
+        return employee.manager == null ? null : employee.manager.id;
+    }
+}
@@ -0,0 +1,77 @@
+package com.global.lbc.features.employee.apparatus.usecases.hierarchy;
+
+import com.global.lbc.features.auth.apparatus.usecases.security.AuthPrincipal;
+import com.global.lbc.features.employee.apparatus.model.util.EmployeeRole;
+import com.global.lbc.shared.tenant.Tenant;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.ForbiddenException;
+import jakarta.ws.rs.NotAuthorizedException;
+
+import java.security.Principal;
+import java.util.UUID;
+
+// Who may act on an employee's records: ADMINs, and managers anywhere above the employee in the
+// hierarchy (HierarchyIndex, O(1) per check). Self-service actions also allow the employee.
+// caller is the request's principal; null means an anonymous request, which is always refused with
+// 401 (auth.required=false only lets anonymous reads through, never these checks). Roles and hierarchy
+// are those of the principal's tenant (the only tenant its requests can reach, see TenantResolutionFilter).
+@ApplicationScoped
+public class HierarchyAuthorization {
+
+    @Inject
+    HierarchyIndex hierarchy;
+
+    // approve/reject, employee changes
+    public void requireManagerOf(Principal caller, UUID employeeId) {
+        AuthPrincipal principal = authenticated(caller);
+        if (isAdmin(principal)
+                || hierarchy.isAncestor(tenantOf(principal), principal.employeeId(), employeeId)) {
+            return;
+        }
+        throw new ForbiddenException("Only a manager of this employee or an administrator can do this");
+    }
+
+    // the employee's own requests (create, update, cancel) or any of their managers
+    public void requireSelfOrManagerOf(Principal caller, UUID employeeId) {
+        if (isSelfOrManagerOf(authenticated(caller), employeeId)) {
+            return;
+        }
+        throw new ForbiddenException("Only this employee, one of their managers or an administrator can do this");
+    }
+
+    // Non-throwing variant for read paths that hide what the caller may not see (GraphQL fields)
+    public boolean isSelfOrManagerOf(Principal caller, UUID employeeId) {
+        if (!(caller instanceof AuthPrincipal principal) || employeeId == null) {
+            return false;
+        }
+        return isAdmin(principal) || employeeId.equals(principal.employeeId())
+                || hierarchy.isAncestor(tenantOf(principal), principal.employeeId(), employeeId);
+    }
+
+    public void requireAdmin(Principal caller) {
+        AuthPrincipal principal = authenticated(caller);
+        if (isAdmin(principal)) {
+            return;
+        }
+        throw new ForbiddenException("Only an administrator can do this");
+    }
+
+    private static AuthPrincipal authenticated(Principal caller) {
+        if (caller == null) {
+            throw new NotAuthorizedException("Authentication required", "Bearer");
+        }
+        if (caller instanceof AuthPrincipal principal) {
+            return principal;
+        }
+        throw new ForbiddenException("Unsupported principal");
+    }
+
+    private static Tenant tenantOf(AuthPrincipal principal) {
+        return Tenant.of(principal.tenantId());
+    }
+
+    private static boolean isAdmin(AuthPrincipal principal) {
+        return EmployeeRole.ADMIN.name().equals(principal.role());
+    }
+}
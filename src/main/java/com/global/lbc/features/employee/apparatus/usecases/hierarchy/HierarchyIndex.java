@@ -0,0 +1,286 @@
+package com.global.lbc.features.employee.apparatus.usecases.hierarchy;
+
+import com.global.lbc.features.employee.apparatus.model.events.EmployeeEvents;
+import com.global.lbc.shared.events.DomainEvent;
+import com.global.lbc.shared.events.DomainEventSubscriber;
+import com.global.lbc.shared.invalidation.InvalidationSubscriber;
+import com.global.lbc.shared.tenant.Tenant;
+import com.global.lbc.shared.tenant.TenantRegistry;
+import com.global.lbc.shared.tenant.Tenants;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// ============================================================
+// HIERARCHY INDEX: "is X a (direct or indirect) manager of Y" without walking Employee.manager.
+// An Euler tour of the manager_id forest numbers every employee when the DFS enters it (enter)
+// and records the last number used inside its subtree (exit); X is an ancestor of Y exactly when
+// enter(X) < enter(Y) <= exit(X). That is two map lookups and two comparisons per check.
+//
+// The parent map is updated incrementally from employee events (DomainEventBus). The tour itself
+// is an immutable snapshot tagged with the version of the parent map it was built from; while a
+// change is not yet in the snapshot, checks walk the in-memory parent map instead (no DB either),
+// and the scheduled rebuild brings the snapshot back in line. Employees changed by other instances
+// are re-read as soon as ClusterInvalidation reports them; the periodic full reload stays as a
+// safety net. Each tenant has its own independent index.
+// ============================================================
+@ApplicationScoped
+public class HierarchyIndex implements DomainEventSubscriber, InvalidationSubscriber {
+
+    private static final Logger LOG = Logger.getLogger(HierarchyIndex.class);
+
+    // ConcurrentHashMap has no null values: employees without a manager point here
+    private static final UUID NO_MANAGER = new UUID(0L, 0L);
+
+    private static final String LOAD_SQL = "SELECT id, manager_id FROM employee_profile";
+    private static final String REFRESH_SQL = "SELECT id, manager_id FROM employee_profile WHERE id = ANY(?)";
+
+    @Inject
+    Tenants tenants;
+
+    @Inject
+    TenantRegistry tenantRegistry;
+
+    private final Map<String, Hierarchy> hierarchies = new ConcurrentHashMap<>();
+
+    // ========================================
+    // QUERIES
+    // ========================================
+
+    // Strict: nobody is their own ancestor
+    public boolean isAncestor(Tenant tenant, UUID ancestorId, UUID employeeId) {
+        if (ancestorId == null || employeeId == null || ancestorId.equals(employeeId)) {
+            return false;
+        }
+        return hierarchy(tenant).isAncestor(ancestorId, employeeId);
+    }
+
+    // ========================================
+    // UPDATES
+    // ========================================
+
+    @Override
+    public void on(Tenant tenant, DomainEvent event) {
+        UUID employeeId;
+        UUID managerId;
+        if (event instanceof EmployeeEvents.ManagerRemoved removed) {
+            employeeId = removed.employeeId();
+            managerId = null;
+        } else if (event instanceof EmployeeEvents.ManagerAssigned assigned) {
+            employeeId = assigned.employeeId();
+            managerId = assigned.managerId();
+        } else if (event instanceof EmployeeEvents.EmployeeCreated created) {
+            employeeId = created.employeeId();
+            managerId = created.managerId();
+        } else if (event instanceof EmployeeEvents.EmployeeUpdated updated) {
+            employeeId = updated.employeeId();
+            managerId = updated.managerId();
+        } else {
+            return;
+        }
+        hierarchy(tenant).setManager(employeeId, managerId == null ? NO_MANAGER : managerId);
+    }
+
+    @Override
+    public void replay(Tenant tenant) {
+        reload(tenant);
+    }
+
+    // Employees changed on another instance: only their rows are read again
+    @Override
+    public void invalidate(Tenant tenant, String aggregateType, Set<UUID> ids) {
+        if (!EmployeeEvents.AGGREGATE_TYPE.equals(aggregateType)) {
+            return;
+        }
+        Map<UUID, UUID> loaded = new HashMap<>();
+        try (Connection connection = tenants.connection(tenant);
+             PreparedStatement statement = connection.prepareStatement(REFRESH_SQL)) {
+            statement.setArray(1, connection.createArrayOf("uuid", ids.toArray()));
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    UUID managerId = rs.getObject("manager_id", UUID.class);
+                    loaded.put(rs.getObject("id", UUID.class), managerId == null ? NO_MANAGER : managerId);
+                }
+            }
+        } catch (SQLException e) {
+            LOG.warnf(e, "Could not refresh %d employees of tenant %s; the next reload picks them up",
+                    ids.size(), tenant.id());
+            return;
+        }
+        Hierarchy hierarchy = hierarchy(tenant);
+        for (UUID employeeId : ids) {
+            UUID managerId = loaded.get(employeeId);
+            if (managerId == null) {
+                // Purged
+                hierarchy.remove(employeeId);
+            } else {
+                hierarchy.setManager(employeeId, managerId);
+            }
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        reload();
+    }
+
+    @Scheduled(every = "${employee.hierarchy.reload-interval:1m}", identity = "employee-hierarchy-reload",
+            delayed = "${employee.hierarchy.reload-interval:1m}")
+    void reload() {
+        for (Tenant tenant : tenantRegistry.all()) {
+            reload(tenant);
+        }
+    }
+
+    void reload(Tenant tenant) {
+        Map<UUID, UUID> loaded = new HashMap<>();
+        try (Connection connection = tenants.connection(tenant);
+             PreparedStatement statement = connection.prepareStatement(LOAD_SQL);
+             ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                UUID managerId = rs.getObject("manager_id", UUID.class);
+                loaded.put(rs.getObject("id", UUID.class), managerId == null ? NO_MANAGER : managerId);
+            }
+        } catch (SQLException e) {
+            LOG.warnf(e, "Could not reload the employee hierarchy of tenant %s; keeping the current index", tenant.id());
+            return;
+        }
+        Hierarchy hierarchy = hierarchy(tenant);
+        hierarchy.replaceAll(loaded);
+        hierarchy.rebuildIfStale();
+    }
+
+    @Scheduled(every = "${employee.hierarchy.rebuild-interval:1s}", identity = "employee-hierarchy-rebuild")
+    void rebuildIfStale() {
+        for (Hierarchy hierarchy : hierarchies.values()) {
+            hierarchy.rebuildIfStale();
+        }
+    }
+
+    // ========================================
+    // INTERNALS
+    // ========================================
+
+    private Hierarchy hierarchy(Tenant tenant) {
+        return hierarchies.computeIfAbsent(tenant.id(), id -> new Hierarchy());
+    }
+
+    // The index of one tenant
+    private static final class Hierarchy {
+
+        private final Map<UUID, UUID> managerOf = new ConcurrentHashMap<>();
+        private final AtomicLong version = new AtomicLong();
+        private volatile Snapshot snapshot = new Snapshot(-1L, Map.of());
+
+        boolean isAncestor(UUID ancestorId, UUID employeeId) {
+            Snapshot current = snapshot;
+            if (current.version == version.get()) {
+                Interval ancestor = current.intervals.get(ancestorId);
+                Interval employee = current.intervals.get(employeeId);
+                if (ancestor != null && employee != null) {
+                    return ancestor.enter < employee.enter && employee.enter <= ancestor.exit;
+                }
+            }
+            return walk(ancestorId, employeeId);
+        }
+
+        void setManager(UUID employeeId, UUID managerId) {
+            UUID previous = managerOf.put(employeeId, managerId);
+            if (!managerId.equals(previous)) {
+                version.incrementAndGet();
+            }
+        }
+
+        void remove(UUID employeeId) {
+            if (managerOf.remove(employeeId) != null) {
+                version.incrementAndGet();
+            }
+        }
+
+        void replaceAll(Map<UUID, UUID> loaded) {
+            if (!loaded.equals(managerOf)) {
+                managerOf.keySet().retainAll(loaded.keySet());
+                managerOf.putAll(loaded);
+                version.incrementAndGet();
+            }
+        }
+
+        synchronized void rebuildIfStale() {
+            long current = version.get();
+            if (snapshot.version == current) {
+                return;
+            }
+            // Changes applied while building stay newer than this snapshot and are answered by walk()
+            snapshot = new Snapshot(current, eulerTour(new HashMap<>(managerOf)));
+        }
+
+        private boolean walk(UUID ancestorId, UUID employeeId) {
+            UUID current = managerOf.get(employeeId);
+            // Bounded by the number of employees, so a (never expected) cycle cannot loop forever
+            for (int steps = managerOf.size(); current != null && !NO_MANAGER.equals(current) && steps > 0; steps--) {
+                if (current.equals(ancestorId)) {
+                    return true;
+                }
+                current = managerOf.get(current);
+            }
+            return false;
+        }
+    }
+
+    // Iterative DFS over the forest; employees caught in a cycle are left out and fall back to walk()
+    static Map<UUID, Interval> eulerTour(Map<UUID, UUID> parents) {
+        Map<UUID, List<UUID>> children = new HashMap<>();
+        List<UUID> roots = new ArrayList<>();
+        for (Map.Entry<UUID, UUID> entry : parents.entrySet()) {
+            UUID parent = entry.getValue();
+            if (NO_MANAGER.equals(parent) || !parents.containsKey(parent)) {
+                roots.add(entry.getKey());
+            } else {
+                children.computeIfAbsent(parent, k -> new ArrayList<>()).add(entry.getKey());
+            }
+        }
+
+        Map<UUID, Interval> intervals = new HashMap<>(parents.size() * 2);
+        Map<UUID, Integer> enterOf = new HashMap<>(parents.size() * 2);
+        int counter = 0;
+        Deque<UUID> stack = new ArrayDeque<>();
+        for (UUID root : roots) {
+            stack.push(root);
+            while (!stack.isEmpty()) {
+                UUID node = stack.peek();
+                Integer enter = enterOf.get(node);
+                if (enter == null) {
+                    enterOf.put(node, counter++);
+                    for (UUID child : children.getOrDefault(node, List.of())) {
+                        stack.push(child);
+                    }
+                } else {
+                    stack.pop();
+                    // Every descendant was numbered after node and before this point
+                    intervals.put(node, new Interval(enter, counter - 1));
+                }
+            }
+        }
+        return intervals;
+    }
+
+    record Interval(int enter, int exit) {}
+
+    private record Snapshot(long version, Map<UUID, Interval> intervals) {}
+}
@@ -0,0 +1,121 @@
+package com.global.lbc.features.graph.apparatus.application.controller;
+
+import com.global.lbc.features.graph.apparatus.application.dto.BookingNode;
+import com.global.lbc.features.graph.apparatus.application.dto.EmployeeNode;
+import com.global.lbc.features.graph.apparatus.application.dto.VacationNode;
+import com.global.lbc.features.graph.apparatus.application.filter.GraphQLCaller;
+import com.global.lbc.features.graph.apparatus.application.service.OrganizationGraphService;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.ForbiddenException;
+import jakarta.ws.rs.NotAuthorizedException;
+import org.eclipse.microprofile.graphql.DefaultValue;
+import org.eclipse.microprofile.graphql.Description;
+import org.eclipse.microprofile.graphql.GraphQLApi;
+import org.eclipse.microprofile.graphql.GraphQLException;
+import org.eclipse.microprofile.graphql.Name;
+import org.eclipse.microprofile.graphql.NonNull;
+import org.eclipse.microprofile.graphql.Query;
+import org.eclipse.microprofile.graphql.Source;
+
+import java.util.List;
+import java.util.UUID;
+
+// ============================================================
+// GraphQL API (POST /graphql, schema at /graphql/schema.graphql).
+// Every nested field takes @Source List<...>: SmallRye GraphQL calls it once per tree level
+// with all the parents of that level, so a query costs one statement per level, not per node.
+// Depth and complexity are capped in application.properties (smallrye.graphql.*).
+// Authentication and quotas happen before the query runs (GraphQLAccessFilter); per-employee data is
+// checked by OrganizationGraphService against the caller.
+// ============================================================
+@GraphQLApi
+public class OrganizationGraphApi {
+
+    @Inject
+    OrganizationGraphService graphService;
+
+    @Inject
+    GraphQLCaller caller;
+
+    @Query("employee")
+    @Description("Employee by id")
+    public EmployeeNode employee(@Name("id") @NonNull String id) throws GraphQLException {
+        caller.principal();
+        return graphService.findEmployee(parseId(id));
+    }
+
+    @Query("employees")
+    @Description("Employees ordered by name; first is capped at 100")
+    public List<EmployeeNode> employees(
+            @Name("activeOnly") @DefaultValue("true") boolean activeOnly,
+            @Name("offset") @DefaultValue("0") int offset,
+            @Name("first") @DefaultValue("50") int first
+    ) throws GraphQLException {
+        caller.principal();
+        try {
+            return graphService.findEmployees(activeOnly, offset, first);
+        } catch (IllegalArgumentException e) {
+            throw new GraphQLException(e.getMessage());
+        }
+    }
+
+    @Query("vacation")
+    @Description("Vacation request by id")
+    public VacationNode vacation(@Name("id") @NonNull String id) throws GraphQLException {
+        try {
+            return graphService.findVacation(parseId(id), caller.principal());
+        } catch (ForbiddenException | NotAuthorizedException e) {
+            throw new GraphQLException(e.getMessage());
+        }
+    }
+
+    // --- Campos resolvidos em lote (um IN por nível) ---
+
+    @Name("manager")
+    public List<EmployeeNode> manager(@Source List<EmployeeNode> employees) {
+        return graphService.managersOf(employees);
+    }
+
+    @Name("subordinates")
+    @Description("Active direct reports, ordered by name")
+    public List<List<EmployeeNode>> subordinates(@Source List<EmployeeNode> employees) {
+        return graphService.subordinatesOf(employees);
+    }
+
+    @Name("vacations")
+    @Description("Active vacation requests, ordered by start date; empty unless the caller is the employee, one of their managers or an administrator")
+    public List<List<VacationNode>> vacations(@Source List<EmployeeNode> employees) {
+        return graphService.vacationsOf(employees, caller.principal());
+    }
+
+    @Name("bookings")
+    @Description("Active bookings, ordered by start date; same visibility as vacations")
+    public List<List<BookingNode>> bookings(@Source List<EmployeeNode> employees) {
+        return graphService.bookingsOf(employees, caller.principal());
+    }
+
+    @Name("vacationDaysBalance")
+    @Description("Only for the employee, their managers and administrators; null otherwise")
+    public List<Long> vacationDaysBalance(@Source List<EmployeeNode> employees) {
+        return graphService.countersOf(employees, caller.principal(), node -> node.vacationDaysBalance);
+    }
+
+    @Name("vacationDaysUsed")
+    @Description("Only for the employee, their managers and administrators; null otherwise")
+    public List<Long> vacationDaysUsed(@Source List<EmployeeNode> employees) {
+        return graphService.countersOf(employees, caller.principal(), node -> node.vacationDaysUsed);
+    }
+
+    @Name("employee")
+    public List<EmployeeNode> vacationEmployee(@Source List<VacationNode> vacations) {
+        return graphService.employeesOf(vacations);
+    }
+
+    private static UUID parseId(String id) throws GraphQLException {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            throw new GraphQLException("Invalid ID format: " + id);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.global.lbc.features.graph.apparatus.application.dto;
+
+import com.global.lbc.features.booking.apparatus.model.Booking;
+import com.global.lbc.features.booking.apparatus.model.util.BookingStatus;
+import org.eclipse.microprofile.graphql.Type;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Type("Booking")
+public class BookingNode {
+
+    public UUID id;
+    public UUID employeeId;
+    public UUID vacationId;
+    public LocalDate startDate;
+    public LocalDate endDate;
+    public Integer daysReserved;
+    public BookingStatus bookingStatus;
+
+    public BookingNode() {
+    }
+
+    public static BookingNode from(Booking booking) {
+        BookingNode node = new BookingNode();
+        node.id = booking.id;
+        node.employeeId = booking.employee.id;
+        node.vacationId = booking.vacationId;
+        node.startDate = booking.startDate;
+        node.endDate = booking.endDate;
+        node.daysReserved = booking.daysReserved;
+        node.bookingStatus = booking.bookingStatus;
+        return node;
+    }
+}
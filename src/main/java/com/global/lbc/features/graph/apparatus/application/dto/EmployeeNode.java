@@ -0,0 +1,49 @@
+package com.global.lbc.features.graph.apparatus.application.dto;
+
+import com.global.lbc.features.employee.apparatus.model.Employee;
+import com.global.lbc.features.employee.apparatus.model.util.EmployeeRole;
+import com.global.lbc.features.employee.apparatus.model.util.EmploymentType;
+import org.eclipse.microprofile.graphql.Ignore;
+import org.eclipse.microprofile.graphql.Type;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+// GraphQL view of an employee: no fiscal/social numbers or salary.
+// manager, subordinates, vacations and bookings are resolved in batches by OrganizationGraphApi, and so
+// are the vacation day counters, which only the employee, their managers and admins may read.
+@Type("Employee")
+public class EmployeeNode {
+
+    public UUID id;
+    public String name;
+    public String surname;
+    public EmploymentType employmentType;
+    public EmployeeRole employeeRole;
+    public LocalDate hireDate;
+    public Boolean isActive;
+    public UUID managerId;
+    @Ignore
+    public Long vacationDaysBalance;
+    @Ignore
+    public Long vacationDaysUsed;
+
+    public EmployeeNode() {
+    }
+
+    public static EmployeeNode from(Employee employee) {
+        EmployeeNode node = new EmployeeNode();
+        node.id = employee.id;
+        node.name = employee.name;
+        node.surname = employee.surname;
+        node.employmentType = employee.employmentType;
+        node.employeeRole = employee.employeeRole;
+        node.hireDate = employee.hireDate;
+        node.isActive = employee.isActive;
+        // Reading the id of the lazy proxy does not load the manager
+        node.managerId = employee.manager == null ? null : employee.manager.id;
+        node.vacationDaysBalance = employee.vacationDaysBalance;
+        node.vacationDaysUsed = employee.vacationDaysUsed;
+        return node;
+    }
+}
@@ -0,0 +1,37 @@
+package com.global.lbc.features.graph.apparatus.application.dto;
+
+import com.global.lbc.features.vacation.apparatus.model.Vacation;
+import com.global.lbc.features.vacation.apparatus.model.util.VacationStatus;
+import org.eclipse.microprofile.graphql.Type;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Type("Vacation")
+public class VacationNode {
+
+    public UUID id;
+    public UUID employeeId;
+    public LocalDate startDate;
+    public LocalDate endDate;
+    public Integer daysRequested;
+    public VacationStatus vacationStatus;
+    public String approvingBy;
+    public String rejectionReason;
+
+    public VacationNode() {
+    }
+
+    public static VacationNode from(Vacation vacation) {
+        VacationNode node = new VacationNode();
+        node.id = vacation.id;
+        node.employeeId = vacation.employee.id;
+        node.startDate = vacation.startDate;
+        node.endDate = vacation.endDate;
+        node.daysRequested = vacation.daysRequested;
+        node.vacationStatus = vacation.vacationStatus;
+        node.approvingBy = vacation.approvingBy;
+        node.rejectionReason = vacation.rejectionReason;
+        return node;
+    }
+}
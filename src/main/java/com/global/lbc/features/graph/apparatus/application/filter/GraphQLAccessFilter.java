@@ -0,0 +1,126 @@
+package com.global.lbc.features.graph.apparatus.application.filter;
+
+import com.global.lbc.features.auth.apparatus.usecases.security.AuthPrincipal;
+import com.global.lbc.features.auth.apparatus.usecases.security.TokenService;
+import com.global.lbc.shared.client.ClientIdentity;
+import com.global.lbc.shared.ratelimit.EndpointClass;
+import com.global.lbc.shared.ratelimit.RateLimiting;
+import com.global.lbc.shared.tenant.TenantResolution;
+import com.global.lbc.shared.tenant.TenantResolutionFilter;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+
+// ============================================================
+// Authentication and quotas for /graphql. SmallRye GraphQL is served by a Vert.x route, not by
+// JAX-RS, so BearerTokenFilter and RateLimitFilter never see it: this handler runs before that
+// route with the same rules.
+//  * Bearer token verified by TokenService; without one, 401 unless auth.required=false.
+//  * One SEARCH-class token per request (a query can walk the whole organization), keyed on the
+//    verified caller like every other quota; shedding applies too.
+//  * Tenant from the token or X-Tenant-Id, with the rules of TenantResolution.
+// Principal and tenant travel in the RoutingContext; GraphQLCaller binds them inside the request
+// context of the GraphQL execution, before the query opens a Hibernate session.
+// ============================================================
+@ApplicationScoped
+public class GraphQLAccessFilter {
+
+    static final String PRINCIPAL_KEY = GraphQLAccessFilter.class.getName() + ".principal";
+    static final String TENANT_KEY = GraphQLAccessFilter.class.getName() + ".tenant";
+
+    private static final String BEARER = "Bearer ";
+    private static final int TOO_MANY_REQUESTS = 429;
+    // Before the GraphQL route, which is registered with the default order
+    private static final int ROUTE_ORDER = -100;
+
+    @Inject
+    TokenService tokenService;
+
+    @Inject
+    RateLimiting rateLimiting;
+
+    @Inject
+    TenantResolution tenantResolution;
+
+    @ConfigProperty(name = "auth.required", defaultValue = "true")
+    boolean required;
+
+    @ConfigProperty(name = "quarkus.smallrye-graphql.root-path", defaultValue = "graphql")
+    String rootPath;
+
+    void register(@Observes Router router) {
+        String path = rootPath.startsWith("/") ? rootPath : "/" + rootPath;
+        router.route(path).order(ROUTE_ORDER).handler(this::filter);
+    }
+
+    void filter(RoutingContext ctx) {
+        AuthPrincipal principal = null;
+        String header = ctx.request().getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            principal = tokenService.verify(header.substring(BEARER.length()).trim());
+            if (principal == null) {
+                unauthorized(ctx, "Invalid or expired token");
+                return;
+            }
+        } else if (required) {
+            unauthorized(ctx, "Authentication required");
+            return;
+        }
+
+        if (rateLimiting.isEnabled()) {
+            Duration retryAfter = rateLimiting.shed(EndpointClass.SEARCH);
+            if (retryAfter != null) {
+                tooManyRequests(ctx, retryAfter, "Server is overloaded, retry later");
+                return;
+            }
+            retryAfter = rateLimiting.acquire(ClientIdentity.verifiedId(principal, ctx.request()), EndpointClass.SEARCH);
+            if (retryAfter != null) {
+                tooManyRequests(ctx, retryAfter, "Rate limit exceeded for search requests");
+                return;
+            }
+        }
+
+        TenantResolution.Result tenant = tenantResolution.resolve(
+                ctx.request().getHeader(TenantResolutionFilter.TENANT_HEADER), principal, false);
+        if (tenant.isRefused()) {
+            if (tenant.status() == 401) {
+                unauthorized(ctx, tenant.error());
+            } else {
+                end(ctx, tenant.status(), tenant.error());
+            }
+            return;
+        }
+
+        if (principal != null) {
+            ctx.put(PRINCIPAL_KEY, principal);
+        }
+        ctx.put(TENANT_KEY, tenant.tenant());
+        ctx.next();
+    }
+
+    private static void unauthorized(RoutingContext ctx, String message) {
+        ctx.response().putHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+        end(ctx, 401, message);
+    }
+
+    private static void tooManyRequests(RoutingContext ctx, Duration retryAfter, String message) {
+        ctx.response().putHeader(HttpHeaders.RETRY_AFTER, Long.toString(RateLimiting.retryAfterSeconds(retryAfter)));
+        end(ctx, TOO_MANY_REQUESTS, message);
+    }
+
+    // Same body as the JAX-RS ErrorResponse records
+    private static void end(RoutingContext ctx, int status, String message) {
+        ctx.response()
+                .setStatusCode(status)
+                .putHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON)
+                .end(new JsonObject().put("error", message).encode());
+    }
+}
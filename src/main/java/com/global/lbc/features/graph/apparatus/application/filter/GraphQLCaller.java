@@ -0,0 +1,48 @@
+package com.global.lbc.features.graph.apparatus.application.filter;
+
+import com.global.lbc.features.auth.apparatus.usecases.security.AuthPrincipal;
+import com.global.lbc.shared.client.ClientIdentity;
+import com.global.lbc.shared.tenant.Tenant;
+import com.global.lbc.shared.tenant.TenantContext;
+import io.quarkus.vertx.http.runtime.CurrentVertxRequest;
+import io.vertx.ext.web.RoutingContext;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+
+// The caller of the current GraphQL request, as verified by GraphQLAccessFilter (null when
+// anonymous, which only auth.required=false allows). The first lookup also binds the request: the
+// principal to ClientIdentity (audit, coalescing and quotas see the same caller) and the resolved
+// tenant to TenantContext. Root queries call it before touching the database.
+@RequestScoped
+public class GraphQLCaller {
+
+    @Inject
+    CurrentVertxRequest currentRequest;
+
+    @Inject
+    ClientIdentity clientIdentity;
+
+    @Inject
+    TenantContext tenantContext;
+
+    private boolean resolved;
+    private AuthPrincipal principal;
+
+    public AuthPrincipal principal() {
+        if (!resolved) {
+            RoutingContext ctx = currentRequest.getCurrent();
+            if (ctx != null) {
+                principal = ctx.get(GraphQLAccessFilter.PRINCIPAL_KEY);
+                Tenant tenant = ctx.get(GraphQLAccessFilter.TENANT_KEY);
+                if (tenant != null) {
+                    tenantContext.set(tenant);
+                }
+            }
+            if (principal != null) {
+                clientIdentity.authenticated(principal);
+            }
+            resolved = true;
+        }
+        return principal;
+    }
+}
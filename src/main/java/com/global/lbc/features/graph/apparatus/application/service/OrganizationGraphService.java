@@ -0,0 +1,179 @@
+package com.global.lbc.features.graph.apparatus.application.service;
+
+import com.global.lbc.features.booking.apparatus.model.Booking;
+import com.global.lbc.features.employee.apparatus.model.Employee;
+import com.global.lbc.features.employee.apparatus.usecases.hierarchy.HierarchyAuthorization;
+import com.global.lbc.features.graph.apparatus.application.dto.BookingNode;
+import com.global.lbc.features.graph.apparatus.application.dto.EmployeeNode;
+import com.global.lbc.features.graph.apparatus.application.dto.VacationNode;
+import com.global.lbc.features.vacation.apparatus.model.Vacation;
+import com.global.lbc.shared.routing.ReadReplica;
+import io.quarkus.panache.common.Sort;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+// ============================================================
+// Queries behind the GraphQL API. The *Of methods resolve one level of the tree for
+// every parent at once: a single IN query, then results are regrouped in the parents' order
+// (the contract of SmallRye GraphQL batch fields). Foreign keys are read from lazy proxies
+// (employee.manager.id, vacation.employee.id), which never triggers extra selects.
+// Vacations, bookings and day counters follow the REST rules (HierarchyAuthorization): the employee,
+// their managers and admins. In batches, what the caller may not see is left out instead of failing
+// the whole level.
+// ============================================================
+@ApplicationScoped
+public class OrganizationGraphService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    @Inject
+    HierarchyAuthorization authorization;
+
+    @ReadReplica
+    public EmployeeNode findEmployee(UUID id) {
+        Employee employee = Employee.findById(id);
+        return employee == null ? null : EmployeeNode.from(employee);
+    }
+
+    @ReadReplica
+    public List<EmployeeNode> findEmployees(boolean activeOnly, int offset, int first) {
+        if (offset < 0 || first < 1 || first > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("offset must be >= 0 and first between 1 and " + MAX_PAGE_SIZE);
+        }
+        String query = activeOnly ? "isActive = true" : "1 = 1";
+        return Employee.<Employee>find(query, Sort.by("name").and("id"))
+                .range(offset, offset + first - 1)
+                .stream()
+                .map(EmployeeNode::from)
+                .toList();
+    }
+
+    @ReadReplica
+    public VacationNode findVacation(UUID id, Principal caller) {
+        Vacation vacation = Vacation.findById(id);
+        if (vacation == null) {
+            return null;
+        }
+        authorization.requireSelfOrManagerOf(caller, vacation.employee.id);
+        return VacationNode.from(vacation);
+    }
+
+    // ========================================
+    // BATCHES (one statement per tree level)
+    // ========================================
+
+    @ReadReplica
+    public List<EmployeeNode> managersOf(List<EmployeeNode> employees) {
+        Set<UUID> managerIds = idsOf(employees, node -> node.managerId);
+        Map<UUID, EmployeeNode> managers = new HashMap<>();
+        if (!managerIds.isEmpty()) {
+            for (Employee manager : Employee.<Employee>list("id in ?1", managerIds)) {
+                managers.put(manager.id, EmployeeNode.from(manager));
+            }
+        }
+        List<EmployeeNode> result = new ArrayList<>(employees.size());
+        for (EmployeeNode employee : employees) {
+            result.add(employee.managerId == null ? null : managers.get(employee.managerId));
+        }
+        return result;
+    }
+
+    @ReadReplica
+    public List<List<EmployeeNode>> subordinatesOf(List<EmployeeNode> managers) {
+        Set<UUID> managerIds = idsOf(managers, node -> node.id);
+        Map<UUID, List<EmployeeNode>> byManager = new HashMap<>();
+        if (!managerIds.isEmpty()) {
+            for (Employee employee : Employee.<Employee>list("manager.id in ?1 and isActive = true",
+                    Sort.by("name").and("id"), managerIds)) {
+                byManager.computeIfAbsent(employee.manager.id, id -> new ArrayList<>()).add(EmployeeNode.from(employee));
+            }
+        }
+        return regroup(managers, byManager);
+    }
+
+    @ReadReplica
+    public List<List<VacationNode>> vacationsOf(List<EmployeeNode> employees, Principal caller) {
+        Set<UUID> employeeIds = idsOf(visibleTo(caller, employees), node -> node.id);
+        Map<UUID, List<VacationNode>> byEmployee = new HashMap<>();
+        if (!employeeIds.isEmpty()) {
+            for (Vacation vacation : Vacation.<Vacation>list("employee.id in ?1 and isActive = true",
+                    Sort.by("startDate").and("id"), employeeIds)) {
+                byEmployee.computeIfAbsent(vacation.employee.id, id -> new ArrayList<>()).add(VacationNode.from(vacation));
+            }
+        }
+        return regroup(employees, byEmployee);
+    }
+
+    @ReadReplica
+    public List<List<BookingNode>> bookingsOf(List<EmployeeNode> employees, Principal caller) {
+        Set<UUID> employeeIds = idsOf(visibleTo(caller, employees), node -> node.id);
+        Map<UUID, List<BookingNode>> byEmployee = new HashMap<>();
+        if (!employeeIds.isEmpty()) {
+            for (Booking booking : Booking.<Booking>list("employee.id in ?1 and isActive = true",
+                    Sort.by("startDate").and("id"), employeeIds)) {
+                byEmployee.computeIfAbsent(booking.employee.id, id -> new ArrayList<>()).add(BookingNode.from(booking));
+            }
+        }
+        return regroup(employees, byEmployee);
+    }
+
+    @ReadReplica
+    public List<EmployeeNode> employeesOf(List<VacationNode> vacations) {
+        Set<UUID> employeeIds = idsOf(vacations, node -> node.employeeId);
+        Map<UUID, EmployeeNode> employees = new HashMap<>();
+        if (!employeeIds.isEmpty()) {
+            for (Employee employee : Employee.<Employee>list("id in ?1", employeeIds)) {
+                employees.put(employee.id, EmployeeNode.from(employee));
+            }
+        }
+        List<EmployeeNode> result = new ArrayList<>(vacations.size());
+        for (VacationNode vacation : vacations) {
+            result.add(employees.get(vacation.employeeId));
+        }
+        return result;
+    }
+
+    // Already loaded with the node: no statement, only the check
+    public List<Long> countersOf(List<EmployeeNode> employees, Principal caller, Function<EmployeeNode, Long> counter) {
+        List<Long> result = new ArrayList<>(employees.size());
+        for (EmployeeNode employee : employees) {
+            result.add(authorization.isSelfOrManagerOf(caller, employee.id) ? counter.apply(employee) : null);
+        }
+        return result;
+    }
+
+    private List<EmployeeNode> visibleTo(Principal caller, List<EmployeeNode> employees) {
+        return employees.stream()
+                .filter(employee -> authorization.isSelfOrManagerOf(caller, employee.id))
+                .toList();
+    }
+
+    private static <T> Set<UUID> idsOf(List<T> nodes, Function<T, UUID> id) {
+        Set<UUID> ids = new LinkedHashSet<>();
+        for (T node : nodes) {
+            UUID value = id.apply(node);
+            if (value != null) {
+                ids.add(value);
+            }
+        }
+        return ids;
+    }
+
+    private static <T> List<List<T>> regroup(List<EmployeeNode> parents, Map<UUID, List<T>> byParent) {
+        List<List<T>> result = new ArrayList<>(parents.size());
+        for (EmployeeNode parent : parents) {
+            result.add(byParent.getOrDefault(parent.id, List.of()));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,103 @@
+package com.global.lbc.features.report.apparatus.application.controller;
+
+import com.global.lbc.features.report.apparatus.application.dto.AbsenceReportResponse;
+import com.global.lbc.features.report.apparatus.application.service.AbsenceReportService;
+import com.global.lbc.features.report.apparatus.model.util.AbsenceDimension;
+import com.global.lbc.features.report.apparatus.usecases.export.AbsenceReportCsv;
+import com.global.lbc.shared.WireFormats;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.ForbiddenException;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.SecurityContext;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+@Path("/reports/absence")
+@Produces({MediaType.APPLICATION_JSON, WireFormats.APPLICATION_CBOR, WireFormats.APPLICATION_SMILE})
+public class AbsenceReportResource {
+
+    static final String TEXT_CSV = "text/csv";
+
+    @Inject
+    AbsenceReportService reportService;
+
+    @Inject
+    AbsenceReportCsv csv;
+
+    // Approved vacation days per month for dimension=role|employment_type|team, from/to as yyyy-MM
+    // (last 12 months by default)
+    @GET
+    public Response report(
+            @QueryParam("dimension") String dimension,
+            @QueryParam("from") String from,
+            @QueryParam("to") String to,
+            @Context SecurityContext security
+    ) {
+        try {
+            YearMonth end = to == null || to.isBlank() ? reportService.defaultTo() : YearMonth.parse(to);
+            YearMonth start = from == null || from.isBlank() ? reportService.defaultFrom(end) : YearMonth.parse(from);
+            AbsenceReportResponse report = reportService.report(AbsenceDimension.fromParam(dimension), start, end,
+                    security.getUserPrincipal());
+            return Response.ok(report).build();
+        } catch (ForbiddenException e) {
+            return Response.status(Response.Status.FORBIDDEN)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        } catch (DateTimeParseException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse("Invalid month (expected yyyy-MM): " + e.getParsedString()))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        }
+    }
+
+    // Same rows as CSV, streamed a year at a time
+    @GET
+    @Path("/csv")
+    @Produces({TEXT_CSV, MediaType.APPLICATION_JSON})
+    public Response export(
+            @QueryParam("dimension") String dimension,
+            @QueryParam("from") String from,
+            @QueryParam("to") String to,
+            @Context SecurityContext security
+    ) {
+        try {
+            YearMonth end = to == null || to.isBlank() ? reportService.defaultTo() : YearMonth.parse(to);
+            YearMonth start = from == null || from.isBlank() ? reportService.defaultFrom(end) : YearMonth.parse(from);
+            AbsenceDimension parsed = AbsenceDimension.fromParam(dimension);
+            reportService.authorize(parsed, start, end, security.getUserPrincipal());
+            String fileName = "absence-" + parsed.name().toLowerCase(Locale.ROOT) + "-" + start + "-" + end + ".csv";
+            return Response.ok(csv.stream(parsed, start, end), TEXT_CSV)
+                    .header("Content-Disposition", "attachment; filename=\"" + fileName + "\"")
+                    .build();
+        } catch (ForbiddenException e) {
+            return Response.status(Response.Status.FORBIDDEN)
+                    .type(MediaType.APPLICATION_JSON)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        } catch (DateTimeParseException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .type(MediaType.APPLICATION_JSON)
+                    .entity(new ErrorResponse("Invalid month (expected yyyy-MM): " + e.getParsedString()))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .type(MediaType.APPLICATION_JSON)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        }
+    }
+
+    public record ErrorResponse(String error) {}
+}
@@ -0,0 +1,21 @@
+package com.global.lbc.features.report.apparatus.application.dto;
+
+import com.global.lbc.features.report.apparatus.model.util.AbsenceDimension;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+// Monthly absence totals for [from, to], ordered by month and key.
+// pendingMonths > 0 means some of the months changed and are still being refreshed.
+public class AbsenceReportResponse {
+
+    public AbsenceDimension dimension;
+    public YearMonth from;
+    public YearMonth to;
+    public long pendingMonths;
+    public List<AbsenceReportRow> rows = new ArrayList<>();
+
+    public AbsenceReportResponse() {
+    }
+}
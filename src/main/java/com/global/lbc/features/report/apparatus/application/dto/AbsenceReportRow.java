@@ -0,0 +1,16 @@
+package com.global.lbc.features.report.apparatus.application.dto;
+
+import java.time.YearMonth;
+
+// One absence_monthly_aggregate row: approved vacation days of one dimension value in one month
+public class AbsenceReportRow {
+
+    public YearMonth month;
+    public String key;
+    public long daysOff;
+    public long requests;
+    public long employees;
+
+    public AbsenceReportRow() {
+    }
+}
@@ -0,0 +1,114 @@
+package com.global.lbc.features.report.apparatus.application.service;
+
+import com.global.lbc.features.employee.apparatus.usecases.hierarchy.HierarchyAuthorization;
+import com.global.lbc.features.report.apparatus.application.dto.AbsenceReportResponse;
+import com.global.lbc.features.report.apparatus.application.dto.AbsenceReportRow;
+import com.global.lbc.features.report.apparatus.model.util.AbsenceDimension;
+import com.global.lbc.shared.routing.ReadReplica;
+import io.quarkus.hibernate.orm.panache.Panache;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.security.Principal;
+import java.sql.Date;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+// ============================================================
+// ABSENCE REPORT: reads the precomputed monthly aggregates (V1.0.11). A request is one
+// primary-key range scan over (dimension, month), so its cost depends on the size of the
+// answer, never on how many vacation requests exist. The aggregates are kept current by
+// AbsenceReportRefresher; months still waiting for it are reported as pendingMonths.
+// ============================================================
+@ApplicationScoped
+public class AbsenceReportService {
+
+    // Widest range accepted by one request (5 years)
+    static final int MAX_MONTHS = 60;
+
+    private static final String ROWS_SQL = """
+            SELECT month, dimension_key, days_off, requests, employees
+            FROM absence_monthly_aggregate
+            WHERE dimension = ?1 AND month >= ?2 AND month <= ?3
+            ORDER BY month, dimension_key
+            """;
+
+    private static final String PENDING_SQL = """
+            SELECT count(*) FROM absence_report_dirty_month WHERE month >= ?1 AND month <= ?2
+            """;
+
+    @Inject
+    HierarchyAuthorization authorization;
+
+    Clock clock = Clock.systemDefaultZone();
+
+    // Company-wide figures: administrators only. Checked before anything is streamed.
+    public void authorize(AbsenceDimension dimension, YearMonth from, YearMonth to, Principal caller) {
+        if (dimension == null) {
+            throw new IllegalArgumentException("dimension is required (role, employment_type or team)");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (ChronoUnit.MONTHS.between(from, to) + 1 > MAX_MONTHS) {
+            throw new IllegalArgumentException("At most " + MAX_MONTHS + " months per report");
+        }
+        authorization.requireAdmin(caller);
+    }
+
+    @ReadReplica
+    public AbsenceReportResponse report(AbsenceDimension dimension, YearMonth from, YearMonth to, Principal caller) {
+        authorize(dimension, from, to, caller);
+        AbsenceReportResponse response = new AbsenceReportResponse();
+        response.dimension = dimension;
+        response.from = from;
+        response.to = to;
+        response.rows = rows(dimension, from, to);
+        response.pendingMonths = ((Number) Panache.getEntityManager()
+                .createNativeQuery(PENDING_SQL)
+                .setParameter(1, from.atDay(1))
+                .setParameter(2, to.atDay(1))
+                .getSingleResult()).longValue();
+        return response;
+    }
+
+    // Also called chunk by chunk by AbsenceReportCsv, through this proxy
+    @ReadReplica
+    @SuppressWarnings("unchecked")
+    public List<AbsenceReportRow> rows(AbsenceDimension dimension, YearMonth from, YearMonth to) {
+        List<Object[]> result = Panache.getEntityManager()
+                .createNativeQuery(ROWS_SQL)
+                .setParameter(1, dimension.name())
+                .setParameter(2, from.atDay(1))
+                .setParameter(3, to.atDay(1))
+                .getResultList();
+        List<AbsenceReportRow> rows = new ArrayList<>(result.size());
+        for (Object[] row : result) {
+            AbsenceReportRow reportRow = new AbsenceReportRow();
+            reportRow.month = YearMonth.from(toLocalDate(row[0]));
+            reportRow.key = (String) row[1];
+            reportRow.daysOff = ((Number) row[2]).longValue();
+            reportRow.requests = ((Number) row[3]).longValue();
+            reportRow.employees = ((Number) row[4]).longValue();
+            rows.add(reportRow);
+        }
+        return rows;
+    }
+
+    // Last 12 months up to the current one when the range is not given
+    public YearMonth defaultTo() {
+        return YearMonth.now(clock);
+    }
+
+    public YearMonth defaultFrom(YearMonth to) {
+        return to.minusMonths(11);
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+}
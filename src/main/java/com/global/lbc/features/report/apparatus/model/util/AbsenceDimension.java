@@ -0,0 +1,24 @@
+package com.global.lbc.features.report.apparatus.model.util;
+
+import java.util.Locale;
+
+// How absence_monthly_aggregate rows are keyed (query parameter dimension=role|employment_type|team)
+public enum AbsenceDimension {
+    // EmployeeRole of the employee
+    ROLE,
+    // EmploymentType of the employee (employee_profile.contract_role)
+    EMPLOYMENT_TYPE,
+    // Direct manager's id, or NONE for employees without a manager
+    TEAM;
+
+    public static AbsenceDimension fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("dimension is required (role, employment_type or team)");
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid dimension: " + value + " (expected role, employment_type or team)");
+        }
+    }
+}
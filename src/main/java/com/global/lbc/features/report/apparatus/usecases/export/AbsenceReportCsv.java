@@ -0,0 +1,67 @@
+package com.global.lbc.features.report.apparatus.usecases.export;
+
+import com.global.lbc.features.report.apparatus.application.dto.AbsenceReportRow;
+import com.global.lbc.features.report.apparatus.application.service.AbsenceReportService;
+import com.global.lbc.features.report.apparatus.model.util.AbsenceDimension;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.StreamingOutput;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+import java.util.List;
+
+// ============================================================
+// ABSENCE REPORT CSV: month,dimension,key,days_off,requests,employees
+// Rows are loaded a year at a time through the AbsenceReportService proxy (so @ReadReplica still
+// applies) and each year is flushed as soon as it is written: the response starts right away
+// and never holds the whole range in memory.
+// ============================================================
+@ApplicationScoped
+public class AbsenceReportCsv {
+
+    static final String HEADER = "month,dimension,key,days_off,requests,employees";
+
+    // Months loaded per query
+    static final int CHUNK_MONTHS = 12;
+
+    @Inject
+    AbsenceReportService reportService;
+
+    // Range and caller must already have been checked with AbsenceReportService.authorize
+    public StreamingOutput stream(AbsenceDimension dimension, YearMonth from, YearMonth to) {
+        return output -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            writer.write(HEADER);
+            writer.write('\n');
+            for (YearMonth chunkFrom = from; !chunkFrom.isAfter(to); chunkFrom = chunkFrom.plusMonths(CHUNK_MONTHS)) {
+                YearMonth chunkTo = chunkFrom.plusMonths(CHUNK_MONTHS - 1);
+                List<AbsenceReportRow> rows = reportService.rows(dimension, chunkFrom, chunkTo.isAfter(to) ? to : chunkTo);
+                for (AbsenceReportRow row : rows) {
+                    writer.write(line(dimension, row));
+                }
+                writer.flush();
+            }
+            writer.flush();
+        };
+    }
+
+    static String line(AbsenceDimension dimension, AbsenceReportRow row) {
+        return row.month + "," + dimension.name() + "," + escape(row.key) + ","
+                + row.daysOff + "," + row.requests + "," + row.employees + "\n";
+    }
+
+    // Keys are enum names or UUIDs today; quote anyway so the file stays valid if that changes
+    static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
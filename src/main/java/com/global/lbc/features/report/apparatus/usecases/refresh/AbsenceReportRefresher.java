@@ -0,0 +1,82 @@
+package com.global.lbc.features.report.apparatus.usecases.refresh;
+
+import com.global.lbc.shared.tenant.Tenant;
+import com.global.lbc.shared.tenant.TenantRegistry;
+import com.global.lbc.shared.tenant.Tenants;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+// ============================================================
+// ABSENCE REPORT REFRESHER: recomputes the months the triggers of V1.0.11 marked as stale.
+// Every call of fn_refresh_absence_report takes up to batch-size months and commits them on
+// its own (autocommit), so a vacation write never waits long on a month being refreshed.
+// Months are claimed with SKIP LOCKED: instances can run this concurrently without doing the
+// same month twice. Every tenant's schema has its own stale months and is refreshed in turn.
+// Metrics (tagged by tenant): report.absence.months.refreshed and report.absence.refresh.
+// ============================================================
+@ApplicationScoped
+public class AbsenceReportRefresher {
+
+    private static final Logger LOG = Logger.getLogger(AbsenceReportRefresher.class);
+
+    private static final String REFRESH_SQL = "SELECT fn_refresh_absence_report(?)";
+
+    @Inject
+    Tenants tenants;
+
+    @Inject
+    TenantRegistry tenantRegistry;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "report.absence.refresh.batch-size", defaultValue = "6")
+    int batchSize;
+
+    @Scheduled(every = "${report.absence.refresh.interval:5s}", identity = "absence-report-refresh",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void refreshStaleMonths() {
+        for (Tenant tenant : tenantRegistry.all()) {
+            refreshStaleMonths(tenant);
+        }
+    }
+
+    void refreshStaleMonths(Tenant tenant) {
+        Timer.Sample sample = Timer.start(registry);
+        long refreshed = 0;
+        try (Connection connection = tenants.connection(tenant);
+             PreparedStatement statement = connection.prepareStatement(REFRESH_SQL)) {
+            connection.setAutoCommit(true);
+            statement.setInt(1, batchSize);
+            while (true) {
+                int months;
+                try (ResultSet rs = statement.executeQuery()) {
+                    months = rs.next() ? rs.getInt(1) : 0;
+                }
+                refreshed += months;
+                if (months < batchSize) {
+                    break;
+                }
+            }
+        } catch (SQLException e) {
+            // Unclaimed months stay marked; the next run picks them up
+            LOG.errorf(e, "Absence report refresh of tenant %s failed", tenant.id());
+        } finally {
+            if (refreshed > 0) {
+                sample.stop(registry.timer("report.absence.refresh", "tenant", tenant.id()));
+                registry.counter("report.absence.months.refreshed", "tenant", tenant.id()).increment(refreshed);
+                LOG.debugf("Absence report: refreshed %d months of tenant %s", refreshed, tenant.id());
+            }
+        }
+    }
+}
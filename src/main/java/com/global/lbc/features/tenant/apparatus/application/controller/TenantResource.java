@@ -0,0 +1,61 @@
+package com.global.lbc.features.tenant.apparatus.application.controller;
+
+import com.global.lbc.features.tenant.apparatus.application.dto.CreateTenantRequest;
+import com.global.lbc.features.tenant.apparatus.application.dto.TenantResponse;
+import com.global.lbc.features.tenant.apparatus.application.service.TenantService;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.ForbiddenException;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.SecurityContext;
+
+@Path("/tenants")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+public class TenantResource {
+
+    @Inject
+    TenantService tenantService;
+
+    @GET
+    public Response list(@Context SecurityContext security) {
+        try {
+            return Response.ok(tenantService.list(security.getUserPrincipal())).build();
+        } catch (ForbiddenException e) {
+            return Response.status(Response.Status.FORBIDDEN)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        }
+    }
+
+    // Creates the tenant's schema and runs every migration on it; the tenant is served once this returns
+    @POST
+    public Response create(@Context SecurityContext security, CreateTenantRequest request) {
+        try {
+            TenantResponse created = tenantService.create(request, security.getUserPrincipal());
+            return Response.status(Response.Status.CREATED)
+                    .entity(created)
+                    .build();
+        } catch (ForbiddenException e) {
+            return Response.status(Response.Status.FORBIDDEN)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        } catch (IllegalStateException e) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        }
+    }
+
+    public record ErrorResponse(String error) {}
+}
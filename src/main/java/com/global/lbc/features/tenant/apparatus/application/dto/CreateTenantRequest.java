@@ -0,0 +1,10 @@
+package com.global.lbc.features.tenant.apparatus.application.dto;
+
+public class CreateTenantRequest {
+    // [a-z][a-z0-9_]{1,39}; becomes the schema tenant_<id> and the X-Tenant-Id of its requests
+    public String id;
+    public String displayName;
+    // First ADMIN login of the tenant (AuthService.bootstrapAdmin)
+    public String adminEmail;
+    public String adminPassword;
+}
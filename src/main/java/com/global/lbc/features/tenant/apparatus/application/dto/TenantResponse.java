@@ -0,0 +1,14 @@
+package com.global.lbc.features.tenant.apparatus.application.dto;
+
+public class TenantResponse {
+    public String id;
+    public String schema;
+
+    public TenantResponse() {
+    }
+
+    public TenantResponse(String id, String schema) {
+        this.id = id;
+        this.schema = schema;
+    }
+}
@@ -0,0 +1,79 @@
+package com.global.lbc.features.tenant.apparatus.application.service;
+
+import com.global.lbc.features.auth.apparatus.application.service.AuthService;
+import com.global.lbc.features.employee.apparatus.usecases.hierarchy.HierarchyAuthorization;
+import com.global.lbc.features.tenant.apparatus.application.dto.CreateTenantRequest;
+import com.global.lbc.features.tenant.apparatus.application.dto.TenantResponse;
+import com.global.lbc.shared.events.DomainEventBus;
+import com.global.lbc.shared.tenant.Tenant;
+import com.global.lbc.shared.tenant.TenantMigrator;
+import com.global.lbc.shared.tenant.TenantPrincipal;
+import com.global.lbc.shared.tenant.TenantRegistry;
+import com.global.lbc.shared.tenant.Tenants;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.ForbiddenException;
+
+import java.security.Principal;
+import java.util.List;
+
+// ============================================================
+// TENANT ADMINISTRATION: lists and provisions the tenants of this deployment.
+// Only administrators of the default tenant (the operator of the deployment) may do it; a
+// tenant's own administrators never see the other tenants.
+// A new tenant starts empty except for its first administrator login (adminEmail/adminPassword),
+// created with AuthService.bootstrapAdmin inside the new schema.
+// ============================================================
+@ApplicationScoped
+public class TenantService {
+
+    @Inject
+    TenantRegistry registry;
+
+    @Inject
+    TenantMigrator migrator;
+
+    @Inject
+    DomainEventBus domainEventBus;
+
+    @Inject
+    HierarchyAuthorization authorization;
+
+    @Inject
+    AuthService authService;
+
+    @Inject
+    Tenants tenants;
+
+    public List<TenantResponse> list(Principal caller) {
+        requireOperator(caller);
+        return registry.all().stream().map(TenantService::toDto).toList();
+    }
+
+    // Synchronous: migrating a fresh schema takes seconds. IllegalStateException when the id is taken
+    public TenantResponse create(CreateTenantRequest request, Principal caller) {
+        requireOperator(caller);
+        if (request == null || request.id == null || request.id.isBlank()) {
+            throw new IllegalArgumentException("id is required");
+        }
+        if (request.displayName == null || request.displayName.isBlank()) {
+            throw new IllegalArgumentException("displayName is required");
+        }
+        authService.validateBootstrapAdmin(request.adminEmail, request.adminPassword);
+        Tenant tenant = migrator.provision(request.id.trim(), request.displayName.trim());
+        tenants.runAs(tenant, () -> authService.bootstrapAdmin(request.adminEmail, request.adminPassword));
+        domainEventBus.replay(tenant);
+        return toDto(tenant);
+    }
+
+    private void requireOperator(Principal caller) {
+        authorization.requireAdmin(caller);
+        if (caller instanceof TenantPrincipal principal && !Tenant.DEFAULT_ID.equals(principal.tenantId())) {
+            throw new ForbiddenException("Only administrators of the default tenant can manage tenants");
+        }
+    }
+
+    private static TenantResponse toDto(Tenant tenant) {
+        return new TenantResponse(tenant.id(), tenant.schema());
+    }
+}
@@ -1,42 +1,86 @@
 package com.global.lbc.features.vacation.apparatus.application.controller;
 
+import com.global.lbc.features.vacation.apparatus.application.dto.LedgerAdjustmentRequest;
+import com.global.lbc.features.vacation.apparatus.application.dto.TeamCalendarEntry;
+import com.global.lbc.features.vacation.apparatus.application.dto.VacationBalanceResponse;
 import com.global.lbc.features.vacation.apparatus.application.dto.VacationRequest;
 import com.global.lbc.features.vacation.apparatus.application.dto.VacationResponse;
+import com.global.lbc.features.vacation.apparatus.application.dto.VacationStatsResponse;
 import com.global.lbc.features.vacation.apparatus.application.service.VacationService;
+import com.global.lbc.features.vacation.apparatus.usecases.stream.VacationEventStream;
+import com.global.lbc.shared.BatchGet;
+import com.global.lbc.shared.BatchGetRequest;
 import com.global.lbc.shared.PaginatedResponse;
+import com.global.lbc.shared.TotalsMode;
+import com.global.lbc.shared.WireFormats;
+import com.global.lbc.shared.idempotency.Idempotent;
+import com.global.lbc.shared.ratelimit.EndpointClass;
+import com.global.lbc.shared.ratelimit.RateLimitClass;
+import com.global.lbc.shared.routing.ReadOnlyRequest;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.SecurityContext;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import java.time.LocalDate;
+import java.time.Year;
+import java.time.format.DateTimeParseException;
+import java.util.List;
 import java.util.UUID;
 
 @Path("/vacations")
-@Produces(MediaType.APPLICATION_JSON)
-@Consumes(MediaType.APPLICATION_JSON)
+@Produces({MediaType.APPLICATION_JSON, WireFormats.APPLICATION_CBOR, WireFormats.APPLICATION_SMILE})
+@Consumes({MediaType.APPLICATION_JSON, WireFormats.APPLICATION_CBOR, WireFormats.APPLICATION_SMILE})
 public class VacationResource {
 
     @Inject
     VacationService vacationService;
 
+    @Inject
+    VacationEventStream eventStream;
+
+    @Inject
+    BatchGet batchGet;
+
     // --- Endpoints de Consulta (READ) ---
 
+    // fields=startDate,endDate,vacationStatus devolve só essas chaves (e só lê essas colunas)
     @GET
     public Response listVacationRequests(
             @QueryParam("page") @DefaultValue("0") int page,
             @QueryParam("size") @DefaultValue("50") int size,
             @QueryParam("sortField") @DefaultValue("startDate") String sortField,
-            @QueryParam("sortOrder") @DefaultValue("asc") String sortOrder
+            @QueryParam("sortOrder") @DefaultValue("asc") String sortOrder,
+            @QueryParam("from") String from,
+            @QueryParam("to") String to,
+            @QueryParam("totals") @DefaultValue("exact") String totals,
+            @QueryParam("fields") String fields
     ) {
         try {
+            if (fields != null && !fields.isBlank()) {
+                return Response.ok(vacationService.getPaginatedVacations(page, size, sortField, sortOrder,
+                        parseDate(from), parseDate(to), TotalsMode.fromParam(totals), fields)).build();
+            }
             PaginatedResponse<VacationResponse> response = vacationService.getPaginatedVacations(
                     page,
                     size,
                     sortField,
-                    sortOrder
+                    sortOrder,
+                    parseDate(from),
+                    parseDate(to),
+                    TotalsMode.fromParam(totals)
             );
             return Response.ok(response).build();
+        } catch (DateTimeParseException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse("Invalid date (expected yyyy-MM-dd): " + e.getParsedString()))
+                    .build();
         } catch (IllegalArgumentException e) {
             return Response.status(Response.Status.BAD_REQUEST)
                     .entity(new ErrorResponse(e.getMessage()))
@@ -46,9 +90,23 @@ public class VacationResource {
 
     @GET
     @Path("/{id}")
-    public Response getVacationById(@PathParam("id") String idStr) {
+    public Response getVacationById(@PathParam("id") String idStr, @QueryParam("fields") String fields) {
+        UUID id;
         try {
-            UUID id = UUID.fromString(idStr);
+            id = UUID.fromString(idStr);
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse("Invalid ID format: " + e.getMessage()))
+                    .build();
+        }
+        try {
+            if (fields != null && !fields.isBlank()) {
+                return vacationService.findById(id, fields)
+                        .map(vacation -> Response.ok(vacation).build())
+                        .orElse(Response.status(Response.Status.NOT_FOUND)
+                                .entity(new ErrorResponse("Vacation request not found with ID: " + id))
+                                .build());
+            }
 
             return vacationService.findById(id)
                     .map(vacation -> Response.ok(vacation).build())
@@ -56,6 +114,51 @@ public class VacationResource {
                             .entity(new ErrorResponse("Vacation request not found with ID: " + id))
                             .build());
 
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        }
+    }
+
+    // Alternativa ao polling de GET /vacations: criação, aprovação, rejeição e cancelamento depois do commit
+    @GET
+    @Path("/stream")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    public void stream(
+            @Context SseEventSink sink,
+            @Context Sse sse,
+            @HeaderParam(HttpHeaders.LAST_EVENT_ID_HEADER) String lastEventId,
+            @QueryParam("managerId") String managerIdStr,
+            @QueryParam("employeeId") String employeeIdStr
+    ) {
+        VacationEventStream.Filter filter;
+        try {
+            filter = new VacationEventStream.Filter(parseUuid(managerIdStr), parseUuid(employeeIdStr));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid ID format: " + e.getMessage());
+        }
+        if (!eventStream.subscribe(sink, sse, filter, lastEventId)) {
+            throw new ServiceUnavailableException("Too many stream subscribers", 5L);
+        }
+    }
+
+    @GET
+    @Path("/stats/{employeeId}")
+    public Response getStats(
+            @PathParam("employeeId") String employeeIdStr,
+            @QueryParam("year") Integer year,
+            @Context SecurityContext security
+    ) {
+        try {
+            UUID employeeId = UUID.fromString(employeeIdStr);
+            VacationStatsResponse stats = vacationService.getStats(employeeId, year != null ? year : Year.now().getValue(),
+                    security.getUserPrincipal());
+            return Response.ok(stats).build();
+        } catch (ForbiddenException e) {
+            return Response.status(Response.Status.FORBIDDEN)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
         } catch (IllegalArgumentException e) {
             return Response.status(Response.Status.BAD_REQUEST)
                     .entity(new ErrorResponse("Invalid ID format: " + e.getMessage()))
@@ -63,16 +166,132 @@ public class VacationResource {
         }
     }
 
+    @GET
+    @Path("/team-calendar/{managerId}")
+    public Response getTeamCalendar(
+            @PathParam("managerId") String managerIdStr,
+            @QueryParam("from") String from,
+            @QueryParam("to") String to,
+            @Context SecurityContext security
+    ) {
+        try {
+            UUID managerId = UUID.fromString(managerIdStr);
+            List<TeamCalendarEntry> calendar = vacationService.getTeamCalendar(managerId, parseDate(from), parseDate(to),
+                    security.getUserPrincipal());
+            return Response.ok(calendar).build();
+        } catch (ForbiddenException e) {
+            return Response.status(Response.Status.FORBIDDEN)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        } catch (DateTimeParseException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse("Invalid date (expected yyyy-MM-dd): " + e.getParsedString()))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        }
+    }
+
+    // Saldo de dias no fim do dia asOf (yyyy-MM-dd, hoje por omissão), a partir do ledger
+    @GET
+    @Path("/balance/{employeeId}")
+    public Response getBalance(
+            @PathParam("employeeId") String employeeIdStr,
+            @QueryParam("asOf") String asOf,
+            @Context SecurityContext security
+    ) {
+        try {
+            UUID employeeId = UUID.fromString(employeeIdStr);
+            VacationBalanceResponse balance = vacationService.getBalance(employeeId, parseDate(asOf),
+                    security.getUserPrincipal());
+            return Response.ok(balance).build();
+        } catch (NotFoundException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        } catch (ForbiddenException e) {
+            return Response.status(Response.Status.FORBIDDEN)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        } catch (DateTimeParseException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse("Invalid date (expected yyyy-MM-dd): " + e.getParsedString()))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        }
+    }
+
+    // Acréscimo (ACCRUAL) ou ajuste (ADJUSTMENT) manual do saldo; devolve o saldo resultante
+    @POST
+    @Idempotent
+    @Path("/balance/{employeeId}/entries")
+    public Response postLedgerEntry(
+            @PathParam("employeeId") String employeeIdStr,
+            LedgerAdjustmentRequest dto,
+            @Context SecurityContext security
+    ) {
+        try {
+            UUID employeeId = UUID.fromString(employeeIdStr);
+            VacationBalanceResponse balance = vacationService.postLedgerEntry(employeeId, dto, security.getUserPrincipal());
+            return Response.status(Response.Status.CREATED)
+                    .entity(balance)
+                    .build();
+        } catch (NotFoundException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        } catch (ForbiddenException e) {
+            return Response.status(Response.Status.FORBIDDEN)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        } catch (IllegalStateException e) {
+            return Response.status(Response.Status.CONFLICT) // saldo ficaria negativo
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        }
+    }
+
+    // {"ids": [...]} -> array JSON pela ordem pedida, {"id", "found", "item"} por ID, enviado chunk a chunk
+    @POST
+    @Path("/batch-get")
+    @Produces(MediaType.APPLICATION_JSON)
+    @ReadOnlyRequest
+    @RateLimitClass(EndpointClass.READ)
+    public Response batchGet(BatchGetRequest request) {
+        try {
+            List<UUID> ids = batchGet.validate(request);
+            return Response.ok(batchGet.stream(ids, vacationService::findByIds)).build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        }
+    }
+
     // --- Endpoints de Manipulação (CREATE & UPDATE) ---
 
     @POST
+    @Idempotent
     @Transactional
-    public Response create(@Valid VacationRequest dto) {
+    public Response create(@Valid VacationRequest dto, @Context SecurityContext security) {
         try {
-            VacationResponse created = vacationService.create(dto);
+            VacationResponse created = vacationService.create(dto, security.getUserPrincipal());
             return Response.status(Response.Status.CREATED)
                     .entity(created)
                     .build();
+        } catch (ForbiddenException e) {
+            return Response.status(Response.Status.FORBIDDEN)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
         } catch (IllegalArgumentException | NotFoundException e) {
             // NotFoundException pode ser lançada pelo Mapper se o EmployeeId não existir
             Response.Status status = (e instanceof NotFoundException)
@@ -88,11 +307,20 @@ public class VacationResource {
     @PUT
     @Path("/{id}")
     @Transactional
-    public Response update(@PathParam("id") String idStr, @Valid VacationRequest dto) {
+    public Response update(@PathParam("id") String idStr, @Valid VacationRequest dto,
+                           @Context SecurityContext security) {
         try {
             UUID id = UUID.fromString(idStr);
-            VacationResponse updated = vacationService.update(id, dto);
+            VacationResponse updated = vacationService.update(id, dto, security.getUserPrincipal());
             return Response.ok(updated).build();
+        } catch (ForbiddenException e) {
+            return Response.status(Response.Status.FORBIDDEN)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        } catch (IllegalStateException e) {
+            return Response.status(Response.Status.CONFLICT) // pedido aprovado sem saldo para os novos dias
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
         } catch (NotFoundException e) {
             return Response.status(Response.Status.NOT_FOUND)
                     .entity(new ErrorResponse(e.getMessage()))
@@ -107,16 +335,21 @@ public class VacationResource {
     // --- Endpoints de Transição de Estado (APPROVE/REJECT) ---
 
     @PUT
+    @Idempotent
     @Path("/{id}/approve")
     @Transactional
     public Response approve(
             @PathParam("id") String idStr,
-            @QueryParam("approver") @DefaultValue("system") String approverName
+            @Context SecurityContext security
     ) {
         try {
             UUID id = UUID.fromString(idStr);
-            VacationResponse approved = vacationService.approve(id, approverName);
+            VacationResponse approved = vacationService.approve(id, security.getUserPrincipal());
             return Response.ok(approved).build();
+        } catch (ForbiddenException e) {
+            return Response.status(Response.Status.FORBIDDEN)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
         } catch (NotFoundException e) {
             return Response.status(Response.Status.NOT_FOUND)
                     .entity(new ErrorResponse(e.getMessage()))
@@ -127,34 +360,75 @@ public class VacationResource {
                     .build();
         } catch (IllegalArgumentException e) {
             return Response.status(Response.Status.BAD_REQUEST)
-                    .entity(new ErrorResponse("Invalid ID format or missing approver: " + e.getMessage()))
+                    .entity(new ErrorResponse("Invalid ID format: " + e.getMessage()))
                     .build();
         }
     }
 
     @PUT
+    @Idempotent
     @Path("/{id}/reject")
     @Transactional
     public Response reject(
             @PathParam("id") String idStr,
             @QueryParam("reason") @DefaultValue("No reason provided") String reason,
-            @QueryParam("approver") @DefaultValue("system") String approverName
+            @Context SecurityContext security
     ) {
         try {
             UUID id = UUID.fromString(idStr);
-            VacationResponse rejected = vacationService.reject(id, approverName, reason);
+            VacationResponse rejected = vacationService.reject(id, reason, security.getUserPrincipal());
             return Response.ok(rejected).build();
+        } catch (ForbiddenException e) {
+            return Response.status(Response.Status.FORBIDDEN)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
         } catch (NotFoundException e) {
             return Response.status(Response.Status.NOT_FOUND)
                     .entity(new ErrorResponse(e.getMessage()))
                     .build();
         } catch (IllegalArgumentException e) {
             return Response.status(Response.Status.BAD_REQUEST)
-                    .entity(new ErrorResponse("Invalid ID format or missing approver: " + e.getMessage()))
+                    .entity(new ErrorResponse("Invalid ID format: " + e.getMessage()))
                     .build();
         }
     }
 
+    @PUT
+    @Idempotent
+    @Path("/{id}/cancel")
+    @Transactional
+    public Response cancel(@PathParam("id") String idStr, @Context SecurityContext security) {
+        try {
+            UUID id = UUID.fromString(idStr);
+            VacationResponse cancelled = vacationService.cancel(id, security.getUserPrincipal());
+            return Response.ok(cancelled).build();
+        } catch (ForbiddenException e) {
+            return Response.status(Response.Status.FORBIDDEN)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        } catch (NotFoundException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        } catch (IllegalStateException e) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity(new ErrorResponse(e.getMessage()))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorResponse("Invalid ID format: " + e.getMessage()))
+                    .build();
+        }
+    }
+
+    private static UUID parseUuid(String value) {
+        return (value == null || value.isBlank()) ? null : UUID.fromString(value.trim());
+    }
+
+    private static LocalDate parseDate(String value) {
+        return (value == null || value.isBlank()) ? null : LocalDate.parse(value);
+    }
+
     // --- RECORDs de Resposta (Padrão EmployeeResource) ---
 
     public record ErrorResponse(String error) {}
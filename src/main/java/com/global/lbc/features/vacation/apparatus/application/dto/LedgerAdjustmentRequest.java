@@ -0,0 +1,13 @@
+package com.global.lbc.features.vacation.apparatus.application.dto;
+
+import com.global.lbc.features.vacation.apparatus.model.util.LedgerEntryType;
+
+// DTO para POST /vacations/balance/{employeeId}/entries: só ACCRUAL (days > 0) ou ADJUSTMENT (days != 0).
+// DEBIT e REVERSAL são lançados pelas transições de estado dos pedidos.
+public class LedgerAdjustmentRequest {
+    public LedgerEntryType type;
+    public Long days;
+    public String reason;
+
+    public LedgerAdjustmentRequest() {}
+}
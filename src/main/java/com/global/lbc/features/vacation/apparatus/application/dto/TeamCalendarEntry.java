@@ -0,0 +1,19 @@
+package com.global.lbc.features.vacation.apparatus.application.dto;
+
+import com.global.lbc.features.vacation.apparatus.model.util.VacationStatus;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public class TeamCalendarEntry {
+
+    public UUID vacationId;
+    public UUID employeeId;
+    public LocalDate startDate;
+    public LocalDate endDate;
+    public Integer daysRequested;
+    public VacationStatus vacationStatus;
+
+    public TeamCalendarEntry() {
+    }
+}
@@ -0,0 +1,16 @@
+package com.global.lbc.features.vacation.apparatus.application.dto;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Saldo no fim do dia asOf, calculado a partir do ledger
+public class VacationBalanceResponse {
+
+    public UUID employeeId;
+    public LocalDate asOf;
+    public long balance;
+    public long used;
+
+    public VacationBalanceResponse() {
+    }
+}
@@ -0,0 +1,19 @@
+package com.global.lbc.features.vacation.apparatus.application.dto;
+
+import java.time.LocalDate;
+
+// Um período sugerido: pedir férias de leaveStart a leaveEnd dá uma pausa de breakStart a breakEnd
+public class VacationPlanPeriod {
+
+    public LocalDate leaveStart;
+    public LocalDate leaveEnd;
+    public LocalDate breakStart;
+    public LocalDate breakEnd;
+    // Dias que o pedido vai debitar do saldo (a mesma conta do ledger)
+    public int workingDays;
+    public int daysOff;
+    public double daysOffPerWorkingDay;
+
+    public VacationPlanPeriod() {
+    }
+}
@@ -0,0 +1,20 @@
+package com.global.lbc.features.vacation.apparatus.application.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public class VacationPlanResponse {
+
+    public UUID employeeId;
+    public int year;
+    public String country;
+    public long balance;
+    // Dias de pedidos pendentes: ainda não debitados, mas já comprometidos
+    public long pendingDays;
+    // Dias máximos por período: budget pedido, limitado ao saldo menos os dias pendentes
+    public int budget;
+    public List<VacationPlanPeriod> periods;
+
+    public VacationPlanResponse() {
+    }
+}
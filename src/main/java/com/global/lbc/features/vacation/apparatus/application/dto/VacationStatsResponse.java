@@ -0,0 +1,17 @@
+package com.global.lbc.features.vacation.apparatus.application.dto;
+
+import java.util.UUID;
+
+public class VacationStatsResponse {
+
+    public UUID employeeId;
+    public int year;
+    public int requests;
+    public int approvedDays;
+    public int pendingDays;
+    public int rejectedDays;
+    public int cancelledDays;
+
+    public VacationStatsResponse() {
+    }
+}
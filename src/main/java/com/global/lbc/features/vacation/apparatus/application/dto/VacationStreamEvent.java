@@ -0,0 +1,24 @@
+package com.global.lbc.features.vacation.apparatus.application.dto;
+
+import com.global.lbc.features.vacation.apparatus.model.util.VacationStatus;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Payload of one GET /vacations/stream event
+public class VacationStreamEvent {
+
+    public String type;
+    public UUID vacationId;
+    public UUID employeeId;
+    public UUID managerId;
+    public LocalDate startDate;
+    public LocalDate endDate;
+    public Integer daysRequested;
+    public VacationStatus vacationStatus;
+    public Instant occurredAt;
+
+    public VacationStreamEvent() {
+    }
+}
@@ -1,20 +1,46 @@
 package com.global.lbc.features.vacation.apparatus.application.service;
 
+import com.global.lbc.features.employee.apparatus.model.Employee;
+import com.global.lbc.features.employee.apparatus.usecases.hierarchy.HierarchyAuthorization;
 import com.global.lbc.features.vacation.apparatus.application.VacationMapper;
+import com.global.lbc.features.vacation.apparatus.application.dto.EmployeeResponseSummary;
+import com.global.lbc.features.vacation.apparatus.application.dto.LedgerAdjustmentRequest;
+import com.global.lbc.features.vacation.apparatus.application.dto.TeamCalendarEntry;
+import com.global.lbc.features.vacation.apparatus.application.dto.VacationBalanceResponse;
+import com.global.lbc.features.vacation.apparatus.application.dto.VacationPlanResponse;
 import com.global.lbc.features.vacation.apparatus.application.dto.VacationRequest; // DTO para entrada de dados (Creation/Update)
 import com.global.lbc.features.vacation.apparatus.application.dto.VacationResponse; // DTO para saída de dados
+import com.global.lbc.features.vacation.apparatus.application.dto.VacationStatsResponse;
 import com.global.lbc.features.vacation.apparatus.model.Vacation;
+import com.global.lbc.features.vacation.apparatus.model.events.VacationEvents;
 import com.global.lbc.features.vacation.apparatus.model.util.VacationStatus;
 import com.global.lbc.features.vacation.apparatus.usecases.days.between.two.dates.VacationDaysBtCalculator;
+import com.global.lbc.features.vacation.apparatus.usecases.ledger.VacationLedger;
+import com.global.lbc.features.vacation.apparatus.usecases.planner.HolidayCalendar;
+import com.global.lbc.features.vacation.apparatus.usecases.planner.LeavePlanner;
+import com.global.lbc.features.vacation.apparatus.usecases.projection.VacationStatsProjection;
+import com.global.lbc.shared.FieldSelection;
 import com.global.lbc.shared.PaginatedResponse;
+import com.global.lbc.shared.PaginationTotals;
+import com.global.lbc.shared.TotalsMode;
+import com.global.lbc.shared.TotalsQuery;
+import com.global.lbc.shared.coalescing.Coalesce;
+import com.global.lbc.shared.events.DomainEvent;
+import com.global.lbc.shared.routing.ReadReplica;
+import com.global.lbc.shared.tenant.Tenants;
+import io.quarkus.panache.common.Parameters;
 import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.NotFoundException;
 
+import java.security.Principal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -25,14 +51,68 @@ public class VacationService {
     private static final int DEFAULT_PAGE_SIZE = 50;
     private static final int MAX_PAGE_SIZE = 100;
 
+    // Planeador: anos à frente, períodos devolvidos e dias úteis máximos por período
+    private static final int MAX_PLAN_YEARS_AHEAD = 1;
+    private static final int DEFAULT_PLAN_PERIODS = 5;
+    private static final int MAX_PLAN_PERIODS = 20;
+    private static final int MAX_PLAN_BUDGET = 30;
+
+    // Whitelist do ?fields= (nome JSON -> atributo de Vacation). employeeId lê a FK sem join;
+    // employee só faz join a employee_profile quando é pedido.
+    private static final FieldSelection SPARSE_FIELDS = FieldSelection.of("Vacation")
+            .field("employeeId", "employee.id")
+            .composite("employee", c -> new EmployeeResponseSummary((UUID) c[0], (String) c[1], (String) c[2], (String) c[3]),
+                    "employee.id", "employee.name", "employee.surname", "employee.fiscalNumber")
+            .field("startDate")
+            .field("endDate")
+            .field("daysRequested")
+            .field("vacationStatus")
+            .field("isActive")
+            .field("approvingBy")
+            .field("approvalDate")
+            .field("requestNotes")
+            .field("rejectionReason")
+            .field("createdAt")
+            .field("updatedAt")
+            .field("deletedAt")
+            .field("deletedBy")
+            .build();
+
     @Inject
     VacationDaysBtCalculator calculator;
 
     @Inject
     VacationMapper mapper;
 
+    @Inject
+    PaginationTotals paginationTotals;
+
+    // Entregues pelo DomainEventBus só depois do commit (projeções, estatísticas)
+    @Inject
+    Event<DomainEvent> domainEvents;
+
+    @Inject
+    VacationStatsProjection statsProjection;
+
+    // Tenant do pedido: as projeções em memória são separadas por tenant
+    @Inject
+    Tenants tenants;
+
+    // Quem pode agir sobre os pedidos de um funcionário (ele próprio, gestores acima dele, ADMIN)
+    @Inject
+    HierarchyAuthorization authorization;
+
+    // Saldo de dias: cada aprovação/rejeição/cancelamento lança um movimento no ledger
+    @Inject
+    VacationLedger ledger;
+
+    @Inject
+    LeavePlanner planner;
+
     // --- MÉTODOS DE BUSCA (READ) ---
 
+    @Coalesce
+    @ReadReplica
     public Optional<VacationResponse> findById(UUID id) {
         if (id == null) {
             throw new IllegalArgumentException("ID cannot be null");
@@ -43,37 +123,240 @@ public class VacationService {
         return Optional.ofNullable(vacation).map(mapper::toResponse);
     }
 
+    // Um chunk do POST /vacations/batch-get (ver BatchGet): uma única query IN. O join fetch evita
+    // uma query por funcionário quando o mapper preenche o resumo do employee.
+    @ReadReplica
+    public Map<UUID, VacationResponse> findByIds(List<UUID> ids) {
+        return Vacation.<Vacation>list("from Vacation v join fetch v.employee where v.id in ?1", ids)
+                .stream()
+                .collect(Collectors.toMap(vacation -> vacation.id, mapper::toResponse));
+    }
+
+    @ReadReplica
+    public Optional<Map<String, Object>> findById(UUID id, String fields) {
+        if (id == null) {
+            throw new IllegalArgumentException("ID cannot be null");
+        }
+        FieldSelection.Selected selected = SPARSE_FIELDS.parse(fields);
+        return selected.query("id = :id", Map.of("id", id), null)
+                .getResultStream()
+                .findFirst()
+                .map(selected::toMap);
+    }
+
+    @ReadReplica
     public PaginatedResponse<VacationResponse> getPaginatedVacations(int page, int size, String sortField, String sortOrder) {
+        return getPaginatedVacations(page, size, sortField, sortOrder, null, null, TotalsMode.EXACT);
+    }
+
+    // from/to filtram por start_date (inclusive). vacation_request é particionada por ano de start_date,
+    // por isso um intervalo limitado faz o PostgreSQL ler apenas as partições desses anos (partition pruning).
+    @Coalesce
+    @ReadReplica
+    public PaginatedResponse<VacationResponse> getPaginatedVacations(int page, int size, String sortField, String sortOrder,
+                                                                     LocalDate from, LocalDate to, TotalsMode totals) {
         validatePagination(page, size);
+        validateDateRange(from, to);
 
         // A EmployeeService tinha validação de sortField, vou simplificar aqui, mas o ideal é validar.
         Sort sortBy = buildSort(sortField, sortOrder);
 
-        var query = Vacation.<Vacation>findAll(sortBy).page(page, size);
-        long totalItems = Vacation.count();
-        int totalPages = (int) Math.ceil((double) totalItems / size);
+        StartDateFilter filter = StartDateFilter.of(from, to);
+        return paginationTotals.paginate(
+                Vacation.<Vacation>find(filter.query, sortBy, filter.params),
+                page,
+                size,
+                mapper::toResponse, // Usa o Mapper para converter
+                totals,
+                TotalsQuery.of("vacation_request", filter.sqlWhere, filter.sqlParams,
+                        () -> Vacation.count(filter.query, filter.params))
+        );
+    }
 
-        List<VacationResponse> vacations = query.list().stream()
-                .map(mapper::toResponse) // Usa o Mapper para converter
-                .collect(Collectors.toList());
+    // Variante com ?fields=: só as colunas pedidas entram no SELECT. Aqui o sortField tem de estar
+    // na whitelist, porque vai diretamente para o ORDER BY do HQL.
+    @ReadReplica
+    public PaginatedResponse<Map<String, Object>> getPaginatedVacations(int page, int size, String sortField, String sortOrder,
+                                                                        LocalDate from, LocalDate to, TotalsMode totals,
+                                                                        String fields) {
+        validatePagination(page, size);
+        validateDateRange(from, to);
 
-        return new PaginatedResponse<>(
-                vacations,
-                totalItems,
-                totalPages,
-                page
+        String field = (sortField == null || sortField.isBlank()) ? "startDate" : sortField;
+        String orderBy = SPARSE_FIELDS.sortPath(field) + ("desc".equalsIgnoreCase(sortOrder) ? " DESC" : " ASC");
+
+        FieldSelection.Selected selected = SPARSE_FIELDS.parse(fields);
+        StartDateFilter filter = StartDateFilter.of(from, to);
+        return paginationTotals.paginate(
+                selected.query(filter.query, filter.params.map(), orderBy),
+                page,
+                size,
+                selected::toMap,
+                totals,
+                TotalsQuery.of("vacation_request", filter.sqlWhere, filter.sqlParams,
+                        () -> Vacation.count(filter.query, filter.params))
         );
     }
 
+    // --- PROJEÇÕES (memória, atualizadas por eventos; podem estar ligeiramente atrasadas) ---
+
+    // Anos anteriores aos que a projeção guarda em memória (vacation.projection.years-back) são
+    // agregados na base de dados: só a partição desse ano é lida
+    @ReadReplica
+    public VacationStatsResponse getStats(UUID employeeId, int year, Principal caller) {
+        if (employeeId == null) {
+            throw new IllegalArgumentException("Employee ID cannot be null");
+        }
+        authorization.requireSelfOrManagerOf(caller, employeeId);
+        if (year >= statsProjection.since().getYear()) {
+            return statsProjection.stats(tenants.current(), employeeId, year);
+        }
+
+        VacationStatsResponse stats = new VacationStatsResponse();
+        stats.employeeId = employeeId;
+        stats.year = year;
+        // O mesmo filtro do replay da projeção: pedidos ativos e os cancelados
+        List<Object[]> rows = Vacation.getEntityManager().createQuery("""
+                        SELECT v.vacationStatus, COUNT(v), COALESCE(SUM(v.daysRequested), 0) FROM Vacation v
+                        WHERE v.employee.id = :employeeId AND v.startDate >= :from AND v.startDate <= :to
+                          AND (v.isActive = true OR v.vacationStatus = :cancelled)
+                        GROUP BY v.vacationStatus
+                        """, Object[].class)
+                .setParameter("employeeId", employeeId)
+                .setParameter("from", LocalDate.of(year, 1, 1))
+                .setParameter("to", LocalDate.of(year, 12, 31))
+                .setParameter("cancelled", VacationStatus.CANCELLED)
+                .getResultList();
+        for (Object[] row : rows) {
+            int days = ((Number) row[2]).intValue();
+            stats.requests += ((Number) row[1]).intValue();
+            switch ((VacationStatus) row[0]) {
+                case APPROVED -> stats.approvedDays += days;
+                case PENDING -> stats.pendingDays += days;
+                case REJECTED -> stats.rejectedDays += days;
+                case CANCELLED -> stats.cancelledDays += days;
+            }
+        }
+        return stats;
+    }
+
+    // Saldo no fim do dia asOf (hoje por omissão): último snapshot + movimentos posteriores
+    @ReadReplica
+    public VacationBalanceResponse getBalance(UUID employeeId, LocalDate asOf, Principal caller) {
+        if (employeeId == null) {
+            throw new IllegalArgumentException("Employee ID cannot be null");
+        }
+        if (Employee.count("id", employeeId) == 0) {
+            throw new NotFoundException("Employee not found: " + employeeId);
+        }
+        authorization.requireSelfOrManagerOf(caller, employeeId);
+        return ledger.balanceOf(employeeId, asOf != null ? asOf : ledger.today());
+    }
+
+    // Melhores períodos de férias do ano (pontes com feriados e fins de semana) dentro do saldo atual
+    @ReadReplica
+    public VacationPlanResponse planVacation(UUID employeeId, Integer year, Integer budget, Integer limit,
+                                             Principal caller) {
+        LocalDate today = ledger.today();
+        int planYear = year != null ? year : today.getYear();
+        if (planYear < today.getYear() || planYear > today.getYear() + MAX_PLAN_YEARS_AHEAD) {
+            throw new IllegalArgumentException("Year must be between " + today.getYear() + " and "
+                    + (today.getYear() + MAX_PLAN_YEARS_AHEAD));
+        }
+        if (budget != null && budget <= 0) {
+            throw new IllegalArgumentException("Budget must be a positive number of days");
+        }
+        int periods = limit != null ? limit : DEFAULT_PLAN_PERIODS;
+        if (periods < 1 || periods > MAX_PLAN_PERIODS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PLAN_PERIODS);
+        }
+
+        Employee employee = Employee.findById(employeeId);
+        if (employee == null) {
+            throw new NotFoundException("Employee not found: " + employeeId);
+        }
+        authorization.requireSelfOrManagerOf(caller, employeeId);
+
+        long balance = employee.vacationDaysBalance != null ? employee.vacationDaysBalance : 0L;
+        // Pedidos pendentes só são debitados na aprovação, mas os seus dias já não estão disponíveis
+        long pendingDays = Vacation.getEntityManager().createQuery("""
+                        SELECT COALESCE(SUM(v.daysRequested), 0) FROM Vacation v
+                        WHERE v.employee.id = :employeeId AND v.isActive = true AND v.vacationStatus = :status
+                        """, Number.class)
+                .setParameter("employeeId", employeeId)
+                .setParameter("status", VacationStatus.PENDING)
+                .getSingleResult()
+                .longValue();
+        long available = Math.max(0, balance - pendingDays);
+        int effectiveBudget = (int) Math.min(Math.min(budget != null ? budget : available, available), MAX_PLAN_BUDGET);
+
+        // Pedidos pendentes/aprovados que tocam no ano (com margem para pausas na passagem de ano)
+        LocalDate from = LocalDate.of(planYear, 1, 1).minusMonths(1);
+        LocalDate to = LocalDate.of(planYear, 12, 31).plusMonths(1);
+        List<LocalDate[]> busy = Vacation.getEntityManager().createQuery("""
+                        SELECT v.startDate, v.endDate FROM Vacation v
+                        WHERE v.employee.id = :employeeId AND v.isActive = true AND v.vacationStatus IN :statuses
+                          AND v.startDate <= :to AND v.endDate >= :from
+                        """, Object[].class)
+                .setParameter("employeeId", employeeId)
+                .setParameter("statuses", List.of(VacationStatus.PENDING, VacationStatus.APPROVED))
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .getResultStream()
+                .map(row -> new LocalDate[]{(LocalDate) row[0], (LocalDate) row[1]})
+                .toList();
+
+        VacationPlanResponse plan = new VacationPlanResponse();
+        plan.employeeId = employeeId;
+        plan.year = planYear;
+        plan.country = HolidayCalendar.normalize(employee.fiscalNumberCountry);
+        plan.balance = balance;
+        plan.pendingDays = pendingDays;
+        plan.budget = effectiveBudget;
+        plan.periods = effectiveBudget > 0
+                ? planner.plan(plan.country, planYear, today, busy, effectiveBudget, periods)
+                : List.of();
+        return plan;
+    }
+
+    // Acréscimos e ajustes manuais (só ADMIN); débitos e reversões vêm das transições dos pedidos
+    @Transactional
+    public VacationBalanceResponse postLedgerEntry(UUID employeeId, LedgerAdjustmentRequest dto, Principal caller) {
+        if (dto == null || dto.type == null || dto.days == null) {
+            throw new IllegalArgumentException("Entry type and days are required");
+        }
+        authorization.requireAdmin(caller);
+        return ledger.adjust(employeeId, dto.type, dto.days, dto.reason, actor(caller));
+    }
+
+    // Só cobre o período em memória na projeção: um intervalo que começa antes é recusado em vez
+    // de devolver um calendário incompleto
+    public List<TeamCalendarEntry> getTeamCalendar(UUID managerId, LocalDate from, LocalDate to, Principal caller) {
+        if (managerId == null) {
+            throw new IllegalArgumentException("Manager ID cannot be null");
+        }
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Both from and to are required");
+        }
+        validateDateRange(from, to);
+        LocalDate since = statsProjection.since();
+        if (from.isBefore(since)) {
+            throw new IllegalArgumentException("Team calendar only covers dates from " + since);
+        }
+        authorization.requireSelfOrManagerOf(caller, managerId);
+        return statsProjection.teamCalendar(tenants.current(), managerId, from, to);
+    }
+
     // --- MÉTODOS DE ESCRITA (CREATE & UPDATE) ---
 
     @Transactional
-    public VacationResponse create(VacationRequest dto) {
+    public VacationResponse create(VacationRequest dto, Principal caller) {
         // Validações de negócio do DTO (datas, funcionário existe, etc.)
         validateVacationData(dto);
 
         // 1. Mapeia DTO de Request para Entidade
         Vacation request = mapper.toEntity(dto);
+        authorization.requireSelfOrManagerOf(caller, request.employee.id);
 
         // 2. Lógica de Negócio: Cálculo de dias
         if (request.startDate != null && request.endDate != null) {
@@ -85,32 +368,50 @@ public class VacationService {
 
         // 3. Persistência
         request.persist();
+        domainEvents.fire(VacationEvents.created(request));
 
         // 4. Mapeia Entidade de volta para DTO de Response
         return mapper.toResponse(request);
     }
 
     @Transactional
-    public VacationResponse update(UUID id, VacationRequest dto) {
+    public VacationResponse update(UUID id, VacationRequest dto, Principal caller) {
         Vacation vacation = Vacation.findById(id);
         if (vacation == null) {
             throw new NotFoundException("Vacation request not found: " + id);
         }
+        authorization.requireSelfOrManagerOf(caller, vacation.employee.id);
 
         // Validações de negócio
         validateVacationData(dto);
 
-        // 1. Mapeia DTO de Request para atualizar a Entidade
-        mapper.updateEntity(vacation, dto);
+        // Se o pedido muda de funcionário, o chamador também tem de poder agir sobre o novo.
+        // Verificado antes de mexer na entidade: o Resource apanha a exceção dentro da transação.
+        boolean employeeChanged = dto.employeeId != null && !dto.employeeId.equals(vacation.employee.id);
+        if (employeeChanged) {
+            if (!vacation.isPending()) {
+                throw new IllegalArgumentException("Only PENDING requests can be moved to another employee.");
+            }
+            authorization.requireSelfOrManagerOf(caller, dto.employeeId);
+        }
 
-        // 2. Lógica de Negócio: Recálculo de dias se as datas mudaram
-        if (vacation.startDate != null && vacation.endDate != null) {
-            vacation.daysRequested = calculator.calculateBusinessDays(
-                    vacation.startDate,
-                    vacation.endDate
-            );
+        // 1. Lógica de Negócio: Recálculo de dias se as datas mudaram
+        Integer daysRequested = vacation.daysRequested;
+        if (dto.startDate != null && dto.endDate != null) {
+            daysRequested = calculator.calculateBusinessDays(dto.startDate, dto.endDate);
+        }
+
+        // 2. Pedido já aprovado: o ledger debita ou devolve a diferença (409 se não houver saldo)
+        if (vacation.isApproved() && daysRequested != null) {
+            ledger.settle(vacation, daysRequested, actor(caller));
         }
 
+        // 3. Mapeia DTO de Request para atualizar a Entidade
+        mapper.updateEntity(vacation, dto);
+        vacation.daysRequested = daysRequested;
+
+        domainEvents.fire(VacationEvents.updated(vacation));
+
         // Persistência (Panache faz o update no fim do @Transactional)
         return mapper.toResponse(vacation);
     }
@@ -118,38 +419,77 @@ public class VacationService {
     // --- MÉTODOS DE TRANSIÇÃO DE ESTADO ---
 
     @Transactional
-    public VacationResponse approve(UUID vacationId, String approverName) {
+    public VacationResponse approve(UUID vacationId, Principal caller) {
         Vacation vacation = Vacation.findById(vacationId);
         if (vacation == null) {
             throw new NotFoundException("Vacation request not found.");
         }
+        // Só um gestor (direto ou indireto) do funcionário, ou um ADMIN, aprova; fica registado como aprovador
+        authorization.requireManagerOf(caller, vacation.employee.id);
+        String approverName = caller.getName();
 
         if (vacation.vacationStatus != VacationStatus.PENDING) {
             throw new IllegalStateException("The request is not in PENDING status.");
         }
 
+        // Débito dos dias antes da transição: sem saldo suficiente o pedido fica PENDING (409)
+        ledger.settle(vacation, vacation.daysRequested, approverName);
+
         // Lógica de Transição de Estado
         vacation.vacationStatus = VacationStatus.APPROVED;
         vacation.approvingBy = approverName;
         vacation.approvalDate = LocalDateTime.now();
         vacation.rejectionReason = null;
+        domainEvents.fire(VacationEvents.approved(vacation));
 
         // Retorna DTO
         return mapper.toResponse(vacation);
     }
 
     @Transactional
-    public VacationResponse reject(UUID vacationId, String approverName, String reason) {
+    public VacationResponse reject(UUID vacationId, String reason, Principal caller) {
         Vacation vacation = Vacation.findById(vacationId);
         if (vacation == null) {
             throw new NotFoundException("Vacation request not found.");
         }
+        authorization.requireManagerOf(caller, vacation.employee.id);
+        String approverName = caller.getName();
+
+        // Rejeitar um pedido já aprovado devolve os dias debitados
+        if (vacation.isApproved()) {
+            ledger.settle(vacation, 0, approverName);
+        }
 
         // Lógica de Transição de Estado
         vacation.vacationStatus = VacationStatus.REJECTED;
         vacation.approvingBy = approverName;
         vacation.approvalDate = LocalDateTime.now();
         vacation.rejectionReason = reason;
+        domainEvents.fire(VacationEvents.rejected(vacation));
+
+        // Retorna DTO
+        return mapper.toResponse(vacation);
+    }
+
+    @Transactional
+    public VacationResponse cancel(UUID vacationId, Principal caller) {
+        Vacation vacation = Vacation.findById(vacationId);
+        if (vacation == null) {
+            throw new NotFoundException("Vacation request not found.");
+        }
+        authorization.requireSelfOrManagerOf(caller, vacation.employee.id);
+
+        if (!vacation.isPending() && !vacation.isApproved()) {
+            throw new IllegalStateException("Only PENDING or APPROVED requests can be cancelled.");
+        }
+
+        if (vacation.isApproved()) {
+            ledger.settle(vacation, 0, actor(caller));
+        }
+
+        // Lógica de Transição de Estado
+        vacation.cancel();
+        domainEvents.fire(VacationEvents.cancelled(vacation));
 
         // Retorna DTO
         return mapper.toResponse(vacation);
@@ -157,6 +497,11 @@ public class VacationService {
 
     // --- MÉTODOS AUXILIARES (Padrão EmployeeService) ---
 
+    // Quem fica registado nos movimentos do ledger
+    private static String actor(Principal caller) {
+        return caller != null ? caller.getName() : "system";
+    }
+
     private void validatePagination(int page, int size) {
         if (page < 0) {
             throw new IllegalArgumentException("Page number cannot be negative");
@@ -177,6 +522,34 @@ public class VacationService {
         // Validações adicionais (ex: employeeId deve existir)
     }
 
+    private void validateDateRange(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' cannot be after 'to'.");
+        }
+    }
+
+    // Predicado sobre start_date escrito só com literais de parâmetro, para o planner
+    // conseguir descartar partições já no plano (ou no arranque da execução, com prepared statements).
+    private record StartDateFilter(String query, Parameters params, String sqlWhere, List<Object> sqlParams) {
+
+        static StartDateFilter of(LocalDate from, LocalDate to) {
+            if (from != null && to != null) {
+                return new StartDateFilter("startDate >= :from and startDate <= :to",
+                        Parameters.with("from", from).and("to", to),
+                        "start_date >= ?1 AND start_date <= ?2", List.of(from, to));
+            }
+            if (from != null) {
+                return new StartDateFilter("startDate >= :from", Parameters.with("from", from),
+                        "start_date >= ?1", List.of(from));
+            }
+            if (to != null) {
+                return new StartDateFilter("startDate <= :to", Parameters.with("to", to),
+                        "start_date <= ?1", List.of(to));
+            }
+            return new StartDateFilter("1 = 1", new Parameters(), null, List.of());
+        }
+    }
+
     private Sort buildSort(String sortField, String sortOrder) {
         String field = (sortField == null || sortField.isBlank()) ? "startDate" : sortField;
 
@@ -0,0 +1,62 @@
+package com.global.lbc.features.vacation.apparatus.model;
+
+import com.global.lbc.features.vacation.apparatus.model.util.LedgerEntryType;
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// ============================================================
+// ENTITY: VacationLedgerEntry (append-only)
+// Um movimento de dias de férias. Nunca é alterado nem apagado: correções são novos movimentos.
+// Escrito apenas pelo VacationLedger.
+// ============================================================
+
+@Entity
+@Table(name = "vacation_ledger_entry")
+public class VacationLedgerEntry extends PanacheEntityBase {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    public Long id;
+
+    @Column(name = "employee_id", nullable = false, updatable = false)
+    public UUID employeeId;
+
+    // Pedido que originou o movimento (DEBIT/REVERSAL); null em ACCRUAL/ADJUSTMENT
+    @Column(name = "vacation_id", updatable = false)
+    public UUID vacationId;
+
+    @Column(name = "entry_type", nullable = false, updatable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    public LedgerEntryType entryType;
+
+    @Column(name = "balance_delta", nullable = false, updatable = false)
+    public long balanceDelta;
+
+    @Column(name = "used_delta", nullable = false, updatable = false)
+    public long usedDelta;
+
+    @Column(name = "effective_date", nullable = false, updatable = false)
+    public LocalDate effectiveDate;
+
+    @Column(name = "reason", columnDefinition = "TEXT", updatable = false)
+    public String reason;
+
+    @Column(name = "created_by", updatable = false)
+    public String createdBy;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,119 @@
+package com.global.lbc.features.vacation.apparatus.model.events;
+
+import com.global.lbc.features.employee.apparatus.model.Employee;
+import com.global.lbc.features.vacation.apparatus.model.Vacation;
+import com.global.lbc.features.vacation.apparatus.model.util.VacationStatus;
+import com.global.lbc.shared.events.DomainEvent;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+// ============================================================
+// DOMAIN EVENTS: Vacation
+// Every event carries the full state a projection needs (dates, days, status, manager),
+// so subscribers never have to query the database to apply it.
+// ============================================================
+public final class VacationEvents {
+
+    public static final String AGGREGATE_TYPE = "vacation";
+
+    private VacationEvents() {
+    }
+
+    public interface VacationEvent extends DomainEvent {
+        UUID vacationId();
+
+        UUID employeeId();
+
+        UUID managerId();
+
+        LocalDate startDate();
+
+        LocalDate endDate();
+
+        Integer days();
+
+        VacationStatus status();
+
+        boolean active();
+
+        @Override
+        default UUID aggregateId() {
+            return vacationId();
+        }
+
+        @Override
+        default String aggregateType() {
+            return AGGREGATE_TYPE;
+        }
+
+        // All events of one employee share a lane, so per-employee projections see them in order
+        @Override
+        default UUID orderingKey() {
+            return employeeId();
+        }
+    }
+
+    public record VacationCreated(UUID vacationId, UUID employeeId, UUID managerId, LocalDate startDate, LocalDate endDate,
+                                  Integer days, VacationStatus status, boolean active, Instant occurredAt)
+            implements VacationEvent {
+    }
+
+    public record VacationUpdated(UUID vacationId, UUID employeeId, UUID managerId, LocalDate startDate, LocalDate endDate,
+                                  Integer days, VacationStatus status, boolean active, Instant occurredAt)
+            implements VacationEvent {
+    }
+
+    public record VacationApproved(UUID vacationId, UUID employeeId, UUID managerId, LocalDate startDate, LocalDate endDate,
+                                   Integer days, VacationStatus status, boolean active, String approvedBy, Instant occurredAt)
+            implements VacationEvent {
+    }
+
+    public record VacationRejected(UUID vacationId, UUID employeeId, UUID managerId, LocalDate startDate, LocalDate endDate,
+                                   Integer days, VacationStatus status, boolean active, String rejectedBy, String reason,
+                                   Instant occurredAt)
+            implements VacationEvent {
+    }
+
+    public record VacationCancelled(UUID vacationId, UUID employeeId, UUID managerId, LocalDate startDate, LocalDate endDate,
+                                    Integer days, VacationStatus status, boolean active, Instant occurredAt)
+            implements VacationEvent {
+    }
+
+    public static VacationCreated created(Vacation vacation) {
+        return new VacationCreated(vacation.id, vacation.employee.id, managerOf(vacation), vacation.startDate,
+                vacation.endDate, vacation.daysRequested, vacation.vacationStatus, isActive(vacation), Instant.now());
+    }
+
+    public static VacationUpdated updated(Vacation vacation) {
+        return new VacationUpdated(vacation.id, vacation.employee.id, managerOf(vacation), vacation.startDate,
+                vacation.endDate, vacation.daysRequested, vacation.vacationStatus, isActive(vacation), Instant.now());
+    }
+
+    public static VacationApproved approved(Vacation vacation) {
+        return new VacationApproved(vacation.id, vacation.employee.id, managerOf(vacation), vacation.startDate,
+                vacation.endDate, vacation.daysRequested, vacation.vacationStatus, isActive(vacation),
+                vacation.approvingBy, Instant.now());
+    }
+
+    public static VacationRejected rejected(Vacation vacation) {
+        return new VacationRejected(vacation.id, vacation.employee.id, managerOf(vacation), vacation.startDate,
+                vacation.endDate, vacation.daysRequested, vacation.vacationStatus, isActive(vacation),
+                vacation.approvingBy, vacation.rejectionReason, Instant.now());
+    }
+
+    public static VacationCancelled cancelled(Vacation vacation) {
+        return new VacationCancelled(vacation.id, vacation.employee.id, managerOf(vacation), vacation.startDate,
+                vacation.endDate, vacation.daysRequested, vacation.vacationStatus, isActive(vacation), Instant.now());
+    }
+
+    private static UUID managerOf(Vacation vacation) {
+        Employee manager = vacation.employee.manager;
+        return manager == null ? null : manager.id;
+    }
+
+    private static boolean isActive(Vacation vacation) {
+        return !Boolean.FALSE.equals(vacation.isActive);
+    }
+}
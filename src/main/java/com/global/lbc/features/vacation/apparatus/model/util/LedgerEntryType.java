@@ -0,0 +1,8 @@
+package com.global.lbc.features.vacation.apparatus.model.util;
+
+public enum LedgerEntryType {
+    ACCRUAL,
+    DEBIT,
+    REVERSAL,
+    ADJUSTMENT
+}
@@ -0,0 +1,305 @@
+package com.global.lbc.features.vacation.apparatus.usecases.ledger;
+
+import com.global.lbc.features.employee.apparatus.model.Employee;
+import com.global.lbc.features.vacation.apparatus.application.dto.VacationBalanceResponse;
+import com.global.lbc.features.vacation.apparatus.model.Vacation;
+import com.global.lbc.features.vacation.apparatus.model.VacationLedgerEntry;
+import com.global.lbc.features.vacation.apparatus.model.util.LedgerEntryType;
+import com.global.lbc.shared.tenant.Tenant;
+import com.global.lbc.shared.tenant.TenantRegistry;
+import com.global.lbc.shared.tenant.Tenants;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.LockModeType;
+import jakarta.ws.rs.NotFoundException;
+import org.jboss.logging.Logger;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// ============================================================
+// VACATION LEDGER: append-only movements of vacation days (vacation_ledger_entry, V1.0.10).
+// The balance at the end of a day is the latest snapshot up to that day plus the movements
+// after it, so a query sums at most a day or so of entries per employee. Movements are always
+// dated the day they are posted, which means a snapshot of a past day never goes stale.
+// employee_profile.vacation_days_balance/used are a cached projection, written in the same
+// transaction as every movement; the employee row is locked first, so concurrent movements for
+// the same employee are serialized and can never overdraw the balance.
+// ============================================================
+@ApplicationScoped
+public class VacationLedger {
+
+    private static final Logger LOG = Logger.getLogger(VacationLedger.class);
+
+    private static final String BALANCE_SQL = """
+            WITH snapshot AS (
+                SELECT as_of_date, balance, used FROM vacation_balance_snapshot
+                WHERE employee_id = ?1 AND as_of_date <= ?2
+                ORDER BY as_of_date DESC
+                LIMIT 1
+            )
+            SELECT (COALESCE((SELECT balance FROM snapshot), 0) + COALESCE(SUM(e.balance_delta), 0))::bigint,
+                   (COALESCE((SELECT used FROM snapshot), 0) + COALESCE(SUM(e.used_delta), 0))::bigint
+            FROM vacation_ledger_entry e
+            WHERE e.employee_id = ?1 AND e.effective_date <= ?2
+              AND e.effective_date > COALESCE((SELECT as_of_date FROM snapshot), DATE '-infinity')
+            """;
+
+    // Days currently debited for a request (DEBIT minus REVERSAL)
+    private static final String DEBITED_SQL = """
+            SELECT COALESCE(-SUM(balance_delta), 0)::bigint FROM vacation_ledger_entry WHERE vacation_id = ?1
+            """;
+
+    // One row per employee with movements after its latest snapshot, up to the snapshot day
+    private static final String SNAPSHOT_SQL = """
+            WITH latest AS (
+                SELECT DISTINCT ON (employee_id) employee_id, as_of_date, balance, used
+                FROM vacation_balance_snapshot
+                ORDER BY employee_id, as_of_date DESC
+            )
+            INSERT INTO vacation_balance_snapshot (employee_id, as_of_date, balance, used)
+            SELECT e.employee_id, ?, COALESCE(s.balance, 0) + SUM(e.balance_delta), COALESCE(s.used, 0) + SUM(e.used_delta)
+            FROM vacation_ledger_entry e
+            LEFT JOIN latest s ON s.employee_id = e.employee_id
+            WHERE e.effective_date <= ? AND (s.as_of_date IS NULL OR e.effective_date > s.as_of_date)
+            GROUP BY e.employee_id, s.balance, s.used
+            ON CONFLICT (employee_id, as_of_date) DO NOTHING
+            """;
+
+    // Employees whose cached columns differ from the ledger (e.g. written by hand or by old code)
+    private static final String DRIFT_SQL = """
+            WITH latest AS (
+                SELECT DISTINCT ON (employee_id) employee_id, as_of_date, balance, used
+                FROM vacation_balance_snapshot
+                ORDER BY employee_id, as_of_date DESC
+            ), totals AS (
+                SELECT p.id, p.vacation_days_balance, p.vacation_days_used,
+                       COALESCE(s.balance, 0) + COALESCE(SUM(e.balance_delta), 0) AS balance,
+                       COALESCE(s.used, 0) + COALESCE(SUM(e.used_delta), 0) AS used
+                FROM employee_profile p
+                LEFT JOIN latest s ON s.employee_id = p.id
+                LEFT JOIN vacation_ledger_entry e
+                       ON e.employee_id = p.id AND (s.as_of_date IS NULL OR e.effective_date > s.as_of_date)
+                GROUP BY p.id, p.vacation_days_balance, p.vacation_days_used, s.balance, s.used
+            )
+            SELECT id FROM totals
+            WHERE COALESCE(vacation_days_balance, 0) <> balance OR COALESCE(vacation_days_used, 0) <> used
+            """;
+
+    // An employee about to be purged: movements and snapshots move to the *_archive tables (V1.0.17)
+    private static final String ARCHIVE_ENTRIES_SQL = """
+            WITH moved AS (
+                DELETE FROM vacation_ledger_entry WHERE employee_id = ?1
+                RETURNING id, employee_id, vacation_id, entry_type, balance_delta, used_delta, effective_date,
+                          reason, created_by, created_at
+            )
+            INSERT INTO vacation_ledger_entry_archive (id, employee_id, vacation_id, entry_type, balance_delta,
+                                                       used_delta, effective_date, reason, created_by, created_at,
+                                                       archived_at)
+            SELECT *, CURRENT_TIMESTAMP FROM moved
+            """;
+    private static final String ARCHIVE_SNAPSHOTS_SQL = """
+            WITH moved AS (
+                DELETE FROM vacation_balance_snapshot WHERE employee_id = ?1
+                RETURNING employee_id, as_of_date, balance, used, created_at
+            )
+            INSERT INTO vacation_balance_snapshot_archive (employee_id, as_of_date, balance, used, created_at,
+                                                           archived_at)
+            SELECT *, CURRENT_TIMESTAMP FROM moved
+            """;
+
+    @Inject
+    Tenants tenants;
+
+    @Inject
+    TenantRegistry tenantRegistry;
+
+    @Inject
+    MeterRegistry registry;
+
+    // ========================================
+    // QUERIES
+    // ========================================
+
+    public VacationBalanceResponse balanceOf(UUID employeeId, LocalDate asOf) {
+        long[] totals = totals(employeeId, asOf);
+        VacationBalanceResponse response = new VacationBalanceResponse();
+        response.employeeId = employeeId;
+        response.asOf = asOf;
+        response.balance = totals[0];
+        response.used = totals[1];
+        return response;
+    }
+
+    // The database's CURRENT_DATE, the clock the migrations and the snapshot SQL use: an entry posted
+    // here can never be dated a day apart from rows written by SQL around midnight
+    public LocalDate today() {
+        return (LocalDate) VacationLedgerEntry.getEntityManager()
+                .createNativeQuery("SELECT CURRENT_DATE", LocalDate.class)
+                .getSingleResult();
+    }
+
+    // ========================================
+    // MOVEMENTS (caller's transaction)
+    // ========================================
+
+    // Brings the days debited for the request to targetDays: approve debits daysRequested,
+    // reject/cancel reverse everything, editing an approved request debits or reverses the difference
+    public void settle(Vacation vacation, int targetDays, String by) {
+        Employee employee = lock(vacation.employee.id);
+        long debited = ((Number) VacationLedgerEntry.getEntityManager()
+                .createNativeQuery(DEBITED_SQL)
+                .setParameter(1, vacation.id)
+                .getSingleResult()).longValue();
+        long difference = targetDays - debited;
+        if (difference == 0) {
+            return;
+        }
+        LedgerEntryType type = difference > 0 ? LedgerEntryType.DEBIT : LedgerEntryType.REVERSAL;
+        post(employee, type, -difference, difference, vacation.id, null, by);
+    }
+
+    public VacationBalanceResponse adjust(UUID employeeId, LedgerEntryType type, long days, String reason, String by) {
+        if (type != LedgerEntryType.ACCRUAL && type != LedgerEntryType.ADJUSTMENT) {
+            throw new IllegalArgumentException("Only ACCRUAL and ADJUSTMENT entries can be posted directly");
+        }
+        if (type == LedgerEntryType.ACCRUAL ? days <= 0 : days == 0) {
+            throw new IllegalArgumentException(type == LedgerEntryType.ACCRUAL
+                    ? "An accrual must add at least one day"
+                    : "An adjustment must change the balance");
+        }
+        Employee employee = lock(employeeId);
+        post(employee, type, days, 0, null, reason, by);
+        return balanceOf(employeeId, today());
+    }
+
+    // New employee: the initial balance is the first movement. No lock, the row is not committed yet.
+    public void open(Employee employee, long balance, long used, String by) {
+        employee.vacationDaysBalance = 0L;
+        employee.vacationDaysUsed = 0L;
+        if (balance != 0 || used != 0) {
+            post(employee, LedgerEntryType.ADJUSTMENT, balance, used, null, "Opening balance", by);
+        }
+    }
+
+    // The ledger is never deleted: before an employee row goes away its history is archived
+    public void archive(UUID employeeId) {
+        for (String sql : List.of(ARCHIVE_ENTRIES_SQL, ARCHIVE_SNAPSHOTS_SQL)) {
+            VacationLedgerEntry.getEntityManager()
+                    .createNativeQuery(sql)
+                    .setParameter(1, employeeId)
+                    .executeUpdate();
+        }
+    }
+
+    private void post(Employee employee, LedgerEntryType type, long balanceDelta, long usedDelta,
+                      UUID vacationId, String reason, String by) {
+        LocalDate today = today();
+        long[] current = totals(employee.id, today);
+        long balance = current[0] + balanceDelta;
+        long used = current[1] + usedDelta;
+        if (balanceDelta < 0 && balance < 0) {
+            throw new IllegalStateException(String.format(
+                    "Insufficient vacation balance: %d days available, %d requested", current[0], -balanceDelta));
+        }
+
+        VacationLedgerEntry entry = new VacationLedgerEntry();
+        entry.employeeId = employee.id;
+        entry.vacationId = vacationId;
+        entry.entryType = type;
+        entry.balanceDelta = balanceDelta;
+        entry.usedDelta = usedDelta;
+        entry.effectiveDate = today;
+        entry.reason = reason;
+        entry.createdBy = by;
+        entry.persist();
+
+        employee.vacationDaysBalance = balance;
+        employee.vacationDaysUsed = used;
+        registry.counter("vacation.ledger.entries", "type", type.name()).increment();
+    }
+
+    private long[] totals(UUID employeeId, LocalDate asOf) {
+        Object[] row = (Object[]) VacationLedgerEntry.getEntityManager()
+                .createNativeQuery(BALANCE_SQL)
+                .setParameter(1, employeeId)
+                .setParameter(2, asOf)
+                .getSingleResult();
+        return new long[]{((Number) row[0]).longValue(), ((Number) row[1]).longValue()};
+    }
+
+    private static Employee lock(UUID employeeId) {
+        Employee employee = Employee.findById(employeeId, LockModeType.PESSIMISTIC_WRITE);
+        if (employee == null) {
+            throw new NotFoundException("Employee not found: " + employeeId);
+        }
+        return employee;
+    }
+
+    // ========================================
+    // SNAPSHOTS AND PROJECTION
+    // ========================================
+
+    // Yesterday is closed: nothing can be posted with an earlier date any more
+    @Scheduled(cron = "${vacation.ledger.snapshot.cron:0 45 2 * * ?}", identity = "vacation-ledger-snapshot")
+    void snapshotAndReconcile() {
+        for (Tenant tenant : tenantRegistry.all()) {
+            tenants.runAs(tenant, () -> snapshotAndReconcile(tenant));
+        }
+    }
+
+    void snapshotAndReconcile(Tenant tenant) {
+        LocalDate asOf = today().minusDays(1);
+        try (Connection connection = tenants.connection(tenant);
+             PreparedStatement statement = connection.prepareStatement(SNAPSHOT_SQL)) {
+            statement.setDate(1, Date.valueOf(asOf));
+            statement.setDate(2, Date.valueOf(asOf));
+            int written = statement.executeUpdate();
+            LOG.infof("Vacation ledger: %d balance snapshots written for %s (tenant %s)", written, asOf, tenant.id());
+        } catch (SQLException e) {
+            LOG.errorf(e, "Vacation ledger snapshot of tenant %s failed; balances are still exact, only slower to compute",
+                    tenant.id());
+            return;
+        }
+        reconcileProjection(tenant);
+    }
+
+    // Rewrites the cached columns of employees that drifted from the ledger, one short transaction each.
+    // Runs under Tenants.runAs(tenant): the Panache transactions below use the tenant's schema.
+    void reconcileProjection(Tenant tenant) {
+        List<UUID> drifted = new ArrayList<>();
+        try (Connection connection = tenants.connection(tenant);
+             PreparedStatement statement = connection.prepareStatement(DRIFT_SQL);
+             ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                drifted.add(rs.getObject(1, UUID.class));
+            }
+        } catch (SQLException e) {
+            LOG.errorf(e, "Vacation ledger reconciliation of tenant %s failed", tenant.id());
+            return;
+        }
+        for (UUID employeeId : drifted) {
+            QuarkusTransaction.requiringNew().run(() -> {
+                Employee employee = Employee.findById(employeeId, LockModeType.PESSIMISTIC_WRITE);
+                if (employee != null) {
+                    long[] totals = totals(employeeId, today());
+                    employee.vacationDaysBalance = totals[0];
+                    employee.vacationDaysUsed = totals[1];
+                }
+            });
+        }
+        if (!drifted.isEmpty()) {
+            LOG.warnf("Vacation ledger: rebuilt the cached balance of %d employees (tenant %s)", drifted.size(), tenant.id());
+        }
+    }
+}
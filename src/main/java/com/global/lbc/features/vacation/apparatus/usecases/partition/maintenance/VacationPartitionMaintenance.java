@@ -0,0 +1,158 @@
+package com.global.lbc.features.vacation.apparatus.usecases.partition.maintenance;
+
+import com.global.lbc.shared.tenant.Tenant;
+import com.global.lbc.shared.tenant.TenantRegistry;
+import com.global.lbc.shared.tenant.Tenants;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+// ============================================================
+// Keeps the yearly partitions of vacation_request / vacation_booking ahead of time
+// (see V1.0.4) and, when a retention is configured, detaches closed years so they
+// can live on cheaper storage. Safe to run on every instance: a transaction-level
+// advisory lock per schema lets only one of them do the DDL of each tenant.
+// Closed years of the default tenant go to vacation_archive, those of tenant_<id> to tenant_<id>_archive.
+// ============================================================
+@ApplicationScoped
+public class VacationPartitionMaintenance {
+
+    private static final Logger LOG = Logger.getLogger(VacationPartitionMaintenance.class);
+
+    static final List<String> PARTITIONED_TABLES = List.of("vacation_request", "vacation_booking");
+
+    // Arbitrary constant shared by every instance of the application, hashed with the schema name
+    private static final long ADVISORY_LOCK_KEY = 0x7661636174696f6eL;
+
+    @Inject
+    Tenants tenants;
+
+    @Inject
+    TenantRegistry tenantRegistry;
+
+    @ConfigProperty(name = "vacation.partitions.years-ahead", defaultValue = "1")
+    int yearsAhead;
+
+    // 0 keeps every year attached
+    @ConfigProperty(name = "vacation.partitions.retention-years", defaultValue = "0")
+    int retentionYears;
+
+    @ConfigProperty(name = "vacation.partitions.archive-tablespace")
+    Optional<String> archiveTablespace;
+
+    Clock clock = Clock.systemDefaultZone();
+
+    @Scheduled(cron = "${vacation.partitions.cron:0 15 3 * * ?}", identity = "vacation-partition-maintenance")
+    void run() {
+        for (Tenant tenant : tenantRegistry.all()) {
+            run(tenant);
+        }
+    }
+
+    void run(Tenant tenant) {
+        int currentYear = Year.now(clock).getValue();
+        try (Connection connection = tenants.connection(tenant)) {
+            connection.setAutoCommit(false);
+            try {
+                if (!tryLock(connection)) {
+                    LOG.debugf("Partition maintenance of tenant %s already running on another instance", tenant.id());
+                    connection.rollback();
+                    return;
+                }
+                for (String table : PARTITIONED_TABLES) {
+                    for (int year = currentYear; year <= currentYear + yearsAhead; year++) {
+                        if (ensurePartition(connection, table, year)) {
+                            LOG.infof("Created partition %s.%s_y%d", tenant.schema(), table, year);
+                        }
+                    }
+                    if (retentionYears > 0) {
+                        int oldestKept = currentYear - retentionYears;
+                        for (int year : attachedYearsBefore(connection, table, oldestKept)) {
+                            detachPartition(connection, table, year);
+                            LOG.infof("Detached partition %s.%s_y%d to %s", tenant.schema(), table, year, archiveSchema(tenant));
+                        }
+                    }
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            LOG.errorf(e, "Vacation partition maintenance of tenant %s failed", tenant.id());
+        }
+    }
+
+    // Same rule as fn_detach_yearly_partition (V1.0.12)
+    static String archiveSchema(Tenant tenant) {
+        return tenant.isDefault() ? "vacation_archive" : tenant.schema() + "_archive";
+    }
+
+    private boolean tryLock(Connection connection) throws SQLException {
+        String sql = "SELECT pg_try_advisory_xact_lock(hashtextextended(current_schema(), ?))";
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setLong(1, ADVISORY_LOCK_KEY);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private boolean ensurePartition(Connection connection, String table, int year) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT fn_ensure_yearly_partition(?, ?)")) {
+            ps.setString(1, table);
+            ps.setInt(2, year);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private void detachPartition(Connection connection, String table, int year) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT fn_detach_yearly_partition(?, ?, ?)")) {
+            ps.setString(1, table);
+            ps.setInt(2, year);
+            ps.setString(3, archiveTablespace.filter(s -> !s.isBlank()).orElse(null));
+            ps.execute();
+        }
+    }
+
+    // Yearly partitions (<table>_y<year>) still attached to the parent with a year below the bound
+    private List<Integer> attachedYearsBefore(Connection connection, String table, int yearExclusive) throws SQLException {
+        String sql = """
+                SELECT substring(child.relname FROM '_y([0-9]{4})$')::int AS year
+                FROM pg_inherits i
+                JOIN pg_class parent ON parent.oid = i.inhparent
+                JOIN pg_namespace ns ON ns.oid = parent.relnamespace
+                JOIN pg_class child ON child.oid = i.inhrelid
+                WHERE parent.relname = ?
+                  AND ns.nspname = current_schema()
+                  AND child.relname ~ '_y[0-9]{4}$'
+                  AND substring(child.relname FROM '_y([0-9]{4})$')::int < ?
+                ORDER BY year
+                """;
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            ps.setString(1, table);
+            ps.setInt(2, yearExclusive);
+            try (ResultSet rs = ps.executeQuery()) {
+                List<Integer> years = new ArrayList<>();
+                while (rs.next()) {
+                    years.add(rs.getInt(1));
+                }
+                return years;
+            }
+        }
+    }
+}
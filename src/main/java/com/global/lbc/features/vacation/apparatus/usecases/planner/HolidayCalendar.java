@@ -0,0 +1,79 @@
+package com.global.lbc.features.vacation.apparatus.usecases.planner;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+// ============================================================
+// NATIONAL HOLIDAYS for the countries employees are registered in (fiscalNumberCountry).
+// Only nationwide holidays: regional/municipal ones and optional days (e.g. Carnival) are left
+// out, so a plan never relies on a day off that the employee might not have.
+// ============================================================
+public final class HolidayCalendar {
+
+    public static final String PORTUGAL = "PT";
+    public static final String BRAZIL = "BR";
+
+    private HolidayCalendar() {
+    }
+
+    // Unknown or missing countries fall back to Portugal, the company's home country
+    public static String normalize(String country) {
+        if (country != null && BRAZIL.equals(country.trim().toUpperCase(Locale.ROOT))) {
+            return BRAZIL;
+        }
+        return PORTUGAL;
+    }
+
+    public static Set<LocalDate> holidays(String country, int year) {
+        LocalDate easter = easterSunday(year);
+        Set<LocalDate> holidays = new TreeSet<>();
+        holidays.add(LocalDate.of(year, Month.JANUARY, 1));
+        holidays.add(easter.minusDays(2));                       // Sexta-feira Santa
+        holidays.add(LocalDate.of(year, Month.MAY, 1));
+        holidays.add(LocalDate.of(year, Month.DECEMBER, 25));
+
+        if (BRAZIL.equals(normalize(country))) {
+            holidays.add(LocalDate.of(year, Month.APRIL, 21));   // Tiradentes
+            holidays.add(LocalDate.of(year, Month.SEPTEMBER, 7));
+            holidays.add(LocalDate.of(year, Month.OCTOBER, 12));
+            holidays.add(LocalDate.of(year, Month.NOVEMBER, 2));
+            holidays.add(LocalDate.of(year, Month.NOVEMBER, 15));
+            if (year >= 2024) {
+                holidays.add(LocalDate.of(year, Month.NOVEMBER, 20)); // Consciência Negra (Lei 14.759/2023)
+            }
+        } else {
+            holidays.add(easter);                                // Páscoa
+            holidays.add(LocalDate.of(year, Month.APRIL, 25));
+            holidays.add(easter.plusDays(60));                   // Corpo de Deus
+            holidays.add(LocalDate.of(year, Month.JUNE, 10));
+            holidays.add(LocalDate.of(year, Month.AUGUST, 15));
+            holidays.add(LocalDate.of(year, Month.OCTOBER, 5));
+            holidays.add(LocalDate.of(year, Month.NOVEMBER, 1));
+            holidays.add(LocalDate.of(year, Month.DECEMBER, 1));
+            holidays.add(LocalDate.of(year, Month.DECEMBER, 8));
+        }
+        return holidays;
+    }
+
+    // Anonymous Gregorian algorithm (Meeus/Jones/Butcher)
+    static LocalDate easterSunday(int year) {
+        int a = year % 19;
+        int b = year / 100;
+        int c = year % 100;
+        int d = b / 4;
+        int e = b % 4;
+        int f = (b + 8) / 25;
+        int g = (b - f + 1) / 3;
+        int h = (19 * a + b - d - g + 15) % 30;
+        int i = c / 4;
+        int k = c % 4;
+        int l = (32 + 2 * e + 2 * i - h - k) % 7;
+        int m = (a + 11 * h + 22 * l) / 451;
+        int month = (h + l - 7 * m + 114) / 31;
+        int day = (h + l - 7 * m + 114) % 31 + 1;
+        return LocalDate.of(year, month, day);
+    }
+}
@@ -0,0 +1,187 @@
+package com.global.lbc.features.vacation.apparatus.usecases.planner;
+
+import com.global.lbc.features.vacation.apparatus.application.dto.VacationPlanPeriod;
+import com.global.lbc.features.vacation.apparatus.usecases.days.between.two.dates.VacationDaysBtCalculator;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// ============================================================
+// LEAVE PLANNER: "which days should I take to get the longest break for the fewest days?"
+// Every (country, year) is turned once into flat arrays over the year plus a month on each side
+// (so breaks can run over New Year): free[] (weekend or national holiday) and the length of the
+// free run right before/after each day, so the break a window produces is two lookups. A window
+// costs what the ledger will debit for it (VacationDaysBtCalculator, the same rule the requests
+// use), so a suggested period always fits the budget it was planned against. Scanning every
+// window that fits is a few thousand steps: no I/O, about a millisecond even at the 30-day cap.
+// Days already covered by the employee's pending/approved requests can't be part of a new window.
+// ============================================================
+@ApplicationScoped
+public class LeavePlanner {
+
+    // Neighbouring days kept before 1 Jan and after 31 Dec
+    static final int MARGIN_DAYS = 31;
+
+    @Inject
+    VacationDaysBtCalculator calculator;
+
+    private final Map<String, PlanningYear> years = new ConcurrentHashMap<>();
+
+    // Best non-overlapping breaks starting on or after from, ranked by days off per working day spent.
+    // busy holds [start, end] pairs of the employee's existing requests.
+    public List<VacationPlanPeriod> plan(String country, int year, LocalDate from, List<LocalDate[]> busy,
+                                         int budget, int limit) {
+        PlanningYear calendar = planningYear(HolidayCalendar.normalize(country), year);
+        int n = calendar.free.length;
+        boolean[] blocked = calendar.blocked(busy);
+        int notBefore = Math.max(calendar.firstDay, calendar.index(from));
+
+        List<Candidate> candidates = new ArrayList<>();
+        for (int start = notBefore; start <= calendar.lastDay; start++) {
+            if (calendar.free[start] || blocked[start]) {
+                continue;
+            }
+            // A window starts and ends on a working day; free days at its edges are already in the break
+            for (int end = start; end < n && !blocked[end]; end++) {
+                if (calendar.free[end]) {
+                    continue;
+                }
+                int cost = calculator.calculateBusinessDays(calendar.date(start), calendar.date(end));
+                if (cost > budget) {
+                    break;
+                }
+                int breakStart = Math.max(start - calendar.freeBefore[start], notBefore);
+                int breakEnd = end + calendar.freeAfter[end];
+                candidates.add(new Candidate(start, end, breakStart, breakEnd, cost));
+            }
+        }
+
+        candidates.sort(Candidate.BEST_FIRST);
+        List<Candidate> chosen = new ArrayList<>();
+        for (Candidate candidate : candidates) {
+            if (chosen.size() == limit) {
+                break;
+            }
+            if (chosen.stream().noneMatch(candidate::overlaps)) {
+                chosen.add(candidate);
+            }
+        }
+
+        List<VacationPlanPeriod> periods = new ArrayList<>(chosen.size());
+        for (Candidate candidate : chosen) {
+            periods.add(calendar.toPeriod(candidate));
+        }
+        return periods;
+    }
+
+    PlanningYear planningYear(String country, int year) {
+        return years.computeIfAbsent(country + ":" + year, key -> new PlanningYear(country, year));
+    }
+
+    record Candidate(int start, int end, int breakStart, int breakEnd, int cost) {
+
+        // Ratio compared by cross-multiplication (exact), then longer breaks, then earlier ones
+        static final Comparator<Candidate> BEST_FIRST = ((Comparator<Candidate>) (a, b) ->
+                Long.compare((long) b.daysOff() * a.cost, (long) a.daysOff() * b.cost))
+                .thenComparing(Comparator.comparingInt(Candidate::daysOff).reversed())
+                .thenComparingInt(Candidate::start);
+
+        int daysOff() {
+            return breakEnd - breakStart + 1;
+        }
+
+        boolean overlaps(Candidate other) {
+            return breakStart <= other.breakEnd && other.breakStart <= breakEnd;
+        }
+    }
+
+    static final class PlanningYear {
+
+        final LocalDate origin;
+        final boolean[] free;
+        // Consecutive free days ending right before / starting right after each day
+        final int[] freeBefore;
+        final int[] freeAfter;
+        // Indexes of 1 Jan and 31 Dec of the planned year
+        final int firstDay;
+        final int lastDay;
+
+        PlanningYear(String country, int year) {
+            origin = LocalDate.of(year, 1, 1).minusDays(MARGIN_DAYS);
+            LocalDate end = LocalDate.of(year, 12, 31).plusDays(MARGIN_DAYS);
+            int n = (int) (end.toEpochDay() - origin.toEpochDay() + 1);
+            firstDay = MARGIN_DAYS;
+            lastDay = n - 1 - MARGIN_DAYS;
+
+            free = new boolean[n];
+            for (int y = year - 1; y <= year + 1; y++) {
+                for (LocalDate holiday : HolidayCalendar.holidays(country, y)) {
+                    int index = (int) (holiday.toEpochDay() - origin.toEpochDay());
+                    if (index >= 0 && index < n) {
+                        free[index] = true;
+                    }
+                }
+            }
+            for (int i = 0; i < n; i++) {
+                int dayOfWeek = origin.plusDays(i).getDayOfWeek().getValue();
+                free[i] |= dayOfWeek >= 6;
+            }
+
+            freeBefore = new int[n];
+            freeAfter = new int[n];
+            for (int i = 1; i < n; i++) {
+                freeBefore[i] = free[i - 1] ? freeBefore[i - 1] + 1 : 0;
+            }
+            for (int i = n - 2; i >= 0; i--) {
+                freeAfter[i] = free[i + 1] ? freeAfter[i + 1] + 1 : 0;
+            }
+        }
+
+        int index(LocalDate date) {
+            long index = date.toEpochDay() - origin.toEpochDay();
+            return (int) Math.max(0, Math.min(free.length, index));
+        }
+
+        LocalDate date(int index) {
+            return origin.plusDays(index);
+        }
+
+        boolean[] blocked(List<LocalDate[]> busy) {
+            // Difference array: O(days + requests) however long the requests are
+            int[] delta = new int[free.length + 1];
+            for (LocalDate[] period : busy) {
+                int start = index(period[0]);
+                int end = index(period[1].plusDays(1));
+                if (start < end) {
+                    delta[start]++;
+                    delta[end]--;
+                }
+            }
+            boolean[] blocked = new boolean[free.length];
+            int open = 0;
+            for (int i = 0; i < blocked.length; i++) {
+                open += delta[i];
+                blocked[i] = open > 0;
+            }
+            return blocked;
+        }
+
+        VacationPlanPeriod toPeriod(Candidate candidate) {
+            VacationPlanPeriod period = new VacationPlanPeriod();
+            period.leaveStart = origin.plusDays(candidate.start());
+            period.leaveEnd = origin.plusDays(candidate.end());
+            period.breakStart = origin.plusDays(candidate.breakStart());
+            period.breakEnd = origin.plusDays(candidate.breakEnd());
+            period.workingDays = candidate.cost();
+            period.daysOff = candidate.daysOff();
+            period.daysOffPerWorkingDay = Math.round(candidate.daysOff() * 100.0 / candidate.cost()) / 100.0;
+            return period;
+        }
+    }
+}
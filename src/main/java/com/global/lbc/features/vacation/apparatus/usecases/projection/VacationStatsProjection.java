@@ -0,0 +1,422 @@
+package com.global.lbc.features.vacation.apparatus.usecases.projection;
+
+import com.global.lbc.features.employee.apparatus.model.events.EmployeeEvents;
+import com.global.lbc.features.vacation.apparatus.application.dto.TeamCalendarEntry;
+import com.global.lbc.features.vacation.apparatus.application.dto.VacationStatsResponse;
+import com.global.lbc.features.vacation.apparatus.model.events.VacationEvents;
+import com.global.lbc.features.vacation.apparatus.model.util.VacationStatus;
+import com.global.lbc.shared.events.DomainEvent;
+import com.global.lbc.shared.events.DomainEventBus;
+import com.global.lbc.shared.events.DomainEventSubscriber;
+import com.global.lbc.shared.invalidation.InvalidationSubscriber;
+import com.global.lbc.shared.tenant.Tenant;
+import com.global.lbc.shared.tenant.TenantRegistry;
+import com.global.lbc.shared.tenant.Tenants;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// ============================================================
+// READ PROJECTION: vacation stats per employee/year and team calendars per manager.
+// Kept in memory and updated incrementally from DomainEventBus; rebuilt from the
+// database on startup. Events carry the full state of the vacation, so applying one
+// is an upsert and applying it twice is harmless.
+// Every event of an employee (vacation or employee event) is handled on the same lane,
+// so the per-employee state below is only ever written by one thread at a time.
+// Each tenant has its own State; queries only ever see the caller's tenant.
+// Vacations and employees changed by other instances (ClusterInvalidation) are read again by id,
+// on the lane of their employee: a refresh is ordered with the local events of that employee, so
+// an older row never overwrites a newer event. After missed notifications every tenant is rebuilt
+// with the lanes paused and swapped in; events committed meanwhile are applied to the new state.
+// ============================================================
+@ApplicationScoped
+public class VacationStatsProjection implements DomainEventSubscriber, InvalidationSubscriber {
+
+    private static final Logger LOG = Logger.getLogger(VacationStatsProjection.class);
+
+    private static final String REPLAY_VACATIONS_SQL = """
+            SELECT id, employee_id, start_date, end_date, days_requested, vacation_status
+            FROM vacation_request
+            WHERE (is_active = TRUE OR vacation_status = 'CANCELLED') AND start_date >= ?
+            """;
+    private static final String REPLAY_MANAGERS_SQL = """
+            SELECT id, manager_id
+            FROM employee_profile
+            WHERE is_active = TRUE AND manager_id IS NOT NULL
+            """;
+    private static final String VACATION_OWNERS_SQL = """
+            SELECT id, employee_id
+            FROM vacation_request
+            WHERE id = ANY(?)
+            """;
+    private static final String REFRESH_VACATIONS_SQL = """
+            SELECT id, employee_id, start_date, end_date, days_requested, vacation_status, is_active
+            FROM vacation_request
+            WHERE id = ANY(?)
+            """;
+    private static final String REFRESH_EMPLOYEES_SQL = """
+            SELECT id, manager_id, is_active
+            FROM employee_profile
+            WHERE id = ANY(?)
+            """;
+
+    @Inject
+    Tenants tenants;
+
+    @Inject
+    TenantRegistry tenantRegistry;
+
+    @Inject
+    DomainEventBus bus;
+
+    // Years kept in memory before the current one (start_date >= 1 Jan of currentYear - N)
+    @ConfigProperty(name = "vacation.projection.years-back", defaultValue = "1")
+    int yearsBack;
+
+    Clock clock = Clock.systemDefaultZone();
+
+    // tenant id -> state of that tenant
+    private final Map<String, State> states = new ConcurrentHashMap<>();
+
+    // ========================================
+    // QUERIES
+    // ========================================
+
+    // First day held in memory; requests starting before it are only in the database
+    public LocalDate since() {
+        return Year.now(clock).minusYears(yearsBack).atDay(1);
+    }
+
+    public VacationStatsResponse stats(Tenant tenant, UUID employeeId, int year) {
+        State state = state(tenant);
+        VacationStatsResponse stats = new VacationStatsResponse();
+        stats.employeeId = employeeId;
+        stats.year = year;
+        for (Entry entry : state.vacationsOf(employeeId).values()) {
+            if (entry.startDate.getYear() != year) {
+                continue;
+            }
+            stats.requests++;
+            int days = entry.days == null ? 0 : entry.days;
+            switch (entry.status) {
+                case APPROVED -> stats.approvedDays += days;
+                case PENDING -> stats.pendingDays += days;
+                case REJECTED -> stats.rejectedDays += days;
+                case CANCELLED -> stats.cancelledDays += days;
+            }
+        }
+        return stats;
+    }
+
+    // Approved and pending vacations of the manager's active team overlapping [from, to]
+    public List<TeamCalendarEntry> teamCalendar(Tenant tenant, UUID managerId, LocalDate from, LocalDate to) {
+        State state = state(tenant);
+        List<TeamCalendarEntry> calendar = new ArrayList<>();
+        for (UUID employeeId : state.teamByManager.getOrDefault(managerId, Set.of())) {
+            for (Map.Entry<UUID, Entry> vacation : state.vacationsOf(employeeId).entrySet()) {
+                Entry entry = vacation.getValue();
+                boolean planned = entry.status == VacationStatus.APPROVED || entry.status == VacationStatus.PENDING;
+                if (planned && !entry.startDate.isAfter(to) && !entry.endDate.isBefore(from)) {
+                    calendar.add(toCalendarEntry(vacation.getKey(), employeeId, entry));
+                }
+            }
+        }
+        calendar.sort(Comparator.comparing((TeamCalendarEntry e) -> e.startDate).thenComparing(e -> e.employeeId));
+        return calendar;
+    }
+
+    // ========================================
+    // EVENTS
+    // ========================================
+
+    @Override
+    public void on(Tenant tenant, DomainEvent event) {
+        State state = state(tenant);
+        if (event instanceof VacationEvents.VacationEvent vacation) {
+            state.apply(vacation);
+        } else if (event instanceof EmployeeEvents.EmployeeCreated e) {
+            if (e.active()) {
+                state.setManager(e.employeeId(), e.managerId());
+            }
+        } else if (event instanceof EmployeeEvents.EmployeeUpdated e) {
+            state.setManager(e.employeeId(), e.active() ? e.managerId() : null);
+        } else if (event instanceof EmployeeEvents.EmployeeRestored e) {
+            state.setManager(e.employeeId(), e.managerId());
+        } else if (event instanceof EmployeeEvents.ManagerAssigned e) {
+            state.setManager(e.employeeId(), e.managerId());
+        } else if (event instanceof EmployeeEvents.ManagerRemoved e) {
+            state.setManager(e.employeeId(), null);
+        } else if (event instanceof EmployeeEvents.EmployeeDeactivated e) {
+            state.setManager(e.employeeId(), null);
+        }
+    }
+
+    private State state(Tenant tenant) {
+        return states.computeIfAbsent(tenant.id(), id -> new State());
+    }
+
+    // ========================================
+    // REPLAY
+    // ========================================
+
+    @Override
+    public void replay(Tenant tenant) {
+        try {
+            load(tenant, state(tenant));
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not replay vacation projection of tenant " + tenant.id(), e);
+        }
+    }
+
+    private void load(Tenant tenant, State state) throws SQLException {
+        LocalDate since = since();
+        try (Connection connection = tenants.connection(tenant)) {
+            try (PreparedStatement statement = connection.prepareStatement(REPLAY_VACATIONS_SQL)) {
+                statement.setDate(1, Date.valueOf(since));
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        Integer days = rs.getObject("days_requested", Integer.class);
+                        state.vacationsOf(rs.getObject("employee_id", UUID.class)).put(
+                                rs.getObject("id", UUID.class),
+                                new Entry(
+                                        rs.getDate("start_date").toLocalDate(),
+                                        rs.getDate("end_date").toLocalDate(),
+                                        days,
+                                        VacationStatus.valueOf(rs.getString("vacation_status"))));
+                    }
+                }
+            }
+            try (PreparedStatement statement = connection.prepareStatement(REPLAY_MANAGERS_SQL);
+                 ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    state.setManager(rs.getObject("id", UUID.class), rs.getObject("manager_id", UUID.class));
+                }
+            }
+        }
+    }
+
+    // ========================================
+    // CHANGES FROM OTHER INSTANCES
+    // ========================================
+
+    @Override
+    public void invalidate(Tenant tenant, String aggregateType, Set<UUID> ids) {
+        if (VacationEvents.AGGREGATE_TYPE.equals(aggregateType)) {
+            invalidateVacations(tenant, ids);
+        } else if (EmployeeEvents.AGGREGATE_TYPE.equals(aggregateType)) {
+            // Employee events are ordered by the employee id itself
+            bus.runOnLanes(ids, employeeIds -> refreshEmployees(tenant, employeeIds));
+        }
+    }
+
+    // Rebuilt aside and swapped in, so entries deleted meanwhile do not survive. The lanes stay
+    // paused for each tenant: an event applied to the old state right before the swap would be lost.
+    @Override
+    public void invalidateAll() {
+        for (Tenant tenant : tenantRegistry.all()) {
+            try {
+                bus.withLanesPaused(() -> reload(tenant));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void reload(Tenant tenant) {
+        State fresh = new State();
+        try {
+            load(tenant, fresh);
+        } catch (SQLException e) {
+            LOG.warnf(e, "Could not reload the vacation projection of tenant %s; keeping the current state", tenant.id());
+            return;
+        }
+        states.put(tenant.id(), fresh);
+    }
+
+    // Vacation events are ordered by their employee: find it first (in the database, or in memory
+    // for requests purged since), then read the requests again on that employee's lane
+    private void invalidateVacations(Tenant tenant, Set<UUID> ids) {
+        Map<UUID, Set<UUID>> idsByEmployee = new HashMap<>();
+        Set<UUID> missing = new HashSet<>(ids);
+        try (Connection connection = tenants.connection(tenant);
+             PreparedStatement statement = connection.prepareStatement(VACATION_OWNERS_SQL)) {
+            statement.setArray(1, connection.createArrayOf("uuid", ids.toArray()));
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    UUID vacationId = rs.getObject("id", UUID.class);
+                    idsByEmployee.computeIfAbsent(rs.getObject("employee_id", UUID.class), id -> new HashSet<>())
+                            .add(vacationId);
+                    missing.remove(vacationId);
+                }
+            }
+        } catch (SQLException e) {
+            LOG.warnf(e, "Could not refresh %d vacations of tenant %s; they stay stale until they change again",
+                    ids.size(), tenant.id());
+            return;
+        }
+        State state = state(tenant);
+        for (UUID vacationId : missing) {
+            UUID employeeId = state.employeeOf(vacationId);
+            if (employeeId != null) {
+                idsByEmployee.computeIfAbsent(employeeId, id -> new HashSet<>()).add(vacationId);
+            }
+        }
+        bus.runOnLanes(idsByEmployee.keySet(), employeeIds -> {
+            Set<UUID> vacationIds = new HashSet<>();
+            for (UUID employeeId : employeeIds) {
+                vacationIds.addAll(idsByEmployee.get(employeeId));
+            }
+            refreshVacations(tenant, vacationIds);
+        });
+    }
+
+    private void refreshVacations(Tenant tenant, Set<UUID> ids) {
+        State state = state(tenant);
+        Set<UUID> missing = new HashSet<>(ids);
+        try (Connection connection = tenants.connection(tenant);
+             PreparedStatement statement = connection.prepareStatement(REFRESH_VACATIONS_SQL)) {
+            statement.setArray(1, connection.createArrayOf("uuid", ids.toArray()));
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    UUID vacationId = rs.getObject("id", UUID.class);
+                    Date start = rs.getDate("start_date");
+                    Date end = rs.getDate("end_date");
+                    state.put(vacationId, rs.getObject("employee_id", UUID.class),
+                            start == null ? null : start.toLocalDate(),
+                            end == null ? null : end.toLocalDate(),
+                            rs.getObject("days_requested", Integer.class),
+                            VacationStatus.valueOf(rs.getString("vacation_status")),
+                            rs.getBoolean("is_active"));
+                    missing.remove(vacationId);
+                }
+            }
+        } catch (SQLException e) {
+            LOG.warnf(e, "Could not refresh %d vacations of tenant %s; they stay stale until they change again",
+                    ids.size(), tenant.id());
+            return;
+        }
+        // Purged into the archive
+        for (UUID vacationId : missing) {
+            state.removeVacation(vacationId);
+        }
+    }
+
+    private void refreshEmployees(Tenant tenant, Set<UUID> ids) {
+        State state = state(tenant);
+        Set<UUID> missing = new HashSet<>(ids);
+        try (Connection connection = tenants.connection(tenant);
+             PreparedStatement statement = connection.prepareStatement(REFRESH_EMPLOYEES_SQL)) {
+            statement.setArray(1, connection.createArrayOf("uuid", ids.toArray()));
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    UUID employeeId = rs.getObject("id", UUID.class);
+                    state.setManager(employeeId,
+                            rs.getBoolean("is_active") ? rs.getObject("manager_id", UUID.class) : null);
+                    missing.remove(employeeId);
+                }
+            }
+        } catch (SQLException e) {
+            LOG.warnf(e, "Could not refresh %d employees of tenant %s; they stay stale until they change again",
+                    ids.size(), tenant.id());
+            return;
+        }
+        for (UUID employeeId : missing) {
+            state.setManager(employeeId, null);
+        }
+    }
+
+    private static TeamCalendarEntry toCalendarEntry(UUID vacationId, UUID employeeId, Entry entry) {
+        TeamCalendarEntry calendarEntry = new TeamCalendarEntry();
+        calendarEntry.vacationId = vacationId;
+        calendarEntry.employeeId = employeeId;
+        calendarEntry.startDate = entry.startDate;
+        calendarEntry.endDate = entry.endDate;
+        calendarEntry.daysRequested = entry.days;
+        calendarEntry.vacationStatus = entry.status;
+        return calendarEntry;
+    }
+
+    private record Entry(LocalDate startDate, LocalDate endDate, Integer days, VacationStatus status) {
+    }
+
+    // Projection of one tenant
+    private static final class State {
+
+        // employeeId -> (vacationId -> entry)
+        private final Map<UUID, Map<UUID, Entry>> vacationsByEmployee = new ConcurrentHashMap<>();
+        // employeeId -> managerId, managerId -> active subordinates
+        private final Map<UUID, UUID> managerByEmployee = new ConcurrentHashMap<>();
+        private final Map<UUID, Set<UUID>> teamByManager = new ConcurrentHashMap<>();
+
+        void apply(VacationEvents.VacationEvent event) {
+            put(event.vacationId(), event.employeeId(), event.startDate(), event.endDate(), event.days(),
+                    event.status(), event.active());
+        }
+
+        void put(UUID vacationId, UUID employeeId, LocalDate startDate, LocalDate endDate, Integer days,
+                 VacationStatus status, boolean active) {
+            Map<UUID, Entry> vacations = vacationsOf(employeeId);
+            // Cancelling also deactivates the request, but it still counts as cancelled days
+            boolean removed = !active && status != VacationStatus.CANCELLED;
+            if (removed || startDate == null || endDate == null) {
+                vacations.remove(vacationId);
+                return;
+            }
+            vacations.put(vacationId, new Entry(startDate, endDate, days, status));
+        }
+
+        UUID employeeOf(UUID vacationId) {
+            for (Map.Entry<UUID, Map<UUID, Entry>> vacations : vacationsByEmployee.entrySet()) {
+                if (vacations.getValue().containsKey(vacationId)) {
+                    return vacations.getKey();
+                }
+            }
+            return null;
+        }
+
+        void removeVacation(UUID vacationId) {
+            for (Map<UUID, Entry> vacations : vacationsByEmployee.values()) {
+                vacations.remove(vacationId);
+            }
+        }
+
+        void setManager(UUID employeeId, UUID managerId) {
+            UUID previous = managerId == null
+                    ? managerByEmployee.remove(employeeId)
+                    : managerByEmployee.put(employeeId, managerId);
+            if (previous != null && !previous.equals(managerId)) {
+                Set<UUID> team = teamByManager.get(previous);
+                if (team != null) {
+                    team.remove(employeeId);
+                }
+            }
+            if (managerId != null) {
+                teamByManager.computeIfAbsent(managerId, id -> ConcurrentHashMap.newKeySet()).add(employeeId);
+            }
+        }
+
+        Map<UUID, Entry> vacationsOf(UUID employeeId) {
+            return vacationsByEmployee.computeIfAbsent(employeeId, id -> new ConcurrentHashMap<>());
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.global.lbc.features.vacation.apparatus.usecases.stream;
+
+import com.global.lbc.features.vacation.apparatus.application.dto.VacationStreamEvent;
+import com.global.lbc.features.vacation.apparatus.model.events.VacationEvents;
+import com.global.lbc.shared.events.DomainEvent;
+import com.global.lbc.shared.events.DomainEventSubscriber;
+import com.global.lbc.shared.tenant.Tenant;
+import com.global.lbc.shared.tenant.Tenants;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// ============================================================
+// SSE fan-out of vacation changes (GET /vacations/stream).
+// Fed by DomainEventBus, so only committed changes are pushed. Sinks are asynchronous:
+// an idle subscriber is an open connection and an entry in a set, never a thread.
+//
+// Event ids are "<instance epoch>-<sequence>". The last replay-buffer events are kept so a
+// client reconnecting with Last-Event-ID gets what it missed; when that is not possible
+// (id from another instance or restart, or older than the buffer) it gets a "resync" event
+// and should reload GET /vacations.
+// Sequence, buffer and fan-out share one lock so a subscriber joining during a publish
+// neither misses nor duplicates an event; sink.send() only queues the write.
+// A subscriber only ever receives (and resumes) events of the tenant it subscribed from.
+// ============================================================
+@ApplicationScoped
+public class VacationEventStream implements DomainEventSubscriber {
+
+    private static final Logger LOG = Logger.getLogger(VacationEventStream.class);
+
+    public static final String RESYNC_EVENT = "resync";
+
+    @Inject
+    MeterRegistry registry;
+
+    @Inject
+    Tenants tenants;
+
+    @ConfigProperty(name = "vacation.stream.replay-buffer", defaultValue = "1000")
+    int replayBufferSize;
+
+    @ConfigProperty(name = "vacation.stream.max-subscribers", defaultValue = "10000")
+    int maxSubscribers;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final Deque<Buffered> buffer = new ArrayDeque<>();
+    private long sequence;
+
+    // Only one of managerId / employeeId is usually set; null means "any"
+    public record Filter(UUID managerId, UUID employeeId) {
+
+        boolean matches(VacationStreamEvent event) {
+            return (managerId == null || managerId.equals(event.managerId))
+                    && (employeeId == null || employeeId.equals(event.employeeId));
+        }
+    }
+
+    private record Subscription(SseEventSink sink, Sse sse, Filter filter, String tenantId) {
+
+        boolean accepts(String eventTenantId, VacationStreamEvent event) {
+            return tenantId.equals(eventTenantId) && filter.matches(event);
+        }
+    }
+
+    private record Buffered(long sequence, String tenantId, VacationStreamEvent event) {
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        registry.gauge("vacation.stream.subscribers", Tags.empty(), subscriptions, Set::size);
+    }
+
+    // Returns false when the subscriber limit is reached. Subscribes to the request's tenant.
+    public boolean subscribe(SseEventSink sink, Sse sse, Filter filter, String lastEventId) {
+        if (subscriptions.size() >= maxSubscribers) {
+            return false;
+        }
+        Subscription subscription = new Subscription(sink, sse, filter, tenants.current().id());
+        synchronized (this) {
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                replay(subscription, lastEventId.trim());
+            }
+            subscriptions.add(subscription);
+        }
+        return true;
+    }
+
+    @Override
+    public void on(Tenant tenant, DomainEvent event) {
+        if (!(event instanceof VacationEvents.VacationEvent vacationEvent)) {
+            return;
+        }
+        VacationStreamEvent payload = toPayload(vacationEvent);
+        synchronized (this) {
+            long id = ++sequence;
+            buffer.addLast(new Buffered(id, tenant.id(), payload));
+            while (buffer.size() > replayBufferSize) {
+                buffer.removeFirst();
+            }
+            for (Subscription subscription : subscriptions) {
+                if (subscription.accepts(tenant.id(), payload)) {
+                    send(subscription, id, payload);
+                }
+            }
+        }
+    }
+
+    // Comment-only event: keeps proxies from closing idle connections and reveals dead sinks
+    @Scheduled(every = "${vacation.stream.keep-alive:15s}", identity = "vacation-stream-keep-alive")
+    void keepAlive() {
+        for (Subscription subscription : subscriptions) {
+            if (subscription.sink.isClosed()) {
+                subscriptions.remove(subscription);
+                continue;
+            }
+            OutboundSseEvent comment = subscription.sse.newEventBuilder().comment("keep-alive").build();
+            subscription.sink.send(comment).whenComplete((ignored, failure) -> {
+                if (failure != null) {
+                    close(subscription);
+                }
+            });
+        }
+    }
+
+    private void replay(Subscription subscription, String lastEventId) {
+        long lastSequence = parseSequence(lastEventId);
+        Buffered oldest = buffer.peekFirst();
+        // Resume is only exact when the next event after lastSequence is still buffered
+        boolean resumable = lastSequence >= 0 && lastSequence <= sequence
+                && (oldest == null ? lastSequence == sequence : lastSequence >= oldest.sequence - 1);
+        if (!resumable) {
+            subscription.sink.send(subscription.sse.newEventBuilder()
+                    .id(epoch + "-" + sequence)
+                    .name(RESYNC_EVENT)
+                    .data("{}")
+                    .build());
+            return;
+        }
+        for (Buffered buffered : buffer) {
+            if (buffered.sequence > lastSequence && subscription.accepts(buffered.tenantId, buffered.event)) {
+                send(subscription, buffered.sequence, buffered.event);
+            }
+        }
+    }
+
+    private long parseSequence(String lastEventId) {
+        int dash = lastEventId.lastIndexOf('-');
+        if (dash < 0 || !lastEventId.substring(0, dash).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void send(Subscription subscription, long id, VacationStreamEvent payload) {
+        if (subscription.sink.isClosed()) {
+            subscriptions.remove(subscription);
+            return;
+        }
+        OutboundSseEvent event = subscription.sse.newEventBuilder()
+                .id(epoch + "-" + id)
+                .name(payload.type)
+                .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                .data(VacationStreamEvent.class, payload)
+                .build();
+        subscription.sink.send(event).whenComplete((ignored, failure) -> {
+            if (failure != null) {
+                LOG.debugf("Dropping SSE subscriber: %s", failure.getMessage());
+                close(subscription);
+            }
+        });
+    }
+
+    private void close(Subscription subscription) {
+        subscriptions.remove(subscription);
+        try {
+            subscription.sink.close();
+        } catch (RuntimeException e) {
+            LOG.debug("Failed to close SSE sink", e);
+        }
+    }
+
+    private static VacationStreamEvent toPayload(VacationEvents.VacationEvent event) {
+        VacationStreamEvent payload = new VacationStreamEvent();
+        payload.type = eventName(event);
+        payload.vacationId = event.vacationId();
+        payload.employeeId = event.employeeId();
+        payload.managerId = event.managerId();
+        payload.startDate = event.startDate();
+        payload.endDate = event.endDate();
+        payload.daysRequested = event.days();
+        payload.vacationStatus = event.status();
+        payload.occurredAt = event.occurredAt();
+        return payload;
+    }
+
+    // VacationApproved -> vacation-approved
+    private static String eventName(DomainEvent event) {
+        return event.type().replaceAll("([a-z])([A-Z])", "$1-$2").toLowerCase();
+    }
+}
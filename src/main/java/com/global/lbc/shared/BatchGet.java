@@ -0,0 +1,82 @@
+package com.global.lbc.shared;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+// ============================================================
+// BATCH GET: resolves up to batch-get.max-ids IDs in one request instead of one GET per ID.
+// IDs are loaded in chunks of batch-get.chunk-size (one IN query each) and every chunk is
+// written as soon as it is loaded, so neither side holds the whole result in memory.
+// The response is a JSON array in the requested order, one entry per requested ID:
+//   {"id": "...", "found": true, "item": {...}}  or  {"id": "...", "found": false}
+// The loader is called from the response writer, once per chunk, through the service proxy,
+// so @ReadReplica routing still applies.
+// ============================================================
+@ApplicationScoped
+public class BatchGet {
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "batch-get.max-ids", defaultValue = "5000")
+    int maxIds;
+
+    @ConfigProperty(name = "batch-get.chunk-size", defaultValue = "500")
+    int chunkSize;
+
+    // Validates up front so a bad request fails with 400 before the response is committed
+    public List<UUID> validate(BatchGetRequest request) {
+        if (request == null || request.ids == null || request.ids.isEmpty()) {
+            throw new IllegalArgumentException("ids must contain at least one ID");
+        }
+        if (request.ids.size() > maxIds) {
+            throw new IllegalArgumentException("At most " + maxIds + " ids per request (got " + request.ids.size() + ")");
+        }
+        if (request.ids.contains(null)) {
+            throw new IllegalArgumentException("ids cannot contain null");
+        }
+        return request.ids;
+    }
+
+    // loader receives the distinct IDs of one chunk and returns the ones it found, keyed by ID
+    public <T> StreamingOutput stream(List<UUID> ids, Function<List<UUID>, Map<UUID, T>> loader) {
+        // One flush per chunk, not one per item
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        return output -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+                generator.writeStartArray();
+                for (int from = 0; from < ids.size(); from += chunkSize) {
+                    List<UUID> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+                    Map<UUID, T> found = loader.apply(new ArrayList<>(new LinkedHashSet<>(chunk)));
+                    for (UUID id : chunk) {
+                        T item = found.get(id);
+                        generator.writeStartObject();
+                        generator.writeStringField("id", id.toString());
+                        generator.writeBooleanField("found", item != null);
+                        if (item != null) {
+                            generator.writeFieldName("item");
+                            writer.writeValue(generator, item);
+                        }
+                        generator.writeEndObject();
+                    }
+                    // Hand each chunk to the client instead of buffering the whole array
+                    generator.flush();
+                }
+                generator.writeEndArray();
+            }
+        };
+    }
+}
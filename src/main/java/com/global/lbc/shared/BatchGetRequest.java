@@ -0,0 +1,9 @@
+package com.global.lbc.shared;
+
+import java.util.List;
+import java.util.UUID;
+
+// Body of POST /employees/batch-get and POST /vacations/batch-get
+public class BatchGetRequest {
+    public List<UUID> ids;
+}
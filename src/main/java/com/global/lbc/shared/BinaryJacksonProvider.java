@@ -0,0 +1,67 @@
+package com.global.lbc.shared;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyReader;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+// Serves application/cbor and application/x-jackson-smile from the same DTOs used for JSON.
+// Resources opt in by listing the media types in their @Produces/@Consumes.
+@Provider
+@Produces({WireFormats.APPLICATION_CBOR, WireFormats.APPLICATION_SMILE})
+@Consumes({WireFormats.APPLICATION_CBOR, WireFormats.APPLICATION_SMILE})
+public class BinaryJacksonProvider implements MessageBodyReader<Object>, MessageBodyWriter<Object> {
+
+    @Inject
+    WireFormats wireFormats;
+
+    @Override
+    public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return mapperFor(mediaType) != null;
+    }
+
+    @Override
+    public Object readFrom(Class<Object> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                           MultivaluedMap<String, String> httpHeaders, InputStream entityStream) throws IOException {
+        ObjectMapper mapper = mapperFor(mediaType);
+        JavaType javaType = mapper.getTypeFactory().constructType(genericType != null ? genericType : type);
+        return mapper.readValue(entityStream, javaType);
+    }
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return mapperFor(mediaType) != null;
+    }
+
+    @Override
+    public void writeTo(Object o, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+                        MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+        ObjectMapper mapper = mapperFor(mediaType);
+        if (mapper == null) {
+            throw new WebApplicationException("Unsupported media type: " + mediaType);
+        }
+        // The container owns the response stream, so Jackson must not close it
+        mapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(entityStream, o);
+    }
+
+    private ObjectMapper mapperFor(MediaType mediaType) {
+        if (mediaType == null) {
+            return null;
+        }
+        return wireFormats.mapperFor(mediaType.getType() + "/" + mediaType.getSubtype());
+    }
+}
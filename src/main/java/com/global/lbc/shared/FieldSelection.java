@@ -0,0 +1,146 @@
+package com.global.lbc.shared;
+
+import io.quarkus.hibernate.orm.panache.Panache;
+import jakarta.persistence.TypedQuery;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+// ============================================================
+// SPARSE FIELDSETS: ?fields=id,name,surname narrows both the JSON and the SELECT list.
+// Each service declares a whitelist mapping JSON names to HQL paths of its entity; only the
+// paths of the requested fields are projected, so the other columns are never read nor
+// hydrated into an entity. Paths through a @ManyToOne (e.g. employee.name) only join when
+// they are selected; manager.id reads the FK column without joining at all.
+// id is always returned. Unknown names are rejected with the list of allowed ones.
+// ============================================================
+public final class FieldSelection {
+
+    private static final String ID = "id";
+
+    private final String entity;
+    private final Map<String, Field> whitelist;
+
+    private FieldSelection(String entity, Map<String, Field> whitelist) {
+        this.entity = entity;
+        this.whitelist = whitelist;
+    }
+
+    public static Builder of(String entity) {
+        return new Builder(entity);
+    }
+
+    // null/blank means "no selection": callers return the full DTO
+    public Selected parse(String param) {
+        if (param == null || param.isBlank()) {
+            return null;
+        }
+        Set<String> names = new LinkedHashSet<>();
+        names.add(ID);
+        for (String raw : param.split(",")) {
+            String name = raw.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!whitelist.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown field: " + name + ". Allowed fields: "
+                        + String.join(", ", whitelist.keySet()));
+            }
+            names.add(name);
+        }
+        // Response keys follow the declaration order, not the order in the query string
+        List<Field> selected = whitelist.values().stream().filter(f -> names.contains(f.name)).toList();
+        return new Selected(entity, selected);
+    }
+
+    // HQL path to sort by; only single-column fields of the whitelist are sortable
+    public String sortPath(String name) {
+        Field field = whitelist.get(name);
+        if (field == null || field.paths.size() != 1) {
+            throw new IllegalArgumentException("Invalid sort field: " + name);
+        }
+        return field.paths.get(0);
+    }
+
+    public static final class Selected {
+
+        private final String entity;
+        private final List<Field> fields;
+
+        private Selected(String entity, List<Field> fields) {
+            this.entity = entity;
+            this.fields = fields;
+        }
+
+        // where and orderBy are HQL fragments over unqualified entity attributes, as in Panache
+        public TypedQuery<Object[]> query(String where, Map<String, Object> params, String orderBy) {
+            StringBuilder hql = new StringBuilder("SELECT ");
+            String separator = "";
+            for (Field field : fields) {
+                for (String path : field.paths) {
+                    hql.append(separator).append(path);
+                    separator = ", ";
+                }
+            }
+            hql.append(" FROM ").append(entity);
+            if (where != null) {
+                hql.append(" WHERE ").append(where);
+            }
+            if (orderBy != null) {
+                hql.append(" ORDER BY ").append(orderBy);
+            }
+            TypedQuery<Object[]> query = Panache.getEntityManager().createQuery(hql.toString(), Object[].class);
+            params.forEach(query::setParameter);
+            return query;
+        }
+
+        public Map<String, Object> toMap(Object[] row) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            int column = 0;
+            for (Field field : fields) {
+                int width = field.paths.size();
+                result.put(field.name, field.assembler.apply(Arrays.copyOfRange(row, column, column + width)));
+                column += width;
+            }
+            return result;
+        }
+    }
+
+    public static final class Builder {
+
+        private final String entity;
+        private final Map<String, Field> whitelist = new LinkedHashMap<>();
+
+        private Builder(String entity) {
+            this.entity = entity;
+            field(ID);
+        }
+
+        public Builder field(String name) {
+            return field(name, name);
+        }
+
+        public Builder field(String name, String path) {
+            whitelist.put(name, new Field(name, List.of(path), columns -> columns[0]));
+            return this;
+        }
+
+        // A JSON object built from several columns (e.g. a nested summary)
+        public Builder composite(String name, Function<Object[], Object> assembler, String... paths) {
+            whitelist.put(name, new Field(name, List.of(paths), assembler));
+            return this;
+        }
+
+        public FieldSelection build() {
+            return new FieldSelection(entity, Collections.unmodifiableMap(new LinkedHashMap<>(whitelist)));
+        }
+    }
+
+    private record Field(String name, List<String> paths, Function<Object[], Object> assembler) {}
+}
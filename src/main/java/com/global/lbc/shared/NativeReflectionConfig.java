@@ -0,0 +1,16 @@
+package com.global.lbc.shared;
+
+import com.global.lbc.features.employee.apparatus.usecases.pt.social.number.SocialNumber;
+import com.global.lbc.features.employee.apparatus.usecases.pt.social.number.SocialNumberDeserializer;
+import com.global.lbc.features.employee.apparatus.usecases.pt.social.number.SocialNumberSerializer;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+// Jackson instantiates the classes referenced by @JsonSerialize/@JsonDeserialize reflectively,
+// which the native image cannot discover on its own.
+@RegisterForReflection(targets = {
+        SocialNumber.class,
+        SocialNumberSerializer.class,
+        SocialNumberDeserializer.class
+})
+public class NativeReflectionConfig {
+}
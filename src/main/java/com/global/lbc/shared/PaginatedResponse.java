@@ -7,11 +7,21 @@ public class PaginatedResponse<T> {
     public long totalItems;
     public int totalPages;
     public int currentPage;
+    // exact | estimated | none (see TotalsMode); with none, totalItems and totalPages are -1
+    public String totalsKind;
+    public boolean hasNext;
 
     public PaginatedResponse(List<T> content, long totalItems, int totalPages, int currentPage) {
+        this(content, totalItems, totalPages, currentPage, TotalsMode.EXACT.kind(), currentPage + 1 < totalPages);
+    }
+
+    public PaginatedResponse(List<T> content, long totalItems, int totalPages, int currentPage,
+                             String totalsKind, boolean hasNext) {
         this.content = content;
         this.totalItems = totalItems;
         this.totalPages = totalPages;
         this.currentPage = currentPage;
+        this.totalsKind = totalsKind;
+        this.hasNext = hasNext;
     }
 }
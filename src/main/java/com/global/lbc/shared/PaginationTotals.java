@@ -0,0 +1,163 @@
+package com.global.lbc.shared;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.global.lbc.shared.events.DomainEvent;
+import com.global.lbc.shared.invalidation.InvalidationSubscriber;
+import com.global.lbc.shared.tenant.Tenant;
+import com.global.lbc.shared.tenant.Tenants;
+import io.quarkus.hibernate.orm.panache.Panache;
+import io.quarkus.hibernate.orm.panache.PanacheQuery;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// ============================================================
+// PAGINATION TOTALS: builds PaginatedResponse with the kind of total the caller asked for.
+// Exact counts are cached per tenant and filter for pagination.totals.cache-ttl, so a client paging
+// through a list pays for count(*) once instead of on every page. A committed domain event drops
+// the counts of its tenant (and a change announced by another instance does the same), so a list
+// read right after a write counts again. Estimates never scan:
+// they read pg_class.reltuples or the planner's row estimate for the filter.
+// Native queries run on the current Hibernate session, so they follow the read-replica route.
+// ============================================================
+@ApplicationScoped
+public class PaginationTotals implements InvalidationSubscriber {
+
+    private static final int MAX_CACHED_FILTERS = 10_000;
+
+    // Unfiltered estimate; partitioned tables keep their statistics on the partitions
+    private static final String RELTUPLES_SQL = """
+            SELECT COALESCE(SUM(c.reltuples) FILTER (WHERE c.reltuples >= 0), -1)::bigint
+            FROM pg_class c
+            WHERE c.oid = CAST(?1 AS regclass)
+               OR c.oid IN (SELECT i.inhrelid FROM pg_inherits i WHERE i.inhparent = CAST(?1 AS regclass))
+            """;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    Tenants tenants;
+
+    @ConfigProperty(name = "pagination.totals.cache-ttl", defaultValue = "10s")
+    Duration cacheTtl;
+
+    // Tenant id -> filter key -> count
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, CachedCount>> exactCounts =
+            new ConcurrentHashMap<>();
+
+    public <E, T> PaginatedResponse<T> paginate(PanacheQuery<E> query, int page, int size, Function<E, T> mapper,
+                                                TotalsMode mode, TotalsQuery totals) {
+        return paginate((first, max) -> query.range(first, first + max - 1).list(), page, size, mapper, mode, totals);
+    }
+
+    // Projections (e.g. sparse fieldsets) that are plain JPA queries rather than Panache ones
+    public <R, T> PaginatedResponse<T> paginate(TypedQuery<R> query, int page, int size, Function<R, T> mapper,
+                                                TotalsMode mode, TotalsQuery totals) {
+        return paginate((first, max) -> query.setFirstResult(first).setMaxResults(max).getResultList(),
+                page, size, mapper, mode, totals);
+    }
+
+    private <R, T> PaginatedResponse<T> paginate(BiFunction<Integer, Integer, List<R>> fetch, int page, int size,
+                                                 Function<R, T> mapper, TotalsMode mode, TotalsQuery totals) {
+        int first = page * size;
+        if (mode == TotalsMode.NONE) {
+            // One extra row tells whether there is a next page without counting
+            List<R> rows = fetch.apply(first, size + 1);
+            boolean hasNext = rows.size() > size;
+            List<T> content = rows.stream().limit(size).map(mapper).collect(Collectors.toList());
+            return new PaginatedResponse<>(content, -1, -1, page, mode.kind(), hasNext);
+        }
+
+        List<T> content = fetch.apply(first, size).stream().map(mapper).collect(Collectors.toList());
+        long totalItems = mode == TotalsMode.ESTIMATED ? estimate(totals) : exact(totals);
+        int totalPages = (int) Math.ceil((double) totalItems / size);
+        return new PaginatedResponse<>(content, totalItems, totalPages, page, mode.kind(), page + 1 < totalPages);
+    }
+
+    public long exact(TotalsQuery totals) {
+        long now = System.nanoTime();
+        ConcurrentHashMap<String, CachedCount> counts =
+                exactCounts.computeIfAbsent(tenants.current().id(), id -> new ConcurrentHashMap<>());
+        CachedCount cached = counts.get(totals.cacheKey());
+        if (cached != null && cached.expiresAt - now > 0) {
+            return cached.value;
+        }
+        long value = totals.exactCount().getAsLong();
+        if (counts.size() >= MAX_CACHED_FILTERS) {
+            counts.clear();
+        }
+        counts.put(totals.cacheKey(), new CachedCount(value, now + cacheTtl.toNanos()));
+        return value;
+    }
+
+    public long estimate(TotalsQuery totals) {
+        if (totals.sqlWhere() == null) {
+            Query reltuples = Panache.getEntityManager().createNativeQuery(RELTUPLES_SQL);
+            reltuples.setParameter(1, totals.table());
+            long value = ((Number) reltuples.getSingleResult()).longValue();
+            if (value >= 0) {
+                return value;
+            }
+            // Never analyzed: fall through to the planner, which uses the table size instead
+        }
+        return plannerEstimate(totals);
+    }
+
+    // Synchronous, before the writing request returns: its next list already counts again
+    void onCommitted(@Observes(during = TransactionPhase.AFTER_SUCCESS) DomainEvent event) {
+        invalidate(tenants.current());
+    }
+
+    // Clears the cached exact counts of one tenant, e.g. after bulk changes
+    public void invalidate(Tenant tenant) {
+        exactCounts.remove(tenant.id());
+    }
+
+    // Clears cached exact counts of every tenant
+    public void invalidate() {
+        exactCounts.clear();
+    }
+
+    @Override
+    public void invalidate(Tenant tenant, String aggregateType, Set<UUID> ids) {
+        invalidate(tenant);
+    }
+
+    @Override
+    public void invalidateAll() {
+        invalidate();
+    }
+
+    private long plannerEstimate(TotalsQuery totals) {
+        String sql = "EXPLAIN (FORMAT JSON) SELECT 1 FROM " + totals.table()
+                + (totals.sqlWhere() == null ? "" : " WHERE " + totals.sqlWhere());
+        Query explain = Panache.getEntityManager().createNativeQuery(sql);
+        for (int i = 0; i < totals.sqlParams().size(); i++) {
+            explain.setParameter(i + 1, totals.sqlParams().get(i));
+        }
+        try {
+            JsonNode plan = objectMapper.readTree(String.valueOf(explain.getSingleResult()));
+            return Math.round(plan.get(0).get("Plan").get("Plan Rows").asDouble());
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read the plan estimate for " + totals.table(), e);
+        }
+    }
+
+    private record CachedCount(long value, long expiresAt) {}
+}
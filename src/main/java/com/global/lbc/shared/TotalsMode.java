@@ -0,0 +1,28 @@
+package com.global.lbc.shared;
+
+import java.util.Locale;
+
+// How PaginatedResponse.totalItems is filled (query parameter totals=exact|estimated|none)
+public enum TotalsMode {
+    // count(*) of the filter, cached for a few seconds per filter
+    EXACT,
+    // pg_class.reltuples (unfiltered) or the planner row estimate (filtered): no table scan
+    ESTIMATED,
+    // no count at all: totalItems/totalPages are -1 and hasNext tells whether another page exists
+    NONE;
+
+    public static TotalsMode fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return EXACT;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid totals mode: " + value + " (expected exact, estimated or none)");
+        }
+    }
+
+    public String kind() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
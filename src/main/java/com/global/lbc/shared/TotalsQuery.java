@@ -0,0 +1,26 @@
+package com.global.lbc.shared;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+
+// Describes the rows behind a paginated query twice: as the Panache count used for exact totals,
+// and as the equivalent native predicate on the table used for estimates.
+// sqlWhere uses positional parameters (?1, ?2, ...) bound from sqlParams; null means no filter.
+public record TotalsQuery(String table, String sqlWhere, List<Object> sqlParams, LongSupplier exactCount) {
+
+    public static TotalsQuery of(String table, LongSupplier exactCount) {
+        return new TotalsQuery(table, null, List.of(), exactCount);
+    }
+
+    public static TotalsQuery of(String table, String sqlWhere, LongSupplier exactCount) {
+        return new TotalsQuery(table, sqlWhere, List.of(), exactCount);
+    }
+
+    public static TotalsQuery of(String table, String sqlWhere, List<Object> sqlParams, LongSupplier exactCount) {
+        return new TotalsQuery(table, sqlWhere, sqlParams, exactCount);
+    }
+
+    String cacheKey() {
+        return table + '|' + (sqlWhere == null ? "" : sqlWhere) + '|' + sqlParams;
+    }
+}
@@ -0,0 +1,44 @@
+package com.global.lbc.shared;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+// ============================================================
+// WIRE FORMATS: binary Jackson encodings served next to JSON
+// The binary mappers are copies of the Quarkus ObjectMapper, so every module,
+// date setting and custom (de)serializer (e.g. SocialNumberSerializer) registered
+// for JSON behaves exactly the same in CBOR and Smile.
+// ============================================================
+
+@ApplicationScoped
+public class WireFormats {
+
+    public static final String APPLICATION_CBOR = "application/cbor";
+    public static final String APPLICATION_SMILE = "application/x-jackson-smile";
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    private ObjectMapper cborMapper;
+    private ObjectMapper smileMapper;
+
+    @PostConstruct
+    void init() {
+        this.cborMapper = objectMapper.copyWith(new CBORFactory());
+        this.smileMapper = objectMapper.copyWith(new SmileFactory());
+    }
+
+    public ObjectMapper mapperFor(String mediaType) {
+        if (APPLICATION_CBOR.equalsIgnoreCase(mediaType)) {
+            return cborMapper;
+        }
+        if (APPLICATION_SMILE.equalsIgnoreCase(mediaType)) {
+            return smileMapper;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,74 @@
+package com.global.lbc.shared.client;
+
+import com.global.lbc.shared.tenant.TenantPrincipal;
+import io.vertx.core.http.HttpServerRequest;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+
+import java.security.Principal;
+
+// ============================================================
+// Identifies "who is calling" for per-client policies.
+//  * id(): a routing hint (read-your-writes, coalescing). Resolution order: explicit X-Client-Id
+//    header, then the remote address. The header is client-chosen, so it is never used where a
+//    caller could gain anything by lying about it.
+//  * verifiedId(): the key for quotas, idempotency and audit. The authenticated principal (set by
+//    the authentication filters through authenticated()), otherwise the remote address.
+// ============================================================
+@RequestScoped
+public class ClientIdentity {
+
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+    @Inject
+    HttpServerRequest request;
+
+    private String id;
+    private Principal principal;
+
+    public String id() {
+        if (id == null) {
+            id = resolve();
+        }
+        return id;
+    }
+
+    public void authenticated(Principal principal) {
+        this.principal = principal;
+    }
+
+    // null for anonymous requests
+    public Principal principal() {
+        return principal;
+    }
+
+    public String verifiedId() {
+        return verifiedId(principal, request);
+    }
+
+    // For Vert.x routes that run before any request context exists (see GraphQLAccessFilter)
+    public static String verifiedId(Principal principal, HttpServerRequest request) {
+        if (principal instanceof TenantPrincipal tenantPrincipal) {
+            return "user:" + tenantPrincipal.tenantId() + "/" + tenantPrincipal.getName();
+        }
+        if (principal != null) {
+            return "user:" + principal.getName();
+        }
+        return remoteAddress(request);
+    }
+
+    private String resolve() {
+        String header = request.getHeader(CLIENT_ID_HEADER);
+        if (header != null && !header.isBlank()) {
+            return "client:" + header.trim();
+        }
+        return remoteAddress(request);
+    }
+
+    private static String remoteAddress(HttpServerRequest request) {
+        if (request.remoteAddress() != null) {
+            return "ip:" + request.remoteAddress().host();
+        }
+        return "anonymous";
+    }
+}
@@ -0,0 +1,20 @@
+package com.global.lbc.shared.coalescing;
+
+import jakarta.interceptor.InterceptorBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read-only service method whose concurrent identical calls (same method, equal
+ * arguments) share a single execution and its result. Only for methods whose result is
+ * not modified by callers (DTOs, counts).
+ * Can be switched off per method with {@code coalescing.<Class>.<method>.enabled=false}.
+ */
+@InterceptorBinding
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesce {
+}
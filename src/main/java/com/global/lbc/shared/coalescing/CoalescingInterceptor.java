@@ -0,0 +1,55 @@
+package com.global.lbc.shared.coalescing;
+
+import com.global.lbc.shared.client.ClientIdentity;
+import com.global.lbc.shared.routing.ReadYourWritesTracker;
+import com.global.lbc.shared.tenant.Tenants;
+import io.quarkus.arc.Arc;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import jakarta.transaction.Status;
+import jakarta.transaction.TransactionManager;
+
+import java.util.Arrays;
+
+// Runs before ReadReplicaInterceptor: only the leader of a flight picks a datasource route
+@Coalesce
+@Interceptor
+@Priority(Interceptor.Priority.APPLICATION - 100)
+public class CoalescingInterceptor {
+
+    @Inject
+    SingleFlight singleFlight;
+
+    @Inject
+    ReadYourWritesTracker readYourWrites;
+
+    @Inject
+    ClientIdentity clientIdentity;
+
+    @Inject
+    TransactionManager transactionManager;
+
+    @Inject
+    Tenants tenants;
+
+    @AroundInvoke
+    Object coalesce(InvocationContext context) throws Exception {
+        if (!singleFlight.isEnabled(context.getMethod())) {
+            return context.proceed();
+        }
+        // A read inside a transaction must see that transaction's own changes
+        if (transactionManager.getStatus() != Status.STATUS_NO_TRANSACTION) {
+            return context.proceed();
+        }
+        // A client that just wrote must see its write: a flight started before it may not
+        if (Arc.container().requestContext().isActive() && readYourWrites.wroteRecently(clientIdentity.id())) {
+            return context.proceed();
+        }
+        SingleFlight.Key key = new SingleFlight.Key(tenants.current().id(), context.getMethod(),
+                Arrays.asList(context.getParameters().clone()));
+        return singleFlight.execute(key, context::proceed);
+    }
+}
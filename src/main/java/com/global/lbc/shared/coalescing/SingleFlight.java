@@ -0,0 +1,118 @@
+package com.global.lbc.shared.coalescing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// ============================================================
+// SINGLE-FLIGHT: the first caller of a key (leader) runs the computation, callers that
+// arrive while it is running (followers) wait for and share its result or exception.
+// Nothing is cached: the flight is forgotten as soon as the leader finishes, so a call
+// that starts afterwards always runs again.
+// Metrics per method: coalescing.calls{role=leader|follower} and coalescing.ratio
+// (followers / all calls since startup).
+// ============================================================
+@ApplicationScoped
+public class SingleFlight {
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "coalescing.enabled", defaultValue = "true")
+    boolean enabled;
+
+    // A follower stops waiting after this and runs the call itself
+    @ConfigProperty(name = "coalescing.max-wait", defaultValue = "30s")
+    Duration maxWait;
+
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<Method, MethodStats> statsByMethod = new ConcurrentHashMap<>();
+
+    // Arguments are compared with equals(): only use @Coalesce with value-type parameters.
+    // Calls of different tenants never share a flight, even with equal arguments.
+    public record Key(String tenantId, Method method, List<Object> arguments) {
+    }
+
+    public boolean isEnabled(Method method) {
+        return enabled && stats(method).enabled;
+    }
+
+    public Object execute(Key key, Callable<Object> call) throws Exception {
+        MethodStats stats = stats(key.method());
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            stats.followers.increment();
+            try {
+                return running.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException e) {
+                throw rethrow(e.getCause());
+            } catch (TimeoutException e) {
+                return call.call();
+            }
+        }
+
+        stats.leaders.increment();
+        try {
+            Object result = call.call();
+            // Removed before completing: later callers start a new flight instead of reusing this result
+            inFlight.remove(key, mine);
+            mine.complete(result);
+            return result;
+        } catch (Exception | Error e) {
+            inFlight.remove(key, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private MethodStats stats(Method method) {
+        return statsByMethod.computeIfAbsent(method, this::register);
+    }
+
+    private MethodStats register(Method method) {
+        String name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        boolean methodEnabled = ConfigProvider.getConfig()
+                .getOptionalValue("coalescing." + name + ".enabled", Boolean.class)
+                .orElse(true);
+        MethodStats stats = new MethodStats(methodEnabled,
+                registry.counter("coalescing.calls", "method", name, "role", "leader"),
+                registry.counter("coalescing.calls", "method", name, "role", "follower"));
+        registry.gauge("coalescing.ratio", Tags.of("method", name), stats, MethodStats::ratio);
+        return stats;
+    }
+
+    private static Exception rethrow(Throwable cause) {
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        if (cause instanceof Exception exception) {
+            return exception;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    private record MethodStats(boolean enabled, Counter leaders, Counter followers) {
+
+        double ratio() {
+            double followerCount = followers.count();
+            double total = leaders.count() + followerCount;
+            return total == 0 ? 0 : followerCount / total;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.global.lbc.shared.events;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// A fact that happened in a committed transaction. Published with CDI Event#fire from the
+// services and delivered by DomainEventBus only after the transaction succeeds.
+public interface DomainEvent {
+
+    UUID aggregateId();
+
+    // Kind of aggregate ("employee", "vacation"): with aggregateId() it names what changed for
+    // the in-memory caches of the other instances (see shared/invalidation)
+    String aggregateType();
+
+    Instant occurredAt();
+
+    // Events with the same key are delivered to subscribers in publication order
+    default UUID orderingKey() {
+        return aggregateId();
+    }
+
+    default String type() {
+        return getClass().getSimpleName();
+    }
+}
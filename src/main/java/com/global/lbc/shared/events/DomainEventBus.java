@@ -0,0 +1,329 @@
+package com.global.lbc.shared.events;
+
+import com.global.lbc.shared.tenant.Tenant;
+import com.global.lbc.shared.tenant.TenantRegistry;
+import com.global.lbc.shared.tenant.Tenants;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// ============================================================
+// DOMAIN EVENT BUS: in-process, asynchronous, ordered per key.
+// Services fire DomainEvents through CDI; this bean observes them AFTER_SUCCESS, so
+// rolled-back transactions never publish. Events are spread over N single-threaded lanes
+// by orderingKey(): all events of one key are handled in order, different keys in parallel,
+// and a slow subscriber never blocks the committing request.
+//
+// Events travel with the tenant of the transaction that published them and subscribers keep
+// their state per tenant.
+//
+// A subscriber that throws is retried on its lane (max-attempts, growing backoff) before the
+// event is given up for it: subscribers are idempotent, and retrying in place keeps the order of
+// the key. The other subscribers are not retried.
+//
+// On startup every subscriber rebuilds its state (replay) for every tenant while the lanes stay
+// paused; events committed in the meantime wait in the lanes and are applied afterwards.
+// Subscribers that also change their state from elsewhere (e.g. ClusterInvalidation) do it on the
+// lanes too: runOnLanes() queues work behind the events of its keys, and withLanesPaused() holds
+// every lane while a whole state is rebuilt, so no event is applied to a state about to be replaced.
+// Metrics: domain.events.queue.depth, domain.events.lag (created -> handled),
+// domain.events.handled{tenant}, domain.events.retried{subscriber} and domain.events.failed{tenant}.
+// ============================================================
+@ApplicationScoped
+public class DomainEventBus {
+
+    private static final Logger LOG = Logger.getLogger(DomainEventBus.class);
+
+    @Inject
+    @Any
+    Instance<DomainEventSubscriber> subscriberBeans;
+
+    @Inject
+    MeterRegistry registry;
+
+    @Inject
+    Tenants tenants;
+
+    @Inject
+    TenantRegistry tenantRegistry;
+
+    @ConfigProperty(name = "domain-events.lanes", defaultValue = "4")
+    int laneCount;
+
+    @ConfigProperty(name = "domain-events.shutdown-timeout", defaultValue = "5s")
+    Duration shutdownTimeout;
+
+    @ConfigProperty(name = "domain-events.max-attempts", defaultValue = "3")
+    int maxAttempts;
+
+    @ConfigProperty(name = "domain-events.retry-backoff", defaultValue = "100ms")
+    Duration retryBackoff;
+
+    private final CountDownLatch replayed = new CountDownLatch(1);
+    private List<DomainEventSubscriber> subscribers = List.of();
+    private Lane[] lanes = new Lane[0];
+    private Timer lag;
+
+    void onStart(@Observes StartupEvent event) {
+        subscribers = subscriberBeans.stream().toList();
+        lag = Timer.builder("domain.events.lag")
+                .description("Time between the creation of an event and its delivery to the subscribers")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        registry.gauge("domain.events.queue.depth", Tags.empty(), this, DomainEventBus::queueDepth);
+
+        lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            // Unbounded: publishing must never block a request; the depth gauge shows any build-up
+            lanes[i] = new Lane("domain-events-" + i, new LinkedBlockingQueue<>());
+            lanes[i].start();
+        }
+
+        Thread replay = new Thread(this::replayAll, "domain-events-replay");
+        replay.setDaemon(true);
+        replay.start();
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        for (Lane lane : lanes) {
+            lane.stopAccepting();
+        }
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        for (Lane lane : lanes) {
+            try {
+                lane.join(Math.max(1, (deadline - System.nanoTime()) / 1_000_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (lane.isAlive()) {
+                // Projections are rebuilt by replay on the next start: nothing is lost by dropping them
+                LOG.warnf("%s stopped with %d undelivered events", lane.getName(), lane.queue.size());
+                lane.interrupt();
+            }
+        }
+    }
+
+    void onCommitted(@Observes(during = TransactionPhase.AFTER_SUCCESS) DomainEvent event) {
+        publish(tenants.current(), event);
+    }
+
+    public void publish(Tenant tenant, DomainEvent event) {
+        if (lanes.length == 0) {
+            return;
+        }
+        lane(event.orderingKey()).offer(new Published(tenant, event));
+    }
+
+    // Runs task on the lane of every key, once per lane with the keys that lane owns: it sees every
+    // event of those keys published before it and none published after. Before startup it runs
+    // right away on the caller. A task that throws is logged, not retried.
+    public void runOnLanes(Collection<UUID> keys, Consumer<Set<UUID>> task) {
+        if (lanes.length == 0) {
+            task.accept(new HashSet<>(keys));
+            return;
+        }
+        Map<Lane, Set<UUID>> keysPerLane = new HashMap<>();
+        for (UUID key : keys) {
+            keysPerLane.computeIfAbsent(lane(key), lane -> new HashSet<>()).add(key);
+        }
+        keysPerLane.forEach((lane, laneKeys) -> lane.offer(new Task(() -> task.accept(laneKeys))));
+    }
+
+    // Runs task on the caller once every lane has handled what was queued before and parked, like
+    // the startup replay: events published meanwhile wait and are applied after it. Nothing runs
+    // when the bus is shutting down.
+    public void withLanesPaused(Runnable task) throws InterruptedException {
+        if (lanes.length == 0) {
+            task.run();
+            return;
+        }
+        Pause pause = new Pause(new CountDownLatch(lanes.length), new CountDownLatch(1));
+        try {
+            for (Lane lane : lanes) {
+                if (!lane.offer(pause)) {
+                    return;
+                }
+            }
+            pause.parked().await();
+            task.run();
+        } finally {
+            pause.resume().countDown();
+        }
+    }
+
+    // State of a tenant provisioned after startup; its schema is new, so nothing can be missed
+    public void replay(Tenant tenant) {
+        for (DomainEventSubscriber subscriber : subscribers) {
+            replay(subscriber, tenant);
+        }
+    }
+
+    public boolean isReplayed() {
+        return replayed.getCount() == 0;
+    }
+
+    private Lane lane(UUID key) {
+        return lanes[Math.floorMod(key.hashCode(), lanes.length)];
+    }
+
+    double queueDepth() {
+        long depth = 0;
+        for (Lane lane : lanes) {
+            depth += lane.queue.size();
+        }
+        return depth;
+    }
+
+    private void replayAll() {
+        try {
+            for (Tenant tenant : tenantRegistry.all()) {
+                for (DomainEventSubscriber subscriber : subscribers) {
+                    replay(subscriber, tenant);
+                }
+            }
+        } finally {
+            replayed.countDown();
+        }
+    }
+
+    private void replay(DomainEventSubscriber subscriber, Tenant tenant) {
+        long started = System.nanoTime();
+        try {
+            subscriber.replay(tenant);
+            LOG.infof("Replayed %s for tenant %s in %d ms", subscriber.name(), tenant.id(),
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            LOG.errorf(e, "Replay of %s for tenant %s failed; it will only reflect events from now on",
+                    subscriber.name(), tenant.id());
+        }
+    }
+
+    private void deliver(Published published) throws InterruptedException {
+        DomainEvent event = published.event();
+        String tenantId = published.tenant().id();
+        for (DomainEventSubscriber subscriber : subscribers) {
+            deliver(subscriber, published);
+        }
+        lag.record(Duration.between(event.occurredAt(), Instant.now()));
+        registry.counter("domain.events.handled", "type", event.type(), "tenant", tenantId).increment();
+    }
+
+    private void deliver(DomainEventSubscriber subscriber, Published published) throws InterruptedException {
+        DomainEvent event = published.event();
+        String tenantId = published.tenant().id();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                subscriber.on(published.tenant(), event);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    registry.counter("domain.events.failed", "subscriber", subscriber.name(), "type", event.type(),
+                            "tenant", tenantId).increment();
+                    LOG.errorf(e, "%s failed to handle %s for %s (tenant %s) after %d attempts", subscriber.name(),
+                            event.type(), event.aggregateId(), tenantId, attempt);
+                    return;
+                }
+                registry.counter("domain.events.retried", "subscriber", subscriber.name(), "type", event.type())
+                        .increment();
+                LOG.debugf("%s failed to handle %s for %s, retrying: %s", subscriber.name(), event.type(),
+                        event.aggregateId(), e.getMessage());
+                // The lane waits: later events of the same key must not overtake this one
+                Thread.sleep(retryBackoff.toMillis() * attempt);
+            }
+        }
+    }
+
+    private void run(Task task) {
+        try {
+            task.work().run();
+        } catch (RuntimeException e) {
+            LOG.errorf(e, "Task on %s failed", Thread.currentThread().getName());
+        }
+    }
+
+    // What a lane handles, in queue order
+    private interface Item {}
+
+    private record Published(Tenant tenant, DomainEvent event) implements Item {}
+
+    private record Task(Runnable work) implements Item {}
+
+    // The lane counts down parked and waits for resume
+    private record Pause(CountDownLatch parked, CountDownLatch resume) implements Item {}
+
+    private final class Lane extends Thread {
+
+        private final BlockingQueue<Item> queue;
+        private volatile boolean accepting = true;
+
+        Lane(String name, BlockingQueue<Item> queue) {
+            super(name);
+            this.queue = queue;
+            setDaemon(true);
+        }
+
+        boolean offer(Item item) {
+            return accepting && queue.offer(item);
+        }
+
+        void stopAccepting() {
+            accepting = false;
+        }
+
+        @Override
+        public void run() {
+            try {
+                replayed.await();
+                List<Item> batch = new ArrayList<>();
+                while (accepting || !queue.isEmpty()) {
+                    Item first = queue.poll(200, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch);
+                    for (Item item : batch) {
+                        if (item instanceof Published event) {
+                            deliver(event);
+                        } else if (item instanceof Task task) {
+                            DomainEventBus.this.run(task);
+                        } else if (item instanceof Pause pause) {
+                            pause.parked().countDown();
+                            pause.resume().await();
+                        }
+                    }
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.global.lbc.shared.events;
+
+import com.global.lbc.shared.tenant.Tenant;
+
+// In-process subscriber of DomainEventBus (e.g. a read projection). Any CDI bean implementing
+// this interface is registered automatically. State kept by a subscriber must be kept per tenant:
+// every event comes with the tenant whose transaction published it.
+public interface DomainEventSubscriber {
+
+    // Called on the lane of event.orderingKey(): never concurrently for the same key.
+    // Must be idempotent: events published while replay(tenant) runs can be delivered after it.
+    void on(Tenant tenant, DomainEvent event);
+
+    // Rebuilds the subscriber's state for one tenant from the database; runs at startup for every
+    // tenant before events flow, and when a tenant is provisioned
+    default void replay(Tenant tenant) {
+    }
+
+    default String name() {
+        return getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,211 @@
+package com.global.lbc.shared.idempotency;
+
+import com.global.lbc.shared.client.ClientIdentity;
+import com.global.lbc.shared.tenant.Tenant;
+import com.global.lbc.shared.tenant.Tenants;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+// ============================================================
+// Idempotency-Key handling for @Idempotent resource methods.
+// Request filter: claims the key; replays, rejects or waits instead of calling the resource.
+// Response filter + writer interceptor: copy the bytes actually sent to the client
+// and store them as the answer for the key. 5xx responses are not stored, so a retry
+// after a server failure runs the request again.
+// Keys belong to the verified caller (ClientIdentity.verifiedId: the user, else the remote address),
+// never to X-Client-Id: a header anyone can copy would let one client replay another's responses.
+// Keys are scoped by tenant: the idempotency_key table is shared, and clients of other tenants
+// are stored as "<tenant>/<client id>" (default tenant unchanged).
+// ============================================================
+@Idempotent
+@Provider
+public class IdempotencyFilter implements ContainerRequestFilter, ContainerResponseFilter, WriterInterceptor {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final String OWNER_PROPERTY = IdempotencyFilter.class.getName() + ".owner";
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int UNPROCESSABLE_ENTITY = 422;
+
+    @Inject
+    IdempotencyStore store;
+
+    @Inject
+    ClientIdentity clientIdentity;
+
+    @Inject
+    Tenants tenants;
+
+    @Override
+    public void filter(ContainerRequestContext request) throws IOException {
+        String key = request.getHeaderString(IDEMPOTENCY_KEY_HEADER);
+        if (key == null || key.isBlank()) {
+            return;
+        }
+        key = key.trim();
+        if (key.length() > MAX_KEY_LENGTH) {
+            request.abortWith(error(Response.Status.BAD_REQUEST.getStatusCode(),
+                    IDEMPOTENCY_KEY_HEADER + " must be at most " + MAX_KEY_LENGTH + " characters"));
+            return;
+        }
+
+        // The body is read once for the fingerprint and handed back to the resource
+        byte[] body = request.hasEntity() ? request.getEntityStream().readAllBytes() : new byte[0];
+        request.setEntityStream(new ByteArrayInputStream(body));
+
+        Tenant tenant = tenants.current();
+        String caller = clientIdentity.verifiedId();
+        String clientId = tenant.isDefault() ? caller : tenant.id() + "/" + caller;
+        String fingerprint = fingerprint(request, body);
+        IdempotencyStore.Claim claim = store.claim(clientId, key, fingerprint);
+        if (claim instanceof IdempotencyStore.Proceed) {
+            request.setProperty(OWNER_PROPERTY, new Owner(clientId, key, fingerprint));
+        } else if (claim instanceof IdempotencyStore.Replay replay) {
+            request.abortWith(replay(replay.response()));
+        } else if (claim instanceof IdempotencyStore.Mismatch) {
+            request.abortWith(error(UNPROCESSABLE_ENTITY,
+                    IDEMPOTENCY_KEY_HEADER + " was already used for a different request"));
+        } else {
+            request.abortWith(Response.fromResponse(error(Response.Status.CONFLICT.getStatusCode(),
+                            "A request with this " + IDEMPOTENCY_KEY_HEADER + " is still being processed"))
+                    .header(HttpHeaders.RETRY_AFTER, 1)
+                    .build());
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        Owner owner = (Owner) request.getProperty(OWNER_PROPERTY);
+        if (owner == null) {
+            return;
+        }
+        String location = response.getLocation() == null ? null : response.getLocation().toString();
+        if (response.getStatus() >= 500) {
+            request.removeProperty(OWNER_PROPERTY);
+            store.release(owner.clientId, owner.key);
+        } else if (!response.hasEntity()) {
+            request.removeProperty(OWNER_PROPERTY);
+            store.complete(owner.clientId, owner.key,
+                    new StoredResponse(owner.fingerprint, response.getStatus(), null, location, new byte[0]));
+        } else {
+            // Completed by aroundWriteTo once the entity has been serialized
+            request.setProperty(OWNER_PROPERTY, owner.withResponse(response.getStatus(), location));
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        Owner owner = (Owner) context.getProperty(OWNER_PROPERTY);
+        if (owner == null) {
+            context.proceed();
+            return;
+        }
+        context.removeProperty(OWNER_PROPERTY);
+
+        OutputStream original = context.getOutputStream();
+        ByteArrayOutputStream copy = new ByteArrayOutputStream();
+        context.setOutputStream(new TeeOutputStream(original, copy));
+        try {
+            context.proceed();
+        } catch (IOException | RuntimeException e) {
+            store.release(owner.clientId, owner.key);
+            throw e;
+        } finally {
+            context.setOutputStream(original);
+        }
+        MediaType mediaType = context.getMediaType();
+        store.complete(owner.clientId, owner.key, new StoredResponse(owner.fingerprint, owner.status,
+                mediaType == null ? null : mediaType.toString(), owner.location, copy.toByteArray()));
+    }
+
+    private static Response replay(StoredResponse stored) {
+        Response.ResponseBuilder builder = Response.status(stored.status()).header(REPLAYED_HEADER, true);
+        if (stored.location() != null) {
+            builder.location(URI.create(stored.location()));
+        }
+        if (stored.body() != null && stored.body().length > 0) {
+            builder.entity(stored.body()).type(stored.contentType());
+        }
+        return builder.build();
+    }
+
+    private static Response error(int status, String message) {
+        return Response.status(status)
+                .type(MediaType.APPLICATION_JSON)
+                .entity(new ErrorResponse(message))
+                .build();
+    }
+
+    // Method, path with query and a hash of the body: the same key may only ever mean one request
+    private static String fingerprint(ContainerRequestContext request, byte[] body) {
+        URI uri = request.getUriInfo().getRequestUri();
+        String target = uri.getRawQuery() == null ? uri.getRawPath() : uri.getRawPath() + '?' + uri.getRawQuery();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ' ');
+            digest.update(target.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Owner(String clientId, String key, String fingerprint, int status, String location) {
+
+        Owner(String clientId, String key, String fingerprint) {
+            this(clientId, key, fingerprint, 0, null);
+        }
+
+        Owner withResponse(int status, String location) {
+            return new Owner(clientId, key, fingerprint, status, location);
+        }
+    }
+
+    private static final class TeeOutputStream extends FilterOutputStream {
+
+        private final OutputStream copy;
+
+        TeeOutputStream(OutputStream out, OutputStream copy) {
+            super(out);
+            this.copy = copy;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            copy.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            copy.write(b, off, len);
+        }
+    }
+
+    public record ErrorResponse(String error) {}
+}
@@ -0,0 +1,335 @@
+package com.global.lbc.shared.idempotency;
+
+import io.agroal.api.AgroalDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// ============================================================
+// IDEMPOTENCY STORE: first responses per (client, Idempotency-Key).
+// Lookups go LRU -> in-flight map -> idempotency_key table (V1.0.8):
+//  - a stored response is replayed without touching the services;
+//  - a duplicate of a request still running on this instance waits on its future;
+//  - across instances the INSERT ... ON CONFLICT claim decides who runs the request,
+//    and the others poll the row until its response is stored.
+// Claims left behind by a crashed request are taken over after in-flight-timeout.
+// ============================================================
+@ApplicationScoped
+public class IdempotencyStore {
+
+    private static final Logger LOG = Logger.getLogger(IdempotencyStore.class);
+
+    // Inserts a claim, or takes over an expired key / a claim abandoned by a crashed request
+    private static final String CLAIM_SQL = """
+            INSERT INTO idempotency_key (client_id, idempotency_key, fingerprint, expires_at)
+            VALUES (?, ?, ?, CURRENT_TIMESTAMP + make_interval(secs => ?))
+            ON CONFLICT (client_id, idempotency_key) DO UPDATE
+                SET fingerprint = EXCLUDED.fingerprint, status = NULL, content_type = NULL, location = NULL,
+                    body = NULL, created_at = CURRENT_TIMESTAMP, expires_at = EXCLUDED.expires_at
+                WHERE idempotency_key.expires_at < CURRENT_TIMESTAMP
+                   OR (idempotency_key.status IS NULL
+                       AND idempotency_key.created_at < CURRENT_TIMESTAMP - make_interval(secs => ?))
+            """;
+    private static final String SELECT_SQL = """
+            SELECT fingerprint, status, content_type, location, body
+            FROM idempotency_key
+            WHERE client_id = ? AND idempotency_key = ? AND expires_at >= CURRENT_TIMESTAMP
+            """;
+    private static final String COMPLETE_SQL = """
+            UPDATE idempotency_key SET status = ?, content_type = ?, location = ?, body = ?
+            WHERE client_id = ? AND idempotency_key = ? AND status IS NULL
+            """;
+    private static final String RELEASE_SQL = """
+            DELETE FROM idempotency_key WHERE client_id = ? AND idempotency_key = ? AND status IS NULL
+            """;
+    private static final String PURGE_SQL = """
+            DELETE FROM idempotency_key
+            WHERE ctid IN (SELECT ctid FROM idempotency_key WHERE expires_at < CURRENT_TIMESTAMP LIMIT ?)
+            """;
+    private static final long POLL_INTERVAL_MS = 50;
+
+    public sealed interface Claim permits Proceed, Replay, Mismatch, Busy {
+    }
+
+    // The caller runs the request and must end with complete() or release()
+    public record Proceed() implements Claim {
+    }
+
+    public record Replay(StoredResponse response) implements Claim {
+    }
+
+    // The key was already used with a different method, path or body
+    public record Mismatch() implements Claim {
+    }
+
+    // The first request is still running after wait-timeout
+    public record Busy() implements Claim {
+    }
+
+    private static final Claim PROCEED = new Proceed();
+    private static final Claim MISMATCH = new Mismatch();
+    private static final Claim BUSY = new Busy();
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "idempotency.ttl", defaultValue = "24h")
+    Duration ttl;
+
+    @ConfigProperty(name = "idempotency.wait-timeout", defaultValue = "10s")
+    Duration waitTimeout;
+
+    @ConfigProperty(name = "idempotency.in-flight-timeout", defaultValue = "60s")
+    Duration inFlightTimeout;
+
+    @ConfigProperty(name = "idempotency.cache.max-entries", defaultValue = "10000")
+    int maxCachedEntries;
+
+    @ConfigProperty(name = "idempotency.purge.batch-size", defaultValue = "5000")
+    int purgeBatchSize;
+
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private Map<String, Cached> cache;
+
+    @PostConstruct
+    void init() {
+        int max = maxCachedEntries;
+        // Access-ordered LinkedHashMap: least recently replayed keys are evicted first
+        cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Cached> eldest) {
+                return size() > max;
+            }
+        });
+    }
+
+    public Claim claim(String clientId, String key, String fingerprint) {
+        String cacheKey = cacheKey(clientId, key);
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (true) {
+            Cached cached = cache.get(cacheKey);
+            if (cached != null && cached.expiresAtNanos - System.nanoTime() > 0) {
+                return count(replayOrMismatch(cached.response, fingerprint));
+            }
+
+            InFlight mine = new InFlight(new CompletableFuture<>(), System.nanoTime());
+            InFlight running = inFlight.putIfAbsent(cacheKey, mine);
+            if (running != null) {
+                Claim claim = awaitLocal(cacheKey, running, fingerprint, deadline);
+                if (claim != null) {
+                    return count(claim);
+                }
+                // The first request gave up without a response: compete for the key again
+                continue;
+            }
+
+            Claim claim;
+            try {
+                claim = claimInDatabase(clientId, key, fingerprint, deadline);
+            } catch (RuntimeException e) {
+                finishLocal(cacheKey, null);
+                throw e;
+            }
+            if (claim instanceof Replay replay) {
+                remember(cacheKey, replay.response());
+                finishLocal(cacheKey, replay.response());
+            } else if (!(claim instanceof Proceed)) {
+                finishLocal(cacheKey, null);
+            }
+            return count(claim);
+        }
+    }
+
+    public void complete(String clientId, String key, StoredResponse response) {
+        String cacheKey = cacheKey(clientId, key);
+        remember(cacheKey, response);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(COMPLETE_SQL)) {
+            statement.setInt(1, response.status());
+            statement.setString(2, response.contentType());
+            statement.setString(3, response.location());
+            statement.setBytes(4, response.body());
+            statement.setString(5, clientId);
+            statement.setString(6, key);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            // Still replayed from this instance's cache; other instances take over after in-flight-timeout
+            LOG.warnf(e, "Could not store the response for Idempotency-Key %s", key);
+        } finally {
+            finishLocal(cacheKey, response);
+        }
+    }
+
+    // The request failed in a way worth retrying (5xx): forget the claim so a retry runs it again
+    public void release(String clientId, String key) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(RELEASE_SQL)) {
+            statement.setString(1, clientId);
+            statement.setString(2, key);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            LOG.warnf(e, "Could not release Idempotency-Key %s", key);
+        } finally {
+            finishLocal(cacheKey(clientId, key), null);
+        }
+    }
+
+    @Scheduled(cron = "${idempotency.purge.cron:0 */10 * * * ?}", identity = "idempotency-purge")
+    void purgeExpired() {
+        long purged = 0;
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(PURGE_SQL)) {
+            statement.setInt(1, purgeBatchSize);
+            int deleted;
+            do {
+                deleted = statement.executeUpdate();
+                purged += deleted;
+            } while (deleted == purgeBatchSize);
+        } catch (SQLException e) {
+            LOG.warn("Could not purge expired idempotency keys", e);
+        }
+        if (purged > 0) {
+            LOG.debugf("Purged %d expired idempotency keys", purged);
+        }
+    }
+
+    // ========================================
+    // HELPERS
+    // ========================================
+
+    // Returns null when the running request released the key (or is stale) and the caller must retry
+    private Claim awaitLocal(String cacheKey, InFlight running, String fingerprint, long deadline) {
+        if (System.nanoTime() - running.startedNanos > inFlightTimeout.toNanos()) {
+            // The owner never finished (e.g. the response was never written): stop waiting on it
+            if (inFlight.remove(cacheKey, running)) {
+                running.future.complete(null);
+            }
+            return null;
+        }
+        try {
+            StoredResponse response = running.future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return response == null ? null : replayOrMismatch(response, fingerprint);
+        } catch (TimeoutException e) {
+            return BUSY;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return BUSY;
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    private Claim claimInDatabase(String clientId, String key, String fingerprint, long deadline) {
+        while (true) {
+            try (Connection connection = dataSource.getConnection()) {
+                if (insertClaim(connection, clientId, key, fingerprint)) {
+                    return PROCEED;
+                }
+                Row row = select(connection, clientId, key);
+                if (row != null && row.response != null) {
+                    return replayOrMismatch(row.response, fingerprint);
+                }
+                if (row != null && !row.fingerprint.equals(fingerprint)) {
+                    return MISMATCH;
+                }
+                // row == null: released or expired in between, claim again right away
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not claim Idempotency-Key " + key, e);
+            }
+            if (System.nanoTime() - deadline > 0) {
+                return BUSY;
+            }
+            // Running on another instance: poll without holding a pooled connection
+            try {
+                Thread.sleep(POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return BUSY;
+            }
+        }
+    }
+
+    private boolean insertClaim(Connection connection, String clientId, String key, String fingerprint) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(CLAIM_SQL)) {
+            statement.setString(1, clientId);
+            statement.setString(2, key);
+            statement.setString(3, fingerprint);
+            statement.setLong(4, ttl.toSeconds());
+            statement.setLong(5, inFlightTimeout.toSeconds());
+            return statement.executeUpdate() == 1;
+        }
+    }
+
+    private Row select(Connection connection, String clientId, String key) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_SQL)) {
+            statement.setString(1, clientId);
+            statement.setString(2, key);
+            try (ResultSet rs = statement.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                String fingerprint = rs.getString("fingerprint");
+                int status = rs.getInt("status");
+                if (rs.wasNull()) {
+                    return new Row(fingerprint, null);
+                }
+                return new Row(fingerprint, new StoredResponse(fingerprint, status, rs.getString("content_type"),
+                        rs.getString("location"), rs.getBytes("body")));
+            }
+        }
+    }
+
+    private static Claim replayOrMismatch(StoredResponse response, String fingerprint) {
+        return response.fingerprint().equals(fingerprint) ? new Replay(response) : MISMATCH;
+    }
+
+    private void finishLocal(String cacheKey, StoredResponse response) {
+        InFlight running = inFlight.remove(cacheKey);
+        if (running != null) {
+            running.future.complete(response);
+        }
+    }
+
+    private void remember(String cacheKey, StoredResponse response) {
+        cache.put(cacheKey, new Cached(response, System.nanoTime() + ttl.toNanos()));
+    }
+
+    private Claim count(Claim claim) {
+        registry.counter("idempotency.requests", "outcome", claim.getClass().getSimpleName().toLowerCase()).increment();
+        return claim;
+    }
+
+    private static String cacheKey(String clientId, String key) {
+        return clientId + '\n' + key;
+    }
+
+    private record InFlight(CompletableFuture<StoredResponse> future, long startedNanos) {
+    }
+
+    private record Cached(StoredResponse response, long expiresAtNanos) {
+    }
+
+    private record Row(String fingerprint, StoredResponse response) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.global.lbc.shared.idempotency;
+
+import jakarta.ws.rs.NameBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a resource method that honours the {@code Idempotency-Key} header: the first response
+ * for a key is stored and returned to every retry with the same key, without running the
+ * method again. Requests without the header are not affected.
+ */
+@NameBinding
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Idempotent {
+}
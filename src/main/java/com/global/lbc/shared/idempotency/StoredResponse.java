@@ -0,0 +1,5 @@
+package com.global.lbc.shared.idempotency;
+
+// First response of an idempotent request, as sent to the client
+public record StoredResponse(String fingerprint, int status, String contentType, String location, byte[] body) {
+}
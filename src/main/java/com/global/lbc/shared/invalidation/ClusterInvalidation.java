@@ -0,0 +1,361 @@
+package com.global.lbc.shared.invalidation;
+
+import com.global.lbc.shared.events.DomainEvent;
+import com.global.lbc.shared.events.DomainEventSubscriber;
+import com.global.lbc.shared.tenant.Tenant;
+import com.global.lbc.shared.tenant.TenantRegistry;
+import com.global.lbc.shared.tenant.Tenants;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptor;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+// ============================================================
+// CLUSTER CACHE INVALIDATION over PostgreSQL LISTEN/NOTIFY: no broker, only the database every
+// instance already uses.
+// Sending: every committed domain event (DomainEventBus, so never before the commit) marks its
+// aggregate (tenant, type, id) as changed. A sender thread collects them for batch-window and
+// publishes them with pg_notify: a burst of writes becomes a handful of notifications, and an
+// aggregate changed ten times within the window is sent once.
+// Receiving: one dedicated connection per instance (outside the pool, so LISTEN never leaks into
+// pooled sessions) hands what the other instances changed to every InvalidationSubscriber.
+// NOTIFY only reaches sessions listening at that moment: whenever the connection had to be
+// re-established, subscribers get invalidateAll() because anything could have been missed.
+// A batch whose NOTIFY fails is kept and sent with the next one.
+// Metrics: cache.invalidation.sent{tenant} / received{tenant} (aggregates),
+// cache.invalidation.notifications, cache.invalidation.full.flushes, cache.invalidation.pending.
+// ============================================================
+@ApplicationScoped
+public class ClusterInvalidation implements DomainEventSubscriber {
+
+    private static final Logger LOG = Logger.getLogger(ClusterInvalidation.class);
+
+    private static final String NOTIFY_SQL = "SELECT pg_notify(?, ?)";
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+
+    // How long one wait for notifications blocks; bounds how late the listener notices a shutdown
+    private static final int POLL_MILLIS = 500;
+
+    @Inject
+    @Any
+    Instance<InvalidationSubscriber> subscriberBeans;
+
+    @Inject
+    Tenants tenants;
+
+    @Inject
+    TenantRegistry tenantRegistry;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "cache.invalidation.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "cache.invalidation.channel", defaultValue = "lbc_cache_invalidation")
+    String channel;
+
+    @ConfigProperty(name = "cache.invalidation.batch-window", defaultValue = "50ms")
+    Duration batchWindow;
+
+    @ConfigProperty(name = "cache.invalidation.reconnect-delay", defaultValue = "2s")
+    Duration reconnectDelay;
+
+    // The listen connection is checked with a query when nothing arrived for this long
+    @ConfigProperty(name = "cache.invalidation.keep-alive", defaultValue = "10s")
+    Duration keepAlive;
+
+    // The dedicated session goes to the primary
+    @ConfigProperty(name = "quarkus.datasource.jdbc.url")
+    String jdbcUrl;
+
+    @ConfigProperty(name = "quarkus.datasource.username")
+    Optional<String> username;
+
+    @ConfigProperty(name = "quarkus.datasource.password")
+    Optional<String> password;
+
+    // Identifies this instance in the payloads, so it skips its own notifications
+    private final String origin = UUID.randomUUID().toString();
+
+    private final Set<Invalidation> pending = ConcurrentHashMap.newKeySet();
+    private List<InvalidationSubscriber> subscribers = List.of();
+    private volatile boolean running;
+    private Thread sender;
+
+    // Before DomainEventBus starts its replay: a change committed elsewhere while the caches are
+    // being loaded is then either in the load or in a notification
+    void onStart(@Observes @Priority(Interceptor.Priority.APPLICATION) StartupEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (!CHANNEL.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid cache.invalidation.channel: " + channel);
+        }
+        subscribers = subscriberBeans.stream().toList();
+        registry.gauge("cache.invalidation.pending", Tags.empty(), pending, Set::size);
+        running = true;
+
+        Connection first = connect();
+        Thread listener = new Thread(() -> listen(first), "cache-invalidation-listen");
+        listener.setDaemon(true);
+        listener.start();
+
+        sender = new Thread(this::send, "cache-invalidation-notify");
+        sender.setDaemon(true);
+        sender.start();
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            // Lets the last batch go out
+            sender.join(Math.max(1000, batchWindow.toMillis() * 2));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void on(Tenant tenant, DomainEvent event) {
+        if (running) {
+            pending.add(new Invalidation(tenant.id(), event.aggregateType(), event.aggregateId()));
+        }
+    }
+
+    // ========================================
+    // SENDING
+    // ========================================
+
+    private void send() {
+        while (running) {
+            try {
+                Thread.sleep(batchWindow.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            flush();
+        }
+        flush();
+    }
+
+    void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        // An aggregate changed again after being taken here is sent after that change too:
+        // receivers read the database, so one notification after the last commit is enough
+        List<Invalidation> batch = new ArrayList<>();
+        for (Iterator<Invalidation> it = pending.iterator(); it.hasNext(); ) {
+            batch.add(it.next());
+            it.remove();
+        }
+        try (Connection connection = tenants.connection(Tenant.DEFAULT);
+             PreparedStatement statement = connection.prepareStatement(NOTIFY_SQL)) {
+            List<String> payloads = Invalidation.encode(origin, batch);
+            for (String payload : payloads) {
+                statement.setString(1, channel);
+                statement.setString(2, payload);
+                statement.execute();
+            }
+            registry.counter("cache.invalidation.notifications").increment(payloads.size());
+            countPerTenant("cache.invalidation.sent", batch);
+        } catch (SQLException e) {
+            pending.addAll(batch);
+            LOG.warnf(e, "Cache invalidation: could not notify %d changes; retrying with the next batch", batch.size());
+        }
+    }
+
+    // ========================================
+    // RECEIVING
+    // ========================================
+
+    private void listen(Connection initial) {
+        Connection connection = initial;
+        // Without a connection at startup the caches may already be behind
+        boolean missed = initial == null;
+        while (running) {
+            if (connection == null) {
+                try {
+                    Thread.sleep(reconnectDelay.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                connection = connect();
+                if (connection == null) {
+                    continue;
+                }
+            }
+            if (missed) {
+                invalidateAll();
+                missed = false;
+            }
+            try {
+                receive(connection);
+            } catch (SQLException e) {
+                if (running) {
+                    LOG.warnf(e, "Cache invalidation: listen connection lost; reconnecting in %s", reconnectDelay);
+                }
+                missed = true;
+            } finally {
+                close(connection);
+                connection = null;
+            }
+        }
+    }
+
+    private Connection connect() {
+        Properties properties = new Properties();
+        username.ifPresent(user -> properties.setProperty("user", user));
+        password.ifPresent(secret -> properties.setProperty("password", secret));
+        properties.setProperty("ApplicationName", "cache-invalidation");
+        properties.setProperty("tcpKeepAlive", "true");
+        // Bounds the keep-alive query on a half-open connection
+        properties.setProperty("socketTimeout", String.valueOf(Math.max(1, keepAlive.toSeconds())));
+        Connection connection = null;
+        try {
+            connection = DriverManager.getConnection(jdbcUrl, properties);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + channel);
+            }
+            LOG.debugf("Cache invalidation: listening on %s", channel);
+            return connection;
+        } catch (SQLException e) {
+            close(connection);
+            LOG.warnf("Cache invalidation: could not listen on %s (%s); retrying in %s",
+                    channel, e.getMessage(), reconnectDelay);
+            return null;
+        }
+    }
+
+    private void receive(Connection connection) throws SQLException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        long idleSince = System.nanoTime();
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications(POLL_MILLIS);
+            if (notifications != null && notifications.length > 0) {
+                dispatch(notifications);
+                idleSince = System.nanoTime();
+            } else if (System.nanoTime() - idleSince > keepAlive.toNanos()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SELECT 1");
+                }
+                idleSince = System.nanoTime();
+            }
+        }
+    }
+
+    private void dispatch(PGNotification[] notifications) {
+        // tenant -> aggregate type -> ids: one call per subscriber, tenant and type for the whole batch
+        Map<Tenant, Map<String, Set<UUID>>> changes = new LinkedHashMap<>();
+        List<Invalidation> received = new ArrayList<>();
+        boolean registryReloaded = false;
+        for (PGNotification notification : notifications) {
+            Invalidation.Decoded decoded = Invalidation.decode(notification.getParameter());
+            if (origin.equals(decoded.origin())) {
+                continue;
+            }
+            for (Invalidation invalidation : decoded.invalidations()) {
+                Optional<Tenant> tenant = tenantRegistry.find(invalidation.tenantId());
+                if (tenant.isEmpty() && !registryReloaded) {
+                    // Provisioned by another instance since the last registry refresh
+                    tenantRegistry.reload();
+                    registryReloaded = true;
+                    tenant = tenantRegistry.find(invalidation.tenantId());
+                }
+                if (tenant.isEmpty()) {
+                    continue;
+                }
+                changes.computeIfAbsent(tenant.get(), t -> new HashMap<>())
+                        .computeIfAbsent(invalidation.aggregateType(), type -> new HashSet<>())
+                        .add(invalidation.id());
+                received.add(invalidation);
+            }
+        }
+        countPerTenant("cache.invalidation.received", received);
+
+        for (Map.Entry<Tenant, Map<String, Set<UUID>>> tenantChanges : changes.entrySet()) {
+            for (Map.Entry<String, Set<UUID>> typeChanges : tenantChanges.getValue().entrySet()) {
+                for (InvalidationSubscriber subscriber : subscribers) {
+                    try {
+                        subscriber.invalidate(tenantChanges.getKey(), typeChanges.getKey(), typeChanges.getValue());
+                    } catch (RuntimeException e) {
+                        LOG.errorf(e, "%s failed to invalidate %d %s of tenant %s", nameOf(subscriber),
+                                typeChanges.getValue().size(), typeChanges.getKey(), tenantChanges.getKey().id());
+                    }
+                }
+            }
+        }
+    }
+
+    private void invalidateAll() {
+        registry.counter("cache.invalidation.full.flushes").increment();
+        LOG.warnf("Cache invalidation: notifications may have been missed; reloading %d caches", subscribers.size());
+        for (InvalidationSubscriber subscriber : subscribers) {
+            try {
+                subscriber.invalidateAll();
+            } catch (RuntimeException e) {
+                LOG.errorf(e, "%s failed to invalidate everything", nameOf(subscriber));
+            }
+        }
+    }
+
+    private void countPerTenant(String name, List<Invalidation> invalidations) {
+        Map<String, Integer> perTenant = new HashMap<>();
+        for (Invalidation invalidation : invalidations) {
+            perTenant.merge(invalidation.tenantId(), 1, Integer::sum);
+        }
+        perTenant.forEach((tenant, count) -> registry.counter(name, "tenant", tenant).increment(count));
+    }
+
+    private static String nameOf(InvalidationSubscriber subscriber) {
+        return subscriber instanceof DomainEventSubscriber named ? named.name() : subscriber.getClass().getSimpleName();
+    }
+
+    private static void close(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            // already broken
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.global.lbc.shared.invalidation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+// One changed aggregate, and the NOTIFY payload format that carries a batch of them:
+//   <origin instance>\n<tenant> <type> <id>\n<tenant> <type> <id>...
+// Tenant ids and aggregate types never contain spaces or newlines. A payload stays below the
+// 8000 bytes PostgreSQL accepts; bigger batches are split over several notifications.
+public record Invalidation(String tenantId, String aggregateType, UUID id) {
+
+    static final int MAX_PAYLOAD_BYTES = 7900;
+
+    static List<String> encode(String origin, Collection<Invalidation> invalidations) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder(origin);
+        int entries = 0;
+        for (Invalidation invalidation : invalidations) {
+            String line = '\n' + invalidation.tenantId() + ' ' + invalidation.aggregateType() + ' ' + invalidation.id();
+            // Everything is ASCII: one char, one byte
+            if (entries > 0 && payload.length() + line.length() > MAX_PAYLOAD_BYTES) {
+                payloads.add(payload.toString());
+                payload = new StringBuilder(origin);
+                entries = 0;
+            }
+            payload.append(line);
+            entries++;
+        }
+        if (entries > 0) {
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+
+    // Malformed lines are skipped: a bad entry must not hide the valid ones next to it
+    static Decoded decode(String payload) {
+        String[] lines = payload.split("\n");
+        List<Invalidation> invalidations = new ArrayList<>(lines.length - 1);
+        for (int i = 1; i < lines.length; i++) {
+            String[] parts = lines[i].split(" ");
+            if (parts.length != 3) {
+                continue;
+            }
+            try {
+                invalidations.add(new Invalidation(parts[0], parts[1], UUID.fromString(parts[2])));
+            } catch (IllegalArgumentException e) {
+                // skipped
+            }
+        }
+        return new Decoded(lines[0], invalidations);
+    }
+
+    record Decoded(String origin, List<Invalidation> invalidations) {}
+}
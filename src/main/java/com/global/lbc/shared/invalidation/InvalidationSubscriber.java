@@ -0,0 +1,20 @@
+package com.global.lbc.shared.invalidation;
+
+import com.global.lbc.shared.tenant.Tenant;
+
+import java.util.Set;
+import java.util.UUID;
+
+// In-memory state derived from the database that other instances can make stale (a cache or a
+// read projection). Any CDI bean implementing this interface is registered with ClusterInvalidation
+// automatically. Changes made by this instance are not repeated here: they already arrive through
+// DomainEventBus.
+public interface InvalidationSubscriber {
+
+    // Aggregates of one type changed and committed on another instance. Called from a single
+    // listener thread, with everything that arrived together for the same tenant and type.
+    void invalidate(Tenant tenant, String aggregateType, Set<UUID> ids);
+
+    // Notifications may have been missed (the listen connection was lost): forget or reload everything
+    void invalidateAll();
+}
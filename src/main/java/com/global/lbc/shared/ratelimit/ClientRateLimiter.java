@@ -0,0 +1,120 @@
+package com.global.lbc.shared.ratelimit;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// ============================================================
+// Per-client, per-class token buckets implemented as GCRA (generic cell rate algorithm):
+// a bucket is a single AtomicLong "theoretical arrival time", updated with one CAS,
+// so admission is lock-free and allocation-free once the client's bucket exists.
+// Buckets live in ConcurrentHashMaps (internally striped); a bucket whose arrival time
+// is in the past is indistinguishable from a new one and can be evicted at any time.
+// Each class holds at most maxBuckets buckets: when a new client arrives at the cap, idle buckets
+// are swept (at most once a second) and, if the map is still full, the newcomer shares a single
+// overflow bucket. Memory stays bounded under a flood of distinct clients, and the flood is still
+// limited as a whole.
+// Plain class (no CDI) so the benchmark can drive it directly.
+// ============================================================
+final class ClientRateLimiter {
+
+    record Quota(double permitsPerSecond, int burst) {
+
+        long intervalNanos() {
+            return (long) (1_000_000_000L / permitsPerSecond);
+        }
+    }
+
+    static final String OVERFLOW_KEY = "overflow:";
+
+    private static final long SWEEP_GAP_NANOS = 1_000_000_000L;
+
+    private final Map<EndpointClass, Limits> limits = new EnumMap<>(EndpointClass.class);
+    private final int maxBuckets;
+
+    ClientRateLimiter(Map<EndpointClass, Quota> quotas) {
+        this(quotas, Integer.MAX_VALUE);
+    }
+
+    ClientRateLimiter(Map<EndpointClass, Quota> quotas, int maxBuckets) {
+        this.maxBuckets = maxBuckets;
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            Quota quota = quotas.get(endpointClass);
+            if (quota != null) {
+                limits.put(endpointClass, new Limits(quota.intervalNanos(), quota.intervalNanos() * quota.burst()));
+            }
+        }
+    }
+
+    // 0 when admitted, otherwise the nanoseconds until the client may try again
+    long tryAcquire(String clientId, EndpointClass endpointClass, long nowNanos) {
+        Limits classLimits = limits.get(endpointClass);
+        if (classLimits == null) {
+            return 0;
+        }
+        AtomicLong bucket = classLimits.buckets.get(clientId);
+        if (bucket == null) {
+            bucket = newBucket(classLimits, clientId, nowNanos);
+        }
+        while (true) {
+            long arrival = bucket.get();
+            long next = Math.max(arrival, nowNanos) + classLimits.intervalNanos;
+            long wait = next - nowNanos - classLimits.burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    private AtomicLong newBucket(Limits classLimits, String clientId, long nowNanos) {
+        if (classLimits.buckets.size() >= maxBuckets) {
+            long lastSweep = classLimits.lastSweepNanos.get();
+            if (nowNanos - lastSweep >= SWEEP_GAP_NANOS && classLimits.lastSweepNanos.compareAndSet(lastSweep, nowNanos)) {
+                evictIdle(classLimits, nowNanos);
+            }
+            if (classLimits.buckets.size() >= maxBuckets) {
+                return classLimits.buckets.computeIfAbsent(OVERFLOW_KEY, id -> new AtomicLong(nowNanos));
+            }
+        }
+        return classLimits.buckets.computeIfAbsent(clientId, id -> new AtomicLong(nowNanos));
+    }
+
+    // Removes buckets that are full again; returns how many are left
+    int evictIdle(long nowNanos) {
+        int remaining = 0;
+        for (Limits classLimits : limits.values()) {
+            remaining += evictIdle(classLimits, nowNanos);
+        }
+        return remaining;
+    }
+
+    private static int evictIdle(Limits classLimits, long nowNanos) {
+        classLimits.buckets.entrySet().removeIf(entry -> entry.getValue().get() - nowNanos <= 0);
+        return classLimits.buckets.size();
+    }
+
+    int size() {
+        int size = 0;
+        for (Limits classLimits : limits.values()) {
+            size += classLimits.buckets.size();
+        }
+        return size;
+    }
+
+    private static final class Limits {
+
+        final long intervalNanos;
+        final long burstNanos;
+        final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        final AtomicLong lastSweepNanos = new AtomicLong(Long.MIN_VALUE / 2);
+
+        Limits(long intervalNanos, long burstNanos) {
+            this.intervalNanos = intervalNanos;
+            this.burstNanos = burstNanos;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.global.lbc.shared.ratelimit;
+
+// Quota classes: each client gets one token bucket per class
+public enum EndpointClass {
+    // Expensive reads (free-text search, wide scans)
+    SEARCH,
+    // Any other GET/HEAD
+    READ,
+    // POST/PUT/DELETE
+    WRITE
+}
@@ -0,0 +1,65 @@
+package com.global.lbc.shared.ratelimit;
+
+import io.agroal.api.AgroalDataSource;
+import io.agroal.api.AgroalDataSourceMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+
+// ============================================================
+// Samples how long requests recently waited for a connection of the primary pool.
+// Agroal only exposes cumulative totals, so each sample works on the delta since the
+// previous one: average wait = blocked time / acquisitions in the interval. Threads still
+// queued with no acquisition at all in the interval mean the pool is stalled.
+// Requires quarkus.datasource.metrics.enabled=true (otherwise every counter reads 0).
+// ============================================================
+@ApplicationScoped
+public class PoolPressureMonitor {
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "rate-limit.shedding.pool-wait-threshold", defaultValue = "100ms")
+    Duration threshold;
+
+    private volatile boolean overloaded;
+    private volatile long recentWaitMicros;
+    private long lastAcquireCount;
+    private Duration lastBlockingTime = Duration.ZERO;
+
+    void onStart(@Observes StartupEvent event) {
+        registry.gauge("db.pool.wait.recent", Tags.of("unit", "ms"), this, monitor -> monitor.recentWaitMicros / 1000.0);
+        registry.gauge("rate.limit.shedding", Tags.empty(), this, monitor -> monitor.overloaded ? 1 : 0);
+    }
+
+    public boolean isOverloaded() {
+        return overloaded;
+    }
+
+    @Scheduled(every = "${rate-limit.shedding.sample-interval:1s}", identity = "pool-pressure-sampler")
+    synchronized void sample() {
+        AgroalDataSourceMetrics metrics = dataSource.getMetrics();
+        long acquireCount = metrics.acquireCount();
+        Duration blockingTime = metrics.blockingTimeTotal();
+
+        long acquired = acquireCount - lastAcquireCount;
+        Duration blocked = blockingTime.minus(lastBlockingTime);
+        lastAcquireCount = acquireCount;
+        lastBlockingTime = blockingTime;
+
+        Duration averageWait = acquired > 0 ? blocked.dividedBy(acquired) : Duration.ZERO;
+        recentWaitMicros = averageWait.toNanos() / 1000;
+        boolean stalled = acquired == 0 && metrics.awaitingCount() > 0;
+        overloaded = stalled || averageWait.compareTo(threshold) > 0;
+    }
+}
@@ -0,0 +1,16 @@
+package com.global.lbc.shared.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Overrides the quota class of a resource method. Without it GET/HEAD count as
+ * {@link EndpointClass#READ} and every other method as {@link EndpointClass#WRITE}.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimitClass {
+    EndpointClass value();
+}
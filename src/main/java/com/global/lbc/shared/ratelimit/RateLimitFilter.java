@@ -0,0 +1,64 @@
+package com.global.lbc.shared.ratelimit;
+
+import com.global.lbc.shared.client.ClientIdentity;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+
+import java.time.Duration;
+
+// Runs right after BearerTokenFilter and before every other filter, so rejected requests never reach
+// idempotency claims or the DB. Quotas are per verified user, or per remote address when anonymous:
+// never per X-Client-Id, which any caller can rotate to get a fresh bucket.
+@Provider
+@Priority(Priorities.AUTHENTICATION + 15)
+public class RateLimitFilter implements ContainerRequestFilter {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    @Inject
+    RateLimiting rateLimiting;
+
+    @Inject
+    ClientIdentity clientIdentity;
+
+    @Context
+    ResourceInfo resourceInfo;
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        if (!rateLimiting.isEnabled()) {
+            return;
+        }
+        EndpointClass endpointClass = rateLimiting.classify(resourceInfo.getResourceMethod(), request.getMethod());
+
+        Duration retryAfter = rateLimiting.shed(endpointClass);
+        if (retryAfter != null) {
+            request.abortWith(tooManyRequests(retryAfter, "Server is overloaded, retry later"));
+            return;
+        }
+        retryAfter = rateLimiting.acquire(clientIdentity.verifiedId(), endpointClass);
+        if (retryAfter != null) {
+            request.abortWith(tooManyRequests(retryAfter,
+                    "Rate limit exceeded for " + endpointClass.name().toLowerCase() + " requests"));
+        }
+    }
+
+    private static Response tooManyRequests(Duration retryAfter, String message) {
+        return Response.status(TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, RateLimiting.retryAfterSeconds(retryAfter))
+                .type(MediaType.APPLICATION_JSON)
+                .entity(new ErrorResponse(message))
+                .build();
+    }
+
+    public record ErrorResponse(String error) {}
+}
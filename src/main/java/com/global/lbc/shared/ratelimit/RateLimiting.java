@@ -0,0 +1,142 @@
+package com.global.lbc.shared.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.HttpMethod;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// ============================================================
+// Admission control for every JAX-RS request (see RateLimitFilter):
+//  1. load shedding: while the DB pool is saturated, the classes listed in
+//     rate-limit.shedding.classes are rejected before they queue for a connection;
+//  2. per-client quotas per endpoint class (ClientRateLimiter).
+// Rejections are counted in rate.limit.rejected{class, reason}.
+// ============================================================
+@ApplicationScoped
+public class RateLimiting {
+
+    @Inject
+    PoolPressureMonitor poolPressure;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "rate-limit.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "rate-limit.search.per-second", defaultValue = "5")
+    double searchPerSecond;
+
+    @ConfigProperty(name = "rate-limit.search.burst", defaultValue = "20")
+    int searchBurst;
+
+    @ConfigProperty(name = "rate-limit.read.per-second", defaultValue = "50")
+    double readPerSecond;
+
+    @ConfigProperty(name = "rate-limit.read.burst", defaultValue = "100")
+    int readBurst;
+
+    @ConfigProperty(name = "rate-limit.write.per-second", defaultValue = "10")
+    double writePerSecond;
+
+    @ConfigProperty(name = "rate-limit.write.burst", defaultValue = "20")
+    int writeBurst;
+
+    // Per endpoint class; clients beyond it share one bucket (see ClientRateLimiter)
+    @ConfigProperty(name = "rate-limit.max-buckets", defaultValue = "100000")
+    int maxBuckets;
+
+    @ConfigProperty(name = "rate-limit.shedding.enabled", defaultValue = "true")
+    boolean sheddingEnabled;
+
+    @ConfigProperty(name = "rate-limit.shedding.classes", defaultValue = "SEARCH,READ")
+    List<EndpointClass> shedClasses;
+
+    @ConfigProperty(name = "rate-limit.shedding.retry-after", defaultValue = "2s")
+    Duration sheddingRetryAfter;
+
+    private final Map<Method, EndpointClass> classByMethod = new ConcurrentHashMap<>();
+    private final Map<EndpointClass, Counter> quotaRejections = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> shedRejections = new EnumMap<>(EndpointClass.class);
+    private ClientRateLimiter limiter;
+
+    void onStart(@Observes StartupEvent event) {
+        limiter = new ClientRateLimiter(Map.of(
+                EndpointClass.SEARCH, new ClientRateLimiter.Quota(searchPerSecond, searchBurst),
+                EndpointClass.READ, new ClientRateLimiter.Quota(readPerSecond, readBurst),
+                EndpointClass.WRITE, new ClientRateLimiter.Quota(writePerSecond, writeBurst)), maxBuckets);
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            String name = endpointClass.name().toLowerCase();
+            quotaRejections.put(endpointClass, registry.counter("rate.limit.rejected", "class", name, "reason", "quota"));
+            shedRejections.put(endpointClass, registry.counter("rate.limit.rejected", "class", name, "reason", "shed"));
+        }
+        registry.gauge("rate.limit.buckets", Tags.empty(), this, rateLimiting -> rateLimiting.limiter.size());
+    }
+
+    public boolean isEnabled() {
+        return enabled && limiter != null;
+    }
+
+    public EndpointClass classify(Method resourceMethod, String httpMethod) {
+        if (resourceMethod == null) {
+            return defaultClass(httpMethod);
+        }
+        return classByMethod.computeIfAbsent(resourceMethod, method -> {
+            RateLimitClass annotation = method.getAnnotation(RateLimitClass.class);
+            if (annotation == null) {
+                annotation = method.getDeclaringClass().getAnnotation(RateLimitClass.class);
+            }
+            return annotation != null ? annotation.value() : defaultClass(httpMethod);
+        });
+    }
+
+    // Duration to put in Retry-After, or null when the request is admitted
+    public Duration shed(EndpointClass endpointClass) {
+        if (sheddingEnabled && poolPressure.isOverloaded() && shedClasses.contains(endpointClass)) {
+            shedRejections.get(endpointClass).increment();
+            return sheddingRetryAfter;
+        }
+        return null;
+    }
+
+    // Duration to put in Retry-After, or null when the request is admitted
+    public Duration acquire(String clientId, EndpointClass endpointClass) {
+        long waitNanos = limiter.tryAcquire(clientId, endpointClass, System.nanoTime());
+        if (waitNanos == 0) {
+            return null;
+        }
+        quotaRejections.get(endpointClass).increment();
+        return Duration.ofNanos(waitNanos);
+    }
+
+    // Retry-After is in whole seconds: round up so clients never retry too early
+    public static long retryAfterSeconds(Duration retryAfter) {
+        return Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+    }
+
+    @Scheduled(every = "${rate-limit.eviction-interval:30s}", identity = "rate-limit-eviction")
+    void evictIdleBuckets() {
+        if (limiter != null) {
+            limiter.evictIdle(System.nanoTime());
+        }
+    }
+
+    private static EndpointClass defaultClass(String httpMethod) {
+        return HttpMethod.GET.equals(httpMethod) || HttpMethod.HEAD.equals(httpMethod)
+                ? EndpointClass.READ
+                : EndpointClass.WRITE;
+    }
+}
@@ -0,0 +1,17 @@
+package com.global.lbc.shared.routing;
+
+// Target of the Hibernate session opened for the current request
+public enum DataSourceRoute {
+    PRIMARY("primary"),
+    REPLICA("replica");
+
+    private final String tenantId;
+
+    DataSourceRoute(String tenantId) {
+        this.tenantId = tenantId;
+    }
+
+    public String tenantId() {
+        return tenantId;
+    }
+}
@@ -0,0 +1,25 @@
+package com.global.lbc.shared.routing;
+
+import jakarta.enterprise.context.RequestScoped;
+
+// Per-request routing decision. It only matters until the request's Hibernate session is
+// opened: the session is bound to one connection provider for its whole life.
+@RequestScoped
+public class DataSourceRoutingContext {
+
+    private DataSourceRoute route = DataSourceRoute.PRIMARY;
+    private boolean decided;
+
+    public DataSourceRoute route() {
+        return route;
+    }
+
+    public boolean isDecided() {
+        return decided;
+    }
+
+    public void decide(DataSourceRoute route) {
+        this.route = route;
+        this.decided = true;
+    }
+}
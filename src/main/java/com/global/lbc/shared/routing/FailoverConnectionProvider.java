@@ -0,0 +1,61 @@
+package com.global.lbc.shared.routing;
+
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.jdbc.connections.spi.DatabaseConnectionInfo;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+// Replica pool that hands out a primary connection when the replica cannot give one. The health
+// check only runs every few seconds; sessions routed to the replica in between would otherwise
+// fail. The failure also marks the replica unavailable, so the next requests route to the primary.
+// A replica that dies in the middle of a query still fails that request.
+class FailoverConnectionProvider implements ConnectionProvider {
+
+    private final ConnectionProvider replica;
+    private final ConnectionProvider primary;
+    private final ReplicaHealthMonitor health;
+
+    FailoverConnectionProvider(ConnectionProvider replica, ConnectionProvider primary, ReplicaHealthMonitor health) {
+        this.replica = replica;
+        this.primary = primary;
+        this.health = health;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        try {
+            return replica.getConnection();
+        } catch (SQLException e) {
+            health.markUnavailable("unreachable: " + e.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    // Pooled connections go back to the pool they came from, whichever provider closes them
+    @Override
+    public void closeConnection(Connection connection) throws SQLException {
+        replica.closeConnection(connection);
+    }
+
+    @Override
+    public boolean supportsAggressiveRelease() {
+        return replica.supportsAggressiveRelease();
+    }
+
+    @Override
+    public DatabaseConnectionInfo getDatabaseConnectionInfo(Dialect dialect) {
+        return replica.getDatabaseConnectionInfo(dialect);
+    }
+
+    @Override
+    public boolean isUnwrappableAs(Class<?> unwrapType) {
+        return replica.isUnwrappableAs(unwrapType);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> unwrapType) {
+        return replica.unwrap(unwrapType);
+    }
+}
@@ -0,0 +1,16 @@
+package com.global.lbc.shared.routing;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a resource method that only reads even though it is not a GET (e.g. POST batch-get,
+ * which needs a request body). Successful calls are not recorded as writes, so the client
+ * keeps being routed to the replica.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadOnlyRequest {
+}
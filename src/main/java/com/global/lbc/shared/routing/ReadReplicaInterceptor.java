@@ -0,0 +1,59 @@
+package com.global.lbc.shared.routing;
+
+import com.global.lbc.shared.client.ClientIdentity;
+import io.quarkus.arc.Arc;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import jakarta.transaction.Status;
+import jakarta.transaction.SystemException;
+import jakarta.transaction.TransactionManager;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+@ReadReplica
+@Interceptor
+@Priority(Interceptor.Priority.APPLICATION)
+public class ReadReplicaInterceptor {
+
+    @ConfigProperty(name = "replica.routing.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @Inject
+    DataSourceRoutingContext routingContext;
+
+    @Inject
+    ReplicaHealthMonitor replicaHealth;
+
+    @Inject
+    ReadYourWritesTracker readYourWrites;
+
+    @Inject
+    ClientIdentity clientIdentity;
+
+    @Inject
+    TransactionManager transactionManager;
+
+    @AroundInvoke
+    Object route(InvocationContext context) throws Exception {
+        if (enabled && Arc.container().requestContext().isActive() && !routingContext.isDecided()) {
+            routingContext.decide(chooseRoute());
+        }
+        return context.proceed();
+    }
+
+    private DataSourceRoute chooseRoute() throws SystemException {
+        // A read inside a write transaction must see that transaction's own changes
+        if (transactionManager.getStatus() != Status.STATUS_NO_TRANSACTION) {
+            return DataSourceRoute.PRIMARY;
+        }
+        if (!replicaHealth.isAvailable()) {
+            return DataSourceRoute.PRIMARY;
+        }
+        if (readYourWrites.wroteRecently(clientIdentity.id())) {
+            return DataSourceRoute.PRIMARY;
+        }
+        return DataSourceRoute.REPLICA;
+    }
+}
@@ -0,0 +1,43 @@
+package com.global.lbc.shared.routing;
+
+import com.global.lbc.shared.client.ClientIdentity;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.ext.Provider;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+
+// Any successful non-read request counts as a write for read-your-writes purposes,
+// except resource methods marked @ReadOnlyRequest
+@Provider
+public class ReadYourWritesFilter implements ContainerResponseFilter {
+
+    private static final Set<String> READ_METHODS = Set.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS);
+
+    @Inject
+    ReadYourWritesTracker tracker;
+
+    @Inject
+    ClientIdentity clientIdentity;
+
+    @Context
+    ResourceInfo resourceInfo;
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        if (!READ_METHODS.contains(request.getMethod()) && response.getStatus() < 400 && !isReadOnly()) {
+            tracker.recordWrite(clientIdentity.id());
+        }
+    }
+
+    private boolean isReadOnly() {
+        Method method = resourceInfo.getResourceMethod();
+        return method != null && method.isAnnotationPresent(ReadOnlyRequest.class);
+    }
+}
@@ -0,0 +1,34 @@
+package com.global.lbc.shared.routing;
+
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Remembers when each client last wrote, so its reads stay on the primary until the
+// replica has had time to catch up with that write.
+@ApplicationScoped
+public class ReadYourWritesTracker {
+
+    @ConfigProperty(name = "replica.routing.read-your-writes-window", defaultValue = "5s")
+    Duration window;
+
+    private final ConcurrentHashMap<String, Long> lastWriteByClient = new ConcurrentHashMap<>();
+
+    public void recordWrite(String clientId) {
+        lastWriteByClient.put(clientId, System.nanoTime());
+    }
+
+    public boolean wroteRecently(String clientId) {
+        Long lastWrite = lastWriteByClient.get(clientId);
+        return lastWrite != null && System.nanoTime() - lastWrite < window.toNanos();
+    }
+
+    @Scheduled(every = "60s", identity = "read-your-writes-cleanup")
+    void evictExpired() {
+        long now = System.nanoTime();
+        lastWriteByClient.values().removeIf(lastWrite -> now - lastWrite >= window.toNanos());
+    }
+}
@@ -0,0 +1,110 @@
+package com.global.lbc.shared.routing;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+// ============================================================
+// Periodically measures replication lag on the replica. Reads fall back to the primary
+// whenever the replica is unreachable or lags more than replica.routing.max-lag.
+// Lag is zero when everything received has been replayed, so an idle primary does not
+// make the replica look stale. That only holds while the standby still receives WAL: one whose
+// WAL receiver is gone has replayed all it got and would report zero forever, so it counts as
+// unavailable. Between checks, FailoverConnectionProvider marks the replica unavailable as soon
+// as it fails to hand out a connection.
+// ============================================================
+@ApplicationScoped
+public class ReplicaHealthMonitor {
+
+    private static final Logger LOG = Logger.getLogger(ReplicaHealthMonitor.class);
+
+    // Lag in ms, or NULL for a standby without a running WAL receiver (disconnected from the primary)
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver) THEN NULL
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM (now() - pg_last_xact_replay_timestamp())) * 1000, 0)
+            END
+            """;
+
+    @Inject
+    @DataSource("replica")
+    AgroalDataSource replica;
+
+    @ConfigProperty(name = "replica.routing.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "replica.routing.max-lag", defaultValue = "2s")
+    Duration maxLag;
+
+    private volatile boolean available;
+    private volatile long lastLagMillis = -1;
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public long lastLagMillis() {
+        return lastLagMillis;
+    }
+
+    @Scheduled(every = "${replica.routing.health-check-interval:5s}", identity = "replica-health-check")
+    void check() {
+        if (!enabled) {
+            return;
+        }
+        double lag;
+        boolean receiving;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(2);
+            try (ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+                rs.next();
+                lag = rs.getDouble(1);
+                receiving = !rs.wasNull();
+            }
+        } catch (SQLException e) {
+            markUnavailable("unreachable: " + e.getMessage());
+            return;
+        }
+        if (!receiving) {
+            markUnavailable("not receiving WAL from the primary");
+            return;
+        }
+        recordLag((long) lag);
+    }
+
+    void recordLag(long lagMillis) {
+        boolean wasAvailable = available;
+        lastLagMillis = lagMillis;
+        available = lagMillis <= maxLag.toMillis();
+        if (wasAvailable != available) {
+            if (available) {
+                LOG.infof("Read replica available (lag %d ms), routing eligible reads to it", lastLagMillis);
+            } else {
+                LOG.warnf("Read replica lagging %d ms (max %d ms), routing reads to primary", lastLagMillis, maxLag.toMillis());
+            }
+        }
+    }
+
+    // Reads go to the primary until a later check finds the replica healthy again
+    void markUnavailable(String reason) {
+        boolean wasAvailable = available;
+        available = false;
+        lastLagMillis = -1;
+        if (wasAvailable) {
+            LOG.warnf("Read replica %s, routing reads to primary", reason);
+        }
+    }
+}
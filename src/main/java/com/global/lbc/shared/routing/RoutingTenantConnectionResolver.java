@@ -0,0 +1,57 @@
+package com.global.lbc.shared.routing;
+
+import com.global.lbc.shared.tenant.Tenant;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import io.quarkus.hibernate.orm.runtime.customized.QuarkusConnectionProvider;
+import io.quarkus.hibernate.orm.runtime.tenant.TenantConnectionResolver;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Maps the key chosen by RoutingTenantResolver to the matching Agroal pool, and for tenants other
+// than the default one to a provider that points each connection at the tenant schema.
+// Every tenant shares the two pools; the per-tenant providers are thin wrappers kept in a map.
+// Replica connections fall back to the primary pool when the replica fails between health checks.
+@ApplicationScoped
+@PersistenceUnitExtension
+public class RoutingTenantConnectionResolver implements TenantConnectionResolver {
+
+    @Inject
+    AgroalDataSource primary;
+
+    @Inject
+    @DataSource("replica")
+    AgroalDataSource replica;
+
+    @Inject
+    ReplicaHealthMonitor replicaHealth;
+
+    private ConnectionProvider primaryProvider;
+    private ConnectionProvider replicaProvider;
+    private final Map<String, ConnectionProvider> tenantProviders = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        primaryProvider = new QuarkusConnectionProvider(primary);
+        replicaProvider = new FailoverConnectionProvider(new QuarkusConnectionProvider(replica), primaryProvider,
+                replicaHealth);
+    }
+
+    @Override
+    public ConnectionProvider resolve(String tenantId) {
+        int separator = tenantId.indexOf(RoutingTenantResolver.SEPARATOR);
+        String route = separator < 0 ? tenantId : tenantId.substring(0, separator);
+        ConnectionProvider pool = DataSourceRoute.REPLICA.tenantId().equals(route) ? replicaProvider : primaryProvider;
+        if (separator < 0) {
+            return pool;
+        }
+        Tenant tenant = Tenant.of(tenantId.substring(separator + 1));
+        return tenantProviders.computeIfAbsent(tenantId, key -> new TenantSchemaConnectionProvider(pool, tenant));
+    }
+}
@@ -0,0 +1,47 @@
+package com.global.lbc.shared.routing;
+
+import com.global.lbc.shared.tenant.Tenant;
+import com.global.lbc.shared.tenant.TenantContext;
+import io.quarkus.arc.Arc;
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import io.quarkus.hibernate.orm.runtime.tenant.TenantResolver;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+// ============================================================
+// Hibernate "tenant" = datasource route + tenant schema. The database multitenancy hook chooses,
+// per session, between the primary and the read replica connection pools and which client
+// company's schema the connection points at; entities and queries are identical everywhere.
+// Ids are "primary"/"replica" for the default tenant (unchanged) and "primary:<tenant>" otherwise.
+// Outside a request (scheduled jobs, startup) sessions use the primary and the default tenant,
+// unless the work runs under Tenants.runAs.
+// ============================================================
+@ApplicationScoped
+@PersistenceUnitExtension
+public class RoutingTenantResolver implements TenantResolver {
+
+    static final char SEPARATOR = ':';
+
+    @Inject
+    DataSourceRoutingContext routingContext;
+
+    @Inject
+    TenantContext tenantContext;
+
+    @Override
+    public String getDefaultTenantId() {
+        return DataSourceRoute.PRIMARY.tenantId();
+    }
+
+    @Override
+    public String resolveTenantId() {
+        if (!Arc.container().requestContext().isActive()) {
+            return getDefaultTenantId();
+        }
+        return sessionKey(routingContext.route(), tenantContext.tenant());
+    }
+
+    static String sessionKey(DataSourceRoute route, Tenant tenant) {
+        return tenant.isDefault() ? route.tenantId() : route.tenantId() + SEPARATOR + tenant.id();
+    }
+}
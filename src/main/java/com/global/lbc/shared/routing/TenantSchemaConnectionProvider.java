@@ -0,0 +1,57 @@
+package com.global.lbc.shared.routing;
+
+import com.global.lbc.shared.tenant.Tenant;
+import com.global.lbc.shared.tenant.TenantConnections;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.jdbc.connections.spi.DatabaseConnectionInfo;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+// Connections of one pool, pointed at one tenant's schema for the life of a Hibernate session use
+// and reset before they go back to the pool (see TenantConnections)
+class TenantSchemaConnectionProvider implements ConnectionProvider {
+
+    private final ConnectionProvider pool;
+    private final Tenant tenant;
+
+    TenantSchemaConnectionProvider(ConnectionProvider pool, Tenant tenant) {
+        this.pool = pool;
+        this.tenant = tenant;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return TenantConnections.apply(pool.getConnection(), tenant);
+    }
+
+    @Override
+    public void closeConnection(Connection connection) throws SQLException {
+        try {
+            TenantConnections.reset(connection, tenant);
+        } finally {
+            pool.closeConnection(connection);
+        }
+    }
+
+    @Override
+    public boolean supportsAggressiveRelease() {
+        return pool.supportsAggressiveRelease();
+    }
+
+    @Override
+    public DatabaseConnectionInfo getDatabaseConnectionInfo(Dialect dialect) {
+        return pool.getDatabaseConnectionInfo(dialect);
+    }
+
+    @Override
+    public boolean isUnwrappableAs(Class<?> unwrapType) {
+        return pool.isUnwrappableAs(unwrapType);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> unwrapType) {
+        return pool.unwrap(unwrapType);
+    }
+}
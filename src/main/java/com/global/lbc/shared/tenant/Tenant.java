@@ -0,0 +1,35 @@
+package com.global.lbc.shared.tenant;
+
+import java.util.regex.Pattern;
+
+// A client company served by this deployment. Every tenant has its own PostgreSQL schema with the
+// full set of tables; the default tenant is the one that existed before multi-tenancy and keeps
+// living in "public", so single-tenant installations see no change.
+public record Tenant(String id, String schema) {
+
+    public static final String DEFAULT_ID = "default";
+    public static final Tenant DEFAULT = new Tenant(DEFAULT_ID, "public");
+
+    static final String SCHEMA_PREFIX = "tenant_";
+
+    // Lower-case identifier: safe inside a schema name and in metric tags without quoting
+    private static final Pattern ID = Pattern.compile("[a-z][a-z0-9_]{1,39}");
+
+    public static Tenant of(String id) {
+        if (DEFAULT_ID.equals(id)) {
+            return DEFAULT;
+        }
+        if (!isValidId(id)) {
+            throw new IllegalArgumentException("Invalid tenant id (expected [a-z][a-z0-9_]{1,39}): " + id);
+        }
+        return new Tenant(id, SCHEMA_PREFIX + id);
+    }
+
+    public static boolean isValidId(String id) {
+        return id != null && ID.matcher(id).matches();
+    }
+
+    public boolean isDefault() {
+        return DEFAULT_ID.equals(id);
+    }
+}
@@ -0,0 +1,73 @@
+package com.global.lbc.shared.tenant;
+
+import io.quarkus.runtime.annotations.RegisterForProxy;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// ============================================================
+// Pointing a pooled connection at a tenant schema.
+// Tenant sessions get search_path = the tenant schema only: a table missing from it is an error,
+// never a silent read of "public". The default tenant leaves the connection untouched.
+// The path is reset before the connection goes back to the pool, so every pooled connection is
+// always in its default state between checkouts. PostgreSQL replans cached statements when
+// search_path changes, so prepared statements kept by the driver cannot cross tenants either.
+// ============================================================
+@RegisterForProxy(targets = Connection.class)
+public final class TenantConnections {
+
+    private TenantConnections() {
+    }
+
+    public static Connection apply(Connection connection, Tenant tenant) throws SQLException {
+        if (tenant.isDefault()) {
+            return connection;
+        }
+        try (Statement statement = connection.createStatement()) {
+            // Schema names come from Tenant.of (validated identifier); quoted anyway
+            statement.execute("SET search_path TO \"" + tenant.schema() + "\"");
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        return connection;
+    }
+
+    public static void reset(Connection connection, Tenant tenant) throws SQLException {
+        if (tenant.isDefault() || connection.isClosed()) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("RESET search_path");
+        }
+    }
+
+    // Raw JDBC: a connection on the tenant schema whose close() resets it before returning it to the pool
+    public static Connection bind(Connection connection, Tenant tenant) throws SQLException {
+        apply(connection, tenant);
+        if (tenant.isDefault()) {
+            return connection;
+        }
+        InvocationHandler handler = (proxy, method, args) -> {
+            if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                try {
+                    reset(connection, tenant);
+                } finally {
+                    connection.close();
+                }
+                return null;
+            }
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(
+                TenantConnections.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+}
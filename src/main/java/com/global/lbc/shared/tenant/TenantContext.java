@@ -0,0 +1,19 @@
+package com.global.lbc.shared.tenant;
+
+import jakarta.enterprise.context.RequestScoped;
+
+// Tenant of the current request (or of the job running under Tenants.runAs). Like the datasource
+// route it must be settled before the request's Hibernate session is opened.
+@RequestScoped
+public class TenantContext {
+
+    private Tenant tenant = Tenant.DEFAULT;
+
+    public Tenant tenant() {
+        return tenant;
+    }
+
+    public void set(Tenant tenant) {
+        this.tenant = tenant;
+    }
+}
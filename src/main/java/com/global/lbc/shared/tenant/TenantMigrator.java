@@ -0,0 +1,140 @@
+package com.global.lbc.shared.tenant;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.interceptor.Interceptor;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.jboss.logging.Logger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+// ============================================================
+// TENANT SCHEMAS: every tenant schema runs the same db/migration scripts as public, with its own
+// flyway_schema_history. Quarkus migrates public at startup (quarkus.flyway.*); right after it,
+// and before anything else observes StartupEvent, this migrates every registered tenant schema.
+// Flyway's lock is per schema history, so instances starting together wait for each other per
+// tenant instead of migrating the same schema twice.
+// provision() creates a new tenant: registry row (inactive) -> schema + migrations -> demo data
+// of V1.0.3 removed -> row activated. Until the last step no instance serves the tenant.
+// Metric: tenancy.migrations{tenant} (migrations applied).
+// ============================================================
+@ApplicationScoped
+public class TenantMigrator {
+
+    private static final Logger LOG = Logger.getLogger(TenantMigrator.class);
+
+    private static final String INSERT_SQL = """
+            INSERT INTO public.tenant_registry (id, display_name) VALUES (?, ?)
+            ON CONFLICT (id) DO NOTHING
+            """;
+    private static final String ACTIVATE_SQL =
+            "UPDATE public.tenant_registry SET is_active = TRUE, updated_at = CURRENT_TIMESTAMP WHERE id = ?";
+    private static final String DELETE_SQL = "DELETE FROM public.tenant_registry WHERE id = ? AND is_active = FALSE";
+
+    // Seed rows of V1.0.3 (and everything referencing them): a new company starts empty
+    private static final String CLEAR_SEED_SQL =
+            "TRUNCATE employee_profile, absence_monthly_aggregate, absence_report_dirty_month CASCADE";
+
+    @Inject
+    Flyway flyway;
+
+    @Inject
+    TenantRegistry registry;
+
+    @Inject
+    Tenants tenants;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    // Off on fast-start replicas, like quarkus.flyway.migrate-at-start
+    @ConfigProperty(name = "tenancy.migrate-at-start", defaultValue = "true")
+    boolean migrateAtStart;
+
+    void onStart(@Observes @Priority(Interceptor.Priority.LIBRARY_BEFORE) StartupEvent event) {
+        registry.reload();
+        if (!migrateAtStart) {
+            return;
+        }
+        List<Tenant> all = registry.all();
+        for (Tenant tenant : all) {
+            if (!tenant.isDefault()) {
+                migrate(tenant);
+            }
+        }
+        LOG.infof("Tenant schemas up to date (%d tenants)", all.size() - 1);
+    }
+
+    // Creates and migrates the tenant's schema; IllegalStateException when the id is already taken
+    public Tenant provision(String id, String displayName) {
+        Tenant tenant = Tenant.of(id);
+        if (tenant.isDefault()) {
+            throw new IllegalStateException("Tenant already exists: " + id);
+        }
+        try (Connection connection = tenants.connection(Tenant.DEFAULT);
+             PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+            statement.setString(1, tenant.id());
+            statement.setString(2, displayName);
+            if (statement.executeUpdate() == 0) {
+                throw new IllegalStateException("Tenant already exists: " + id);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not register tenant " + id, e);
+        }
+
+        try {
+            migrate(tenant);
+            try (Connection connection = tenants.connection(tenant);
+                 Statement statement = connection.createStatement()) {
+                statement.execute(CLEAR_SEED_SQL);
+            }
+            try (Connection connection = tenants.connection(Tenant.DEFAULT);
+                 PreparedStatement statement = connection.prepareStatement(ACTIVATE_SQL)) {
+                statement.setString(1, tenant.id());
+                statement.executeUpdate();
+            }
+        } catch (SQLException | RuntimeException e) {
+            release(tenant);
+            throw new IllegalStateException("Could not provision tenant " + id, e);
+        }
+        registry.register(tenant);
+        LOG.infof("Provisioned tenant %s (schema %s)", tenant.id(), tenant.schema());
+        return tenant;
+    }
+
+    void migrate(Tenant tenant) {
+        Flyway tenantFlyway = Flyway.configure()
+                .configuration(flyway.getConfiguration())
+                .schemas(tenant.schema())
+                .defaultSchema(tenant.schema())
+                .createSchemas(true)
+                .load();
+        MigrateResult result = tenantFlyway.migrate();
+        if (result.migrationsExecuted > 0) {
+            meterRegistry.counter("tenancy.migrations", "tenant", tenant.id()).increment(result.migrationsExecuted);
+            LOG.infof("Tenant %s: applied %d migrations (now at %s)", tenant.id(), result.migrationsExecuted,
+                    result.targetSchemaVersion);
+        }
+    }
+
+    // The schema is left as it is: provisioning the same id again resumes its migrations
+    private void release(Tenant tenant) {
+        try (Connection connection = tenants.connection(Tenant.DEFAULT);
+             PreparedStatement statement = connection.prepareStatement(DELETE_SQL)) {
+            statement.setString(1, tenant.id());
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            LOG.errorf(e, "Could not release the registry row of tenant %s", tenant.id());
+        }
+    }
+}
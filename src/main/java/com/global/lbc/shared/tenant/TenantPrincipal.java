@@ -0,0 +1,10 @@
+package com.global.lbc.shared.tenant;
+
+import java.security.Principal;
+
+// A principal that belongs to one tenant (e.g. a verified token). Requests authenticated with it
+// can only ever be served from that tenant.
+public interface TenantPrincipal extends Principal {
+
+    String tenantId();
+}
@@ -0,0 +1,94 @@
+package com.global.lbc.shared.tenant;
+
+import io.agroal.api.AgroalDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// ============================================================
+// TENANT REGISTRY: tenants this deployment serves, from public.tenant_registry (V1.0.12).
+// Resolving a tenant on the request path is a map lookup; the table is reloaded periodically so
+// tenants provisioned through another instance show up here within tenancy.registry.refresh-interval.
+// The default tenant is always present, even before the first load or without the table.
+// ============================================================
+@ApplicationScoped
+public class TenantRegistry {
+
+    private static final Logger LOG = Logger.getLogger(TenantRegistry.class);
+
+    private static final String LOAD_SQL = "SELECT id FROM public.tenant_registry WHERE is_active = TRUE ORDER BY id";
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    private volatile Map<String, Tenant> tenants = Map.of(Tenant.DEFAULT_ID, Tenant.DEFAULT);
+
+    @PostConstruct
+    void init() {
+        meterRegistry.gauge("tenancy.tenants", Tags.empty(), this, registry -> registry.tenants.size());
+    }
+
+    public Optional<Tenant> find(String id) {
+        return Optional.ofNullable(tenants.get(id));
+    }
+
+    // Default tenant first, then by id
+    public List<Tenant> all() {
+        return new ArrayList<>(tenants.values());
+    }
+
+    // Makes a tenant provisioned by this instance visible right away
+    public synchronized void register(Tenant tenant) {
+        Map<String, Tenant> updated = new LinkedHashMap<>(tenants);
+        updated.put(tenant.id(), tenant);
+        tenants = ordered(updated);
+    }
+
+    @Scheduled(every = "${tenancy.registry.refresh-interval:30s}", identity = "tenant-registry-refresh",
+            delayed = "${tenancy.registry.refresh-interval:30s}")
+    public synchronized void reload() {
+        Map<String, Tenant> loaded = new LinkedHashMap<>();
+        loaded.put(Tenant.DEFAULT_ID, Tenant.DEFAULT);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(LOAD_SQL);
+             ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                String id = rs.getString("id");
+                if (Tenant.isValidId(id)) {
+                    loaded.put(id, Tenant.of(id));
+                } else {
+                    LOG.warnf("Ignoring tenant_registry row with invalid id '%s'", id);
+                }
+            }
+        } catch (SQLException e) {
+            LOG.warn("Could not reload the tenant registry; keeping the current tenants", e);
+            return;
+        }
+        tenants = ordered(loaded);
+    }
+
+    private static Map<String, Tenant> ordered(Map<String, Tenant> tenants) {
+        Map<String, Tenant> ordered = new LinkedHashMap<>();
+        ordered.put(Tenant.DEFAULT_ID, Tenant.DEFAULT);
+        tenants.keySet().stream().sorted().forEach(id -> ordered.putIfAbsent(id, tenants.get(id)));
+        return Collections.unmodifiableMap(ordered);
+    }
+}
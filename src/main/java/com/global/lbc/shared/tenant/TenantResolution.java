@@ -0,0 +1,59 @@
+package com.global.lbc.shared.tenant;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.security.Principal;
+
+// ============================================================
+// The tenancy rules shared by every entry point (TenantResolutionFilter for JAX-RS,
+// GraphQLAccessFilter for /graphql):
+//  * an authenticated TenantPrincipal is served from its own tenant; an X-Tenant-Id header naming
+//    another one is refused (403): a token never reaches another tenant's data;
+//  * without one, only the default tenant is served. The header may name another tenant only on
+//    the login request, which is how an anonymous caller gets its tenant's token (401 otherwise);
+//  * a tenant the registry does not know is a 400.
+// A map lookup, so it is safe on the event loop.
+// ============================================================
+@ApplicationScoped
+public class TenantResolution {
+
+    @Inject
+    TenantRegistry registry;
+
+    // Either tenant is set, or status and error say why the request is refused
+    public record Result(Tenant tenant, int status, String error) {
+
+        static Result of(Tenant tenant) {
+            return new Result(tenant, 200, null);
+        }
+
+        static Result refused(int status, String error) {
+            return new Result(null, status, error);
+        }
+
+        public boolean isRefused() {
+            return tenant == null;
+        }
+    }
+
+    public Result resolve(String header, Principal principal, boolean loginRequest) {
+        String requested = header == null || header.isBlank() ? null : header.trim();
+
+        String tenantId = requested;
+        if (principal instanceof TenantPrincipal tenantPrincipal) {
+            if (requested != null && !requested.equals(tenantPrincipal.tenantId())) {
+                return Result.refused(403, "Token does not belong to tenant " + requested);
+            }
+            tenantId = tenantPrincipal.tenantId();
+        } else if (requested != null && !Tenant.DEFAULT_ID.equals(requested) && !loginRequest) {
+            return Result.refused(401, "Authentication required for tenant " + requested);
+        }
+
+        Tenant tenant = tenantId == null ? Tenant.DEFAULT : registry.find(tenantId).orElse(null);
+        if (tenant == null) {
+            return Result.refused(400, "Unknown tenant: " + tenantId);
+        }
+        return Result.of(tenant);
+    }
+}
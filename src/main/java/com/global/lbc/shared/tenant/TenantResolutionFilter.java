@@ -0,0 +1,86 @@
+package com.global.lbc.shared.tenant;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+
+import java.security.Principal;
+import java.util.concurrent.TimeUnit;
+
+// ============================================================
+// Decides the tenant of every request, before anything opens a Hibernate session.
+// Resolution order: the tenant claim of the authenticated principal, then the X-Tenant-Id header,
+// then the default tenant. The rules are those of TenantResolution: a header that names another
+// tenant than the token is a 403, and without a token a header may only name a non-default tenant
+// on POST /auth/login (401 anywhere else). Runs after BearerTokenFilter, which sets the principal.
+// Metric per tenant: tenancy.requests{tenant, status} (timer).
+// ============================================================
+@Provider
+@Priority(Priorities.AUTHENTICATION + 20)
+public class TenantResolutionFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    public static final String TENANT_HEADER = "X-Tenant-Id";
+
+    // The one request where an anonymous caller names a tenant other than the default
+    static final String LOGIN_PATH = "/auth/login";
+
+    private static final String STARTED_PROPERTY = TenantResolutionFilter.class.getName() + ".started";
+
+    @Inject
+    TenantContext context;
+
+    @Inject
+    TenantResolution resolution;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        Principal principal = request.getSecurityContext().getUserPrincipal();
+        TenantResolution.Result result = resolution.resolve(request.getHeaderString(TENANT_HEADER), principal,
+                isLogin(request));
+        if (result.isRefused()) {
+            Response.ResponseBuilder refusal = Response.status(result.status())
+                    .type(MediaType.APPLICATION_JSON)
+                    .entity(new ErrorResponse(result.error()));
+            if (result.status() == Response.Status.UNAUTHORIZED.getStatusCode()) {
+                refusal.header(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+            }
+            request.abortWith(refusal.build());
+            return;
+        }
+        context.set(result.tenant());
+        request.setProperty(STARTED_PROPERTY, System.nanoTime());
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        if (!(request.getProperty(STARTED_PROPERTY) instanceof Long started)) {
+            return;
+        }
+        Timer.builder("tenancy.requests")
+                .description("Requests served per tenant")
+                .tag("tenant", context.tenant().id())
+                .tag("status", response.getStatus() / 100 + "xx")
+                .register(meterRegistry)
+                .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    private static boolean isLogin(ContainerRequestContext request) {
+        String path = request.getUriInfo().getPath();
+        return LOGIN_PATH.equals(path.startsWith("/") ? path : "/" + path);
+    }
+
+    public record ErrorResponse(String error) {}
+}
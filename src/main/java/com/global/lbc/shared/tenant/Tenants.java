@@ -0,0 +1,82 @@
+package com.global.lbc.shared.tenant;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.InjectableContext;
+import io.quarkus.arc.ManagedContext;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.Supplier;
+
+// ============================================================
+// TENANTS: the current tenant and the two ways to work on behalf of one.
+//  * current(): tenant of the request; the default tenant outside a request.
+//  * runAs/callAs: runs code (scheduled jobs, event lanes) in a fresh request context bound to
+//    a tenant, so Panache/Hibernate sessions opened inside it use that tenant's schema and are
+//    closed when the work ends. An already active context (a request, or the one Quarkus opens
+//    for @Scheduled methods) is suspended meanwhile: its session stays on its own tenant.
+//  * connection(tenant): a pooled JDBC connection on the tenant's schema, for the raw SQL paths.
+// Every tenant shares the same pools: a tenant is a search_path, not a datasource.
+// ============================================================
+@ApplicationScoped
+public class Tenants {
+
+    @Inject
+    TenantContext context;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    public Tenant current() {
+        if (!Arc.container().requestContext().isActive()) {
+            return Tenant.DEFAULT;
+        }
+        return context.tenant();
+    }
+
+    public Connection connection() throws SQLException {
+        return connection(current());
+    }
+
+    public Connection connection(Tenant tenant) throws SQLException {
+        return TenantConnections.bind(dataSource.getConnection(), tenant);
+    }
+
+    public void runAs(Tenant tenant, Runnable work) {
+        callAs(tenant, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public <T> T callAs(Tenant tenant, Supplier<T> work) {
+        ManagedContext requestContext = Arc.container().requestContext();
+        if (!requestContext.isActive()) {
+            return callInNewContext(requestContext, tenant, work);
+        }
+        if (context.tenant().equals(tenant)) {
+            return work.get();
+        }
+        // The active context may already hold a session bound to its tenant: never switch it in place
+        InjectableContext.ContextState suspended = requestContext.getState();
+        requestContext.deactivate();
+        try {
+            return callInNewContext(requestContext, tenant, work);
+        } finally {
+            requestContext.activate(suspended);
+        }
+    }
+
+    private <T> T callInNewContext(ManagedContext requestContext, Tenant tenant, Supplier<T> work) {
+        requestContext.activate();
+        try {
+            context.set(tenant);
+            return work.get();
+        } finally {
+            requestContext.terminate();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.global.lbc.tools.dataset;
+
+import com.global.lbc.features.employee.apparatus.usecases.any.fiscal.number.strategy.BrazilCPFValidationStrategy;
+import com.global.lbc.features.employee.apparatus.usecases.any.fiscal.number.strategy.PortugalNIFValidationStrategy;
+import com.global.lbc.features.employee.apparatus.usecases.pt.social.number.SocialNumber;
+
+// ============================================================
+// Deterministic, collision-free identifier sequences for synthetic datasets.
+// The n-th identifier is an affine permutation of n (a*n + b mod 10^k, with a coprime
+// to 10), so values look random, are unique by construction and depend only on the seed.
+// Check digits are computed with the same rules the validation strategies enforce.
+//
+// Prefixes avoid the hand-written rows of V1.0.3 (NIFs starting with 2, NISS starting with 1).
+// ============================================================
+public class IdentifierSequence {
+
+    private static final char[] NIF_PREFIXES = {'1', '3'};
+    private static final long NIF_BODY_SPACE = 10_000_000L;        // 7 digits after the prefix
+    private static final long CPF_BODY_SPACE = 1_000_000_000L;     // 9 digits before the check digits
+    private static final long NISS_BODY_SPACE = 10_000_000_000L;   // 10 digits after the leading 2
+
+    private final Permutation nifPermutation;
+    private final Permutation cpfPermutation;
+    private final Permutation nissPermutation;
+
+    private final PortugalNIFValidationStrategy nifStrategy = new PortugalNIFValidationStrategy();
+    private final BrazilCPFValidationStrategy cpfStrategy = new BrazilCPFValidationStrategy();
+
+    public IdentifierSequence(long seed) {
+        this.nifPermutation = new Permutation(nifCapacity(), seed, 1);
+        this.cpfPermutation = new Permutation(CPF_BODY_SPACE, seed, 2);
+        this.nissPermutation = new Permutation(NISS_BODY_SPACE, seed, 3);
+    }
+
+    public static long nifCapacity() {
+        return NIF_BODY_SPACE * NIF_PREFIXES.length;
+    }
+
+    public String nif(long index) {
+        if (index < 0 || index >= nifCapacity()) {
+            throw new IllegalArgumentException("NIF index out of range: " + index);
+        }
+        long value = nifPermutation.apply(index);
+        char prefix = NIF_PREFIXES[(int) (value / NIF_BODY_SPACE)];
+        String base = prefix + pad(value % NIF_BODY_SPACE, 7);
+
+        int sum = 0;
+        for (int i = 0; i < 8; i++) {
+            sum += (base.charAt(i) - '0') * (9 - i);
+        }
+        int check = 11 - (sum % 11);
+        if (check >= 10) check = 0;
+
+        String nif = base + check;
+        if (!nifStrategy.validate(nif)) {
+            throw new IllegalStateException("Generated invalid NIF: " + nif);
+        }
+        return nif;
+    }
+
+    public String cpf(long index) {
+        if (index < 0 || index >= CPF_BODY_SPACE) {
+            throw new IllegalArgumentException("CPF index out of range: " + index);
+        }
+        String base = pad(cpfPermutation.apply(index), 9);
+
+        int sum = 0;
+        for (int i = 0; i < 9; i++) {
+            sum += (base.charAt(i) - '0') * (10 - i);
+        }
+        int first = 11 - (sum % 11);
+        if (first >= 10) first = 0;
+
+        sum = 0;
+        String withFirst = base + first;
+        for (int i = 0; i < 10; i++) {
+            sum += (withFirst.charAt(i) - '0') * (11 - i);
+        }
+        int second = 11 - (sum % 11);
+        if (second >= 10) second = 0;
+
+        String cpf = withFirst + second;
+        if (!cpfStrategy.validate(cpf)) {
+            throw new IllegalStateException("Generated invalid CPF: " + cpf);
+        }
+        return cpf;
+    }
+
+    public String niss(long index) {
+        if (index < 0 || index >= NISS_BODY_SPACE) {
+            throw new IllegalArgumentException("NISS index out of range: " + index);
+        }
+        // SocialNumber.of enforces the same pattern the API accepts
+        return SocialNumber.of("2" + pad(nissPermutation.apply(index), 10)).getValue();
+    }
+
+    private static String pad(long value, int width) {
+        String digits = Long.toString(value);
+        if (digits.length() >= width) {
+            return digits;
+        }
+        return "0".repeat(width - digits.length()) + digits;
+    }
+
+    // Affine bijection on [0, space): multiplier is odd and not a multiple of 5, so it is coprime
+    // with any power of ten. Multipliers stay below 10^8 to keep a*x inside a long.
+    static final class Permutation {
+        private final long space;
+        private final long multiplier;
+        private final long offset;
+
+        Permutation(long space, long seed, int stream) {
+            this.space = space;
+            long a = Math.floorMod(Mixer.mix(seed, stream, 0), Math.min(space, 100_000_000L)) | 1L;
+            while (a % 5 == 0) {
+                a += 2;
+            }
+            this.multiplier = a;
+            this.offset = Math.floorMod(Mixer.mix(seed, stream, 1), space);
+        }
+
+        long apply(long x) {
+            return Math.floorMod(multiplier * x + offset, space);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.global.lbc.tools.dataset;
+
+// SplitMix64 finalizer: turns (seed, stream, index) into well-distributed 64-bit values,
+// so any row can be regenerated independently of the others.
+final class Mixer {
+
+    private Mixer() {
+    }
+
+    static long mix(long seed, long stream, long index) {
+        long z = seed * 0x9E3779B97F4A7C15L + stream * 0xBF58476D1CE4E5B9L + index * 0x94D049BB133111EBL;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
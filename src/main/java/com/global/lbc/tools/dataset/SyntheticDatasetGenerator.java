@@ -0,0 +1,339 @@
+package com.global.lbc.tools.dataset;
+
+import com.global.lbc.features.employee.apparatus.model.util.EmployeeRole;
+import com.global.lbc.features.employee.apparatus.model.util.EmploymentType;
+import com.global.lbc.features.vacation.apparatus.model.util.VacationStatus;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+// ============================================================
+// SYNTHETIC DATASET GENERATOR
+// Produces PostgreSQL COPY files (text format) for employee_profile and vacation_request,
+// plus a load.sql script for psql. Every value is derived from (seed, row index), so the
+// same seed always yields byte-identical files.
+//
+// - NIF / CPF / NISS are unique and pass the application's validation rules (IdentifierSequence).
+// - Managers form a tree with random fan-out (3..10), which gives log-depth hierarchies
+//   (about 8 levels for a couple of million employees).
+// - Each employee gets a vacation history over the last years with non-overlapping periods.
+//
+// Run with: ./mvnw -Pdataset compile exec:java -Ddataset.employees=2000000 -Ddataset.seed=42
+// ============================================================
+public class SyntheticDatasetGenerator {
+
+    public static final String EMPLOYEE_COLUMNS = "id, name, surname, fiscal_number, fiscal_number_country, social_number, "
+            + "date_of_birth, contract_role, employee_role, hire_date, termination_date, salary_base, is_active, "
+            + "deleted_at, deleted_by, manager_id, vacation_days_balance, vacation_days_used, created_at, updated_at";
+
+    public static final String VACATION_COLUMNS = "id, employee_id, start_date, end_date, days_requested, vacation_status, "
+            + "is_active, approving_by, approval_date, request_notes, rejection_reason, deleted_at, deleted_by, "
+            + "created_at, updated_at";
+
+    private static final String NULL = "\\N";
+    private static final int ANNUAL_VACATION_DAYS = 22;
+    private static final int MIN_FAN_OUT = 3;
+    private static final int MAX_FAN_OUT = 10;
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final String[] NAMES = {
+            "Ana", "João", "Maria", "Pedro", "Inês", "Tiago", "Joana", "Rui", "Catarina", "Luís", "Beatriz",
+            "Miguel", "Sofia", "Diogo", "Marta", "Ricardo", "Carla", "Bruno", "Patrícia", "Fernando", "Lucas",
+            "Gabriel", "Larissa", "Rafael", "Camila", "Mateus", "Juliana", "Gustavo", "Fernanda", "Thiago"
+    };
+    private static final String[] SURNAMES = {
+            "Silva", "Santos", "Ferreira", "Pereira", "Oliveira", "Costa", "Rodrigues", "Martins", "Sousa",
+            "Fernandes", "Gonçalves", "Gomes", "Lopes", "Marques", "Alves", "Almeida", "Ribeiro", "Pinto",
+            "Carvalho", "Teixeira", "Moreira", "Correia", "Mendes", "Nunes", "Soares", "Barbosa", "Lima"
+    };
+    private static final EmploymentType[] CONTRACTS = {
+            EmploymentType.FULL_TIME, EmploymentType.FULL_TIME, EmploymentType.FULL_TIME, EmploymentType.PERMANENT,
+            EmploymentType.PERMANENT, EmploymentType.PART_TIME, EmploymentType.FIXED_TERM, EmploymentType.TEMPORARY,
+            EmploymentType.FREELANCE, EmploymentType.INTERNSHIP, EmploymentType.APPRENTICESHIP, EmploymentType.ZERO_HOURS
+    };
+
+    private final long seed;
+    private final int employees;
+    private final int historyYears;
+    private final LocalDate today;
+    private final IdentifierSequence identifiers;
+
+    private int[] managerOf;
+    private boolean[] hasSubordinates;
+    private long vacationRows;
+
+    public SyntheticDatasetGenerator(long seed, int employees, int historyYears, LocalDate today) {
+        if (employees <= 0) {
+            throw new IllegalArgumentException("Employee count must be positive");
+        }
+        if (employees > IdentifierSequence.nifCapacity()) {
+            throw new IllegalArgumentException("Employee count exceeds the NIF space: " + IdentifierSequence.nifCapacity());
+        }
+        this.seed = seed;
+        this.employees = employees;
+        this.historyYears = historyYears;
+        this.today = today;
+        this.identifiers = new IdentifierSequence(seed);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int employees = 1_000_000;
+        long seed = 42L;
+        int years = 3;
+        Path output = Path.of("target", "dataset");
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--employees" -> employees = Integer.parseInt(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--years" -> years = Integer.parseInt(args[++i]);
+                case "--out" -> output = Path.of(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+
+        // "today" is part of the seed contract: fix it with -Ddataset.today=YYYY-MM-DD for byte-identical reruns
+        String fixedToday = System.getProperty("dataset.today");
+        LocalDate today = (fixedToday == null || fixedToday.isBlank()) ? LocalDate.now() : LocalDate.parse(fixedToday);
+
+        long started = System.nanoTime();
+        SyntheticDatasetGenerator generator = new SyntheticDatasetGenerator(seed, employees, years, today);
+        generator.writeTo(output);
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        System.out.printf("Generated %,d employees and %,d vacation requests in %.1fs -> %s%n",
+                employees, generator.vacationRows, seconds, output.toAbsolutePath());
+        System.out.printf("Load with: psql -v ON_ERROR_STOP=1 -d system_vacation_db -f %s%n",
+                output.resolve("load.sql").toAbsolutePath());
+    }
+
+    public void writeTo(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        buildHierarchy();
+
+        try (Writer employeeOut = writer(directory.resolve("employee_profile.copy"));
+             Writer vacationOut = writer(directory.resolve("vacation_request.copy"))) {
+            int ptCount = 0;
+            int brCount = 0;
+            for (int i = 0; i < employees; i++) {
+                SplittableRandom random = new SplittableRandom(Mixer.mix(seed, 10, i));
+                boolean portuguese = random.nextInt(100) < 80;
+                String fiscalNumber = portuguese ? identifiers.nif(ptCount++) : identifiers.cpf(brCount++);
+                writeEmployee(i, random, portuguese, fiscalNumber, employeeOut, vacationOut);
+                if ((i + 1) % 500_000 == 0) {
+                    System.out.printf("  %,d employees written%n", i + 1);
+                }
+            }
+        }
+
+        Files.writeString(directory.resolve("load.sql"), loadScript(), StandardCharsets.UTF_8);
+    }
+
+    public long vacationRows() {
+        return vacationRows;
+    }
+
+    // Breadth-first assignment: managers are taken in index order and each one receives a random
+    // number of direct reports, so a manager always precedes its subordinates in the COPY file.
+    private void buildHierarchy() {
+        managerOf = new int[employees];
+        hasSubordinates = new boolean[employees];
+
+        int roots = Math.min(employees, 1 + employees / 100_000);
+        for (int i = 0; i < roots; i++) {
+            managerOf[i] = -1;
+        }
+
+        int manager = 0;
+        int remaining = fanOut(manager);
+        for (int i = roots; i < employees; i++) {
+            while (remaining == 0) {
+                manager++;
+                remaining = fanOut(manager);
+            }
+            managerOf[i] = manager;
+            hasSubordinates[manager] = true;
+            remaining--;
+        }
+    }
+
+    private int fanOut(int manager) {
+        return MIN_FAN_OUT + (int) Math.floorMod(Mixer.mix(seed, 20, manager), (long) (MAX_FAN_OUT - MIN_FAN_OUT + 1));
+    }
+
+    private void writeEmployee(int index, SplittableRandom random, boolean portuguese, String fiscalNumber,
+                               Writer employeeOut, Writer vacationOut) throws IOException {
+        UUID id = uuid(30, index);
+        String name = NAMES[random.nextInt(NAMES.length)];
+        String surname = SURNAMES[random.nextInt(SURNAMES.length)];
+
+        LocalDate dateOfBirth = LocalDate.of(1960, 1, 1).plusDays(random.nextInt(43 * 365));
+        LocalDate earliestHire = max(dateOfBirth.plusYears(18), LocalDate.of(2005, 1, 1));
+        LocalDate latestHire = today.minusDays(30);
+        LocalDate hireDate = earliestHire.isBefore(latestHire)
+                ? earliestHire.plusDays(random.nextLong(latestHire.toEpochDay() - earliestHire.toEpochDay() + 1))
+                : latestHire;
+
+        EmployeeRole role = managerOf[index] < 0
+                ? EmployeeRole.ADMIN
+                : (hasSubordinates[index] ? EmployeeRole.MANAGER : EmployeeRole.EMPLOYEE);
+        EmploymentType contract = CONTRACTS[random.nextInt(CONTRACTS.length)];
+
+        // Only leaves are soft-deleted, so no active employee ever reports to a deleted manager
+        boolean deleted = !hasSubordinates[index] && managerOf[index] >= 0 && random.nextInt(100) < 3;
+        LocalDateTime createdAt = hireDate.atTime(9, 0);
+        LocalDate terminationDate = null;
+        LocalDateTime deletedAt = null;
+        if (deleted) {
+            terminationDate = hireDate.plusDays(random.nextLong(today.toEpochDay() - hireDate.toEpochDay() + 1));
+            deletedAt = terminationDate.atTime(18, 0);
+        }
+
+        float salary = switch (role) {
+            case ADMIN -> 5000 + random.nextInt(3000);
+            case MANAGER -> 3200 + random.nextInt(1500);
+            case EMPLOYEE -> 1200 + random.nextInt(1800);
+        };
+
+        int usedThisYear = writeVacations(id, hireDate, terminationDate, random, vacationOut);
+
+        StringBuilder row = new StringBuilder(320);
+        row.append(id).append('\t')
+                .append(name).append('\t')
+                .append(surname).append('\t')
+                .append(fiscalNumber).append('\t')
+                .append(portuguese ? "PT" : "BR").append('\t')
+                .append(portuguese ? identifiers.niss(index) : NULL).append('\t')
+                .append(dateOfBirth).append('\t')
+                .append(contract.name()).append('\t')
+                .append(role.name()).append('\t')
+                .append(hireDate).append('\t')
+                .append(terminationDate == null ? NULL : terminationDate.toString()).append('\t')
+                .append(String.format(Locale.ROOT, "%.2f", salary)).append('\t')
+                .append(deleted ? 'f' : 't').append('\t')
+                .append(deletedAt == null ? NULL : TIMESTAMP.format(deletedAt)).append('\t')
+                .append(deleted ? "dataset-generator" : NULL).append('\t')
+                .append(managerOf[index] < 0 ? NULL : uuid(30, managerOf[index]).toString()).append('\t')
+                .append(Math.max(0, ANNUAL_VACATION_DAYS - usedThisYear)).append('\t')
+                .append(usedThisYear).append('\t')
+                .append(TIMESTAMP.format(createdAt)).append('\t')
+                .append(TIMESTAMP.format(deletedAt != null ? deletedAt : createdAt)).append('\n');
+        employeeOut.write(row.toString());
+    }
+
+    // Returns the approved days that fall in the current year (used to derive the balance columns)
+    private int writeVacations(UUID employeeId, LocalDate hireDate, LocalDate terminationDate,
+                               SplittableRandom random, Writer out) throws IOException {
+        int usedThisYear = 0;
+        int firstYear = Math.max(hireDate.getYear(), today.getYear() - historyYears + 1);
+        int lastYear = terminationDate != null ? terminationDate.getYear() : today.getYear() + 1;
+
+        for (int year = firstYear; year <= lastYear; year++) {
+            int requests = random.nextInt(4);
+            if (requests == 0) {
+                continue;
+            }
+            // One request per equal slice of the year keeps the periods non-overlapping
+            int sliceDays = 365 / requests;
+            for (int r = 0; r < requests; r++) {
+                int length = 1 + random.nextInt(10);
+                LocalDate start = LocalDate.of(year, 1, 1).plusDays((long) r * sliceDays + random.nextInt(sliceDays - length));
+                LocalDate end = start.plusDays(length - 1);
+                if (start.isBefore(hireDate) || (terminationDate != null && end.isAfter(terminationDate))) {
+                    continue;
+                }
+
+                VacationStatus status = pickStatus(end, random);
+                int days = (int) (end.toEpochDay() - start.toEpochDay() + 1);
+                if (status == VacationStatus.APPROVED && start.getYear() == today.getYear()) {
+                    usedThisYear += days;
+                }
+                writeVacation(employeeId, start, end, days, status, random, out);
+            }
+        }
+        return Math.min(usedThisYear, ANNUAL_VACATION_DAYS);
+    }
+
+    private VacationStatus pickStatus(LocalDate end, SplittableRandom random) {
+        int roll = random.nextInt(100);
+        if (end.isBefore(today)) {
+            if (roll < 85) return VacationStatus.APPROVED;
+            if (roll < 95) return VacationStatus.REJECTED;
+            return VacationStatus.CANCELLED;
+        }
+        return roll < 60 ? VacationStatus.PENDING : VacationStatus.APPROVED;
+    }
+
+    private void writeVacation(UUID employeeId, LocalDate start, LocalDate end, int days, VacationStatus status,
+                               SplittableRandom random, Writer out) throws IOException {
+        UUID id = uuid(40, vacationRows++);
+        LocalDateTime createdAt = start.minusDays(15 + random.nextInt(60)).atTime(10, 0);
+        boolean decided = status == VacationStatus.APPROVED || status == VacationStatus.REJECTED;
+        LocalDateTime decidedAt = decided ? createdAt.plusDays(1 + random.nextInt(5)) : null;
+
+        StringBuilder row = new StringBuilder(256);
+        row.append(id).append('\t')
+                .append(employeeId).append('\t')
+                .append(start).append('\t')
+                .append(end).append('\t')
+                .append(days).append('\t')
+                .append(status.name()).append('\t')
+                .append(status == VacationStatus.CANCELLED ? 'f' : 't').append('\t')
+                .append(decided ? "dataset-generator" : NULL).append('\t')
+                .append(decidedAt == null ? NULL : TIMESTAMP.format(decidedAt)).append('\t')
+                .append(NULL).append('\t')
+                .append(status == VacationStatus.REJECTED ? "Team coverage" : NULL).append('\t')
+                .append(NULL).append('\t')
+                .append(NULL).append('\t')
+                .append(TIMESTAMP.format(createdAt)).append('\t')
+                .append(TIMESTAMP.format(decidedAt != null ? decidedAt : createdAt)).append('\n');
+        out.write(row.toString());
+    }
+
+    private String loadScript() {
+        return """
+                -- Generated by SyntheticDatasetGenerator (seed %d, %d employees)
+                -- psql -v ON_ERROR_STOP=1 -d system_vacation_db -f load.sql   (run from this directory)
+                BEGIN;
+                \\copy employee_profile (%s) FROM 'employee_profile.copy'
+                \\copy vacation_request (%s) FROM 'vacation_request.copy'
+                -- The balance columns are a projection of the vacation ledger: open it with the same values
+                INSERT INTO vacation_ledger_entry (employee_id, entry_type, balance_delta, used_delta, effective_date, reason, created_by)
+                SELECT id, 'ADJUSTMENT', vacation_days_balance, vacation_days_used, CURRENT_DATE, 'Opening balance', 'dataset'
+                FROM employee_profile p
+                WHERE (vacation_days_balance <> 0 OR vacation_days_used <> 0)
+                  AND NOT EXISTS (SELECT 1 FROM vacation_ledger_entry l WHERE l.employee_id = p.id);
+                COMMIT;
+                ANALYZE employee_profile;
+                ANALYZE vacation_request;
+                ANALYZE vacation_ledger_entry;
+                """.formatted(seed, employees, EMPLOYEE_COLUMNS, VACATION_COLUMNS);
+    }
+
+    private UUID uuid(long stream, long index) {
+        long most = Mixer.mix(seed, stream, index);
+        long least = Mixer.mix(seed, stream + 1, index);
+        // Version 4 / IETF variant bits so the values look like ordinary random UUIDs
+        most = (most & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000004000L;
+        least = (least & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(most, least);
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static Writer writer(Path file) throws IOException {
+        return new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8), 1 << 20);
+    }
+}
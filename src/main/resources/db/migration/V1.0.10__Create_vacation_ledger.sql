@@ -0,0 +1,70 @@
+-- V1.0.10__Create_vacation_ledger.sql
+-- Razão (ledger) de dias de férias: cada movimento é uma linha nova, nunca alterada nem apagada.
+-- employee_profile.vacation_days_balance / vacation_days_used passam a ser uma projeção em cache,
+-- escrita pelo VacationLedger na mesma transação de cada movimento.
+-- Saldo numa data = último snapshot até essa data + soma dos movimentos posteriores ao snapshot.
+
+-- 1) Movimentos
+CREATE TABLE IF NOT EXISTS vacation_ledger_entry (
+    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+
+    employee_id UUID NOT NULL,
+
+    -- Pedido de férias que originou o movimento (DEBIT/REVERSAL). Sem FK: vacation_request é
+    -- particionada e a sua chave é (id, start_date)
+    vacation_id UUID,
+
+    -- ACCRUAL, DEBIT, REVERSAL ou ADJUSTMENT
+    entry_type VARCHAR(20) NOT NULL,
+
+    -- Variação dos dias disponíveis e dos dias gozados (com sinal)
+    balance_delta BIGINT NOT NULL,
+    used_delta BIGINT NOT NULL DEFAULT 0,
+
+    -- Dia a que o movimento pertence: sempre o dia em que foi lançado (não há lançamentos retroativos,
+    -- por isso um snapshot de um dia passado nunca fica desatualizado)
+    effective_date DATE NOT NULL,
+
+    reason TEXT,
+    created_by VARCHAR(255),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    -- CASCADE: o purge de arquivo só remove colaboradores sem pedidos de férias
+    CONSTRAINT fk_ledger_employee FOREIGN KEY (employee_id) REFERENCES employee_profile(id) ON DELETE CASCADE,
+    CONSTRAINT chk_ledger_entry_type CHECK (entry_type IN ('ACCRUAL', 'DEBIT', 'REVERSAL', 'ADJUSTMENT'))
+);
+
+-- Delta desde o último snapshot (index-only scan) e movimentos de um pedido
+CREATE INDEX IF NOT EXISTS idx_ledger_employee_date
+    ON vacation_ledger_entry(employee_id, effective_date) INCLUDE (balance_delta, used_delta);
+CREATE INDEX IF NOT EXISTS idx_ledger_vacation
+    ON vacation_ledger_entry(vacation_id) INCLUDE (balance_delta) WHERE vacation_id IS NOT NULL;
+
+-- 2) Snapshots: saldo no fim de as_of_date, escritos pelo job noturno
+CREATE TABLE IF NOT EXISTS vacation_balance_snapshot (
+    employee_id UUID NOT NULL,
+    as_of_date DATE NOT NULL,
+    balance BIGINT NOT NULL,
+    used BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT pk_vacation_balance_snapshot PRIMARY KEY (employee_id, as_of_date),
+    CONSTRAINT fk_snapshot_employee FOREIGN KEY (employee_id) REFERENCES employee_profile(id) ON DELETE CASCADE
+);
+
+-- 3) Saldo de abertura: os valores atuais das colunas entram como um ajuste de hoje
+INSERT INTO vacation_ledger_entry (employee_id, entry_type, balance_delta, used_delta, effective_date, reason, created_by)
+SELECT id, 'ADJUSTMENT', COALESCE(vacation_days_balance, 0), COALESCE(vacation_days_used, 0), CURRENT_DATE,
+       'Opening balance', 'migration'
+FROM employee_profile
+WHERE COALESCE(vacation_days_balance, 0) <> 0 OR COALESCE(vacation_days_used, 0) <> 0;
+
+COMMENT ON TABLE vacation_ledger_entry IS 'Append-only vacation day movements; source of truth for balances';
+COMMENT ON COLUMN vacation_ledger_entry.vacation_id IS 'Vacation request that caused the movement (DEBIT/REVERSAL)';
+COMMENT ON COLUMN vacation_ledger_entry.entry_type IS 'ACCRUAL, DEBIT, REVERSAL or ADJUSTMENT';
+COMMENT ON COLUMN vacation_ledger_entry.balance_delta IS 'Change in available days (signed)';
+COMMENT ON COLUMN vacation_ledger_entry.used_delta IS 'Change in used days (signed)';
+COMMENT ON COLUMN vacation_ledger_entry.effective_date IS 'Day the movement was posted; balances as of a date include it from that day on';
+COMMENT ON TABLE vacation_balance_snapshot IS 'Balance at the end of as_of_date, so balance queries only sum the movements after it';
+COMMENT ON COLUMN employee_profile.vacation_days_balance IS 'Available vacation days (projection of vacation_ledger_entry)';
+COMMENT ON COLUMN employee_profile.vacation_days_used IS 'Used vacation days (projection of vacation_ledger_entry)';
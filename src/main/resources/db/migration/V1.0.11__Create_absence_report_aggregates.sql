@@ -0,0 +1,165 @@
+-- V1.0.11__Create_absence_report_aggregates.sql
+-- Relatório de ausências: dias de férias aprovadas por mês e por dimensão (employee_role,
+-- contract_role e equipa = manager_id), pré-calculados em absence_monthly_aggregate.
+-- Não é um MATERIALIZED VIEW: um REFRESH recalcula tudo. Aqui os triggers marcam apenas os meses
+-- afetados por cada alteração (absence_report_dirty_month) e o AbsenceReportRefresher recalcula
+-- esses meses em segundo plano com fn_refresh_absence_report.
+--
+-- Notas:
+--  * Um pedido que atravessa meses conta em cada mês os dias de calendário que lá caem (a mesma
+--    contagem do VacationDaysBtCalculator).
+--  * As dimensões são as atuais do colaborador: mudar o papel, o tipo de contrato ou o gestor
+--    volta a marcar todos os meses com férias aprovadas desse colaborador.
+
+-- 1) Agregados
+CREATE TABLE IF NOT EXISTS absence_monthly_aggregate (
+    -- Primeiro dia do mês
+    month DATE NOT NULL,
+
+    -- ROLE, EMPLOYMENT_TYPE ou TEAM
+    dimension VARCHAR(20) NOT NULL,
+
+    -- Valor do enum (ROLE / EMPLOYMENT_TYPE), manager_id do gestor ou 'NONE' (TEAM)
+    dimension_key VARCHAR(100) NOT NULL,
+
+    days_off BIGINT NOT NULL,
+    requests BIGINT NOT NULL,
+    employees BIGINT NOT NULL,
+    refreshed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    -- Serve "dimension = ? AND month BETWEEN ? AND ? ORDER BY month, dimension_key" sem Sort
+    CONSTRAINT pk_absence_monthly_aggregate PRIMARY KEY (dimension, month, dimension_key),
+    CONSTRAINT chk_absence_dimension CHECK (dimension IN ('ROLE', 'EMPLOYMENT_TYPE', 'TEAM'))
+);
+
+-- 2) Meses a recalcular
+CREATE TABLE IF NOT EXISTS absence_report_dirty_month (
+    month DATE PRIMARY KEY,
+    marked_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Pedidos aprovados que tocam um mês (end_date >= início AND start_date <= fim)
+CREATE INDEX IF NOT EXISTS idx_vacation_approved_period
+    ON vacation_request(end_date, start_date) INCLUDE (employee_id)
+    WHERE vacation_status = 'APPROVED' AND is_active = TRUE;
+
+-- 3) Marcação dos meses afetados
+CREATE OR REPLACE FUNCTION fn_mark_absence_months(p_start DATE, p_end DATE)
+RETURNS VOID AS $$
+BEGIN
+    IF p_start IS NULL OR p_end IS NULL OR p_end < p_start THEN
+        RETURN;
+    END IF;
+    INSERT INTO absence_report_dirty_month (month)
+    SELECT generate_series(date_trunc('month', p_start), date_trunc('month', p_end), INTERVAL '1 month')::DATE
+    ON CONFLICT (month) DO NOTHING;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Só interessam linhas aprovadas e ativas, antes (OLD) e depois (NEW) da alteração: mover as datas
+-- de um pedido aprovado marca tanto os meses antigos como os novos
+CREATE OR REPLACE FUNCTION fn_vacation_absence_changed()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'UPDATE'
+       AND (OLD.vacation_status, OLD.is_active, OLD.start_date, OLD.end_date, OLD.employee_id)
+           IS NOT DISTINCT FROM (NEW.vacation_status, NEW.is_active, NEW.start_date, NEW.end_date, NEW.employee_id) THEN
+        RETURN NULL;
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.vacation_status = 'APPROVED' AND OLD.is_active THEN
+        PERFORM fn_mark_absence_months(OLD.start_date, OLD.end_date);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.vacation_status = 'APPROVED' AND NEW.is_active THEN
+        PERFORM fn_mark_absence_months(NEW.start_date, NEW.end_date);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_vacation_absence_changed
+AFTER INSERT OR UPDATE OR DELETE ON vacation_request
+FOR EACH ROW
+EXECUTE FUNCTION fn_vacation_absence_changed();
+
+CREATE OR REPLACE FUNCTION fn_employee_absence_changed()
+RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM fn_mark_absence_months(v.start_date, v.end_date)
+    FROM vacation_request v
+    WHERE v.employee_id = NEW.id AND v.vacation_status = 'APPROVED' AND v.is_active = TRUE;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_employee_absence_changed
+AFTER UPDATE OF employee_role, contract_role, manager_id ON employee_profile
+FOR EACH ROW
+WHEN ((OLD.employee_role, OLD.contract_role, OLD.manager_id) IS DISTINCT FROM
+      (NEW.employee_role, NEW.contract_role, NEW.manager_id))
+EXECUTE FUNCTION fn_employee_absence_changed();
+
+-- 4) Recalcula um mês: uma passagem pelos pedidos aprovados do mês, agrupada por colaborador e
+-- depois pelas três dimensões de uma vez (GROUPING SETS)
+CREATE OR REPLACE FUNCTION fn_refresh_absence_month(p_month DATE)
+RETURNS VOID AS $$
+DECLARE
+    v_last DATE := (p_month + INTERVAL '1 month' - INTERVAL '1 day')::DATE;
+BEGIN
+    DELETE FROM absence_monthly_aggregate WHERE month = p_month;
+
+    INSERT INTO absence_monthly_aggregate (month, dimension, dimension_key, days_off, requests, employees)
+    WITH per_employee AS (
+        SELECT e.employee_role, e.contract_role, e.manager_id,
+               SUM(LEAST(v.end_date, v_last) - GREATEST(v.start_date, p_month) + 1) AS days_off,
+               COUNT(*) AS requests
+        FROM vacation_request v
+        JOIN employee_profile e ON e.id = v.employee_id
+        WHERE v.vacation_status = 'APPROVED' AND v.is_active = TRUE
+          AND v.end_date >= p_month AND v.start_date <= v_last
+        GROUP BY v.employee_id, e.employee_role, e.contract_role, e.manager_id
+    )
+    SELECT p_month,
+           CASE WHEN GROUPING(employee_role) = 0 THEN 'ROLE'
+                WHEN GROUPING(contract_role) = 0 THEN 'EMPLOYMENT_TYPE'
+                ELSE 'TEAM' END,
+           CASE WHEN GROUPING(employee_role) = 0 THEN employee_role
+                WHEN GROUPING(contract_role) = 0 THEN contract_role
+                ELSE COALESCE(manager_id::TEXT, 'NONE') END,
+           SUM(days_off), SUM(requests), COUNT(*)
+    FROM per_employee
+    GROUP BY GROUPING SETS ((employee_role), (contract_role), (manager_id));
+END;
+$$ LANGUAGE plpgsql;
+
+-- Consome até p_limit meses marcados. SKIP LOCKED: várias instâncias podem correr em paralelo
+-- sem recalcular o mesmo mês; um mês marcado de novo durante o recálculo volta à fila
+CREATE OR REPLACE FUNCTION fn_refresh_absence_report(p_limit INTEGER)
+RETURNS INTEGER AS $$
+DECLARE
+    v_month DATE;
+    v_refreshed INTEGER := 0;
+BEGIN
+    FOR v_month IN
+        DELETE FROM absence_report_dirty_month
+        WHERE month IN (SELECT month FROM absence_report_dirty_month ORDER BY month LIMIT p_limit FOR UPDATE SKIP LOCKED)
+        RETURNING month
+    LOOP
+        PERFORM fn_refresh_absence_month(v_month);
+        v_refreshed := v_refreshed + 1;
+    END LOOP;
+    RETURN v_refreshed;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 5) Carga inicial: marca todos os meses com férias aprovadas; o refresher calcula-os no arranque
+SELECT fn_mark_absence_months(v.start_date, v.end_date)
+FROM vacation_request v
+WHERE v.vacation_status = 'APPROVED' AND v.is_active = TRUE;
+
+COMMENT ON TABLE absence_monthly_aggregate IS 'Approved vacation days per month and dimension (ROLE, EMPLOYMENT_TYPE, TEAM), refreshed per affected month';
+COMMENT ON COLUMN absence_monthly_aggregate.month IS 'First day of the month';
+COMMENT ON COLUMN absence_monthly_aggregate.dimension_key IS 'Enum value for ROLE/EMPLOYMENT_TYPE, manager id or NONE for TEAM';
+COMMENT ON COLUMN absence_monthly_aggregate.days_off IS 'Calendar days of approved vacations falling in the month';
+COMMENT ON COLUMN absence_monthly_aggregate.requests IS 'Approved requests overlapping the month';
+COMMENT ON COLUMN absence_monthly_aggregate.employees IS 'Distinct employees with approved days in the month';
+COMMENT ON TABLE absence_report_dirty_month IS 'Months whose aggregates are stale; filled by triggers, drained by fn_refresh_absence_report';
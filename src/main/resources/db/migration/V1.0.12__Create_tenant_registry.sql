@@ -0,0 +1,117 @@
+-- V1.0.12__Create_tenant_registry.sql
+-- Multi-tenancy: uma empresa cliente por schema. O tenant "default" continua em public; cada outro
+-- tenant tem o seu schema tenant_<id> com todas as tabelas, criado e migrado pelo TenantMigrator
+-- com estas mesmas migrações (uma flyway_schema_history por schema).
+--
+-- Notas:
+--  * Este script corre uma vez em public e uma vez em cada schema de tenant. Tudo o que é partilhado
+--    é qualificado com public. e usa IF NOT EXISTS; o resto é criado no schema a migrar.
+--  * Durante a migração de um tenant o search_path é "tenant_<id>, <search_path original>".
+--    fn_ensure_yearly_partition / fn_detach_yearly_partition (V1.0.4) procuravam as partições sem
+--    schema e encontravam as de public: passam a procurar só no schema da função (current_schema()).
+--  * Partições desanexadas vão para vacation_archive (public) ou <schema>_archive (tenants), para
+--    que anos iguais de tenants diferentes não colidam.
+
+-- 1) Registo de tenants (partilhado)
+CREATE TABLE IF NOT EXISTS public.tenant_registry (
+    -- [a-z][a-z0-9_]{1,39}; o schema é tenant_<id>
+    id VARCHAR(40) PRIMARY KEY,
+    display_name VARCHAR(200) NOT NULL,
+
+    -- FALSE enquanto o schema está a ser criado/migrado: nenhuma instância o serve antes disso
+    is_active BOOLEAN NOT NULL DEFAULT FALSE,
+
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT chk_tenant_id CHECK (id ~ '^[a-z][a-z0-9_]{1,39}$')
+);
+
+COMMENT ON TABLE public.tenant_registry IS
+    'Tenants served by the application besides "default" (schema public). Schema of a tenant: tenant_<id>.';
+
+-- 2) Funções de partições limitadas ao schema corrente
+CREATE OR REPLACE FUNCTION fn_ensure_yearly_partition(p_table TEXT, p_year INTEGER)
+RETURNS BOOLEAN AS $$
+DECLARE
+    v_schema TEXT := current_schema();
+    v_partition TEXT := format('%s_y%s', p_table, p_year);
+    v_from DATE := make_date(p_year, 1, 1);
+    v_to DATE := make_date(p_year + 1, 1, 1);
+    v_default TEXT := format('%s_default', p_table);
+    v_staging TEXT := format('%s_y%s_staging', p_table, p_year);
+BEGIN
+    IF to_regclass(format('%I.%I', v_schema, v_partition)) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    -- Se a partição DEFAULT já tem linhas deste ano, o CREATE ... PARTITION OF falharia:
+    -- move-as temporariamente para fora, cria a partição e reinsere-as pelo pai.
+    IF to_regclass(format('%I.%I', v_schema, v_default)) IS NOT NULL THEN
+        EXECUTE format(
+            'CREATE TEMP TABLE %I ON COMMIT DROP AS SELECT * FROM %I.%I WHERE start_date >= %L AND start_date < %L',
+            v_staging, v_schema, v_default, v_from, v_to);
+        EXECUTE format('DELETE FROM %I.%I WHERE start_date >= %L AND start_date < %L', v_schema, v_default, v_from, v_to);
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I.%I PARTITION OF %I.%I FOR VALUES FROM (%L) TO (%L)',
+                   v_schema, v_partition, v_schema, p_table, v_from, v_to);
+
+    IF to_regclass(format('%I.%I', v_schema, v_default)) IS NOT NULL THEN
+        EXECUTE format('INSERT INTO %I.%I SELECT * FROM pg_temp.%I', v_schema, p_table, v_staging);
+        EXECUTE format('DROP TABLE pg_temp.%I', v_staging);
+    END IF;
+
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION fn_ensure_yearly_partition(TEXT, INTEGER) IS
+    'Creates <table>_y<year> in the current schema as a yearly RANGE partition on start_date if it does not exist yet. Returns true when a partition was created.';
+
+CREATE OR REPLACE FUNCTION fn_detach_yearly_partition(p_table TEXT, p_year INTEGER, p_tablespace TEXT DEFAULT NULL)
+RETURNS BOOLEAN AS $$
+DECLARE
+    v_schema TEXT := current_schema();
+    v_archive TEXT := CASE WHEN current_schema() = 'public' THEN 'vacation_archive' ELSE current_schema() || '_archive' END;
+    v_partition TEXT := format('%s_y%s', p_table, p_year);
+BEGIN
+    IF to_regclass(format('%I.%I', v_schema, v_partition)) IS NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    EXECUTE format('ALTER TABLE %I.%I DETACH PARTITION %I.%I', v_schema, p_table, v_schema, v_partition);
+
+    IF p_tablespace IS NOT NULL THEN
+        EXECUTE format('ALTER TABLE %I.%I SET TABLESPACE %I', v_schema, v_partition, p_tablespace);
+    END IF;
+
+    EXECUTE format('CREATE SCHEMA IF NOT EXISTS %I', v_archive);
+    EXECUTE format('ALTER TABLE %I.%I SET SCHEMA %I', v_schema, v_partition, v_archive);
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION fn_detach_yearly_partition(TEXT, INTEGER, TEXT) IS
+    'Detaches <table>_y<year> of the current schema, optionally moves it to a cheaper tablespace, and parks it in vacation_archive (public) or <schema>_archive.';
+
+-- 3) Partições em falta neste schema: em schemas de tenant as de V1.0.4 não chegaram a ser criadas
+--    (to_regclass encontrava as de public) e as linhas ficaram na partição DEFAULT
+DO $$
+DECLARE
+    v_table TEXT;
+    v_year INTEGER;
+BEGIN
+    FOREACH v_table IN ARRAY ARRAY['vacation_request', 'vacation_booking'] LOOP
+        FOR v_year IN
+            EXECUTE format('SELECT DISTINCT EXTRACT(YEAR FROM start_date)::INTEGER FROM %I.%I',
+                           current_schema(), v_table || '_default')
+        LOOP
+            PERFORM fn_ensure_yearly_partition(v_table, v_year);
+        END LOOP;
+        FOR v_year IN EXTRACT(YEAR FROM CURRENT_DATE)::INTEGER..EXTRACT(YEAR FROM CURRENT_DATE)::INTEGER + 1 LOOP
+            PERFORM fn_ensure_yearly_partition(v_table, v_year);
+        END LOOP;
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,62 @@
+-- V1.0.13__Guard_vacation_request_with_bookings.sql
+-- Completa o substituto de fk_booking_vacation (V1.0.4). trg_booking_vacation_exists só protegia o lado
+-- do booking; apagar um vacation_request (ou mudar-lhe o id) deixava bookings órfãos. Passa a ser
+-- recusado enquanto houver bookings a apontar para o pedido, como faria um ON DELETE RESTRICT.
+--
+-- Notas:
+--  * O trigger é AFTER e não BEFORE: num UPDATE de start_date que muda o pedido de partição o PostgreSQL
+--    faz DELETE + INSERT e dispara os BEFORE DELETE da partição de origem, mas não os AFTER DELETE.
+--    Assim só um DELETE verdadeiro (ou uma mudança de id) é verificado.
+--  * O ArchivePurgeService move primeiro os bookings e só arquiva pedidos sem bookings: não é afetado.
+--  * As duas funções procuram as tabelas no schema da tabela que disparou o trigger (TG_TABLE_SCHEMA)
+--    e não no search_path, para que cada tenant só veja os seus bookings e pedidos.
+
+-- 1) booking -> request, agora limitado ao schema do booking
+CREATE OR REPLACE FUNCTION fn_booking_vacation_exists()
+RETURNS TRIGGER AS $$
+DECLARE
+    v_exists BOOLEAN;
+BEGIN
+    EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I.vacation_request WHERE id = $1)', TG_TABLE_SCHEMA)
+       INTO v_exists
+      USING NEW.vacation_id;
+    IF NOT v_exists THEN
+        RAISE EXCEPTION 'vacation_request % does not exist', NEW.vacation_id
+            USING ERRCODE = 'foreign_key_violation';
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 2) request -> bookings: recusa apagar (ou mudar o id de) um pedido que ainda tem bookings
+CREATE OR REPLACE FUNCTION fn_vacation_request_has_no_bookings()
+RETURNS TRIGGER AS $$
+DECLARE
+    v_referenced BOOLEAN;
+BEGIN
+    IF TG_OP = 'UPDATE' AND NEW.id = OLD.id THEN
+        RETURN NULL;
+    END IF;
+
+    EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I.vacation_booking WHERE vacation_id = $1)
+                    AND NOT EXISTS (SELECT 1 FROM %I.vacation_request WHERE id = $1)',
+                   TG_TABLE_SCHEMA, TG_TABLE_SCHEMA)
+       INTO v_referenced
+      USING OLD.id;
+    IF v_referenced THEN
+        RAISE EXCEPTION 'vacation_request % is still referenced by vacation_booking', OLD.id
+            USING ERRCODE = 'foreign_key_violation';
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_vacation_request_has_no_bookings
+AFTER DELETE OR UPDATE OF id ON vacation_request
+FOR EACH ROW
+EXECUTE FUNCTION fn_vacation_request_has_no_bookings();
+
+COMMENT ON FUNCTION fn_vacation_request_has_no_bookings() IS
+    'Rejects deleting a vacation_request (or changing its id) while vacation_booking rows still reference it.';
+COMMENT ON COLUMN vacation_booking.vacation_id IS
+    'References vacation_request.id (checked by trg_booking_vacation_exists and trg_vacation_request_has_no_bookings)';
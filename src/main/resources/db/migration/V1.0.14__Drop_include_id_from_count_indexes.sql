@@ -0,0 +1,13 @@
+-- V1.0.14__Drop_include_id_from_count_indexes.sql
+-- idx_employee_active_role e idx_employee_active_contract_role (V1.0.6) levavam INCLUDE (id) "para o
+-- index-only scan do count". countByRole / countByEmploymentType fazem count(*): o index-only scan
+-- só precisa das colunas do predicado, que já são a chave do índice. O id só tornava o índice maior
+-- (16 bytes por linha) e cada escrita em employee_profile mais cara.
+
+DROP INDEX IF EXISTS idx_employee_active_role;
+CREATE INDEX IF NOT EXISTS idx_employee_active_role
+    ON employee_profile(employee_role) WHERE is_active = TRUE;
+
+DROP INDEX IF EXISTS idx_employee_active_contract_role;
+CREATE INDEX IF NOT EXISTS idx_employee_active_contract_role
+    ON employee_profile(contract_role) WHERE is_active = TRUE;
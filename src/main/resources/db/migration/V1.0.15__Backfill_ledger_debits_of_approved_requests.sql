@@ -0,0 +1,29 @@
+-- V1.0.15__Backfill_ledger_debits_of_approved_requests.sql
+-- Pedidos aprovados antes do ledger (V1.0.10) não têm DEBIT: o VacationLedger.settle via 0 dias debitados,
+-- por isso cancelar ou rejeitar um desses pedidos não devolvia nada e editá-lo debitava os dias todos outra vez.
+--
+-- Notas:
+--  * O saldo de abertura de V1.0.10 é o valor que estava em employee_profile, já com estas férias contadas.
+--    Cada DEBIT vem acompanhado de um ADJUSTMENT de sentido contrário (sem vacation_id): o saldo e os dias
+--    gozados não mudam, mas o pedido passa a ter o débito que um cancelamento/rejeição/edição acerta.
+--  * Os dois movimentos são de hoje, como todos os outros: nenhum snapshot existente fica desatualizado.
+--  * Só pedidos APPROVED ativos sem nenhum movimento: correr outra vez (ou noutro schema) não duplica nada.
+
+CREATE TEMP TABLE ledger_backfill ON COMMIT DROP AS
+SELECT v.id, v.employee_id, v.days_requested
+FROM vacation_request v
+WHERE v.vacation_status = 'APPROVED' AND v.is_active = TRUE
+  AND NOT EXISTS (SELECT 1 FROM vacation_ledger_entry e WHERE e.vacation_id = v.id);
+
+INSERT INTO vacation_ledger_entry (employee_id, vacation_id, entry_type, balance_delta, used_delta, effective_date,
+                                   reason, created_by)
+SELECT b.employee_id, b.id, 'DEBIT', -b.days_requested, b.days_requested, CURRENT_DATE,
+       'Backfill: approved before the ledger', 'migration'
+FROM ledger_backfill b;
+
+INSERT INTO vacation_ledger_entry (employee_id, entry_type, balance_delta, used_delta, effective_date, reason, created_by)
+SELECT b.employee_id, 'ADJUSTMENT', b.days_requested, -b.days_requested, CURRENT_DATE,
+       'Backfill: debit already included in the opening balance', 'migration'
+FROM ledger_backfill b;
+
+DROP TABLE ledger_backfill;
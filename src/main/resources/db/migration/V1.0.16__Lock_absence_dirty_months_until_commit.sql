@@ -0,0 +1,39 @@
+-- V1.0.16__Lock_absence_dirty_months_until_commit.sql
+-- fn_mark_absence_months (V1.0.11) fazia ON CONFLICT (month) DO NOTHING: um mês que já estava
+-- marcado ficava sem lock. O recálculo podia então levá-lo (FOR UPDATE SKIP LOCKED) e recalculá-lo
+-- antes do commit da alteração que o marcou de novo, e o mês ficava limpo mas desatualizado.
+-- Com DO UPDATE a linha fica bloqueada até ao commit de quem marca: o SKIP LOCKED salta-a e o mês
+-- continua na fila; se o recálculo a levou primeiro, o INSERT espera pelo DELETE e volta a criá-la.
+--
+-- Os meses são marcados por ordem (e sem repetidos, que um DO UPDATE não aceita duas vezes no mesmo
+-- comando), para que duas transações que marcam os mesmos meses não bloqueiem uma à outra.
+
+CREATE OR REPLACE FUNCTION fn_mark_absence_months(p_start DATE, p_end DATE)
+RETURNS VOID AS $$
+BEGIN
+    IF p_start IS NULL OR p_end IS NULL OR p_end < p_start THEN
+        RETURN;
+    END IF;
+    INSERT INTO absence_report_dirty_month (month)
+    SELECT generate_series(date_trunc('month', p_start), date_trunc('month', p_end), INTERVAL '1 month')::DATE
+    ORDER BY 1
+    ON CONFLICT (month) DO UPDATE SET marked_at = CURRENT_TIMESTAMP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Todos os meses dos pedidos aprovados do colaborador num só INSERT ordenado, em vez de um por pedido
+CREATE OR REPLACE FUNCTION fn_employee_absence_changed()
+RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO absence_report_dirty_month (month)
+    SELECT DISTINCT m.month
+    FROM vacation_request v
+    CROSS JOIN LATERAL generate_series(date_trunc('month', v.start_date), date_trunc('month', v.end_date),
+                                       INTERVAL '1 month') AS m(month)
+    WHERE v.employee_id = NEW.id AND v.vacation_status = 'APPROVED' AND v.is_active = TRUE
+      AND v.start_date IS NOT NULL AND v.end_date IS NOT NULL AND v.end_date >= v.start_date
+    ORDER BY m.month
+    ON CONFLICT (month) DO UPDATE SET marked_at = CURRENT_TIMESTAMP;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
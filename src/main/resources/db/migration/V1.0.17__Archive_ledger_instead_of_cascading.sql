@@ -0,0 +1,35 @@
+-- V1.0.17__Archive_ledger_instead_of_cascading.sql
+-- fk_ledger_employee e fk_snapshot_employee (V1.0.10) eram ON DELETE CASCADE: apagar um colaborador
+-- (ArchivePurgeService ou EmployeeService.purgeEmployee) apagava em silêncio todos os seus movimentos,
+-- que deviam ser append-only. Passam a NO ACTION e quem apaga o colaborador move antes os movimentos e
+-- os snapshots para as tabelas de arquivo, como já acontece com os pedidos de férias (V1.0.5).
+-- NO ACTION (e não RESTRICT) porque a verificação fica para o fim do comando: o purge move os movimentos
+-- e apaga o colaborador num só comando (CTEs), e a ordem entre as CTEs não é garantida.
+
+-- 1) Tabelas de arquivo (mesmas colunas + archived_at, sem FKs)
+CREATE TABLE IF NOT EXISTS vacation_ledger_entry_archive (
+    LIKE vacation_ledger_entry INCLUDING DEFAULTS
+);
+ALTER TABLE vacation_ledger_entry_archive ADD COLUMN archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+CREATE TABLE IF NOT EXISTS vacation_balance_snapshot_archive (
+    LIKE vacation_balance_snapshot INCLUDING DEFAULTS
+);
+ALTER TABLE vacation_balance_snapshot_archive ADD COLUMN archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_ledger_archive_employee_id ON vacation_ledger_entry_archive(employee_id);
+CREATE INDEX IF NOT EXISTS idx_snapshot_archive_employee_id ON vacation_balance_snapshot_archive(employee_id);
+
+-- 2) Sem cascade: um DELETE do colaborador que ainda tenha movimentos falha em vez de os apagar
+ALTER TABLE vacation_ledger_entry DROP CONSTRAINT fk_ledger_employee;
+ALTER TABLE vacation_ledger_entry ADD CONSTRAINT fk_ledger_employee
+    FOREIGN KEY (employee_id) REFERENCES employee_profile(id) ON DELETE NO ACTION;
+
+ALTER TABLE vacation_balance_snapshot DROP CONSTRAINT fk_snapshot_employee;
+ALTER TABLE vacation_balance_snapshot ADD CONSTRAINT fk_snapshot_employee
+    FOREIGN KEY (employee_id) REFERENCES employee_profile(id) ON DELETE NO ACTION;
+
+COMMENT ON TABLE vacation_ledger_entry_archive IS 'Ledger movements of purged employees (copy of vacation_ledger_entry rows at purge time)';
+COMMENT ON TABLE vacation_balance_snapshot_archive IS 'Balance snapshots of purged employees (copy of vacation_balance_snapshot rows at purge time)';
+COMMENT ON COLUMN vacation_ledger_entry_archive.archived_at IS 'Timestamp when the row was moved to the archive';
+COMMENT ON COLUMN vacation_balance_snapshot_archive.archived_at IS 'Timestamp when the row was moved to the archive';
@@ -0,0 +1,16 @@
+-- V1.0.18__Correct_booking_guard_trigger_comment.sql
+-- Corrige a nota de V1.0.13 sobre trg_vacation_request_has_no_bookings (V1.0.13 já foi aplicada e não
+-- pode ser editada sem mudar o checksum). A nota dizia que, num UPDATE de start_date que muda o pedido
+-- de partição, o PostgreSQL não dispara os AFTER DELETE. Dispara: o movimento entre partições é um
+-- DELETE na partição de origem seguido de um INSERT na de destino, e correm os triggers de linha de
+-- DELETE e de INSERT (BEFORE e AFTER) das duas partições; só os AFTER UPDATE não correm.
+--
+-- O trigger continua correto por causa do NOT EXISTS: sendo AFTER, corre no fim do comando, quando a
+-- linha já está na partição de destino com o mesmo id; o pedido ainda existe e os bookings continuam
+-- válidos, por isso nada é recusado. Só um DELETE verdadeiro (ou uma mudança de id) é recusado.
+-- Nenhuma função ou trigger muda aqui, só a descrição guardada na base de dados.
+
+COMMENT ON TRIGGER trg_vacation_request_has_no_bookings ON vacation_request IS
+    'Rejects deleting a vacation_request (or changing its id) while vacation_booking rows still reference it. '
+    'Also fires as AFTER DELETE when an UPDATE moves the row to another partition; the NOT EXISTS check '
+    'finds the row in its new partition and lets the move through.';
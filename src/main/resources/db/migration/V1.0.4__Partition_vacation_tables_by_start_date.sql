@@ -0,0 +1,240 @@
+-- V1.0.4__Partition_vacation_tables_by_start_date.sql
+-- Converte vacation_request e vacation_booking em tabelas particionadas por ano (RANGE em start_date).
+-- Quase todas as consultas tocam o ano corrente e o seguinte; com partições anuais o planner
+-- descarta (prune) os anos antigos e os anos fechados podem ser desanexados para armazenamento barato.
+--
+-- Notas:
+--  * Em tabelas particionadas a PK tem de incluir a chave de partição: passa a ser (id, start_date).
+--    O id continua a ser único na prática (gen_random_uuid) e o Hibernate continua a mapear só o id.
+--  * fk_booking_vacation deixa de ser possível (vacation_request.id sozinho já não é uma chave única);
+--    a integridade booking -> request fica garantida pelo trigger trg_booking_vacation_exists.
+--  * Novas partições são criadas pelo job VacationPartitionMaintenance (fn_ensure_yearly_partition);
+--    linhas fora de qualquer partição anual caem na partição DEFAULT e nunca são rejeitadas.
+
+-- 1) Funções de manutenção de partições
+CREATE OR REPLACE FUNCTION fn_ensure_yearly_partition(p_table TEXT, p_year INTEGER)
+RETURNS BOOLEAN AS $$
+DECLARE
+    v_partition TEXT := format('%s_y%s', p_table, p_year);
+    v_from DATE := make_date(p_year, 1, 1);
+    v_to DATE := make_date(p_year + 1, 1, 1);
+    v_default TEXT := format('%s_default', p_table);
+    v_staging TEXT := format('%s_y%s_staging', p_table, p_year);
+BEGIN
+    IF to_regclass(v_partition) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    -- Se a partição DEFAULT já tem linhas deste ano, o CREATE ... PARTITION OF falharia:
+    -- move-as temporariamente para fora, cria a partição e reinsere-as pelo pai.
+    IF to_regclass(v_default) IS NOT NULL THEN
+        EXECUTE format(
+            'CREATE TEMP TABLE %I ON COMMIT DROP AS SELECT * FROM %I WHERE start_date >= %L AND start_date < %L',
+            v_staging, v_default, v_from, v_to);
+        EXECUTE format('DELETE FROM %I WHERE start_date >= %L AND start_date < %L', v_default, v_from, v_to);
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                   v_partition, p_table, v_from, v_to);
+
+    IF to_regclass(v_default) IS NOT NULL THEN
+        EXECUTE format('INSERT INTO %I SELECT * FROM %I', p_table, v_staging);
+        EXECUTE format('DROP TABLE %I', v_staging);
+    END IF;
+
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION fn_ensure_yearly_partition(TEXT, INTEGER) IS
+    'Creates <table>_y<year> as a yearly RANGE partition on start_date if it does not exist yet. Returns true when a partition was created.';
+
+-- Desanexa um ano fechado e (opcionalmente) move-o para outro tablespace / schema de arquivo.
+-- A tabela desanexada continua consultável diretamente, mas deixa de ser vista pelas queries da aplicação.
+CREATE SCHEMA IF NOT EXISTS vacation_archive;
+
+CREATE OR REPLACE FUNCTION fn_detach_yearly_partition(p_table TEXT, p_year INTEGER, p_tablespace TEXT DEFAULT NULL)
+RETURNS BOOLEAN AS $$
+DECLARE
+    v_partition TEXT := format('%s_y%s', p_table, p_year);
+BEGIN
+    IF to_regclass(v_partition) IS NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    EXECUTE format('ALTER TABLE %I DETACH PARTITION %I', p_table, v_partition);
+
+    IF p_tablespace IS NOT NULL THEN
+        EXECUTE format('ALTER TABLE %I SET TABLESPACE %I', v_partition, p_tablespace);
+    END IF;
+
+    EXECUTE format('ALTER TABLE %I SET SCHEMA vacation_archive', v_partition);
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON FUNCTION fn_detach_yearly_partition(TEXT, INTEGER, TEXT) IS
+    'Detaches <table>_y<year>, optionally moves it to a cheaper tablespace, and parks it in the vacation_archive schema.';
+
+-- 2) Renomeia as tabelas atuais para copiar os dados
+ALTER TABLE vacation_booking DROP CONSTRAINT IF EXISTS fk_booking_vacation;
+DROP TRIGGER IF EXISTS trg_vacation_request_updated_at ON vacation_request;
+DROP TRIGGER IF EXISTS trg_vacation_booking_updated_at ON vacation_booking;
+
+ALTER TABLE vacation_request RENAME TO vacation_request_legacy;
+ALTER TABLE vacation_booking RENAME TO vacation_booking_legacy;
+
+-- Os nomes de índices/constraints são globais ao schema: liberta-os para as novas tabelas
+DROP INDEX IF EXISTS idx_vacation_employee_id;
+DROP INDEX IF EXISTS idx_vacation_status;
+DROP INDEX IF EXISTS idx_vacation_start_date;
+DROP INDEX IF EXISTS idx_vacation_is_active;
+DROP INDEX IF EXISTS idx_vacation_deleted_at;
+DROP INDEX IF EXISTS idx_booking_employee_id;
+DROP INDEX IF EXISTS idx_booking_vacation_id;
+DROP INDEX IF EXISTS idx_booking_start_date;
+DROP INDEX IF EXISTS idx_booking_end_date;
+DROP INDEX IF EXISTS idx_booking_status;
+DROP INDEX IF EXISTS idx_booking_is_active;
+DROP INDEX IF EXISTS idx_booking_deleted_at;
+ALTER TABLE vacation_request_legacy DROP CONSTRAINT IF EXISTS fk_vacation_employee;
+ALTER TABLE vacation_booking_legacy DROP CONSTRAINT IF EXISTS fk_booking_employee;
+ALTER TABLE vacation_request_legacy DROP CONSTRAINT IF EXISTS chk_vacation_dates;
+ALTER TABLE vacation_request_legacy DROP CONSTRAINT IF EXISTS chk_days_requested;
+ALTER TABLE vacation_booking_legacy DROP CONSTRAINT IF EXISTS chk_booking_dates;
+ALTER TABLE vacation_booking_legacy DROP CONSTRAINT IF EXISTS chk_days_reserved;
+
+-- 3) Novas tabelas particionadas (mesmas colunas e defaults)
+CREATE TABLE vacation_request (
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+    employee_id UUID NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    days_requested INTEGER NOT NULL,
+    vacation_status VARCHAR(50) NOT NULL DEFAULT 'PENDING',
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    approving_by VARCHAR(255),
+    approval_date TIMESTAMP,
+    request_notes TEXT,
+    rejection_reason TEXT,
+    deleted_at TIMESTAMP,
+    deleted_by VARCHAR(100),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT pk_vacation_request PRIMARY KEY (id, start_date),
+    CONSTRAINT fk_vacation_employee FOREIGN KEY (employee_id) REFERENCES employee_profile(id) ON DELETE RESTRICT,
+    CONSTRAINT chk_vacation_dates CHECK (end_date >= start_date),
+    CONSTRAINT chk_days_requested CHECK (days_requested >= 1)
+) PARTITION BY RANGE (start_date);
+
+CREATE TABLE vacation_booking (
+    id UUID NOT NULL DEFAULT gen_random_uuid(),
+    employee_id UUID NOT NULL,
+    vacation_id UUID NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    days_reserved INTEGER NOT NULL,
+    booking_status VARCHAR(50) NOT NULL DEFAULT 'PENDING',
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    request_notes TEXT,
+    deleted_at TIMESTAMP,
+    deleted_by VARCHAR(100),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT pk_vacation_booking PRIMARY KEY (id, start_date),
+    CONSTRAINT fk_booking_employee FOREIGN KEY (employee_id) REFERENCES employee_profile(id) ON DELETE RESTRICT,
+    CONSTRAINT chk_booking_dates CHECK (end_date >= start_date),
+    CONSTRAINT chk_days_reserved CHECK (days_reserved >= 1)
+) PARTITION BY RANGE (start_date);
+
+CREATE TABLE vacation_request_default PARTITION OF vacation_request DEFAULT;
+CREATE TABLE vacation_booking_default PARTITION OF vacation_booking DEFAULT;
+
+-- 4) Uma partição por ano presente nos dados, até ao ano seguinte ao corrente
+DO $$
+DECLARE
+    v_first INTEGER;
+    v_last INTEGER := EXTRACT(YEAR FROM CURRENT_DATE)::INTEGER + 1;
+    v_year INTEGER;
+BEGIN
+    SELECT LEAST(
+               (SELECT MIN(EXTRACT(YEAR FROM start_date))::INTEGER FROM vacation_request_legacy),
+               (SELECT MIN(EXTRACT(YEAR FROM start_date))::INTEGER FROM vacation_booking_legacy),
+               EXTRACT(YEAR FROM CURRENT_DATE)::INTEGER)
+      INTO v_first;
+
+    FOR v_year IN v_first..v_last LOOP
+        PERFORM fn_ensure_yearly_partition('vacation_request', v_year);
+        PERFORM fn_ensure_yearly_partition('vacation_booking', v_year);
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 5) Cópia dos dados e remoção das tabelas antigas
+INSERT INTO vacation_request (id, employee_id, start_date, end_date, days_requested, vacation_status, is_active,
+                              approving_by, approval_date, request_notes, rejection_reason, deleted_at, deleted_by,
+                              created_at, updated_at)
+SELECT id, employee_id, start_date, end_date, days_requested, vacation_status, is_active,
+       approving_by, approval_date, request_notes, rejection_reason, deleted_at, deleted_by,
+       created_at, updated_at
+FROM vacation_request_legacy;
+
+INSERT INTO vacation_booking (id, employee_id, vacation_id, start_date, end_date, days_reserved, booking_status,
+                              is_active, request_notes, deleted_at, deleted_by, created_at, updated_at)
+SELECT id, employee_id, vacation_id, start_date, end_date, days_reserved, booking_status,
+       is_active, request_notes, deleted_at, deleted_by, created_at, updated_at
+FROM vacation_booking_legacy;
+
+DROP TABLE vacation_booking_legacy;
+DROP TABLE vacation_request_legacy;
+
+-- 6) Índices (criados no pai, propagados a cada partição)
+CREATE INDEX idx_vacation_employee_id ON vacation_request(employee_id);
+CREATE INDEX idx_vacation_status ON vacation_request(vacation_status);
+CREATE INDEX idx_vacation_start_date ON vacation_request(start_date);
+CREATE INDEX idx_vacation_is_active ON vacation_request(is_active);
+CREATE INDEX idx_vacation_deleted_at ON vacation_request(deleted_at);
+
+CREATE INDEX idx_booking_employee_id ON vacation_booking(employee_id);
+CREATE INDEX idx_booking_vacation_id ON vacation_booking(vacation_id);
+CREATE INDEX idx_booking_start_date ON vacation_booking(start_date);
+CREATE INDEX idx_booking_end_date ON vacation_booking(end_date);
+CREATE INDEX idx_booking_status ON vacation_booking(booking_status);
+CREATE INDEX idx_booking_is_active ON vacation_booking(is_active);
+CREATE INDEX idx_booking_deleted_at ON vacation_booking(deleted_at);
+
+-- 7) Triggers (updated_at + substituto de fk_booking_vacation)
+CREATE TRIGGER trg_vacation_request_updated_at
+BEFORE UPDATE ON vacation_request
+FOR EACH ROW
+EXECUTE FUNCTION fn_set_updated_at();
+
+CREATE TRIGGER trg_vacation_booking_updated_at
+BEFORE UPDATE ON vacation_booking
+FOR EACH ROW
+EXECUTE FUNCTION fn_set_updated_at();
+
+CREATE OR REPLACE FUNCTION fn_booking_vacation_exists()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM vacation_request WHERE id = NEW.vacation_id) THEN
+        RAISE EXCEPTION 'vacation_request % does not exist', NEW.vacation_id
+            USING ERRCODE = 'foreign_key_violation';
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_booking_vacation_exists
+BEFORE INSERT OR UPDATE OF vacation_id ON vacation_booking
+FOR EACH ROW
+EXECUTE FUNCTION fn_booking_vacation_exists();
+
+-- 8) Comentários
+COMMENT ON TABLE vacation_request IS 'Employee vacation requests, RANGE partitioned by start_date (one partition per year).';
+COMMENT ON TABLE vacation_booking IS 'Confirmed vacation bookings, RANGE partitioned by start_date (one partition per year).';
+COMMENT ON COLUMN vacation_request.id IS 'Primary key (together with start_date, the partition key) - UUID';
+COMMENT ON COLUMN vacation_booking.id IS 'Primary key (together with start_date, the partition key) - UUID';
+COMMENT ON COLUMN vacation_booking.vacation_id IS 'References vacation_request.id (checked by trg_booking_vacation_exists)';
@@ -0,0 +1,51 @@
+-- V1.0.5__Create_archive_tables.sql
+-- Tabelas de arquivo para registos soft-deleted removidos pelo job ArchivePurgeService.
+-- Mesmas colunas (e mesma ordem) das tabelas de origem + archived_at, sem FKs nem checks:
+-- o arquivo guarda o histórico tal como estava e nunca bloqueia o purge das tabelas quentes.
+
+-- 1) employee_profile_archive
+CREATE TABLE IF NOT EXISTS employee_profile_archive (
+    LIKE employee_profile INCLUDING DEFAULTS
+);
+ALTER TABLE employee_profile_archive ADD COLUMN archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+-- 2) vacation_request_archive
+CREATE TABLE IF NOT EXISTS vacation_request_archive (
+    LIKE vacation_request INCLUDING DEFAULTS
+);
+ALTER TABLE vacation_request_archive ADD COLUMN archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+-- 3) vacation_booking_archive
+CREATE TABLE IF NOT EXISTS vacation_booking_archive (
+    LIKE vacation_booking INCLUDING DEFAULTS
+);
+ALTER TABLE vacation_booking_archive ADD COLUMN archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+-- 4) Índices (consultas de auditoria: por id, por colaborador e por data de arquivo)
+CREATE INDEX IF NOT EXISTS idx_employee_archive_id ON employee_profile_archive(id);
+CREATE INDEX IF NOT EXISTS idx_employee_archive_archived_at ON employee_profile_archive(archived_at);
+
+CREATE INDEX IF NOT EXISTS idx_vacation_archive_id ON vacation_request_archive(id);
+CREATE INDEX IF NOT EXISTS idx_vacation_archive_employee_id ON vacation_request_archive(employee_id);
+CREATE INDEX IF NOT EXISTS idx_vacation_archive_archived_at ON vacation_request_archive(archived_at);
+
+CREATE INDEX IF NOT EXISTS idx_booking_archive_id ON vacation_booking_archive(id);
+CREATE INDEX IF NOT EXISTS idx_booking_archive_employee_id ON vacation_booking_archive(employee_id);
+CREATE INDEX IF NOT EXISTS idx_booking_archive_archived_at ON vacation_booking_archive(archived_at);
+
+-- 5) Índices de elegibilidade nas tabelas quentes: só cobrem as linhas soft-deleted,
+--    por isso ficam pequenos e o job encontra cada lote sem varrer a tabela.
+CREATE INDEX IF NOT EXISTS idx_employee_purge_candidates
+    ON employee_profile(deleted_at) WHERE is_active = FALSE AND deleted_at IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_vacation_purge_candidates
+    ON vacation_request(deleted_at) WHERE is_active = FALSE AND deleted_at IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_booking_purge_candidates
+    ON vacation_booking(deleted_at) WHERE is_active = FALSE AND deleted_at IS NOT NULL;
+
+-- 6) Comentários
+COMMENT ON TABLE employee_profile_archive IS 'Purged soft-deleted employees (copy of employee_profile rows at purge time)';
+COMMENT ON TABLE vacation_request_archive IS 'Purged soft-deleted vacation requests (copy of vacation_request rows at purge time)';
+COMMENT ON TABLE vacation_booking_archive IS 'Purged soft-deleted vacation bookings (copy of vacation_booking rows at purge time)';
+COMMENT ON COLUMN employee_profile_archive.archived_at IS 'Timestamp when the row was moved to the archive';
+COMMENT ON COLUMN vacation_request_archive.archived_at IS 'Timestamp when the row was moved to the archive';
+COMMENT ON COLUMN vacation_booking_archive.archived_at IS 'Timestamp when the row was moved to the archive';
@@ -0,0 +1,39 @@
+-- V1.0.7__Create_table_audit_log.sql
+-- Histórico de alterações campo a campo de employee_profile e vacation_request.
+-- Escrito de forma assíncrona e em lotes pelo AuditWriter depois do commit da transação de negócio.
+
+CREATE TABLE IF NOT EXISTS audit_log (
+    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+
+    -- Entidade alterada
+    entity_type VARCHAR(50) NOT NULL,
+    entity_id UUID NOT NULL,
+
+    -- CREATE, UPDATE ou DELETE
+    action VARCHAR(20) NOT NULL,
+
+    -- {"campo": {"old": ..., "new": ...}, ...}
+    changes JSONB NOT NULL,
+
+    -- Quem fez a alteração e quando (momento do flush na transação original)
+    changed_by VARCHAR(255),
+    changed_at TIMESTAMP NOT NULL,
+
+    -- Momento em que o writer gravou o registo
+    recorded_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Consultas: histórico de uma entidade (por id, mais recente primeiro) e por tipo/intervalo de tempo
+CREATE INDEX IF NOT EXISTS idx_audit_entity_changed_at ON audit_log(entity_id, changed_at DESC);
+CREATE INDEX IF NOT EXISTS idx_audit_type_changed_at ON audit_log(entity_type, changed_at DESC);
+-- Tabela só de inserção, ordenada no tempo: BRIN é minúsculo e serve intervalos de datas
+CREATE INDEX IF NOT EXISTS idx_audit_changed_at_brin ON audit_log USING brin (changed_at);
+
+COMMENT ON TABLE audit_log IS 'Field-level change history for employees and vacation requests (append-only)';
+COMMENT ON COLUMN audit_log.entity_type IS 'Audited entity (Employee, Vacation)';
+COMMENT ON COLUMN audit_log.entity_id IS 'Primary key of the audited row';
+COMMENT ON COLUMN audit_log.action IS 'CREATE, UPDATE or DELETE';
+COMMENT ON COLUMN audit_log.changes IS 'Changed fields as {"field": {"old": value, "new": value}}';
+COMMENT ON COLUMN audit_log.changed_by IS 'Caller that made the change (client identity or system)';
+COMMENT ON COLUMN audit_log.changed_at IS 'When the change was flushed in the business transaction';
+COMMENT ON COLUMN audit_log.recorded_at IS 'When the asynchronous writer persisted the record';
@@ -0,0 +1,33 @@
+-- V1.0.8__Create_table_idempotency_key.sql
+-- Primeira resposta de cada pedido com cabeçalho Idempotency-Key (POST/PUT de criação e transições de estado).
+-- Partilhada entre instâncias: o INSERT ... ON CONFLICT da reserva decide qual delas executa o pedido;
+-- as outras esperam que status deixe de ser NULL e devolvem a resposta guardada.
+
+CREATE TABLE IF NOT EXISTS idempotency_key (
+    -- Identidade do cliente (ClientIdentity) + valor do cabeçalho: chaves de clientes diferentes nunca colidem
+    client_id VARCHAR(255) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+
+    -- Método, caminho e SHA-256 do corpo: reutilizar a chave noutro pedido é um erro (422)
+    fingerprint VARCHAR(128) NOT NULL,
+
+    -- Resposta guardada; status NULL = pedido ainda em execução
+    status SMALLINT,
+    content_type VARCHAR(255),
+    location VARCHAR(2048),
+    body BYTEA,
+
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL,
+
+    CONSTRAINT pk_idempotency_key PRIMARY KEY (client_id, idempotency_key)
+);
+
+-- Limpeza periódica das chaves expiradas
+CREATE INDEX IF NOT EXISTS idx_idempotency_key_expires_at ON idempotency_key(expires_at);
+
+COMMENT ON TABLE idempotency_key IS 'Stored first responses of requests sent with an Idempotency-Key header';
+COMMENT ON COLUMN idempotency_key.client_id IS 'Caller identity the key belongs to (X-Client-Id or remote address)';
+COMMENT ON COLUMN idempotency_key.fingerprint IS 'Method, path and SHA-256 of the body of the first request';
+COMMENT ON COLUMN idempotency_key.status IS 'HTTP status of the stored response; NULL while the first request is running';
+COMMENT ON COLUMN idempotency_key.expires_at IS 'After this instant the key can be reused and the row is purged';
@@ -0,0 +1,44 @@
+-- V1.0.9__Create_table_auth_user_profile.sql
+-- Credenciais de login (AuthUser). passwd guarda o hash bcrypt (nunca a password).
+-- O bloqueio por tentativas falhadas é atualizado num único UPDATE atómico (AuthService),
+-- por isso logins concorrentes na mesma conta nunca perdem incrementos.
+
+CREATE TABLE IF NOT EXISTS auth_user_profile (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+
+    name VARCHAR(100) NOT NULL,
+    surname VARCHAR(100) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    passwd VARCHAR(255) NOT NULL,
+
+    -- Colaborador associado (opcional): dá o papel (EMPLOYEE/MANAGER/ADMIN) incluído no token
+    employee_id UUID,
+
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    is_verified BOOLEAN NOT NULL DEFAULT FALSE,
+    is_locked BOOLEAN NOT NULL DEFAULT FALSE,
+    -- NULL com is_locked = TRUE: bloqueio manual, sem expiração
+    locked_until TIMESTAMP,
+
+    phone VARCHAR(20),
+    profile_picture_url VARCHAR(500),
+
+    last_login_at TIMESTAMP,
+    failed_login_attempts INTEGER NOT NULL DEFAULT 0,
+
+    deleted_at TIMESTAMP,
+    deleted_by VARCHAR(100),
+
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT uk_auth_user_email UNIQUE (email),
+    CONSTRAINT uk_auth_user_employee UNIQUE (employee_id),
+    CONSTRAINT fk_user_employee FOREIGN KEY (employee_id) REFERENCES employee_profile(id) ON DELETE SET NULL,
+    CONSTRAINT chk_failed_login_attempts CHECK (failed_login_attempts >= 0)
+);
+
+COMMENT ON TABLE auth_user_profile IS 'Login credentials; tokens issued from these rows are verified without a DB lookup';
+COMMENT ON COLUMN auth_user_profile.passwd IS 'bcrypt hash of the password';
+COMMENT ON COLUMN auth_user_profile.failed_login_attempts IS 'Consecutive failed logins; reset on success or when a lock expires';
+COMMENT ON COLUMN auth_user_profile.locked_until IS 'End of the lockout; NULL with is_locked = TRUE means locked until unlocked by hand';
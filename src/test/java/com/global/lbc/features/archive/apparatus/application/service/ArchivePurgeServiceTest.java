@@ -0,0 +1,364 @@
+package com.global.lbc.features.archive.apparatus.application.service;
+
+import com.global.lbc.features.archive.apparatus.application.dto.ArchivePurgeStatus;
+import com.global.lbc.features.archive.apparatus.application.dto.ArchivePurgeStatus.TableProgress;
+import com.global.lbc.shared.tenant.Tenant;
+import com.global.lbc.shared.tenant.TenantRegistry;
+import com.global.lbc.shared.tenant.Tenants;
+import io.agroal.api.AgroalDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The purge against the real schema: only rows past the retention move, in batches, a run that
+// runs out of budget is finished by the next one, bookings leave together with their requests, the
+// ledger together with its employee, and a tenant locked by another instance shows up as skipped.
+// Rows are seeded with JDBC and deleted long ago so they are the first ones every batch picks.
+@QuarkusTest
+class ArchivePurgeServiceTest {
+
+    private static final int BATCH_SIZE = 2;
+    private static final LocalDate START = LocalDate.now().plusMonths(1).withDayOfMonth(1);
+
+    @Inject
+    Tenants tenants;
+
+    @Inject
+    TenantRegistry tenantRegistry;
+
+    @Inject
+    MeterRegistry registry;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    private ArchivePurgeService purge;
+    private final List<UUID> employees = new ArrayList<>();
+    private final List<UUID> vacations = new ArrayList<>();
+    private final List<UUID> bookings = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        purge = new ArchivePurgeService();
+        purge.tenants = tenants;
+        purge.tenantRegistry = tenantRegistry;
+        purge.registry = registry;
+        purge.enabled = true;
+        purge.retentionDays = 30;
+        purge.batchSize = BATCH_SIZE;
+        purge.pauseBetweenBatches = Duration.ZERO;
+        purge.maxRunDuration = Duration.ofMinutes(1);
+    }
+
+    @AfterEach
+    void cleanUp() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "UPDATE employee_profile SET manager_id = NULL WHERE id = ANY (?)")) {
+                ps.setArray(1, connection.createArrayOf("uuid", employees.toArray()));
+                ps.executeUpdate();
+            }
+            for (String table : List.of("vacation_ledger_entry", "vacation_balance_snapshot")) {
+                for (String target : List.of(table, table + "_archive")) {
+                    try (PreparedStatement ps = connection.prepareStatement(
+                            "DELETE FROM " + target + " WHERE employee_id = ANY (?)")) {
+                        ps.setArray(1, connection.createArrayOf("uuid", employees.toArray()));
+                        ps.executeUpdate();
+                    }
+                }
+            }
+            for (String table : List.of("vacation_booking", "vacation_request", "employee_profile")) {
+                List<UUID> ids = switch (table) {
+                    case "vacation_booking" -> bookings;
+                    case "vacation_request" -> vacations;
+                    default -> employees;
+                };
+                for (String target : List.of(table, table + "_archive")) {
+                    try (PreparedStatement ps = connection.prepareStatement(
+                            "DELETE FROM " + target + " WHERE id = ANY (?)")) {
+                        ps.setArray(1, connection.createArrayOf("uuid", ids.toArray()));
+                        ps.executeUpdate();
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void onlyRowsDeletedBeforeTheCutoffAreArchived() throws SQLException {
+        UUID employee = employee(null);
+        UUID old = vacation(employee, 0, daysAgo(400));
+        UUID recent = vacation(employee, 1, daysAgo(10));
+
+        assertTrue(purge.run());
+
+        ArchivePurgeStatus status = purge.status();
+        assertEquals(status.startedAt.minusDays(30), status.cutoff);
+        assertArchived("vacation_request", old);
+        assertLive("vacation_request", recent);
+        // Still has a request waiting for its retention
+        assertLive("employee_profile", employee);
+    }
+
+    @Test
+    void rowsMoveInBatchesOfTheConfiguredSize() throws SQLException {
+        UUID employee = employee(null);
+        for (int i = 0; i < 5; i++) {
+            vacation(employee, i, daysAgo(500 + i));
+        }
+
+        assertTrue(purge.run());
+
+        TableProgress requests = progress(purge.status(), "vacation_request");
+        assertTrue(requests.completed);
+        assertTrue(requests.rowsArchived >= 5);
+        assertTrue(requests.batches >= 3, "5 rows in batches of 2 need at least 3 batches");
+        for (UUID vacation : vacations) {
+            assertArchived("vacation_request", vacation);
+        }
+        assertArchived("employee_profile", employee);
+    }
+
+    @Test
+    void runOutOfBudgetStopsAfterOneBatchAndTheNextRunResumes() throws SQLException {
+        UUID employee = employee(null);
+        UUID vacation = vacation(employee, 0, daysAgo(600));
+        for (int i = 0; i < 5; i++) {
+            booking(employee, vacation, i, daysAgo(600 + i));
+        }
+
+        purge.maxRunDuration = Duration.ZERO;
+        assertTrue(purge.run());
+
+        ArchivePurgeStatus stopped = purge.status();
+        TableProgress first = progress(stopped, "vacation_booking");
+        assertFalse(first.completed);
+        assertEquals(1, first.batches);
+        assertEquals(BATCH_SIZE, first.rowsArchived);
+        assertTrue(stopped.tables.stream().noneMatch(progress ->
+                Tenant.DEFAULT_ID.equals(progress.tenant) && "vacation_request".equals(progress.table)));
+        assertEquals(BATCH_SIZE, count("vacation_booking_archive", bookings));
+        assertLive("vacation_request", vacation);
+
+        purge.maxRunDuration = Duration.ofMinutes(1);
+        assertTrue(purge.run());
+
+        assertTrue(progress(purge.status(), "vacation_booking").completed);
+        assertEquals(bookings.size(), count("vacation_booking_archive", bookings));
+        assertEquals(0, count("vacation_booking", bookings));
+        assertArchived("vacation_request", vacation);
+        assertArchived("employee_profile", employee);
+    }
+
+    @Test
+    void bookingsMoveWithTheirRequestAndLiveBookingsHoldItBack() throws SQLException {
+        UUID employee = employee(null);
+        UUID deleted = vacation(employee, 0, daysAgo(400));
+        UUID deletedBooking = booking(employee, deleted, 0, daysAgo(400));
+        UUID held = vacation(employee, 1, daysAgo(400));
+        UUID liveBooking = booking(employee, held, 1, null);
+
+        assertTrue(purge.run());
+
+        assertArchived("vacation_booking", deletedBooking);
+        assertArchived("vacation_request", deleted);
+        assertLive("vacation_booking", liveBooking);
+        assertLive("vacation_request", held);
+        assertLive("employee_profile", employee);
+    }
+
+    @Test
+    void ledgerAndSnapshotsAreArchivedWithTheirEmployee() throws SQLException {
+        UUID employee = employee(null);
+        ledgerEntry(employee, "ACCRUAL", 22, LocalDate.of(2020, 1, 1));
+        ledgerEntry(employee, "ADJUSTMENT", -2, LocalDate.of(2020, 2, 1));
+        execute("INSERT INTO vacation_balance_snapshot (employee_id, as_of_date, balance, used) VALUES (?, ?, 22, 0)",
+                employee, LocalDate.of(2020, 1, 31));
+
+        assertTrue(purge.run());
+
+        assertArchived("employee_profile", employee);
+        assertEquals(0, countOf("vacation_ledger_entry", employee));
+        assertEquals(2, countOf("vacation_ledger_entry_archive", employee));
+        assertEquals(0, countOf("vacation_balance_snapshot", employee));
+        assertEquals(1, countOf("vacation_balance_snapshot_archive", employee));
+    }
+
+    @Test
+    void deletingAnEmployeeNeverTakesItsLedgerAlong() throws SQLException {
+        UUID employee = employee(null);
+        ledgerEntry(employee, "ACCRUAL", 22, LocalDate.of(2020, 1, 1));
+
+        assertThrows(SQLException.class, () -> execute("DELETE FROM employee_profile WHERE id = ?", employee));
+        assertEquals(1, countOf("vacation_ledger_entry", employee));
+    }
+
+    @Test
+    void managersStayWhileTheyStillHaveSubordinates() throws SQLException {
+        UUID manager = employee(null);
+        UUID subordinate = employee(manager, daysAgo(10));
+
+        assertTrue(purge.run());
+
+        // The subordinate is still within its retention, so its manager cannot leave either
+        assertLive("employee_profile", subordinate);
+        assertLive("employee_profile", manager);
+    }
+
+    @Test
+    void tenantLockedByAnotherInstanceIsReportedAsSkipped() throws SQLException {
+        UUID employee = employee(null);
+        UUID vacation = vacation(employee, 0, daysAgo(400));
+
+        try (Connection other = dataSource.getConnection()) {
+            try (PreparedStatement ps = other.prepareStatement(
+                    "SELECT pg_advisory_lock(hashtextextended(current_schema(), ?))")) {
+                ps.setLong(1, ArchivePurgeService.ADVISORY_LOCK_KEY);
+                ps.execute();
+            }
+            try {
+                assertTrue(purge.run());
+            } finally {
+                try (PreparedStatement ps = other.prepareStatement(
+                        "SELECT pg_advisory_unlock(hashtextextended(current_schema(), ?))")) {
+                    ps.setLong(1, ArchivePurgeService.ADVISORY_LOCK_KEY);
+                    ps.execute();
+                }
+            }
+        }
+
+        ArchivePurgeStatus status = purge.status();
+        assertEquals(List.of(Tenant.DEFAULT_ID), status.skippedTenants);
+        assertTrue(status.tables.stream().noneMatch(progress -> Tenant.DEFAULT_ID.equals(progress.tenant)));
+        assertLive("vacation_request", vacation);
+
+        assertTrue(purge.run());
+        assertTrue(purge.status().skippedTenants.isEmpty());
+        assertArchived("vacation_request", vacation);
+    }
+
+    private TableProgress progress(ArchivePurgeStatus status, String table) {
+        return status.tables.stream()
+                .filter(progress -> Tenant.DEFAULT_ID.equals(progress.tenant) && table.equals(progress.table))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private void assertArchived(String table, UUID id) throws SQLException {
+        assertEquals(0, count(table, List.of(id)), id + " still in " + table);
+        assertEquals(1, count(table + "_archive", List.of(id)), id + " not in " + table + "_archive");
+    }
+
+    private void assertLive(String table, UUID id) throws SQLException {
+        assertEquals(1, count(table, List.of(id)), id + " missing from " + table);
+        assertEquals(0, count(table + "_archive", List.of(id)), id + " archived too early");
+    }
+
+    private long count(String table, List<UUID> ids) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(
+                     "SELECT count(*) FROM " + table + " WHERE id = ANY (?)")) {
+            ps.setArray(1, connection.createArrayOf("uuid", ids.toArray()));
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    // Rows of the employee-keyed tables (ledger, snapshots and their archives)
+    private long countOf(String table, UUID employee) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(
+                     "SELECT count(*) FROM " + table + " WHERE employee_id = ?")) {
+            ps.setObject(1, employee);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    private static LocalDateTime daysAgo(int days) {
+        return LocalDateTime.now().minusDays(days);
+    }
+
+    // Soft-deleted long ago, like everything the purge is meant to find
+    private UUID employee(UUID manager) throws SQLException {
+        return employee(manager, daysAgo(700));
+    }
+
+    private UUID employee(UUID manager, LocalDateTime deletedAt) throws SQLException {
+        UUID id = UUID.randomUUID();
+        execute("""
+                INSERT INTO employee_profile (id, name, surname, contract_role, employee_role, hire_date,
+                                              manager_id, is_active, deleted_at, deleted_by)
+                VALUES (?, 'Purge', 'Candidate', 'INTERNSHIP', 'EMPLOYEE', DATE '2020-01-01', ?, FALSE, ?, 'archive-test')
+                """, id, manager, Timestamp.valueOf(deletedAt));
+        employees.add(id);
+        return id;
+    }
+
+    private UUID vacation(UUID employee, int week, LocalDateTime deletedAt) throws SQLException {
+        UUID id = UUID.randomUUID();
+        LocalDate start = START.plusWeeks(week);
+        execute("""
+                INSERT INTO vacation_request (id, employee_id, start_date, end_date, days_requested,
+                                              vacation_status, is_active, deleted_at, deleted_by)
+                VALUES (?, ?, ?, ?, 5, 'CANCELLED', FALSE, ?, 'archive-test')
+                """, id, employee, start, start.plusDays(4), Timestamp.valueOf(deletedAt));
+        vacations.add(id);
+        return id;
+    }
+
+    // A null deletedAt leaves the booking live
+    private UUID booking(UUID employee, UUID vacation, int week, LocalDateTime deletedAt) throws SQLException {
+        UUID id = UUID.randomUUID();
+        LocalDate start = START.plusWeeks(week);
+        execute("""
+                INSERT INTO vacation_booking (id, employee_id, vacation_id, start_date, end_date, days_reserved,
+                                              booking_status, is_active, deleted_at, deleted_by)
+                VALUES (?, ?, ?, ?, ?, 5, 'CANCELLED', ?, ?, ?)
+                """, id, employee, vacation, start, start.plusDays(4), deletedAt == null,
+                deletedAt == null ? null : Timestamp.valueOf(deletedAt), deletedAt == null ? null : "archive-test");
+        bookings.add(id);
+        return id;
+    }
+
+    private void ledgerEntry(UUID employee, String type, long days, LocalDate effectiveDate) throws SQLException {
+        execute("""
+                INSERT INTO vacation_ledger_entry (employee_id, entry_type, balance_delta, effective_date, created_by)
+                VALUES (?, ?, ?, ?, 'archive-test')
+                """, employee, type, days, effectiveDate);
+    }
+
+    private void execute(String sql, Object... parameters) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                ps.setObject(i + 1, parameters[i]);
+            }
+            ps.executeUpdate();
+        }
+    }
+}
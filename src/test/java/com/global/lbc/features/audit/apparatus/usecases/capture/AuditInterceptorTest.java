@@ -0,0 +1,75 @@
+package com.global.lbc.features.audit.apparatus.usecases.capture;
+
+import com.global.lbc.features.audit.apparatus.model.AuditLog;
+import com.global.lbc.features.auth.apparatus.usecases.security.AuthPrincipal;
+import com.global.lbc.features.employee.apparatus.model.Employee;
+import com.global.lbc.features.employee.apparatus.model.util.EmployeeRole;
+import com.global.lbc.features.employee.apparatus.model.util.EmploymentType;
+import com.global.lbc.shared.client.ClientIdentity;
+import com.global.lbc.shared.tenant.Tenant;
+import com.global.lbc.shared.tenant.Tenants;
+import io.quarkus.arc.Arc;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// changed_by comes from the authenticated principal of the request, or "system" without one
+@QuarkusTest
+class AuditInterceptorTest {
+
+    @Inject
+    Tenants tenants;
+
+    @Test
+    void changesAreAttributedToTheAuthenticatedCaller() throws InterruptedException {
+        AuthPrincipal caller = new AuthPrincipal(UUID.randomUUID(), "auditor@example.com", null, "ADMIN",
+                Long.MAX_VALUE, Tenant.DEFAULT_ID);
+
+        UUID employeeId = tenants.callAs(Tenant.DEFAULT, () -> {
+            Arc.container().instance(ClientIdentity.class).get().authenticated(caller);
+            return QuarkusTransaction.requiringNew().call(this::createEmployee);
+        });
+
+        assertEquals("auditor@example.com", awaitAuditEntry(employeeId).changedBy);
+    }
+
+    @Test
+    void changesWithoutACallerAreAttributedToTheSystem() throws InterruptedException {
+        UUID employeeId = QuarkusTransaction.requiringNew().call(this::createEmployee);
+
+        assertEquals("system", awaitAuditEntry(employeeId).changedBy);
+    }
+
+    private UUID createEmployee() {
+        Employee employee = new Employee();
+        employee.name = "Audit";
+        employee.surname = "Capture";
+        employee.employmentType = EmploymentType.FULL_TIME;
+        employee.employeeRole = EmployeeRole.EMPLOYEE;
+        employee.hireDate = LocalDate.of(2020, 1, 1);
+        employee.persist();
+        return employee.id;
+    }
+
+    // The writer inserts asynchronously, after the commit
+    private static AuditLog awaitAuditEntry(UUID employeeId) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (true) {
+            AuditLog entry = QuarkusTransaction.requiringNew().call(() ->
+                    AuditLog.<AuditLog>find("entityType = ?1 and entityId = ?2", "Employee", employeeId)
+                            .firstResult());
+            if (entry != null) {
+                return entry;
+            }
+            assertTrue(System.nanoTime() < deadline, "no audit entry for " + employeeId);
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.global.lbc.features.audit.apparatus.usecases.writer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.global.lbc.features.audit.apparatus.model.util.AuditAction;
+import com.global.lbc.features.audit.apparatus.usecases.capture.AuditRecord;
+import com.global.lbc.shared.tenant.Tenant;
+import com.global.lbc.shared.tenant.Tenants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Batching, retries and the spill file, against a JDBC fake that records every executed batch and
+// can be told to fail.
+class AuditWriterTest {
+
+    @TempDir
+    Path directory;
+
+    private final FakeDatabase database = new FakeDatabase();
+    private final List<AuditWriter> started = new ArrayList<>();
+
+    @AfterEach
+    void stop() {
+        for (AuditWriter writer : started) {
+            writer.onStop(null);
+        }
+    }
+
+    @Test
+    void recordsAreWrittenInBatchesOfOneTenantEach() throws InterruptedException {
+        AuditWriter writer = start(Duration.ofSeconds(1));
+        List<AuditRecord> records = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            records.add(record(i % 3 == 0 ? "acme" : Tenant.DEFAULT_ID));
+        }
+
+        writer.submit(records);
+
+        await(() -> database.rows() == 120, "records were not written");
+        for (FakeDatabase.Batch batch : database.batches) {
+            assertTrue(batch.rows() <= 50, "batch larger than audit.batch-size: " + batch.rows());
+        }
+        assertEquals(40, database.rows("acme"));
+        assertEquals(80, database.rows(Tenant.DEFAULT_ID));
+        assertFalse(Files.exists(spillFile()));
+    }
+
+    @Test
+    void failedBatchIsRetriedAndWrittenOnce() throws InterruptedException {
+        AuditWriter writer = start(Duration.ofSeconds(1));
+        database.failuresLeft.set(2);
+
+        writer.submit(List.of(record(Tenant.DEFAULT_ID)));
+
+        await(() -> database.rows() == 1, "batch was not retried");
+        assertEquals(3, database.executions.get());
+        assertEquals(1, database.batches.size());
+        assertFalse(Files.exists(spillFile()));
+    }
+
+    @Test
+    void batchFailingEveryAttemptIsSpilledAndReplayedOnTheNextStart() throws Exception {
+        AuditWriter first = start(Duration.ofSeconds(1));
+        database.failuresLeft.set(Integer.MAX_VALUE);
+
+        first.submit(List.of(record("acme"), record(Tenant.DEFAULT_ID)));
+
+        await(() -> lines() == 2, "records were not spilled");
+        assertEquals(0, database.rows());
+
+        database.failuresLeft.set(0);
+        start(Duration.ofSeconds(1));
+
+        assertEquals(1, database.rows("acme"));
+        assertEquals(1, database.rows(Tenant.DEFAULT_ID));
+        assertFalse(Files.exists(spillFile()));
+    }
+
+    @Test
+    void recordsInABackoffInterruptedByShutdownAreSpilled() throws Exception {
+        AuditWriter writer = start(Duration.ofMillis(10));
+        database.failuresLeft.set(Integer.MAX_VALUE);
+
+        writer.submit(List.of(record(Tenant.DEFAULT_ID)));
+        await(() -> database.executions.get() >= 1, "batch was never attempted");
+
+        // The flusher is sleeping before its retry: shutdown gives up waiting and interrupts it
+        started.remove(writer);
+        writer.onStop(null);
+
+        await(() -> lines() == 1, "interrupted batch was lost");
+        assertEquals(0, database.rows());
+    }
+
+    private AuditWriter start(Duration shutdownTimeout) {
+        AuditWriter writer = new AuditWriter();
+        writer.tenants = database.tenants();
+        writer.objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        writer.registry = new SimpleMeterRegistry();
+        writer.capacity = 1000;
+        writer.batchSize = 50;
+        writer.flushInterval = Duration.ofMillis(20);
+        writer.offerTimeout = Duration.ofMillis(50);
+        writer.shutdownTimeout = shutdownTimeout;
+        writer.spillFile = spillFile();
+        writer.onStart(null);
+        started.add(writer);
+        return writer;
+    }
+
+    private Path spillFile() {
+        return directory.resolve("audit-spill.ndjson");
+    }
+
+    private long lines() throws Exception {
+        if (!Files.exists(spillFile())) {
+            return 0;
+        }
+        try (var lines = Files.lines(spillFile())) {
+            return lines.filter(line -> !line.isBlank()).count();
+        }
+    }
+
+    private static AuditRecord record(String tenantId) {
+        return new AuditRecord("Employee", UUID.randomUUID(), AuditAction.UPDATE,
+                Map.of("name", Map.of("old", "Ana", "new", "Ana Maria")), "admin@example.com",
+                LocalDateTime.now(), tenantId);
+    }
+
+    private static void await(ThrowingCondition condition, String message) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.holds()) {
+            assertTrue(System.nanoTime() < deadline, message);
+            Thread.sleep(10);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThrowingCondition {
+        boolean holds() throws InterruptedException;
+    }
+
+    // Connections and statements are proxies: only what AuditWriter calls is implemented
+    static final class FakeDatabase {
+
+        record Batch(String tenantId, int rows) {
+        }
+
+        final List<Batch> batches = Collections.synchronizedList(new ArrayList<>());
+        final AtomicInteger failuresLeft = new AtomicInteger();
+        final AtomicInteger executions = new AtomicInteger();
+
+        Tenants tenants() {
+            return new Tenants() {
+                @Override
+                public Connection connection(Tenant tenant) {
+                    return connectionFor(tenant);
+                }
+            };
+        }
+
+        int rows() {
+            synchronized (batches) {
+                return batches.stream().mapToInt(Batch::rows).sum();
+            }
+        }
+
+        int rows(String tenantId) {
+            synchronized (batches) {
+                return batches.stream().filter(batch -> batch.tenantId().equals(tenantId)).mapToInt(Batch::rows).sum();
+            }
+        }
+
+        private Connection connectionFor(Tenant tenant) {
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "prepareStatement" -> statementFor(tenant);
+                        case "close" -> null;
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+
+        private PreparedStatement statementFor(Tenant tenant) {
+            AtomicInteger rows = new AtomicInteger();
+            return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "addBatch" -> {
+                            rows.incrementAndGet();
+                            yield null;
+                        }
+                        case "executeBatch" -> {
+                            executions.incrementAndGet();
+                            if (failuresLeft.getAndUpdate(left -> left > 0 ? left - 1 : 0) > 0) {
+                                throw new SQLException("connection refused");
+                            }
+                            batches.add(new Batch(tenant.id(), rows.get()));
+                            yield new int[rows.get()];
+                        }
+                        case "setString", "setObject", "setTimestamp", "close" -> null;
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    });
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.global.lbc.features.auth.apparatus.application.service;
+
+import com.global.lbc.features.auth.apparatus.application.dto.AuthUserResponse;
+import com.global.lbc.features.auth.apparatus.application.dto.CreateUserRequest;
+import com.global.lbc.features.auth.apparatus.application.dto.TokenResponse;
+import com.global.lbc.features.auth.apparatus.model.AuthUser;
+import com.global.lbc.features.auth.apparatus.usecases.security.AuthPrincipal;
+import com.global.lbc.features.auth.apparatus.usecases.security.TokenService;
+import com.global.lbc.features.employee.apparatus.model.util.EmployeeRole;
+import com.global.lbc.shared.tenant.Tenant;
+import com.global.lbc.shared.tenant.TenantMigrator;
+import com.global.lbc.shared.tenant.Tenants;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Lockout bookkeeping (RECORD_FAILURE_SQL / NEXT_ATTEMPTS / RECORD_SUCCESS_SQL) against the real
+// table, and the first-admin bootstrap of a fresh tenant.
+@QuarkusTest
+class AuthServiceTest {
+
+    private static final String PASSWORD = "correct horse battery";
+    private static final String WRONG = "wrong password";
+
+    @Inject
+    AuthService authService;
+
+    @Inject
+    TokenService tokenService;
+
+    @Inject
+    Tenants tenants;
+
+    @Inject
+    TenantMigrator migrator;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    private final List<UUID> createdUsers = new ArrayList<>();
+    private Tenant provisioned;
+
+    @AfterEach
+    void cleanUp() throws SQLException {
+        QuarkusTransaction.requiringNew().run(() -> createdUsers.forEach(AuthUser::deleteById));
+        createdUsers.clear();
+        if (provisioned != null) {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("DROP SCHEMA IF EXISTS \"" + provisioned.schema() + "\" CASCADE");
+                statement.execute("DELETE FROM public.tenant_registry WHERE id = '" + provisioned.id() + "'");
+            }
+            provisioned = null;
+        }
+    }
+
+    @Test
+    void accountLocksAfterMaxAttemptsAndRefusesEvenTheRightPassword() {
+        String email = createUser();
+
+        for (int i = 1; i < authService.maxAttempts; i++) {
+            assertThrows(AuthService.AuthenticationFailedException.class, () -> authService.login(email, WRONG));
+            assertEquals(i, user(email).failedLoginAttempts.intValue());
+            assertFalse(user(email).isLocked);
+        }
+        assertThrows(AuthService.AuthenticationFailedException.class, () -> authService.login(email, WRONG));
+
+        AuthUser locked = user(email);
+        assertTrue(locked.isLocked);
+        assertEquals(authService.maxAttempts, locked.failedLoginAttempts.intValue());
+        assertNotNull(locked.lockedUntil);
+        assertTrue(locked.lockedUntil.isAfter(LocalDateTime.now().plus(authService.lockoutDuration).minusMinutes(1)));
+
+        assertThrows(AuthService.AuthenticationFailedException.class, () -> authService.login(email, PASSWORD));
+        assertEquals(authService.maxAttempts, user(email).failedLoginAttempts.intValue());
+    }
+
+    @Test
+    void concurrentFailuresAreAllCounted() throws Exception {
+        String email = createUser();
+        int attempts = authService.maxAttempts;
+
+        ExecutorService callers = Executors.newFixedThreadPool(attempts);
+        try {
+            List<Callable<Boolean>> logins = new ArrayList<>();
+            for (int i = 0; i < attempts; i++) {
+                logins.add(() -> tenants.callAs(Tenant.DEFAULT, () -> {
+                    try {
+                        authService.login(email, WRONG);
+                        return true;
+                    } catch (AuthService.AuthenticationFailedException e) {
+                        return false;
+                    }
+                }));
+            }
+            for (Future<Boolean> result : callers.invokeAll(logins)) {
+                assertFalse(result.get());
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        AuthUser user = user(email);
+        assertEquals(attempts, user.failedLoginAttempts.intValue());
+        assertTrue(user.isLocked);
+    }
+
+    @Test
+    void successfulLoginResetsTheFailureCount() {
+        String email = createUser();
+        assertThrows(AuthService.AuthenticationFailedException.class, () -> authService.login(email, WRONG));
+        assertThrows(AuthService.AuthenticationFailedException.class, () -> authService.login(email, WRONG));
+
+        TokenResponse token = authService.login(email, PASSWORD);
+
+        assertNotNull(tokenService.verify(token.accessToken));
+        AuthUser user = user(email);
+        assertEquals(0, user.failedLoginAttempts.intValue());
+        assertFalse(user.isLocked);
+        assertNotNull(user.lastLoginAt);
+    }
+
+    @Test
+    void expiredLockUnlocksOnSuccessAndRestartsTheCountOnFailure() {
+        String email = createUser();
+        lock(email, LocalDateTime.now().minusMinutes(1));
+
+        assertThrows(AuthService.AuthenticationFailedException.class, () -> authService.login(email, WRONG));
+        AuthUser afterFailure = user(email);
+        assertEquals(1, afterFailure.failedLoginAttempts.intValue());
+        assertFalse(afterFailure.isLocked);
+        assertNull(afterFailure.lockedUntil);
+
+        lock(email, LocalDateTime.now().minusMinutes(1));
+        authService.login(email, PASSWORD);
+        AuthUser afterSuccess = user(email);
+        assertFalse(afterSuccess.isLocked);
+        assertNull(afterSuccess.lockedUntil);
+        assertEquals(0, afterSuccess.failedLoginAttempts.intValue());
+    }
+
+    @Test
+    void manualLockIsNeverClearedByALogin() {
+        String email = createUser();
+        lock(email, null);
+
+        assertThrows(AuthService.AuthenticationFailedException.class, () -> authService.login(email, PASSWORD));
+        assertTrue(user(email).isLocked);
+    }
+
+    @Test
+    void bootstrapCreatesTheFirstAdminOfAnEmptyTenantOnlyOnce() {
+        provisioned = migrator.provision("boot_" + UUID.randomUUID().toString().substring(0, 8), "Bootstrap");
+        String email = "first.admin@" + provisioned.id() + ".test";
+
+        AuthUserResponse created = tenants.callAs(provisioned, () -> authService.bootstrapAdmin(email, PASSWORD));
+        assertNotNull(created);
+        assertNotNull(created.employeeId);
+
+        TokenResponse token = tenants.callAs(provisioned, () -> authService.login(email, PASSWORD));
+        AuthPrincipal principal = tokenService.verify(token.accessToken);
+        assertEquals(EmployeeRole.ADMIN.name(), principal.role());
+        assertEquals(provisioned.id(), principal.tenantId());
+        assertEquals(created.employeeId, principal.employeeId());
+
+        assertNull(tenants.callAs(provisioned, () -> authService.bootstrapAdmin("second@example.com", PASSWORD)));
+        assertEquals(1L, (long) tenants.callAs(provisioned, () -> QuarkusTransaction.requiringNew().call(AuthUser::count)));
+        // The default tenant is untouched
+        assertEquals(0L, (long) QuarkusTransaction.requiringNew().call(() -> AuthUser.count("email", email)));
+    }
+
+    @Test
+    void bootstrapRefusesCredentialsThatCreateUserWouldRefuse() {
+        assertThrows(IllegalArgumentException.class, () -> authService.validateBootstrapAdmin("no-at-sign", PASSWORD));
+        assertThrows(IllegalArgumentException.class, () -> authService.validateBootstrapAdmin("a@example.com", "short"));
+    }
+
+    private String createUser() {
+        CreateUserRequest request = new CreateUserRequest();
+        request.name = "Lockout";
+        request.surname = "Test";
+        request.email = "lockout." + UUID.randomUUID() + "@example.com";
+        request.password = PASSWORD;
+        createdUsers.add(authService.createUser(request).id);
+        return request.email;
+    }
+
+    private static AuthUser user(String email) {
+        return QuarkusTransaction.requiringNew().call(() -> AuthUser.<AuthUser>find("email", email).firstResult());
+    }
+
+    private static void lock(String email, LocalDateTime until) {
+        QuarkusTransaction.requiringNew().run(() -> AuthUser.update(
+                "isLocked = true, lockedUntil = ?1, failedLoginAttempts = ?2 where email = ?3",
+                until, 5, email));
+    }
+}
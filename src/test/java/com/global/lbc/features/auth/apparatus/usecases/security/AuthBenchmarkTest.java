@@ -0,0 +1,206 @@
+package com.global.lbc.features.auth.apparatus.usecases.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Login throughput through the bounded bcrypt pool and the per-request cost of verifying a token.
+// Both figures are logged; the bounds are generous so that a slow CI machine passes and only an
+// order-of-magnitude regression (or a pool that stops capping) fails.
+class AuthBenchmarkTest {
+
+    private static final Logger LOG = Logger.getLogger(AuthBenchmarkTest.class);
+
+    private static final int VERIFY_THREADS = 4;
+    private static final int VERIFICATIONS_PER_THREAD = 50_000;
+    private static final int LOGINS = 32;
+    private static final int LOGIN_THREADS = 2;
+    private static final int BCRYPT_COST = 8;
+
+    private final List<PasswordHasher> hashers = new ArrayList<>();
+
+    @AfterEach
+    void shutdown() {
+        hashers.forEach(PasswordHasher::shutdown);
+    }
+
+    @Test
+    void tokensRoundTripAndTamperedOrExpiredOnesAreRejected() {
+        TokenService tokens = tokenService();
+        UUID user = UUID.randomUUID();
+        UUID employee = UUID.randomUUID();
+        String token = tokens.issue(user, "ana@example.com", employee, "MANAGER", "acme");
+
+        AuthPrincipal principal = tokens.verify(token);
+        assertNotNull(principal);
+        assertEquals(user, principal.userId());
+        assertEquals(employee, principal.employeeId());
+        assertEquals("ana@example.com", principal.getName());
+        assertEquals("MANAGER", principal.role());
+        assertEquals("acme", principal.tenantId());
+
+        String[] parts = token.split("\\.");
+        String forgedClaims = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                "{\"iss\":\"test\",\"sub\":\"%s\",\"email\":\"ana@example.com\",\"role\":\"ADMIN\",\"exp\":9999999999}"
+                        .formatted(user).getBytes());
+        assertNull(tokens.verify(parts[0] + "." + forgedClaims + "." + parts[2]));
+        assertNull(tokens.verify(token + "x"));
+        assertNull(tokens.verify("not-a-token"));
+
+        tokens.clock = Clock.offset(Clock.systemUTC(), Duration.ofMinutes(16));
+        assertNull(tokens.verify(token));
+    }
+
+    @Test
+    void tokenVerificationCostsMicrosecondsPerRequest() throws Exception {
+        TokenService tokens = tokenService();
+        String token = tokens.issue(UUID.randomUUID(), "ana@example.com", UUID.randomUUID(), "EMPLOYEE", "default");
+
+        // Warm-up
+        for (int i = 0; i < VERIFICATIONS_PER_THREAD; i++) {
+            tokens.verify(token);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(VERIFY_THREADS);
+        try {
+            List<Callable<Integer>> tasks = new ArrayList<>();
+            for (int t = 0; t < VERIFY_THREADS; t++) {
+                tasks.add(() -> {
+                    int verified = 0;
+                    for (int i = 0; i < VERIFICATIONS_PER_THREAD; i++) {
+                        if (tokens.verify(token) != null) {
+                            verified++;
+                        }
+                    }
+                    return verified;
+                });
+            }
+            long start = System.nanoTime();
+            int verified = 0;
+            for (Future<Integer> result : pool.invokeAll(tasks)) {
+                verified += result.get();
+            }
+            long elapsed = System.nanoTime() - start;
+
+            // Wall time per verification as seen by one request thread
+            double nanosPerVerification = (double) elapsed / VERIFICATIONS_PER_THREAD;
+            LOG.infof("token verification: %.0f ns each on %d threads", nanosPerVerification, VERIFY_THREADS);
+            assertEquals(VERIFY_THREADS * VERIFICATIONS_PER_THREAD, verified);
+            // An HMAC and a small JSON parse; a request that reaches the DB costs milliseconds
+            assertTrue(nanosPerVerification < 50_000, "verification took " + nanosPerVerification + " ns");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void loginThroughputIsCappedByTheHashingPool() throws Exception {
+        PasswordHasher hasher = passwordHasher(LOGIN_THREADS, LOGINS);
+        String hash = hasher.hash("correct horse battery");
+
+        // One login at a time: the cost of a single bcrypt check, pool hand-off included
+        hasher.matches("correct horse battery", hash);
+        long start = System.nanoTime();
+        for (int i = 0; i < 4; i++) {
+            hasher.matches("correct horse battery", hash);
+        }
+        double secondsPerLogin = (System.nanoTime() - start) / 1e9 / 4;
+
+        ExecutorService callers = Executors.newFixedThreadPool(16);
+        try {
+            List<Callable<Boolean>> logins = new ArrayList<>();
+            for (int i = 0; i < LOGINS; i++) {
+                String password = i % 4 == 0 ? "wrong password" : "correct horse battery";
+                logins.add(() -> hasher.matches(password, hash));
+            }
+            start = System.nanoTime();
+            int accepted = 0;
+            for (Future<Boolean> result : callers.invokeAll(logins)) {
+                if (result.get()) {
+                    accepted++;
+                }
+            }
+            double loginsPerSecond = LOGINS / ((System.nanoTime() - start) / 1e9);
+
+            double cap = LOGIN_THREADS / secondsPerLogin;
+            LOG.infof("logins: %.1f/s from 16 callers, pool of %d capped at about %.1f/s (%.1f ms per check)",
+                    loginsPerSecond, LOGIN_THREADS, cap, secondsPerLogin * 1000);
+            assertEquals(LOGINS - LOGINS / 4, accepted);
+            // 16 callers get no more than the pool's threads can hash, give or take timing noise
+            assertTrue(loginsPerSecond < cap * 1.5, () -> loginsPerSecond + " logins/s above the cap of " + cap);
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void loginsBeyondThePoolAndQueueAreRejectedInsteadOfQueued() throws Exception {
+        PasswordHasher hasher = passwordHasher(1, 1);
+        String hash = hasher.hash("correct horse battery");
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        AtomicInteger overloaded = new AtomicInteger();
+        try {
+            List<Callable<Boolean>> logins = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                logins.add(() -> {
+                    try {
+                        return hasher.matches("correct horse battery", hash);
+                    } catch (PasswordHasher.HashingOverloadedException e) {
+                        overloaded.incrementAndGet();
+                        return false;
+                    }
+                });
+            }
+            for (Future<Boolean> result : callers.invokeAll(logins)) {
+                result.get();
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertTrue(overloaded.get() > 0);
+        assertFalse(overloaded.get() == 8);
+    }
+
+    private TokenService tokenService() {
+        TokenService tokens = new TokenService();
+        tokens.secret = Base64.getEncoder().encodeToString(new byte[32]);
+        tokens.ttl = Duration.ofMinutes(15);
+        tokens.issuer = "test";
+        tokens.objectMapper = new ObjectMapper();
+        tokens.init();
+        return tokens;
+    }
+
+    private PasswordHasher passwordHasher(int threads, int queue) {
+        PasswordHasher hasher = new PasswordHasher();
+        hasher.threads = threads;
+        hasher.queueCapacity = queue;
+        hasher.cost = BCRYPT_COST;
+        hasher.timeout = Duration.ofSeconds(30);
+        hasher.registry = new SimpleMeterRegistry();
+        hasher.init();
+        hashers.add(hasher);
+        return hasher;
+    }
+}
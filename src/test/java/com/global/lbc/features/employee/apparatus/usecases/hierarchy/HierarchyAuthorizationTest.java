@@ -0,0 +1,79 @@
+package com.global.lbc.features.employee.apparatus.usecases.hierarchy;
+
+import com.global.lbc.features.auth.apparatus.usecases.security.AuthPrincipal;
+import com.global.lbc.features.employee.apparatus.model.events.EmployeeEvents;
+import com.global.lbc.features.employee.apparatus.model.util.EmployeeRole;
+import com.global.lbc.shared.tenant.Tenant;
+import jakarta.ws.rs.ForbiddenException;
+import jakarta.ws.rs.NotAuthorizedException;
+import org.junit.jupiter.api.Test;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HierarchyAuthorizationTest {
+
+    private final UUID manager = UUID.randomUUID();
+    private final UUID employee = UUID.randomUUID();
+    private final UUID outsider = UUID.randomUUID();
+
+    private HierarchyAuthorization authorization() {
+        HierarchyIndex index = new HierarchyIndex();
+        index.on(Tenant.DEFAULT, new EmployeeEvents.EmployeeCreated(manager, null, EmployeeRole.MANAGER, true, Instant.now()));
+        index.on(Tenant.DEFAULT, new EmployeeEvents.EmployeeCreated(employee, manager, EmployeeRole.EMPLOYEE, true, Instant.now()));
+        index.on(Tenant.DEFAULT, new EmployeeEvents.EmployeeCreated(outsider, null, EmployeeRole.EMPLOYEE, true, Instant.now()));
+        HierarchyAuthorization authorization = new HierarchyAuthorization();
+        authorization.hierarchy = index;
+        return authorization;
+    }
+
+    @Test
+    void anonymousCallersAreRefusedEverywhere() {
+        HierarchyAuthorization authorization = authorization();
+
+        assertThrows(NotAuthorizedException.class, () -> authorization.requireManagerOf(null, employee));
+        assertThrows(NotAuthorizedException.class, () -> authorization.requireSelfOrManagerOf(null, employee));
+        assertThrows(NotAuthorizedException.class, () -> authorization.requireAdmin(null));
+    }
+
+    @Test
+    void foreignPrincipalsAreRefused() {
+        HierarchyAuthorization authorization = authorization();
+        Principal basic = () -> "someone";
+
+        assertThrows(ForbiddenException.class, () -> authorization.requireManagerOf(basic, employee));
+    }
+
+    @Test
+    void managersActOnTheirSubtreeOnly() {
+        HierarchyAuthorization authorization = authorization();
+        AuthPrincipal boss = principal(manager, EmployeeRole.MANAGER);
+
+        assertDoesNotThrow(() -> authorization.requireManagerOf(boss, employee));
+        assertThrows(ForbiddenException.class, () -> authorization.requireManagerOf(boss, outsider));
+        assertThrows(ForbiddenException.class, () -> authorization.requireManagerOf(principal(employee, EmployeeRole.EMPLOYEE), employee));
+        assertThrows(ForbiddenException.class, () -> authorization.requireAdmin(boss));
+    }
+
+    @Test
+    void employeesActOnThemselvesAndAdminsOnEveryone() {
+        HierarchyAuthorization authorization = authorization();
+
+        assertDoesNotThrow(() -> authorization.requireSelfOrManagerOf(principal(employee, EmployeeRole.EMPLOYEE), employee));
+        assertThrows(ForbiddenException.class,
+                () -> authorization.requireSelfOrManagerOf(principal(outsider, EmployeeRole.EMPLOYEE), employee));
+
+        AuthPrincipal admin = principal(outsider, EmployeeRole.ADMIN);
+        assertDoesNotThrow(() -> authorization.requireManagerOf(admin, employee));
+        assertDoesNotThrow(() -> authorization.requireAdmin(admin));
+    }
+
+    private static AuthPrincipal principal(UUID employeeId, EmployeeRole role) {
+        return new AuthPrincipal(UUID.randomUUID(), role.name().toLowerCase() + "@example.com", employeeId, role.name(),
+                Instant.now().plusSeconds(60).getEpochSecond(), Tenant.DEFAULT_ID);
+    }
+}
@@ -0,0 +1,131 @@
+package com.global.lbc.features.employee.apparatus.usecases.hierarchy;
+
+import com.global.lbc.features.employee.apparatus.model.events.EmployeeEvents;
+import com.global.lbc.features.employee.apparatus.model.util.EmployeeRole;
+import com.global.lbc.shared.tenant.Tenant;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HierarchyIndexTest {
+
+    private static final UUID NO_MANAGER = new UUID(0L, 0L);
+
+    private final UUID ceo = UUID.randomUUID();
+    private final UUID cto = UUID.randomUUID();
+    private final UUID cfo = UUID.randomUUID();
+    private final UUID dev = UUID.randomUUID();
+    private final UUID accountant = UUID.randomUUID();
+
+    private HierarchyIndex index() {
+        HierarchyIndex index = new HierarchyIndex();
+        created(index, ceo, null);
+        created(index, cto, ceo);
+        created(index, cfo, ceo);
+        created(index, dev, cto);
+        created(index, accountant, cfo);
+        return index;
+    }
+
+    @Test
+    void eulerTourIntervalsNestForEveryAncestor() {
+        Map<UUID, UUID> parents = new HashMap<>();
+        parents.put(ceo, NO_MANAGER);
+        parents.put(cto, ceo);
+        parents.put(cfo, ceo);
+        parents.put(dev, cto);
+        parents.put(accountant, cfo);
+
+        Map<UUID, HierarchyIndex.Interval> tour = HierarchyIndex.eulerTour(parents);
+
+        assertEquals(5, tour.size());
+        HierarchyIndex.Interval root = tour.get(ceo);
+        assertEquals(0, root.enter());
+        assertEquals(4, root.exit());
+        assertTrue(contains(tour.get(cto), tour.get(dev)));
+        assertFalse(contains(tour.get(cto), tour.get(accountant)));
+        assertFalse(contains(tour.get(dev), tour.get(cto)));
+    }
+
+    @Test
+    void answersTheSameBeforeAndAfterTheSnapshotIsRebuilt() {
+        HierarchyIndex index = index();
+
+        // Snapshot still empty: answered by walking the parent map
+        assertChainOfCommand(index);
+
+        index.rebuildIfStale();
+        assertChainOfCommand(index);
+    }
+
+    @Test
+    void managerMoveIsVisibleBeforeTheNextRebuild() {
+        HierarchyIndex index = index();
+        index.rebuildIfStale();
+
+        index.on(Tenant.DEFAULT, new EmployeeEvents.ManagerAssigned(dev, cfo, cto, Instant.now()));
+
+        assertTrue(index.isAncestor(Tenant.DEFAULT, cfo, dev));
+        assertFalse(index.isAncestor(Tenant.DEFAULT, cto, dev));
+        assertTrue(index.isAncestor(Tenant.DEFAULT, ceo, dev));
+
+        index.rebuildIfStale();
+        assertTrue(index.isAncestor(Tenant.DEFAULT, cfo, dev));
+        assertFalse(index.isAncestor(Tenant.DEFAULT, cto, dev));
+
+        index.on(Tenant.DEFAULT, new EmployeeEvents.ManagerRemoved(cfo, ceo, Instant.now()));
+        assertFalse(index.isAncestor(Tenant.DEFAULT, ceo, dev));
+        assertTrue(index.isAncestor(Tenant.DEFAULT, cfo, dev));
+    }
+
+    @Test
+    void cycleDoesNotLoopForever() {
+        HierarchyIndex index = index();
+        index.on(Tenant.DEFAULT, new EmployeeEvents.ManagerAssigned(ceo, dev, null, Instant.now()));
+
+        assertTrue(index.isAncestor(Tenant.DEFAULT, cto, dev));
+        assertFalse(index.isAncestor(Tenant.DEFAULT, accountant, dev));
+        index.rebuildIfStale();
+        assertFalse(index.isAncestor(Tenant.DEFAULT, accountant, dev));
+    }
+
+    @Test
+    void tenantsHaveIndependentHierarchies() {
+        HierarchyIndex index = index();
+        Tenant acme = Tenant.of("acme");
+        // Same employee ids in another tenant, with dev reporting straight to the CFO
+        index.on(acme, new EmployeeEvents.EmployeeCreated(cfo, null, EmployeeRole.MANAGER, true, Instant.now()));
+        index.on(acme, new EmployeeEvents.EmployeeCreated(dev, cfo, EmployeeRole.EMPLOYEE, true, Instant.now()));
+        index.rebuildIfStale();
+
+        assertTrue(index.isAncestor(acme, cfo, dev));
+        assertFalse(index.isAncestor(acme, ceo, dev));
+        assertFalse(index.isAncestor(Tenant.DEFAULT, cfo, dev));
+        assertChainOfCommand(index);
+    }
+
+    private void assertChainOfCommand(HierarchyIndex index) {
+        assertTrue(index.isAncestor(Tenant.DEFAULT, ceo, dev));
+        assertTrue(index.isAncestor(Tenant.DEFAULT, cto, dev));
+        assertTrue(index.isAncestor(Tenant.DEFAULT, cfo, accountant));
+        assertFalse(index.isAncestor(Tenant.DEFAULT, cto, accountant));
+        assertFalse(index.isAncestor(Tenant.DEFAULT, dev, cto));
+        assertFalse(index.isAncestor(Tenant.DEFAULT, dev, dev));
+        assertFalse(index.isAncestor(Tenant.DEFAULT, UUID.randomUUID(), dev));
+    }
+
+    private static boolean contains(HierarchyIndex.Interval ancestor, HierarchyIndex.Interval employee) {
+        return ancestor.enter() < employee.enter() && employee.enter() <= ancestor.exit();
+    }
+
+    private static void created(HierarchyIndex index, UUID employeeId, UUID managerId) {
+        index.on(Tenant.DEFAULT, new EmployeeEvents.EmployeeCreated(employeeId, managerId, EmployeeRole.EMPLOYEE, true, Instant.now()));
+    }
+}
@@ -0,0 +1,256 @@
+package com.global.lbc.features.graph;
+
+import com.global.lbc.features.auth.apparatus.usecases.security.TokenService;
+import com.global.lbc.features.employee.apparatus.model.Employee;
+import com.global.lbc.features.employee.apparatus.model.events.EmployeeEvents;
+import com.global.lbc.features.employee.apparatus.model.util.EmployeeRole;
+import com.global.lbc.features.employee.apparatus.model.util.EmploymentType;
+import com.global.lbc.features.employee.apparatus.usecases.hierarchy.HierarchyIndex;
+import com.global.lbc.features.vacation.apparatus.model.Vacation;
+import com.global.lbc.shared.tenant.Tenant;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Nested GraphQL queries must cost one statement per tree level, whatever the number of nodes, and
+// /graphql applies the same authentication, visibility rules and quotas as the REST API
+@QuarkusTest
+class OrganizationGraphApiTest {
+
+    private static final String TEAM_QUERY = """
+            query($id: String!) {
+              employee(id: $id) {
+                name
+                subordinates {
+                  name
+                  manager { id }
+                  vacations { id startDate employee { id } }
+                  bookings { id }
+                }
+              }
+            }
+            """;
+
+    // At most one per level: employee, subordinates, manager, vacations, bookings, vacations.employee
+    private static final long TEAM_QUERY_STATEMENTS = 6;
+
+    private static final String COUNTERS_QUERY = """
+            query($id: String!) {
+              employee(id: $id) {
+                subordinates { id vacationDaysBalance vacationDaysUsed vacations { id } }
+              }
+            }
+            """;
+
+    @Inject
+    EntityManagerFactory entityManagerFactory;
+
+    @Inject
+    TokenService tokenService;
+
+    @Inject
+    HierarchyIndex hierarchy;
+
+    private final List<UUID> createdEmployees = new ArrayList<>();
+    private final List<UUID> createdVacations = new ArrayList<>();
+    private UUID managerId;
+
+    @BeforeEach
+    void createTeam() {
+        managerId = createEmployee("Manager", null, EmployeeRole.MANAGER);
+        addSubordinates(3);
+    }
+
+    @AfterEach
+    void deleteTeam() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            Vacation.delete("employee.id in ?1", createdEmployees);
+            // Subordinates first: manager_id is a RESTRICT foreign key
+            for (int i = createdEmployees.size() - 1; i >= 0; i--) {
+                Employee.deleteById(createdEmployees.get(i));
+            }
+        });
+        createdEmployees.clear();
+        createdVacations.clear();
+    }
+
+    @Test
+    void statementCountDoesNotGrowWithTheTeam() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        Response small = query(admin(), TEAM_QUERY, Map.of("id", managerId.toString()));
+        long smallTeamStatements = statistics.getPrepareStatementCount();
+        assertEquals(3, small.jsonPath().getList("data.employee.subordinates").size());
+
+        addSubordinates(7);
+
+        statistics.clear();
+        Response large = query(admin(), TEAM_QUERY, Map.of("id", managerId.toString()));
+        long largeTeamStatements = statistics.getPrepareStatementCount();
+        assertEquals(10, large.jsonPath().getList("data.employee.subordinates").size());
+        assertEquals(managerId.toString(), large.jsonPath().getString("data.employee.subordinates[0].manager.id"));
+
+        assertTrue(smallTeamStatements <= TEAM_QUERY_STATEMENTS, smallTeamStatements + " statements");
+        assertEquals(smallTeamStatements, largeTeamStatements);
+    }
+
+    @Test
+    void queriesDeeperThanTheLimitAreRejected() {
+        String deep = "query($id: String!) { employee(id: $id) { "
+                + "subordinates { ".repeat(9) + "id" + " }".repeat(9) + " } }";
+
+        Response response = query(admin(), deep, Map.of("id", managerId.toString()));
+
+        assertNull(response.jsonPath().get("data.employee"));
+        assertFalse(response.jsonPath().getList("errors").isEmpty());
+    }
+
+    @Test
+    void anonymousAndInvalidTokensAreRejectedBeforeTheQueryRuns() {
+        given().contentType(ContentType.JSON)
+                .body(Map.of("query", TEAM_QUERY, "variables", Map.of("id", managerId.toString())))
+                .when().post("/graphql")
+                .then().statusCode(401);
+
+        given().auth().oauth2("not-a-token")
+                .contentType(ContentType.JSON)
+                .body(Map.of("query", TEAM_QUERY, "variables", Map.of("id", managerId.toString())))
+                .when().post("/graphql")
+                .then().statusCode(401);
+    }
+
+    @Test
+    void countersAndVacationsAreOnlyVisibleToSelfManagersAndAdmins() {
+        UUID self = createdEmployees.get(1);
+        Map<String, Object> variables = Map.of("id", managerId.toString());
+
+        Response asMember = query(token(self, EmployeeRole.EMPLOYEE), COUNTERS_QUERY, variables);
+        List<Map<String, Object>> seenByMember = asMember.jsonPath().getList("data.employee.subordinates");
+        for (Map<String, Object> subordinate : seenByMember) {
+            boolean own = self.toString().equals(subordinate.get("id"));
+            assertEquals(own, subordinate.get("vacationDaysBalance") != null, "balance of " + subordinate.get("id"));
+            assertEquals(own ? 2 : 0, ((List<?>) subordinate.get("vacations")).size());
+        }
+
+        Response asManager = query(token(managerId, EmployeeRole.MANAGER), COUNTERS_QUERY, variables);
+        for (Map<String, Object> subordinate : asManager.jsonPath().<Map<String, Object>>getList("data.employee.subordinates")) {
+            assertTrue(subordinate.get("vacationDaysBalance") != null);
+            assertEquals(2, ((List<?>) subordinate.get("vacations")).size());
+        }
+    }
+
+    @Test
+    void vacationOfAnotherEmployeeIsRefused() {
+        String member = token(createdEmployees.get(1), EmployeeRole.EMPLOYEE);
+        String query = "query($id: String!) { vacation(id: $id) { id } }";
+
+        Response own = query(member, query, Map.of("id", createdVacations.get(0).toString()));
+        assertEquals(createdVacations.get(0).toString(), own.jsonPath().getString("data.vacation.id"));
+
+        Response foreign = query(member, query, Map.of("id", createdVacations.get(2).toString()));
+        assertNull(foreign.jsonPath().get("data.vacation"));
+        assertFalse(foreign.jsonPath().getList("errors").isEmpty());
+    }
+
+    @Test
+    void queriesCountAgainstTheSearchQuotaOfTheCaller() {
+        String token = admin();
+        int throttled = 0;
+        for (int i = 0; i < 30; i++) {
+            int status = given().auth().oauth2(token)
+                    .contentType(ContentType.JSON)
+                    .body(Map.of("query", "{ employees(first: 1) { id } }"))
+                    .when().post("/graphql")
+                    .then().extract().statusCode();
+            if (status == 429) {
+                throttled++;
+            }
+        }
+        assertTrue(throttled > 0, "30 queries in a row never hit the search burst");
+
+        // Another caller has its own bucket
+        query(admin(), "{ employees(first: 1) { id } }", Map.of());
+    }
+
+    private Response query(String token, String query, Map<String, Object> variables) {
+        return given()
+                .auth().oauth2(token)
+                .contentType(ContentType.JSON)
+                .body(Map.of("query", query, "variables", variables))
+                .when()
+                .post("/graphql")
+                .then()
+                .statusCode(200)
+                .extract()
+                .response();
+    }
+
+    private void addSubordinates(int count) {
+        int year = Year.now().getValue();
+        for (int i = 0; i < count; i++) {
+            UUID employeeId = createEmployee("Member" + createdEmployees.size(), managerId, EmployeeRole.EMPLOYEE);
+            QuarkusTransaction.requiringNew().run(() -> {
+                Employee employee = Employee.findById(employeeId);
+                for (int month = 3; month <= 4; month++) {
+                    Vacation vacation = new Vacation();
+                    vacation.employee = employee;
+                    vacation.startDate = LocalDate.of(year, month, 2);
+                    vacation.endDate = LocalDate.of(year, month, 6);
+                    vacation.daysRequested = 5;
+                    vacation.persist();
+                    createdVacations.add(vacation.id);
+                }
+            });
+        }
+    }
+
+    private UUID createEmployee(String name, UUID manager, EmployeeRole role) {
+        UUID id = QuarkusTransaction.requiringNew().call(() -> {
+            Employee employee = new Employee();
+            employee.name = name;
+            employee.surname = "GraphTest";
+            employee.employmentType = EmploymentType.FULL_TIME;
+            employee.employeeRole = role;
+            employee.hireDate = LocalDate.of(2020, 1, 1);
+            employee.manager = manager == null ? null : Employee.findById(manager);
+            employee.persist();
+            return employee.id;
+        });
+        // Written without the service, so no domain event: tell the hierarchy directly
+        hierarchy.on(Tenant.DEFAULT, new EmployeeEvents.EmployeeCreated(id, manager, role, true, Instant.now()));
+        createdEmployees.add(id);
+        return id;
+    }
+
+    private String admin() {
+        return token(null, EmployeeRole.ADMIN);
+    }
+
+    private String token(UUID employeeId, EmployeeRole role) {
+        return tokenService.issue(UUID.randomUUID(), "graph." + UUID.randomUUID() + "@example.com", employeeId,
+                role.name(), Tenant.DEFAULT_ID);
+    }
+}
@@ -0,0 +1,134 @@
+package com.global.lbc.features.report.apparatus.usecases.export;
+
+import com.global.lbc.features.auth.apparatus.usecases.security.TokenService;
+import com.global.lbc.shared.tenant.Tenant;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// GET /reports/absence/csv over aggregates written straight into absence_monthly_aggregate: the
+// header, rows of the requested dimension and range only, in month order across the yearly
+// chunks, and keys that need CSV quoting. No vacation falls in 2091-2092, so only the seeded
+// rows are there.
+@QuarkusTest
+class AbsenceReportCsvTest {
+
+    private static final String TEAM = UUID.randomUUID().toString();
+
+    @Inject
+    TokenService tokenService;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @BeforeEach
+    void seed() throws SQLException {
+        clear();
+        aggregate("2091-06-01", "TEAM", TEAM, 5, 1, 1);
+        aggregate("2091-09-01", "TEAM", "NONE", 2, 1, 1);
+        aggregate("2091-12-01", "TEAM", TEAM, 3, 2, 1);
+        aggregate("2092-01-01", "TEAM", "with,comma \"quoted\"", 1, 1, 1);
+        aggregate("2092-08-01", "TEAM", TEAM, 10, 2, 2);
+        // Outside the range or of another dimension
+        aggregate("2091-05-01", "TEAM", TEAM, 4, 1, 1);
+        aggregate("2092-09-01", "TEAM", TEAM, 4, 1, 1);
+        aggregate("2091-06-01", "ROLE", "EMPLOYEE", 5, 1, 1);
+    }
+
+    @AfterEach
+    void clear() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(
+                     "DELETE FROM absence_monthly_aggregate WHERE month BETWEEN DATE '2091-01-01' AND DATE '2092-12-31'")) {
+            ps.executeUpdate();
+        }
+    }
+
+    @Test
+    void exportStreamsTheRangeAcrossYearlyChunks() {
+        // 15 months: two chunks of AbsenceReportCsv.CHUNK_MONTHS
+        ExtractableResponse<Response> csv = export("team", "2091-06", "2092-08", "ADMIN");
+
+        assertEquals(200, csv.statusCode(), csv.asString());
+        assertEquals("attachment; filename=\"absence-team-2091-06-2092-08.csv\"", csv.header("Content-Disposition"));
+        assertEquals(List.of(
+                AbsenceReportCsv.HEADER,
+                "2091-06,TEAM," + TEAM + ",5,1,1",
+                "2091-09,TEAM,NONE,2,1,1",
+                "2091-12,TEAM," + TEAM + ",3,2,1",
+                "2092-01,TEAM,\"with,comma \"\"quoted\"\"\",1,1,1",
+                "2092-08,TEAM," + TEAM + ",10,2,2"), lines(csv));
+    }
+
+    @Test
+    void emptyRangeIsJustTheHeader() {
+        ExtractableResponse<Response> csv = export("role", "2092-02", "2092-07", "ADMIN");
+
+        assertEquals(200, csv.statusCode());
+        assertEquals(List.of(AbsenceReportCsv.HEADER), lines(csv));
+    }
+
+    @Test
+    void badRequestsAreRefusedBeforeAnythingIsStreamed() {
+        assertEquals(403, export("team", "2091-06", "2092-08", "MANAGER").statusCode());
+        assertEquals(400, export("department", "2091-06", "2092-08", "ADMIN").statusCode());
+        assertEquals(400, export("team", "2092-08", "2091-06", "ADMIN").statusCode());
+        assertEquals(400, export("team", "2091-06", "June", "ADMIN").statusCode());
+    }
+
+    @Test
+    void onlyKeysWithSeparatorsOrQuotesAreQuoted() {
+        assertEquals("FULL_TIME", AbsenceReportCsv.escape("FULL_TIME"));
+        assertEquals("\"a,b\"", AbsenceReportCsv.escape("a,b"));
+        assertEquals("\"say \"\"hi\"\"\"", AbsenceReportCsv.escape("say \"hi\""));
+        assertEquals("\"two\nlines\"", AbsenceReportCsv.escape("two\nlines"));
+        assertEquals("", AbsenceReportCsv.escape(null));
+    }
+
+    private static List<String> lines(ExtractableResponse<Response> csv) {
+        return csv.asString().lines().toList();
+    }
+
+    private ExtractableResponse<Response> export(String dimension, String from, String to, String role) {
+        String token = tokenService.issue(UUID.randomUUID(), "report." + UUID.randomUUID() + "@example.com", null,
+                role, Tenant.DEFAULT_ID);
+        return given().auth().oauth2(token)
+                .queryParam("dimension", dimension)
+                .queryParam("from", from)
+                .queryParam("to", to)
+                .when().get("/reports/absence/csv")
+                .then().extract();
+    }
+
+    private void aggregate(String month, String dimension, String key, long daysOff, long requests, long employees)
+            throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement("""
+                     INSERT INTO absence_monthly_aggregate (month, dimension, dimension_key, days_off, requests, employees)
+                     VALUES (?, ?, ?, ?, ?, ?)
+                     """)) {
+            ps.setDate(1, Date.valueOf(month));
+            ps.setString(2, dimension);
+            ps.setString(3, key);
+            ps.setLong(4, daysOff);
+            ps.setLong(5, requests);
+            ps.setLong(6, employees);
+            ps.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package com.global.lbc.features.report.apparatus.usecases.refresh;
+
+import com.global.lbc.shared.tenant.Tenant;
+import com.global.lbc.shared.tenant.TenantRegistry;
+import com.global.lbc.shared.tenant.Tenants;
+import io.agroal.api.AgroalDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The triggers of V1.0.11 and the refresh that drains them, against the real schema: which months a
+// vacation or employee change marks, the totals of the three GROUPING SETS dimensions after a
+// refresh, and months claimed with SKIP LOCKED. Everything happens in 2091 so no other test's
+// vacations end up in the aggregates checked here; the scheduled refresh is off in the test profile.
+@QuarkusTest
+class AbsenceReportRefresherTest {
+
+    private static final LocalDate FIRST = LocalDate.of(2091, 1, 1);
+    private static final LocalDate LAST = LocalDate.of(2092, 12, 31);
+
+    @Inject
+    Tenants tenants;
+
+    @Inject
+    TenantRegistry tenantRegistry;
+
+    @Inject
+    MeterRegistry registry;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    private AbsenceReportRefresher refresher;
+    private final List<UUID> employees = new ArrayList<>();
+    private UUID manager;
+    private UUID fullTime;
+    private UUID intern;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        refresher = new AbsenceReportRefresher();
+        refresher.tenants = tenants;
+        refresher.tenantRegistry = tenantRegistry;
+        refresher.registry = registry;
+        refresher.batchSize = 6;
+
+        manager = employee(null, "MANAGER", "FULL_TIME");
+        fullTime = employee(manager, "EMPLOYEE", "FULL_TIME");
+        intern = employee(manager, "EMPLOYEE", "INTERNSHIP");
+        clearReport();
+    }
+
+    @AfterEach
+    void cleanUp() throws SQLException {
+        for (UUID employee : employees) {
+            execute("DELETE FROM vacation_request WHERE employee_id = ?", employee);
+        }
+        for (int i = employees.size() - 1; i >= 0; i--) {
+            execute("DELETE FROM employee_profile WHERE id = ?", employees.get(i));
+        }
+        employees.clear();
+        clearReport();
+    }
+
+    @Test
+    void approvedRequestsMarkEveryMonthTheyTouch() throws SQLException {
+        vacation(fullTime, "2091-03-30", "2091-04-02", "APPROVED");
+        vacation(intern, "2091-06-10", "2091-06-12", "PENDING");
+
+        // Pending requests are not absences yet
+        assertEquals(List.of("2091-03-01", "2091-04-01"), dirtyMonths());
+    }
+
+    @Test
+    void refreshBuildsTheThreeDimensionsOfEveryMarkedMonth() throws SQLException {
+        vacation(fullTime, "2091-03-30", "2091-04-02", "APPROVED");
+        vacation(intern, "2091-04-10", "2091-04-14", "APPROVED");
+        vacation(manager, "2091-04-20", "2091-04-21", "APPROVED");
+
+        refresher.refreshStaleMonths(Tenant.DEFAULT);
+
+        assertEquals(List.of(), dirtyMonths());
+        // A request across two months counts its calendar days in each of them
+        assertEquals(Set.of(
+                "ROLE EMPLOYEE 2 1 1",
+                "EMPLOYMENT_TYPE FULL_TIME 2 1 1",
+                "TEAM " + manager + " 2 1 1"), aggregates("2091-03-01"));
+        assertEquals(Set.of(
+                "ROLE EMPLOYEE 7 2 2",
+                "ROLE MANAGER 2 1 1",
+                "EMPLOYMENT_TYPE FULL_TIME 4 2 2",
+                "EMPLOYMENT_TYPE INTERNSHIP 5 1 1",
+                "TEAM " + manager + " 7 2 2",
+                "TEAM NONE 2 1 1"), aggregates("2091-04-01"));
+    }
+
+    @Test
+    void movingARequestMarksBothItsOldAndItsNewMonths() throws SQLException {
+        UUID vacation = vacation(fullTime, "2091-03-02", "2091-03-06", "APPROVED");
+        refresher.refreshStaleMonths(Tenant.DEFAULT);
+
+        execute("UPDATE vacation_request SET start_date = ?, end_date = ? WHERE id = ?",
+                Date.valueOf("2091-06-01"), Date.valueOf("2091-06-03"), vacation);
+
+        assertEquals(List.of("2091-03-01", "2091-06-01"), dirtyMonths());
+        refresher.refreshStaleMonths(Tenant.DEFAULT);
+        assertEquals(Set.of(), aggregates("2091-03-01"));
+        assertEquals(Set.of(
+                "ROLE EMPLOYEE 3 1 1",
+                "EMPLOYMENT_TYPE FULL_TIME 3 1 1",
+                "TEAM " + manager + " 3 1 1"), aggregates("2091-06-01"));
+    }
+
+    @Test
+    void cancellingARequestMarksItsMonthsAndTheRefreshDropsThem() throws SQLException {
+        UUID vacation = vacation(intern, "2091-05-04", "2091-05-08", "APPROVED");
+        refresher.refreshStaleMonths(Tenant.DEFAULT);
+
+        execute("UPDATE vacation_request SET vacation_status = 'CANCELLED' WHERE id = ?", vacation);
+
+        assertEquals(List.of("2091-05-01"), dirtyMonths());
+        refresher.refreshStaleMonths(Tenant.DEFAULT);
+        assertEquals(Set.of(), aggregates("2091-05-01"));
+    }
+
+    @Test
+    void employeeChangesMarkTheMonthsOfTheirApprovedRequests() throws SQLException {
+        vacation(intern, "2091-04-10", "2091-04-14", "APPROVED");
+        vacation(intern, "2091-09-01", "2091-09-01", "APPROVED");
+        vacation(intern, "2091-11-02", "2091-11-03", "REJECTED");
+        vacation(fullTime, "2091-04-13", "2091-04-13", "APPROVED");
+        refresher.refreshStaleMonths(Tenant.DEFAULT);
+
+        // Not a dimension of the report: nothing to refresh
+        execute("UPDATE employee_profile SET surname = 'Renamed' WHERE id = ?", intern);
+        assertEquals(List.of(), dirtyMonths());
+
+        execute("UPDATE employee_profile SET contract_role = 'FULL_TIME', manager_id = NULL WHERE id = ?", intern);
+        assertEquals(List.of("2091-04-01", "2091-09-01"), dirtyMonths());
+
+        refresher.refreshStaleMonths(Tenant.DEFAULT);
+        assertEquals(Set.of(
+                "ROLE EMPLOYEE 6 2 2",
+                "EMPLOYMENT_TYPE FULL_TIME 6 2 2",
+                "TEAM " + manager + " 1 1 1",
+                "TEAM NONE 5 1 1"), aggregates("2091-04-01"));
+    }
+
+    @Test
+    void monthsLockedByAnotherRefreshAreSkippedAndLeftMarked() throws SQLException {
+        mark("2091-01-01", "2091-03-31");
+
+        try (Connection other = dataSource.getConnection()) {
+            other.setAutoCommit(false);
+            try (PreparedStatement ps = other.prepareStatement(
+                    "SELECT month FROM absence_report_dirty_month WHERE month = ? FOR UPDATE")) {
+                ps.setDate(1, Date.valueOf("2091-02-01"));
+                ps.executeQuery().close();
+            }
+
+            // Claimed in batches of one: the loop keeps going until a batch comes back short
+            refresher.batchSize = 1;
+            double before = refreshed();
+            refresher.refreshStaleMonths(Tenant.DEFAULT);
+
+            assertEquals(List.of("2091-02-01"), dirtyMonths());
+            assertTrue(refreshed() - before >= 2);
+            other.rollback();
+        }
+
+        refresher.refreshStaleMonths(Tenant.DEFAULT);
+        assertEquals(List.of(), dirtyMonths());
+    }
+
+    @Test
+    void monthMarkedAgainByAnUncommittedChangeStaysQueued() throws SQLException {
+        mark("2091-07-01", "2091-07-31");
+        UUID vacation = UUID.randomUUID();
+
+        try (Connection writer = dataSource.getConnection()) {
+            writer.setAutoCommit(false);
+            // The month is already marked: this approval only re-marks it, and is not committed yet
+            try (PreparedStatement ps = writer.prepareStatement("""
+                    INSERT INTO vacation_request (id, employee_id, start_date, end_date, days_requested, vacation_status)
+                    VALUES (?, ?, DATE '2091-07-06', DATE '2091-07-10', 5, 'APPROVED')
+                    """)) {
+                ps.setObject(1, vacation);
+                ps.setObject(2, fullTime);
+                ps.executeUpdate();
+            }
+
+            // A refresh now would read a snapshot without the approval: it must leave the month alone
+            refresher.refreshStaleMonths(Tenant.DEFAULT);
+            assertEquals(List.of("2091-07-01"), dirtyMonths());
+
+            writer.commit();
+        }
+
+        refresher.refreshStaleMonths(Tenant.DEFAULT);
+        assertEquals(List.of(), dirtyMonths());
+        assertEquals(Set.of(
+                "ROLE EMPLOYEE 5 1 1",
+                "EMPLOYMENT_TYPE FULL_TIME 5 1 1",
+                "TEAM " + manager + " 5 1 1"), aggregates("2091-07-01"));
+    }
+
+    // ========================================
+    // HELPERS
+    // ========================================
+
+    private List<String> dirtyMonths() throws SQLException {
+        List<String> months = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(
+                     "SELECT month FROM absence_report_dirty_month WHERE month BETWEEN ? AND ? ORDER BY month")) {
+            ps.setDate(1, Date.valueOf(FIRST));
+            ps.setDate(2, Date.valueOf(LAST));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    months.add(rs.getDate(1).toLocalDate().toString());
+                }
+            }
+        }
+        return months;
+    }
+
+    // "DIMENSION key days_off requests employees"
+    private Set<String> aggregates(String month) throws SQLException {
+        Set<String> rows = new HashSet<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement("""
+                     SELECT dimension, dimension_key, days_off, requests, employees
+                     FROM absence_monthly_aggregate WHERE month = ?
+                     """)) {
+            ps.setDate(1, Date.valueOf(month));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(rs.getString(1) + " " + rs.getString(2) + " " + rs.getLong(3) + " "
+                            + rs.getLong(4) + " " + rs.getLong(5));
+                }
+            }
+        }
+        return rows;
+    }
+
+    private double refreshed() {
+        Counter counter = registry.find("report.absence.months.refreshed").tag("tenant", Tenant.DEFAULT_ID).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private void mark(String from, String to) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement("SELECT fn_mark_absence_months(?, ?)")) {
+            ps.setDate(1, Date.valueOf(from));
+            ps.setDate(2, Date.valueOf(to));
+            ps.executeQuery().close();
+        }
+    }
+
+    private void clearReport() throws SQLException {
+        execute("DELETE FROM absence_monthly_aggregate WHERE month BETWEEN ? AND ?", Date.valueOf(FIRST), Date.valueOf(LAST));
+        execute("DELETE FROM absence_report_dirty_month WHERE month BETWEEN ? AND ?", Date.valueOf(FIRST), Date.valueOf(LAST));
+    }
+
+    private UUID employee(UUID manager, String role, String contract) throws SQLException {
+        UUID id = UUID.randomUUID();
+        execute("""
+                INSERT INTO employee_profile (id, name, surname, contract_role, employee_role, hire_date, manager_id)
+                VALUES (?, 'Absence', 'ReportTest', ?, ?, DATE '2020-01-01', ?)
+                """, id, contract, role, manager);
+        employees.add(id);
+        return id;
+    }
+
+    private UUID vacation(UUID employee, String start, String end, String status) throws SQLException {
+        UUID id = UUID.randomUUID();
+        LocalDate startDate = LocalDate.parse(start);
+        LocalDate endDate = LocalDate.parse(end);
+        execute("""
+                INSERT INTO vacation_request (id, employee_id, start_date, end_date, days_requested, vacation_status)
+                VALUES (?, ?, ?, ?, ?, ?)
+                """, id, employee, Date.valueOf(startDate), Date.valueOf(endDate),
+                (int) (endDate.toEpochDay() - startDate.toEpochDay() + 1), status);
+        return id;
+    }
+
+    private void execute(String sql, Object... parameters) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                ps.setObject(i + 1, parameters[i]);
+            }
+            ps.executeUpdate();
+        }
+    }
+}
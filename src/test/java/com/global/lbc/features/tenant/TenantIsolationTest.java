@@ -0,0 +1,273 @@
+package com.global.lbc.features.tenant;
+
+import com.global.lbc.features.auth.apparatus.usecases.security.TokenService;
+import com.global.lbc.features.employee.apparatus.model.Employee;
+import com.global.lbc.features.employee.apparatus.model.util.EmployeeRole;
+import com.global.lbc.features.employee.apparatus.model.util.EmploymentType;
+import com.global.lbc.features.employee.apparatus.usecases.hierarchy.HierarchyIndex;
+import com.global.lbc.features.vacation.apparatus.model.Vacation;
+import com.global.lbc.features.vacation.apparatus.model.util.LedgerEntryType;
+import com.global.lbc.features.vacation.apparatus.usecases.ledger.VacationLedger;
+import com.global.lbc.features.vacation.apparatus.usecases.projection.VacationStatsProjection;
+import com.global.lbc.shared.events.DomainEventBus;
+import com.global.lbc.shared.tenant.Tenant;
+import com.global.lbc.shared.tenant.TenantMigrator;
+import com.global.lbc.shared.tenant.TenantResolutionFilter;
+import com.global.lbc.shared.tenant.Tenants;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.Map;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Two freshly provisioned tenants with the same data shape: neither the ORM, the read models rebuilt
+// with raw JDBC (HierarchyIndex, VacationStatsProjection), the ledger SQL, the REST API nor /graphql of
+// one may ever see the other's employees or vacations (nor those of the default tenant). Requests only
+// reach a tenant with a token of that tenant.
+@QuarkusTest
+class TenantIsolationTest {
+
+    @Inject
+    TenantMigrator migrator;
+
+    @Inject
+    Tenants tenants;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Inject
+    TokenService tokenService;
+
+    @Inject
+    DomainEventBus bus;
+
+    @Inject
+    HierarchyIndex hierarchy;
+
+    @Inject
+    VacationStatsProjection projection;
+
+    @Inject
+    VacationLedger ledger;
+
+    private Tenant acme;
+    private Tenant globex;
+    private Seeded acmeData;
+    private Seeded globexData;
+
+    @BeforeEach
+    void provisionTenants() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        acme = migrator.provision("acme_" + suffix, "Acme");
+        globex = migrator.provision("globex_" + suffix, "Globex");
+        acmeData = seed(acme, "Acme");
+        globexData = seed(globex, "Globex");
+    }
+
+    @AfterEach
+    void dropTenants() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (Tenant tenant : new Tenant[]{acme, globex}) {
+                statement.execute("DROP SCHEMA IF EXISTS \"" + tenant.schema() + "\" CASCADE");
+                statement.execute("DELETE FROM public.tenant_registry WHERE id = '" + tenant.id() + "'");
+            }
+        }
+    }
+
+    @Test
+    void entityQueriesOnlySeeTheirTenant() {
+        tenants.runAs(acme, () -> QuarkusTransaction.requiringNew().run(() -> {
+            assertEquals(2, Employee.count());
+            assertEquals(1, Vacation.count());
+            assertNotNull(Employee.findById(acmeData.employeeId()));
+            assertNull(Employee.findById(globexData.employeeId()));
+            assertNull(Vacation.findById(globexData.vacationId()));
+            assertEquals(0, Employee.count("surname", "Globex"));
+        }));
+        tenants.runAs(globex, () -> QuarkusTransaction.requiringNew().run(() -> {
+            assertEquals(2, Employee.count());
+            assertEquals(1, Vacation.count());
+            assertNull(Employee.findById(acmeData.employeeId()));
+            assertNull(Vacation.findById(acmeData.vacationId()));
+            assertNotNull(Vacation.findById(globexData.vacationId()));
+        }));
+        QuarkusTransaction.requiringNew().run(() -> {
+            assertNull(Employee.findById(acmeData.employeeId()));
+            assertNull(Vacation.findById(globexData.vacationId()));
+        });
+    }
+
+    @Test
+    void restRequestsOnlySeeTheTenantOfTheirToken() {
+        given().auth().oauth2(token(acme, acmeData)).header(TenantResolutionFilter.TENANT_HEADER, acme.id())
+                .when().get("/employees/" + acmeData.employeeId())
+                .then().statusCode(200);
+        given().auth().oauth2(token(acme, acmeData)).header(TenantResolutionFilter.TENANT_HEADER, acme.id())
+                .when().get("/vacations/" + acmeData.vacationId())
+                .then().statusCode(200);
+
+        given().auth().oauth2(token(globex, globexData)).header(TenantResolutionFilter.TENANT_HEADER, globex.id())
+                .when().get("/employees/" + acmeData.employeeId())
+                .then().statusCode(404);
+        given().auth().oauth2(token(globex, globexData)).header(TenantResolutionFilter.TENANT_HEADER, globex.id())
+                .when().get("/vacations/" + acmeData.vacationId())
+                .then().statusCode(404);
+
+        // The token alone decides: no header needed
+        given().auth().oauth2(token(acme, acmeData))
+                .when().get("/employees/" + acmeData.employeeId())
+                .then().statusCode(200);
+
+        // Default tenant (public)
+        given().auth().oauth2(token(Tenant.DEFAULT, globexData))
+                .when().get("/employees/" + globexData.employeeId())
+                .then().statusCode(404);
+    }
+
+    @Test
+    void headerNamingAnotherTenantThanTheTokenIsForbidden() {
+        given().auth().oauth2(token(acme, acmeData)).header(TenantResolutionFilter.TENANT_HEADER, globex.id())
+                .when().get("/employees/" + globexData.employeeId())
+                .then().statusCode(403);
+        given().auth().oauth2(token(Tenant.DEFAULT, acmeData)).header(TenantResolutionFilter.TENANT_HEADER, acme.id())
+                .when().get("/employees/" + acmeData.employeeId())
+                .then().statusCode(403);
+
+        graphql(token(acme, acmeData), globex, globexData.employeeId()).then().statusCode(403);
+    }
+
+    @Test
+    void anonymousRequestsNeverReachATenant() {
+        given().header(TenantResolutionFilter.TENANT_HEADER, acme.id())
+                .when().get("/employees/" + acmeData.employeeId())
+                .then().statusCode(401);
+        // Public paths are not a way in either: only the login may name a tenant without a token
+        given().header(TenantResolutionFilter.TENANT_HEADER, acme.id())
+                .when().get("/hello")
+                .then().statusCode(401);
+        graphql(null, acme, acmeData.employeeId()).then().statusCode(401);
+    }
+
+    @Test
+    void graphqlRequestsOnlySeeTheTenantOfTheirToken() {
+        assertEquals(acmeData.employeeId().toString(),
+                graphql(token(acme, acmeData), null, acmeData.employeeId())
+                        .then().statusCode(200).extract().jsonPath().getString("data.employee.id"));
+        assertNull(graphql(token(globex, globexData), null, acmeData.employeeId())
+                .then().statusCode(200).extract().jsonPath().get("data.employee"));
+        assertNull(graphql(token(Tenant.DEFAULT, globexData), null, acmeData.employeeId())
+                .then().statusCode(200).extract().jsonPath().get("data.employee"));
+    }
+
+    @Test
+    void readModelsRebuiltWithRawJdbcOnlySeeTheirTenant() {
+        // Seeded without the services, so nothing was published: rebuild from each tenant's schema
+        bus.replay(acme);
+        bus.replay(globex);
+
+        assertTrue(hierarchy.isAncestor(acme, acmeData.managerId(), acmeData.employeeId()));
+        assertFalse(hierarchy.isAncestor(globex, acmeData.managerId(), acmeData.employeeId()));
+        assertFalse(hierarchy.isAncestor(Tenant.DEFAULT, acmeData.managerId(), acmeData.employeeId()));
+
+        int year = Year.now().getValue();
+        assertEquals(1, projection.stats(acme, acmeData.employeeId(), year).requests);
+        assertEquals(0, projection.stats(globex, acmeData.employeeId(), year).requests);
+        assertEquals(0, projection.stats(Tenant.DEFAULT, acmeData.employeeId(), year).requests);
+    }
+
+    @Test
+    void ledgerSqlOnlySeesItsTenant() {
+        tenants.runAs(acme, () -> QuarkusTransaction.requiringNew().run(() ->
+                ledger.adjust(acmeData.employeeId(), LedgerEntryType.ADJUSTMENT, 10, "Isolation", "test")));
+
+        assertEquals(10, balanceIn(acme, acmeData.employeeId()));
+        assertEquals(0, balanceIn(globex, acmeData.employeeId()));
+        assertEquals(0, balanceIn(Tenant.DEFAULT, acmeData.employeeId()));
+    }
+
+    @Test
+    void unknownTenantIsRejected() {
+        // Login is the one public path: it is where an anonymous caller names its tenant
+        given().header(TenantResolutionFilter.TENANT_HEADER, "nobody_here")
+                .contentType("application/json")
+                .body("{\"email\":\"someone@example.com\",\"password\":\"irrelevant\"}")
+                .when().post("/auth/login")
+                .then().statusCode(400);
+    }
+
+    private long balanceIn(Tenant tenant, UUID employeeId) {
+        return tenants.callAs(tenant, () -> QuarkusTransaction.requiringNew().call(() ->
+                ledger.balanceOf(employeeId, ledger.today()).balance));
+    }
+
+    private Response graphql(String token, Tenant header, UUID employeeId) {
+        RequestSpecification request = given().contentType(ContentType.JSON)
+                .body(Map.of("query", "query($id: String!) { employee(id: $id) { id } }",
+                        "variables", Map.of("id", employeeId.toString())));
+        if (token != null) {
+            request.auth().oauth2(token);
+        }
+        if (header != null) {
+            request.header(TenantResolutionFilter.TENANT_HEADER, header.id());
+        }
+        return request.when().post("/graphql");
+    }
+
+    private String token(Tenant tenant, Seeded data) {
+        return tokenService.issue(UUID.randomUUID(), "isolation@" + tenant.id() + ".test", data.employeeId(),
+                "EMPLOYEE", tenant.id());
+    }
+
+    private Seeded seed(Tenant tenant, String surname) {
+        return tenants.callAs(tenant, () -> QuarkusTransaction.requiringNew().call(() -> {
+            Employee manager = new Employee();
+            manager.name = "Manager";
+            manager.surname = surname;
+            manager.employmentType = EmploymentType.FULL_TIME;
+            manager.employeeRole = EmployeeRole.MANAGER;
+            manager.hireDate = LocalDate.of(2020, 1, 1);
+            manager.persist();
+
+            Employee employee = new Employee();
+            employee.name = "Isolation";
+            employee.surname = surname;
+            employee.employmentType = EmploymentType.FULL_TIME;
+            employee.employeeRole = EmployeeRole.EMPLOYEE;
+            employee.hireDate = LocalDate.of(2020, 1, 1);
+            employee.manager = manager;
+            employee.persist();
+
+            Vacation vacation = new Vacation();
+            vacation.employee = employee;
+            vacation.startDate = LocalDate.of(Year.now().getValue(), 3, 2);
+            vacation.endDate = LocalDate.of(Year.now().getValue(), 3, 6);
+            vacation.daysRequested = 5;
+            vacation.persist();
+            return new Seeded(manager.id, employee.id, vacation.id);
+        }));
+    }
+
+    private record Seeded(UUID managerId, UUID employeeId, UUID vacationId) {}
+}
@@ -0,0 +1,36 @@
+package com.global.lbc.features.vacation;
+
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Test-only: records every SQL statement Hibernate prepares on the capturing thread, so tests can
+// EXPLAIN the queries the application really sends instead of a hand-written copy of them.
+// Scheduled jobs running meanwhile on other threads are not recorded.
+@PersistenceUnitExtension
+public class CapturedStatements implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = STATEMENTS.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    public static List<String> during(Runnable work) {
+        List<String> statements = new ArrayList<>();
+        STATEMENTS.set(statements);
+        try {
+            work.run();
+        } finally {
+            STATEMENTS.remove();
+        }
+        return List.copyOf(statements);
+    }
+}
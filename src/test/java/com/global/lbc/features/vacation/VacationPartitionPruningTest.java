@@ -0,0 +1,150 @@
+package com.global.lbc.features.vacation;
+
+import com.global.lbc.features.vacation.apparatus.application.service.VacationService;
+import com.global.lbc.shared.TotalsMode;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+// Checks that the queries VacationService.getPaginatedVacations really sends (page and totals,
+// captured from Hibernate) only touch the partitions of the requested years, both with a custom
+// plan (plan-time pruning) and with a generic plan of the prepared statement (run-time pruning).
+@QuarkusTest
+class VacationPartitionPruningTest {
+
+    private static final Pattern SCANNED_PARTITION = Pattern.compile("on (vacation_request_\\w+)");
+    private static final int PAGE_SIZE = 50;
+
+    @Inject
+    VacationService vacationService;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    private final int year = Year.now().getValue();
+
+    @BeforeEach
+    void ensurePartitions() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (int y = year - 1; y <= year + 1; y++) {
+                statement.execute("SELECT fn_ensure_yearly_partition('vacation_request', " + y + ")");
+            }
+        }
+    }
+
+    @Test
+    void boundsWithinOneYearPruneAtPlanTime() throws SQLException {
+        LocalDate from = LocalDate.of(year, 3, 1);
+        LocalDate to = LocalDate.of(year, 8, 31);
+
+        for (String sql : issuedQueries(from, to)) {
+            assertEquals(Set.of("vacation_request_y" + year), scannedPartitions(sql, from, to, false), sql);
+        }
+    }
+
+    @Test
+    void boundsSpanningTwoYearsScanOnlyThoseYears() throws SQLException {
+        LocalDate from = LocalDate.of(year - 1, 12, 1);
+        LocalDate to = LocalDate.of(year, 1, 31);
+
+        for (String sql : issuedQueries(from, to)) {
+            assertEquals(Set.of("vacation_request_y" + (year - 1), "vacation_request_y" + year),
+                    scannedPartitions(sql, from, to, false), sql);
+        }
+    }
+
+    @Test
+    void genericPlansPruneAtExecutorStartup() throws SQLException {
+        LocalDate from = LocalDate.of(year, 3, 1);
+        LocalDate to = LocalDate.of(year, 8, 31);
+
+        for (String sql : issuedQueries(from, to)) {
+            assertEquals(Set.of("vacation_request_y" + year), scannedPartitions(sql, from, to, true), sql);
+        }
+    }
+
+    // The statements on vacation_request issued for one bounded page, exactly as Hibernate sent them
+    private List<String> issuedQueries(LocalDate from, LocalDate to) {
+        List<String> queries = CapturedStatements.during(() -> vacationService.getPaginatedVacations(
+                        0, PAGE_SIZE, "startDate", "asc", from, to, TotalsMode.EXACT))
+                .stream()
+                .filter(sql -> sql.contains("vacation_request"))
+                .toList();
+        assertFalse(queries.isEmpty(), "no query on vacation_request was captured");
+        return queries;
+    }
+
+    // Prepares the captured SQL as-is and explains one execution of it. The first two parameters
+    // are the start_date bounds; any further ones are the page's offset/limit.
+    private Set<String> scannedPartitions(String sql, LocalDate from, LocalDate to, boolean genericPlan)
+            throws SQLException {
+        List<String> arguments = new ArrayList<>();
+        StringBuilder prepared = new StringBuilder();
+        for (char c : sql.toCharArray()) {
+            if (c != '?') {
+                prepared.append(c);
+                continue;
+            }
+            arguments.add(switch (arguments.size()) {
+                case 0 -> "'" + from + "'";
+                case 1 -> "'" + to + "'";
+                default -> String.valueOf(PAGE_SIZE);
+            });
+            prepared.append('$').append(arguments.size());
+        }
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            if (genericPlan) {
+                statement.execute("SET plan_cache_mode = force_generic_plan");
+            }
+            statement.execute("PREPARE vacation_query AS " + prepared);
+            try {
+                String plan = explain(statement, "EXPLAIN (ANALYZE, COSTS OFF, TIMING OFF) EXECUTE vacation_query("
+                        + String.join(", ", arguments) + ")");
+                return partitionsIn(plan);
+            } finally {
+                statement.execute("DEALLOCATE vacation_query");
+                statement.execute("RESET plan_cache_mode");
+            }
+        }
+    }
+
+    private String explain(Statement statement, String explain) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (ResultSet rs = statement.executeQuery(explain)) {
+            while (rs.next()) {
+                plan.append(rs.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+
+    private Set<String> partitionsIn(String plan) {
+        Set<String> partitions = new TreeSet<>();
+        Matcher matcher = SCANNED_PARTITION.matcher(plan);
+        while (matcher.find()) {
+            partitions.add(matcher.group(1));
+        }
+        return partitions;
+    }
+}
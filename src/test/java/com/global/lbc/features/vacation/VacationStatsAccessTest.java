@@ -0,0 +1,149 @@
+package com.global.lbc.features.vacation;
+
+import com.global.lbc.features.auth.apparatus.usecases.security.TokenService;
+import com.global.lbc.features.employee.apparatus.model.Employee;
+import com.global.lbc.features.employee.apparatus.model.events.EmployeeEvents;
+import com.global.lbc.features.employee.apparatus.model.util.EmployeeRole;
+import com.global.lbc.features.employee.apparatus.model.util.EmploymentType;
+import com.global.lbc.features.employee.apparatus.usecases.hierarchy.HierarchyIndex;
+import com.global.lbc.features.vacation.apparatus.model.Vacation;
+import com.global.lbc.features.vacation.apparatus.model.util.VacationStatus;
+import com.global.lbc.shared.tenant.Tenant;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// GET /vacations/stats and /vacations/team-calendar: only the employee, their managers and ADMINs
+// may read them, and years older than the in-memory projection are read from the database.
+@QuarkusTest
+class VacationStatsAccessTest {
+
+    // Before vacation.projection.years-back=1
+    private final int oldYear = Year.now().getValue() - 3;
+
+    @Inject
+    TokenService tokenService;
+
+    @Inject
+    HierarchyIndex hierarchy;
+
+    private UUID managerId;
+    private UUID employeeId;
+    private UUID outsiderId;
+
+    @BeforeEach
+    void createEmployees() {
+        managerId = createEmployee(null, EmployeeRole.MANAGER);
+        employeeId = createEmployee(managerId, EmployeeRole.EMPLOYEE);
+        outsiderId = createEmployee(null, EmployeeRole.EMPLOYEE);
+        // Written without the service: tell the hierarchy who reports to whom
+        hierarchy.on(Tenant.DEFAULT, new EmployeeEvents.EmployeeCreated(employeeId, managerId, EmployeeRole.EMPLOYEE,
+                true, Instant.now()));
+        createVacation(LocalDate.of(oldYear, 7, 6), 5, VacationStatus.APPROVED, true);
+        createVacation(LocalDate.of(oldYear, 9, 7), 2, VacationStatus.PENDING, true);
+        createVacation(LocalDate.of(oldYear, 10, 5), 3, VacationStatus.CANCELLED, false);
+        // Deleted without being cancelled: not counted, as in the projection
+        createVacation(LocalDate.of(oldYear, 11, 2), 4, VacationStatus.REJECTED, false);
+    }
+
+    @AfterEach
+    void deleteEmployees() {
+        hierarchy.on(Tenant.DEFAULT, new EmployeeEvents.EmployeeDeactivated(employeeId, managerId, "test", Instant.now()));
+        QuarkusTransaction.requiringNew().run(() -> {
+            Vacation.delete("employee.id", employeeId);
+            Employee.deleteById(employeeId);
+            Employee.deleteById(outsiderId);
+            Employee.deleteById(managerId);
+        });
+    }
+
+    @Test
+    void statsOfAYearOutsideTheProjectionComeFromTheDatabase() {
+        ExtractableResponse<Response> response = stats(token(employeeId));
+
+        assertEquals(200, response.statusCode());
+        assertEquals(oldYear, response.jsonPath().getInt("year"));
+        assertEquals(3, response.jsonPath().getInt("requests"));
+        assertEquals(5, response.jsonPath().getInt("approvedDays"));
+        assertEquals(2, response.jsonPath().getInt("pendingDays"));
+        assertEquals(3, response.jsonPath().getInt("cancelledDays"));
+        assertEquals(0, response.jsonPath().getInt("rejectedDays"));
+    }
+
+    @Test
+    void statsAreOnlyForTheEmployeeAndTheirManagers() {
+        assertEquals(200, stats(token(managerId)).statusCode());
+        assertEquals(403, stats(token(outsiderId)).statusCode());
+    }
+
+    @Test
+    void teamCalendarIsOnlyForTheManagerAndWithinTheProjection() {
+        String from = Year.now().atDay(1).toString();
+        String to = Year.now().atDay(31).toString();
+
+        assertEquals(200, teamCalendar(token(managerId), from, to).statusCode());
+        assertEquals(403, teamCalendar(token(outsiderId), from, to).statusCode());
+        assertEquals(400, teamCalendar(token(managerId), oldYear + "-07-01", oldYear + "-07-31").statusCode());
+    }
+
+    private ExtractableResponse<Response> stats(String token) {
+        return given().auth().oauth2(token)
+                .queryParam("year", oldYear)
+                .when().get("/vacations/stats/" + employeeId)
+                .then().extract();
+    }
+
+    private ExtractableResponse<Response> teamCalendar(String token, String from, String to) {
+        return given().auth().oauth2(token)
+                .queryParam("from", from)
+                .queryParam("to", to)
+                .when().get("/vacations/team-calendar/" + managerId)
+                .then().extract();
+    }
+
+    private UUID createEmployee(UUID manager, EmployeeRole role) {
+        return QuarkusTransaction.requiringNew().call(() -> {
+            Employee employee = new Employee();
+            employee.name = role.name();
+            employee.surname = "VacationStatsAccessTest";
+            employee.employmentType = EmploymentType.FULL_TIME;
+            employee.employeeRole = role;
+            employee.hireDate = LocalDate.of(2010, 1, 1);
+            employee.manager = manager == null ? null : Employee.findById(manager);
+            employee.persist();
+            return employee.id;
+        });
+    }
+
+    private void createVacation(LocalDate start, int days, VacationStatus status, boolean active) {
+        QuarkusTransaction.requiringNew().run(() -> {
+            Vacation vacation = new Vacation();
+            vacation.employee = Employee.findById(employeeId);
+            vacation.startDate = start;
+            vacation.endDate = start.plusDays(days - 1);
+            vacation.daysRequested = days;
+            vacation.vacationStatus = status;
+            vacation.isActive = active;
+            vacation.persist();
+        });
+    }
+
+    private String token(UUID employee) {
+        String role = employee.equals(managerId) ? EmployeeRole.MANAGER.name() : EmployeeRole.EMPLOYEE.name();
+        return tokenService.issue(UUID.randomUUID(), "stats." + UUID.randomUUID() + "@example.com", employee,
+                role, Tenant.DEFAULT_ID);
+    }
+}
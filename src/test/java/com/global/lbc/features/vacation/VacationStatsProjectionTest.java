@@ -0,0 +1,71 @@
+package com.global.lbc.features.vacation;
+
+import com.global.lbc.features.employee.apparatus.model.events.EmployeeEvents;
+import com.global.lbc.features.vacation.apparatus.application.dto.TeamCalendarEntry;
+import com.global.lbc.features.vacation.apparatus.application.dto.VacationStatsResponse;
+import com.global.lbc.features.vacation.apparatus.model.events.VacationEvents;
+import com.global.lbc.features.vacation.apparatus.model.util.VacationStatus;
+import com.global.lbc.features.vacation.apparatus.usecases.projection.VacationStatsProjection;
+import com.global.lbc.shared.tenant.Tenant;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Incremental updates of the in-memory projection, without the bus or a database
+class VacationStatsProjectionTest {
+
+    private final UUID manager = UUID.randomUUID();
+    private final UUID employee = UUID.randomUUID();
+    private final UUID vacation = UUID.randomUUID();
+
+    @Test
+    void statsFollowTheLatestStateAndIgnoreDuplicates() {
+        VacationStatsProjection projection = new VacationStatsProjection();
+
+        var created = new VacationEvents.VacationCreated(vacation, employee, manager,
+                LocalDate.of(2026, 8, 3), LocalDate.of(2026, 8, 7), 5, VacationStatus.PENDING, true, Instant.now());
+        projection.on(Tenant.DEFAULT, created);
+        projection.on(Tenant.DEFAULT, created);
+
+        VacationStatsResponse pending = projection.stats(Tenant.DEFAULT, employee, 2026);
+        assertEquals(1, pending.requests);
+        assertEquals(5, pending.pendingDays);
+
+        projection.on(Tenant.DEFAULT, new VacationEvents.VacationApproved(vacation, employee, manager,
+                LocalDate.of(2026, 8, 3), LocalDate.of(2026, 8, 7), 5, VacationStatus.APPROVED, true, "boss", Instant.now()));
+
+        VacationStatsResponse approved = projection.stats(Tenant.DEFAULT, employee, 2026);
+        assertEquals(1, approved.requests);
+        assertEquals(0, approved.pendingDays);
+        assertEquals(5, approved.approvedDays);
+        assertEquals(0, projection.stats(Tenant.DEFAULT, employee, 2025).requests);
+    }
+
+    @Test
+    void teamCalendarFollowsManagerChanges() {
+        VacationStatsProjection projection = new VacationStatsProjection();
+        projection.on(Tenant.DEFAULT, new EmployeeEvents.EmployeeCreated(employee, manager, null, true, Instant.now()));
+        projection.on(Tenant.DEFAULT, new VacationEvents.VacationCreated(vacation, employee, manager,
+                LocalDate.of(2026, 8, 3), LocalDate.of(2026, 8, 7), 5, VacationStatus.APPROVED, true, Instant.now()));
+
+        List<TeamCalendarEntry> august = projection.teamCalendar(Tenant.DEFAULT, manager, LocalDate.of(2026, 8, 1), LocalDate.of(2026, 8, 31));
+        assertEquals(1, august.size());
+        assertEquals(vacation, august.get(0).vacationId);
+        assertTrue(projection.teamCalendar(Tenant.DEFAULT, manager, LocalDate.of(2026, 9, 1), LocalDate.of(2026, 9, 30)).isEmpty());
+
+        UUID newManager = UUID.randomUUID();
+        projection.on(Tenant.DEFAULT, new EmployeeEvents.ManagerAssigned(employee, newManager, manager, Instant.now()));
+
+        assertTrue(projection.teamCalendar(Tenant.DEFAULT, manager, LocalDate.of(2026, 8, 1), LocalDate.of(2026, 8, 31)).isEmpty());
+        assertEquals(1, projection.teamCalendar(Tenant.DEFAULT, newManager, LocalDate.of(2026, 8, 1), LocalDate.of(2026, 8, 31)).size());
+
+        projection.on(Tenant.DEFAULT, new EmployeeEvents.EmployeeDeactivated(employee, newManager, "system", Instant.now()));
+        assertTrue(projection.teamCalendar(Tenant.DEFAULT, newManager, LocalDate.of(2026, 8, 1), LocalDate.of(2026, 8, 31)).isEmpty());
+    }
+}
@@ -0,0 +1,419 @@
+package com.global.lbc.features.vacation.apparatus.usecases.ledger;
+
+import com.global.lbc.features.auth.apparatus.usecases.security.TokenService;
+import com.global.lbc.features.employee.apparatus.model.Employee;
+import com.global.lbc.features.employee.apparatus.model.events.EmployeeEvents;
+import com.global.lbc.features.employee.apparatus.model.util.EmployeeRole;
+import com.global.lbc.features.employee.apparatus.model.util.EmploymentType;
+import com.global.lbc.features.employee.apparatus.usecases.hierarchy.HierarchyIndex;
+import com.global.lbc.features.vacation.apparatus.model.Vacation;
+import com.global.lbc.features.vacation.apparatus.model.VacationLedgerEntry;
+import com.global.lbc.features.vacation.apparatus.model.util.LedgerEntryType;
+import com.global.lbc.features.vacation.apparatus.model.util.VacationStatus;
+import com.global.lbc.features.vacation.apparatus.usecases.days.between.two.dates.VacationDaysBtCalculator;
+import com.global.lbc.shared.tenant.Tenant;
+import com.global.lbc.shared.tenant.Tenants;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Debits, reversals and settlements posted by the vacation state transitions through the REST API,
+// balances as of a date across snapshots, the nightly snapshot and reconciliation jobs, and the
+// vacation plan budget that the ledger balance leaves.
+@QuarkusTest
+class VacationLedgerTest {
+
+    @Inject
+    VacationLedger ledger;
+
+    @Inject
+    VacationDaysBtCalculator calculator;
+
+    @Inject
+    TokenService tokenService;
+
+    @Inject
+    HierarchyIndex hierarchy;
+
+    @Inject
+    Tenants tenants;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    private final List<UUID> createdEmployees = new ArrayList<>();
+    private UUID managerId;
+    private UUID employeeId;
+    private LocalDate today;
+
+    @BeforeEach
+    void createTeam() {
+        managerId = createEmployee("Manager", null, EmployeeRole.MANAGER);
+        employeeId = createEmployee("Employee", managerId, EmployeeRole.EMPLOYEE);
+        today = QuarkusTransaction.requiringNew().call(ledger::today);
+    }
+
+    @AfterEach
+    void deleteTeam() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            Vacation.delete("employee.id in ?1", createdEmployees);
+            // The ledger no longer cascades from employee_profile (V1.0.17)
+            for (String table : List.of("vacation_ledger_entry", "vacation_balance_snapshot")) {
+                Vacation.getEntityManager()
+                        .createNativeQuery("DELETE FROM " + table + " WHERE employee_id IN (:ids)")
+                        .setParameter("ids", createdEmployees)
+                        .executeUpdate();
+            }
+            // Subordinates first (manager_id is RESTRICT)
+            for (int i = createdEmployees.size() - 1; i >= 0; i--) {
+                Employee.deleteById(createdEmployees.get(i));
+            }
+        });
+        createdEmployees.clear();
+    }
+
+    @Test
+    void approvalDebitsTheRequestedDays() {
+        credit(10);
+        UUID vacation = createVacation(week(1));
+        int days = daysOf(vacation);
+
+        assertEquals(200, approve(vacation).statusCode());
+
+        assertEquals(List.of(LedgerEntryType.DEBIT + " " + -days), entriesOf(vacation));
+        assertBalance(10 - days, days, today);
+        assertCachedBalance(10 - days, days);
+    }
+
+    @Test
+    void cancelAndRejectReverseTheDebit() {
+        credit(20);
+        UUID cancelled = createVacation(week(1));
+        UUID rejected = createVacation(week(3));
+        assertEquals(200, approve(cancelled).statusCode());
+        assertEquals(200, approve(rejected).statusCode());
+
+        assertEquals(200, transition(cancelled, "cancel").statusCode());
+        assertEquals(200, transition(rejected, "reject").statusCode());
+
+        int cancelledDays = daysOf(cancelled);
+        int rejectedDays = daysOf(rejected);
+        assertEquals(List.of(LedgerEntryType.DEBIT + " " + -cancelledDays, LedgerEntryType.REVERSAL + " " + cancelledDays),
+                entriesOf(cancelled));
+        assertEquals(List.of(LedgerEntryType.DEBIT + " " + -rejectedDays, LedgerEntryType.REVERSAL + " " + rejectedDays),
+                entriesOf(rejected));
+        assertBalance(20, 0, today);
+    }
+
+    @Test
+    void editingAnApprovedRequestSettlesTheDifference() {
+        credit(20);
+        LocalDate[] week = week(1);
+        UUID vacation = createVacation(week);
+        assertEquals(200, approve(vacation).statusCode());
+        int before = daysOf(vacation);
+
+        // Two weeks: the extra days are debited
+        LocalDate[] longer = {week[0], week[1].plusWeeks(1)};
+        assertEquals(200, update(vacation, longer).statusCode());
+        int longerDays = calculator.calculateBusinessDays(longer[0], longer[1]);
+        assertBalance(20 - longerDays, longerDays, today);
+
+        // Back to three days: the difference is given back
+        LocalDate[] shorter = {week[0], week[0].plusDays(2)};
+        assertEquals(200, update(vacation, shorter).statusCode());
+        int shorterDays = calculator.calculateBusinessDays(shorter[0], shorter[1]);
+
+        assertEquals(List.of(LedgerEntryType.DEBIT + " " + -before,
+                        LedgerEntryType.DEBIT + " " + -(longerDays - before),
+                        LedgerEntryType.REVERSAL + " " + (longerDays - shorterDays)),
+                entriesOf(vacation));
+        assertBalance(20 - shorterDays, shorterDays, today);
+    }
+
+    @Test
+    void approvalThatWouldOverdrawIsAConflict() {
+        credit(2);
+        UUID vacation = createVacation(week(1));
+
+        ExtractableResponse<Response> response = approve(vacation);
+
+        assertEquals(409, response.statusCode());
+        assertTrue(response.asString().contains("Insufficient vacation balance"), response.asString());
+        assertEquals(List.of(), entriesOf(vacation));
+        assertEquals(VacationStatus.PENDING,
+                QuarkusTransaction.requiringNew().call(() -> Vacation.<Vacation>findById(vacation).vacationStatus));
+        assertBalance(2, 0, today);
+    }
+
+    @Test
+    void balanceAsOfADateStartsFromTheLatestSnapshotBeforeIt() throws SQLException {
+        insertEntry(LedgerEntryType.ACCRUAL, 20, today.minusDays(10));
+        insertSnapshot(today.minusDays(5), 20, 0);
+        insertEntry(LedgerEntryType.ADJUSTMENT, -4, today.minusDays(3));
+        credit(1);
+
+        assertBalance(0, 0, today.minusDays(11));
+        assertBalance(20, 0, today.minusDays(10));
+        assertBalance(20, 0, today.minusDays(5));
+        // Entries before the snapshot are already in it and must not be summed again
+        assertBalance(20, 0, today.minusDays(4));
+        assertBalance(16, 0, today.minusDays(3));
+        assertBalance(17, 0, today);
+    }
+
+    @Test
+    void nightlySnapshotClosesYesterdayAndRebuildsTheCachedBalance() throws SQLException {
+        credit(3);
+        // Written behind the ledger's back: the cached columns do not know about it
+        insertEntry(LedgerEntryType.ACCRUAL, 7, today.minusDays(1));
+        assertCachedBalance(3, 0);
+
+        tenants.runAs(Tenant.DEFAULT, () -> ledger.snapshotAndReconcile(Tenant.DEFAULT));
+        tenants.runAs(Tenant.DEFAULT, () -> ledger.snapshotAndReconcile(Tenant.DEFAULT));
+
+        // One snapshot for yesterday only, today's entry stays out of it; running twice changes nothing
+        assertEquals(List.of(today.minusDays(1) + " 7 0"), snapshots());
+        assertBalance(10, 0, today);
+        assertCachedBalance(10, 0);
+    }
+
+    @Test
+    void reconciliationRewritesDriftedCachedColumns() throws SQLException {
+        credit(12);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "UPDATE employee_profile SET vacation_days_balance = 99, vacation_days_used = 5 WHERE id = ?")) {
+            statement.setObject(1, employeeId);
+            statement.executeUpdate();
+        }
+
+        tenants.runAs(Tenant.DEFAULT, () -> ledger.reconcileProjection(Tenant.DEFAULT));
+
+        assertCachedBalance(12, 0);
+    }
+
+    @Test
+    void concurrentApprovalsForOneEmployeeCannotOverdraw() throws Exception {
+        credit(7);
+        UUID first = createVacation(week(1));
+        UUID second = createVacation(week(3));
+        int firstDays = daysOf(first);
+        int secondDays = daysOf(second);
+        assertTrue(firstDays + secondDays > 7 && firstDays <= 7 && secondDays <= 7,
+                "each request fits the balance, both together do not");
+
+        ExecutorService approvers = Executors.newFixedThreadPool(2);
+        List<Integer> statuses = new ArrayList<>();
+        try {
+            List<Callable<Integer>> approvals = List.of(() -> approve(first).statusCode(),
+                    () -> approve(second).statusCode());
+            for (Future<Integer> status : approvers.invokeAll(approvals)) {
+                statuses.add(status.get());
+            }
+        } finally {
+            approvers.shutdownNow();
+        }
+
+        assertEquals(List.of(200, 409), statuses.stream().sorted().toList());
+        int debited = entriesOf(first).isEmpty() ? secondDays : firstDays;
+        assertBalance(7 - debited, debited, today);
+        assertCachedBalance(7 - debited, debited);
+    }
+
+    @Test
+    void planBudgetLeavesOutDaysOfPendingRequests() {
+        credit(12);
+        int pending = daysOf(createVacation(week(1)));
+
+        ExtractableResponse<Response> plan = given().auth().oauth2(token(managerId, EmployeeRole.MANAGER))
+                .queryParam("year", today.getYear() + 1)
+                .when().get("/employees/" + employeeId + "/vacation-plan")
+                .then().extract();
+
+        assertEquals(200, plan.statusCode(), plan.asString());
+        assertEquals(12, plan.jsonPath().getLong("balance"));
+        assertEquals(pending, plan.jsonPath().getLong("pendingDays"));
+        assertEquals(12 - pending, plan.jsonPath().getInt("budget"));
+        List<Map<String, Object>> periods = plan.jsonPath().getList("periods");
+        assertTrue(!periods.isEmpty());
+        for (Map<String, Object> period : periods) {
+            int charged = calculator.calculateBusinessDays(LocalDate.parse((String) period.get("leaveStart")),
+                    LocalDate.parse((String) period.get("leaveEnd")));
+            assertEquals(charged, period.get("workingDays"));
+            assertTrue(charged <= 12 - pending);
+        }
+    }
+
+    // ========================================
+    // HELPERS
+    // ========================================
+
+    private void credit(long days) {
+        QuarkusTransaction.requiringNew().run(() ->
+                ledger.adjust(employeeId, LedgerEntryType.ADJUSTMENT, days, "test credit", "test"));
+    }
+
+    // Monday to Friday, n weeks after the first Monday of March next year
+    private LocalDate[] week(int n) {
+        LocalDate monday = LocalDate.of(today.getYear() + 1, 3, 1)
+                .with(TemporalAdjusters.firstInMonth(DayOfWeek.MONDAY))
+                .plusWeeks(n);
+        return new LocalDate[]{monday, monday.plusDays(4)};
+    }
+
+    private UUID createVacation(LocalDate[] period) {
+        return QuarkusTransaction.requiringNew().call(() -> {
+            Vacation vacation = new Vacation();
+            vacation.employee = Employee.findById(employeeId);
+            vacation.startDate = period[0];
+            vacation.endDate = period[1];
+            vacation.daysRequested = calculator.calculateBusinessDays(period[0], period[1]);
+            vacation.persist();
+            return vacation.id;
+        });
+    }
+
+    private int daysOf(UUID vacation) {
+        return QuarkusTransaction.requiringNew().call(() -> Vacation.<Vacation>findById(vacation).daysRequested);
+    }
+
+    private ExtractableResponse<Response> approve(UUID vacation) {
+        return transition(vacation, "approve");
+    }
+
+    private ExtractableResponse<Response> transition(UUID vacation, String action) {
+        return given().auth().oauth2(token(managerId, EmployeeRole.MANAGER))
+                .when().put("/vacations/" + vacation + "/" + action)
+                .then().extract();
+    }
+
+    private ExtractableResponse<Response> update(UUID vacation, LocalDate[] period) {
+        return given().auth().oauth2(token(managerId, EmployeeRole.MANAGER))
+                .contentType(ContentType.JSON)
+                .body(Map.of("employeeId", employeeId.toString(),
+                        "startDate", period[0].toString(),
+                        "endDate", period[1].toString()))
+                .when().put("/vacations/" + vacation)
+                .then().extract();
+    }
+
+    private void assertBalance(long balance, long used, LocalDate asOf) {
+        ExtractableResponse<Response> response = given().auth().oauth2(token(null, EmployeeRole.ADMIN))
+                .queryParam("asOf", asOf.toString())
+                .when().get("/vacations/balance/" + employeeId)
+                .then().extract();
+        assertEquals(200, response.statusCode(), response.asString());
+        assertEquals(balance, response.jsonPath().getLong("balance"), "balance as of " + asOf);
+        assertEquals(used, response.jsonPath().getLong("used"), "used as of " + asOf);
+    }
+
+    private void assertCachedBalance(long balance, long used) {
+        Employee employee = QuarkusTransaction.requiringNew().call(() -> Employee.<Employee>findById(employeeId));
+        assertEquals(balance, employee.vacationDaysBalance);
+        assertEquals(used, employee.vacationDaysUsed);
+    }
+
+    private List<String> entriesOf(UUID vacation) {
+        return QuarkusTransaction.requiringNew().call(() -> VacationLedgerEntry
+                .<VacationLedgerEntry>list("vacationId = ?1 order by id", vacation)
+                .stream()
+                .map(entry -> entry.entryType + " " + entry.balanceDelta)
+                .toList());
+    }
+
+    private List<String> snapshots() throws SQLException {
+        List<String> rows = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT as_of_date, balance, used FROM vacation_balance_snapshot WHERE employee_id = ? ORDER BY as_of_date")) {
+            statement.setObject(1, employeeId);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(rs.getDate(1).toLocalDate() + " " + rs.getLong(2) + " " + rs.getLong(3));
+                }
+            }
+        }
+        return rows;
+    }
+
+    // Past-dated rows can only come from SQL: the ledger always posts on the current day
+    private void insertEntry(LedgerEntryType type, long days, LocalDate effectiveDate) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO vacation_ledger_entry (employee_id, entry_type, balance_delta, effective_date, created_by) "
+                             + "VALUES (?, ?, ?, ?, 'test')")) {
+            statement.setObject(1, employeeId);
+            statement.setString(2, type.name());
+            statement.setLong(3, days);
+            statement.setDate(4, Date.valueOf(effectiveDate));
+            statement.executeUpdate();
+        }
+    }
+
+    private void insertSnapshot(LocalDate asOf, long balance, long used) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "INSERT INTO vacation_balance_snapshot (employee_id, as_of_date, balance, used) VALUES (?, ?, ?, ?)")) {
+            statement.setObject(1, employeeId);
+            statement.setDate(2, Date.valueOf(asOf));
+            statement.setLong(3, balance);
+            statement.setLong(4, used);
+            statement.executeUpdate();
+        }
+    }
+
+    private UUID createEmployee(String name, UUID manager, EmployeeRole role) {
+        UUID id = QuarkusTransaction.requiringNew().call(() -> {
+            Employee employee = new Employee();
+            employee.name = name;
+            employee.surname = "LedgerTest";
+            employee.employmentType = EmploymentType.FULL_TIME;
+            employee.employeeRole = role;
+            employee.hireDate = LocalDate.of(2020, 1, 1);
+            employee.manager = manager == null ? null : Employee.findById(manager);
+            employee.vacationDaysBalance = 0L;
+            employee.vacationDaysUsed = 0L;
+            employee.persist();
+            return employee.id;
+        });
+        // Written without the service, so no domain event: tell the hierarchy directly
+        hierarchy.on(Tenant.DEFAULT, new EmployeeEvents.EmployeeCreated(id, manager, role, true, Instant.now()));
+        createdEmployees.add(id);
+        return id;
+    }
+
+    private String token(UUID employee, EmployeeRole role) {
+        return tokenService.issue(UUID.randomUUID(), "ledger." + UUID.randomUUID() + "@example.com", employee,
+                role.name(), Tenant.DEFAULT_ID);
+    }
+}
@@ -0,0 +1,114 @@
+package com.global.lbc.features.vacation.apparatus.usecases.planner;
+
+import com.global.lbc.features.vacation.apparatus.application.dto.VacationPlanPeriod;
+import com.global.lbc.features.vacation.apparatus.usecases.days.between.two.dates.VacationDaysBtCalculator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Holiday tables and window search of the leave planner, entirely in memory
+class LeavePlannerTest {
+
+    private final LeavePlanner planner = new LeavePlanner();
+    private final VacationDaysBtCalculator calculator = new VacationDaysBtCalculator();
+
+    @BeforeEach
+    void setUp() {
+        planner.calculator = calculator;
+    }
+
+    @Test
+    void movableHolidaysFollowEaster() {
+        Set<LocalDate> pt2025 = HolidayCalendar.holidays("PT", 2025);
+        assertTrue(pt2025.contains(LocalDate.of(2025, 4, 18)));  // Sexta-feira Santa
+        assertTrue(pt2025.contains(LocalDate.of(2025, 4, 20)));  // Páscoa
+        assertTrue(pt2025.contains(LocalDate.of(2025, 6, 19)));  // Corpo de Deus
+
+        Set<LocalDate> br2026 = HolidayCalendar.holidays("BR", 2026);
+        assertTrue(br2026.contains(LocalDate.of(2026, 4, 3)));
+        assertTrue(br2026.contains(LocalDate.of(2026, 4, 21)));
+        assertTrue(br2026.contains(LocalDate.of(2026, 11, 20)));
+        assertFalse(br2026.contains(LocalDate.of(2026, 6, 10)));
+        assertFalse(HolidayCalendar.holidays("BR", 2023).contains(LocalDate.of(2023, 11, 20)));
+    }
+
+    @Test
+    void oneDayBridgesComeFirstInDateOrder() {
+        List<VacationPlanPeriod> plan = planner.plan("PT", 2026, LocalDate.of(2026, 1, 1), List.of(), 1, 3);
+
+        assertEquals(3, plan.size());
+        // Fri 2 Jan after New Year, Thu 2 Apr before Good Friday, Thu 30 Apr before May Day (Friday)
+        assertPeriod(plan.get(0), "2026-01-02", "2026-01-01", "2026-01-04");
+        assertPeriod(plan.get(1), "2026-04-02", "2026-04-02", "2026-04-05");
+        assertPeriod(plan.get(2), "2026-04-30", "2026-04-30", "2026-05-03");
+        for (VacationPlanPeriod period : plan) {
+            assertEquals(1, period.workingDays);
+            assertEquals(4, period.daysOff);
+            assertEquals(4.0, period.daysOffPerWorkingDay);
+        }
+    }
+
+    @Test
+    void existingRequestsAndPastDaysAreSkipped() {
+        List<LocalDate[]> busy = List.<LocalDate[]>of(new LocalDate[]{LocalDate.of(2026, 6, 1), LocalDate.of(2026, 6, 7)});
+
+        List<VacationPlanPeriod> plan = planner.plan("PT", 2026, LocalDate.of(2026, 5, 2), busy, 1, 3);
+
+        // Corpo de Deus (Fri 5 Jun bridge) is taken by the existing request
+        assertEquals(3, plan.size());
+        assertTrue(plan.stream().noneMatch(period -> period.leaveStart.equals(LocalDate.of(2026, 6, 5))));
+        assertPeriod(plan.get(0), "2026-10-02", "2026-10-02", "2026-10-05");
+        assertPeriod(plan.get(1), "2026-11-30", "2026-11-28", "2026-12-01");
+        assertPeriod(plan.get(2), "2026-12-07", "2026-12-05", "2026-12-08");
+    }
+
+    @Test
+    void breaksRunIntoTheNextYear() {
+        List<VacationPlanPeriod> plan = planner.plan("PT", 2026, LocalDate.of(2026, 12, 29), List.of(), 1, 1);
+
+        assertPeriod(plan.get(0), "2026-12-31", "2026-12-31", "2027-01-03");
+    }
+
+    @Test
+    void periodsRespectTheBudgetAndNeverOverlap() {
+        List<VacationPlanPeriod> plan = planner.plan("BR", 2026, LocalDate.of(2026, 1, 1), List.of(), 5, 10);
+
+        assertEquals(10, plan.size());
+        for (int i = 0; i < plan.size(); i++) {
+            VacationPlanPeriod period = plan.get(i);
+            assertTrue(period.workingDays >= 1 && period.workingDays <= 5);
+            assertTrue(period.daysOff > period.workingDays);
+            if (i > 0) {
+                assertTrue(plan.get(i - 1).daysOffPerWorkingDay >= period.daysOffPerWorkingDay);
+            }
+            for (VacationPlanPeriod other : plan.subList(0, i)) {
+                assertTrue(period.breakEnd.isBefore(other.breakStart) || period.breakStart.isAfter(other.breakEnd));
+            }
+        }
+    }
+
+    @Test
+    void windowsCostWhatTheLedgerDebits() {
+        List<VacationPlanPeriod> plan = planner.plan("PT", 2026, LocalDate.of(2026, 1, 1), List.of(), 5, 10);
+
+        assertEquals(10, plan.size());
+        for (VacationPlanPeriod period : plan) {
+            // Weekends and holidays inside a window are charged like any other requested day
+            assertEquals(calculator.calculateBusinessDays(period.leaveStart, period.leaveEnd), period.workingDays);
+            assertTrue(period.workingDays <= 5);
+        }
+    }
+
+    private static void assertPeriod(VacationPlanPeriod period, String leave, String breakStart, String breakEnd) {
+        assertEquals(LocalDate.parse(leave), period.leaveStart);
+        assertEquals(LocalDate.parse(breakStart), period.breakStart);
+        assertEquals(LocalDate.parse(breakEnd), period.breakEnd);
+    }
+}
@@ -0,0 +1,208 @@
+package com.global.lbc.features.vacation.apparatus.usecases.projection;
+
+import com.global.lbc.features.employee.apparatus.model.Employee;
+import com.global.lbc.features.employee.apparatus.model.util.EmployeeRole;
+import com.global.lbc.features.employee.apparatus.model.util.EmploymentType;
+import com.global.lbc.features.vacation.apparatus.model.Vacation;
+import com.global.lbc.features.vacation.apparatus.model.events.VacationEvents;
+import com.global.lbc.features.vacation.apparatus.model.util.VacationStatus;
+import com.global.lbc.shared.events.DomainEvent;
+import com.global.lbc.shared.events.DomainEventBus;
+import com.global.lbc.shared.tenant.Tenant;
+import com.global.lbc.shared.tenant.TenantRegistry;
+import com.global.lbc.shared.tenant.Tenants;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Two instances on one database: A is the running application, B a second projection with its own
+// listen connection standing in for its ClusterInvalidation. A change committed on either side
+// reaches the other one through LISTEN/NOTIFY only, never through the other's event bus.
+@QuarkusTest
+class VacationStatsProjectionClusterTest {
+
+    private static final String CHANNEL = "lbc_cache_invalidation";
+    private static final String ORIGIN_B = UUID.randomUUID().toString();
+
+    @Inject
+    VacationStatsProjection instanceA;
+
+    @Inject
+    Tenants tenants;
+
+    @Inject
+    TenantRegistry tenantRegistry;
+
+    @Inject
+    DomainEventBus bus;
+
+    @Inject
+    Event<DomainEvent> domainEvents;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    private VacationStatsProjection instanceB;
+    private Connection listenB;
+    private UUID employeeId;
+    private final int year = Year.now().getValue();
+
+    @BeforeEach
+    void startInstanceB() throws SQLException {
+        employeeId = QuarkusTransaction.requiringNew().call(() -> {
+            Employee employee = new Employee();
+            employee.name = "Cluster";
+            employee.surname = "ProjectionTest";
+            employee.employmentType = EmploymentType.FULL_TIME;
+            employee.employeeRole = EmployeeRole.EMPLOYEE;
+            employee.hireDate = LocalDate.of(2020, 1, 1);
+            employee.persist();
+            return employee.id;
+        });
+
+        listenB = dataSource.getConnection();
+        try (Statement statement = listenB.createStatement()) {
+            statement.execute("LISTEN " + CHANNEL);
+        }
+        instanceB = new VacationStatsProjection();
+        instanceB.tenants = tenants;
+        instanceB.tenantRegistry = tenantRegistry;
+        instanceB.bus = bus;
+        instanceB.replay(Tenant.DEFAULT);
+    }
+
+    @AfterEach
+    void stopInstanceB() throws SQLException {
+        try (Statement statement = listenB.createStatement()) {
+            statement.execute("UNLISTEN *");
+        }
+        listenB.close();
+        QuarkusTransaction.requiringNew().run(() -> {
+            Vacation.delete("employee.id", employeeId);
+            Employee.deleteById(employeeId);
+        });
+    }
+
+    @Test
+    void changesCommittedOnEitherInstanceReachTheOther() throws SQLException {
+        // A: a request through A's own event bus, announced by A's ClusterInvalidation
+        UUID vacationId = QuarkusTransaction.requiringNew().call(() -> {
+            Vacation vacation = new Vacation();
+            vacation.employee = Employee.findById(employeeId);
+            vacation.startDate = LocalDate.of(year, 7, 6);
+            vacation.endDate = LocalDate.of(year, 7, 10);
+            vacation.daysRequested = 5;
+            vacation.persist();
+            domainEvents.fire(new VacationEvents.VacationCreated(vacation.id, employeeId, null, vacation.startDate,
+                    vacation.endDate, 5, VacationStatus.PENDING, true, Instant.now()));
+            return vacation.id;
+        });
+
+        awaitTrue(() -> instanceA.stats(Tenant.DEFAULT, employeeId, year).pendingDays == 5);
+        awaitTrue(() -> {
+            receiveOnB();
+            return instanceB.stats(Tenant.DEFAULT, employeeId, year).pendingDays == 5;
+        });
+
+        // B: approved there, applied to B's own projection and announced under B's origin
+        QuarkusTransaction.requiringNew().run(() ->
+                Vacation.<Vacation>findById(vacationId).vacationStatus = VacationStatus.APPROVED);
+        instanceB.on(Tenant.DEFAULT, new VacationEvents.VacationApproved(vacationId, employeeId, null,
+                LocalDate.of(year, 7, 6), LocalDate.of(year, 7, 10), 5, VacationStatus.APPROVED, true, "b",
+                Instant.now()));
+        notifyFromB(vacationId);
+
+        awaitTrue(() -> instanceA.stats(Tenant.DEFAULT, employeeId, year).approvedDays == 5);
+        assertEquals(0, instanceA.stats(Tenant.DEFAULT, employeeId, year).pendingDays);
+        assertEquals(5, instanceB.stats(Tenant.DEFAULT, employeeId, year).approvedDays);
+    }
+
+    @Test
+    void requestPurgedElsewhereIsDroppedFromMemory() throws SQLException {
+        UUID vacationId = QuarkusTransaction.requiringNew().call(() -> {
+            Vacation vacation = new Vacation();
+            vacation.employee = Employee.findById(employeeId);
+            vacation.startDate = LocalDate.of(year, 9, 7);
+            vacation.endDate = LocalDate.of(year, 9, 8);
+            vacation.daysRequested = 2;
+            vacation.persist();
+            return vacation.id;
+        });
+        notifyFromB(vacationId);
+        awaitTrue(() -> instanceA.stats(Tenant.DEFAULT, employeeId, year).pendingDays == 2);
+
+        // Gone from vacation_request: A only finds its employee in memory
+        QuarkusTransaction.requiringNew().run(() -> Vacation.deleteById(vacationId));
+        notifyFromB(vacationId);
+
+        awaitTrue(() -> instanceA.stats(Tenant.DEFAULT, employeeId, year).requests == 0);
+    }
+
+    // What B's ClusterInvalidation would hand to B's projection: everything not sent by B itself
+    private void receiveOnB() {
+        try {
+            PGNotification[] notifications = listenB.unwrap(PGConnection.class).getNotifications(50);
+            if (notifications == null) {
+                return;
+            }
+            for (PGNotification notification : notifications) {
+                String[] lines = notification.getParameter().split("\n");
+                if (ORIGIN_B.equals(lines[0])) {
+                    continue;
+                }
+                for (int i = 1; i < lines.length; i++) {
+                    String[] parts = lines[i].split(" ");
+                    if (parts.length == 3 && Tenant.DEFAULT_ID.equals(parts[0])) {
+                        instanceB.invalidate(Tenant.DEFAULT, parts[1], Set.of(UUID.fromString(parts[2])));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void notifyFromB(UUID vacationId) throws SQLException {
+        String payload = ORIGIN_B + '\n' + Tenant.DEFAULT_ID + ' ' + VacationEvents.AGGREGATE_TYPE + ' ' + vacationId;
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            statement.setString(1, CHANNEL);
+            statement.setString(2, payload);
+            statement.execute();
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "instances did not converge within 5s");
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
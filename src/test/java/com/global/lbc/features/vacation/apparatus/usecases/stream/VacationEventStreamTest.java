@@ -0,0 +1,357 @@
+package com.global.lbc.features.vacation.apparatus.usecases.stream;
+
+import com.global.lbc.features.vacation.apparatus.application.dto.VacationStreamEvent;
+import com.global.lbc.features.vacation.apparatus.model.events.VacationEvents;
+import com.global.lbc.features.vacation.apparatus.model.util.VacationStatus;
+import com.global.lbc.shared.tenant.Tenant;
+import com.global.lbc.shared.tenant.Tenants;
+import jakarta.ws.rs.core.GenericType;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseBroadcaster;
+import jakarta.ws.rs.sse.SseEventSink;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Fan-out, Last-Event-ID resume, subscriber cap and cancellation, on in-memory sinks
+class VacationEventStreamTest {
+
+    private static final VacationEventStream.Filter ANY = new VacationEventStream.Filter(null, null);
+
+    private final Sse sse = new RecordingSse();
+    private final UUID employee = UUID.randomUUID();
+    private final UUID manager = UUID.randomUUID();
+
+    private VacationEventStream stream;
+    private Tenant subscriberTenant;
+
+    @BeforeEach
+    void setUp() {
+        subscriberTenant = Tenant.DEFAULT;
+        stream = new VacationEventStream();
+        stream.tenants = new Tenants() {
+            @Override
+            public Tenant current() {
+                return subscriberTenant;
+            }
+        };
+        stream.replayBufferSize = 3;
+        stream.maxSubscribers = 2;
+    }
+
+    @Test
+    void reconnectWithLastEventIdResumesAfterIt() {
+        RecordingSink live = subscribe(null);
+        publish(Tenant.DEFAULT, 3);
+        assertEquals(3, live.events.size());
+        String firstId = live.events.get(0).getId();
+
+        RecordingSink resumed = subscribe(firstId);
+
+        assertEquals(List.of(live.events.get(1).getId(), live.events.get(2).getId()), resumed.ids());
+        assertEquals("vacation-approved", resumed.events.get(0).getName());
+        assertEquals(employee, ((RecordedEvent) resumed.events.get(0)).payload().employeeId);
+    }
+
+    @Test
+    void reconnectFromTheLatestIdReplaysNothing() {
+        RecordingSink live = subscribe(null);
+        publish(Tenant.DEFAULT, 2);
+
+        RecordingSink resumed = subscribe(live.events.get(1).getId());
+
+        assertTrue(resumed.events.isEmpty());
+    }
+
+    @Test
+    void idsOlderThanTheBufferOrFromAnotherEpochAskForResync() {
+        RecordingSink live = subscribe(null);
+        publish(Tenant.DEFAULT, 5);
+        String evicted = live.events.get(0).getId();
+        close(live);
+
+        RecordingSink tooOld = subscribe(evicted);
+        assertEquals(List.of(VacationEventStream.RESYNC_EVENT), tooOld.names());
+        close(tooOld);
+
+        RecordingSink otherInstance = subscribe("0-3");
+        assertEquals(List.of(VacationEventStream.RESYNC_EVENT), otherInstance.names());
+        close(otherInstance);
+
+        RecordingSink garbage = subscribe("not-an-id");
+        assertEquals(List.of(VacationEventStream.RESYNC_EVENT), garbage.names());
+    }
+
+    @Test
+    void subscribersOnlySeeAndResumeTheirOwnTenant() {
+        subscriberTenant = Tenant.of("acme");
+        RecordingSink acme = subscribe(null);
+        subscriberTenant = Tenant.DEFAULT;
+        RecordingSink fallback = subscribe(null);
+
+        publish(Tenant.DEFAULT, 2);
+        publish(Tenant.of("acme"), 1);
+
+        assertEquals(1, acme.events.size());
+        assertEquals(2, fallback.events.size());
+
+        close(fallback);
+        subscriberTenant = Tenant.of("acme");
+        RecordingSink resumed = subscribe(fallback.events.get(0).getId());
+        assertEquals(List.of(acme.events.get(0).getId()), resumed.ids());
+    }
+
+    @Test
+    void filterLimitsEventsToTheRequestedManager() {
+        RecordingSink team = new RecordingSink();
+        assertTrue(stream.subscribe(team, sse, new VacationEventStream.Filter(manager, null), null));
+        RecordingSink other = new RecordingSink();
+        assertTrue(stream.subscribe(other, sse, new VacationEventStream.Filter(UUID.randomUUID(), null), null));
+
+        publish(Tenant.DEFAULT, 1);
+
+        assertEquals(1, team.events.size());
+        assertTrue(other.events.isEmpty());
+    }
+
+    @Test
+    void subscriberCapRefusesNewcomersUntilASinkCloses() {
+        RecordingSink first = subscribe(null);
+        subscribe(null);
+
+        assertFalse(stream.subscribe(new RecordingSink(), sse, ANY, null));
+
+        // A client that went away is noticed on the next send and frees its slot
+        first.closed = true;
+        publish(Tenant.DEFAULT, 1);
+        assertTrue(stream.subscribe(new RecordingSink(), sse, ANY, null));
+    }
+
+    @Test
+    void failedSendClosesTheSinkAndStopsDelivery() {
+        RecordingSink broken = subscribe(null);
+        broken.failSends = true;
+
+        publish(Tenant.DEFAULT, 1);
+        assertTrue(broken.closed);
+
+        broken.failSends = false;
+        publish(Tenant.DEFAULT, 1);
+        assertTrue(broken.events.isEmpty());
+        assertTrue(stream.subscribe(new RecordingSink(), sse, ANY, null));
+        assertTrue(stream.subscribe(new RecordingSink(), sse, ANY, null));
+    }
+
+    @Test
+    void keepAliveDropsClosedSinks() {
+        RecordingSink cancelled = subscribe(null);
+        RecordingSink alive = subscribe(null);
+        cancelled.closed = true;
+
+        stream.keepAlive();
+
+        assertEquals(List.of("keep-alive"), alive.comments());
+        assertTrue(cancelled.events.isEmpty());
+        assertTrue(stream.subscribe(new RecordingSink(), sse, ANY, null));
+    }
+
+    private RecordingSink subscribe(String lastEventId) {
+        RecordingSink sink = new RecordingSink();
+        assertTrue(stream.subscribe(sink, sse, ANY, lastEventId));
+        return sink;
+    }
+
+    // The client goes away; the next keep-alive notices it and frees the slot
+    private void close(RecordingSink sink) {
+        sink.closed = true;
+        stream.keepAlive();
+    }
+
+    private void publish(Tenant tenant, int count) {
+        for (int i = 0; i < count; i++) {
+            stream.on(tenant, new VacationEvents.VacationApproved(UUID.randomUUID(), employee, manager,
+                    LocalDate.of(2026, 8, 3), LocalDate.of(2026, 8, 7), 5, VacationStatus.APPROVED, true,
+                    "manager@example.com", Instant.now()));
+        }
+    }
+
+    static final class RecordingSink implements SseEventSink {
+
+        final List<OutboundSseEvent> events = new CopyOnWriteArrayList<>();
+        volatile boolean closed;
+        volatile boolean failSends;
+
+        @Override
+        public boolean isClosed() {
+            return closed;
+        }
+
+        @Override
+        public CompletionStage<?> send(OutboundSseEvent event) {
+            if (failSends) {
+                return CompletableFuture.failedFuture(new IllegalStateException("connection reset"));
+            }
+            events.add(event);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        List<String> ids() {
+            return events.stream().map(OutboundSseEvent::getId).toList();
+        }
+
+        List<String> names() {
+            return events.stream().map(OutboundSseEvent::getName).toList();
+        }
+
+        List<String> comments() {
+            return events.stream().map(OutboundSseEvent::getComment).toList();
+        }
+    }
+
+    static final class RecordingSse implements Sse {
+
+        @Override
+        public OutboundSseEvent.Builder newEventBuilder() {
+            return new EventBuilder();
+        }
+
+        @Override
+        public SseBroadcaster newBroadcaster() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    static final class EventBuilder implements OutboundSseEvent.Builder {
+
+        private String id;
+        private String name;
+        private String comment;
+        private MediaType mediaType;
+        private Object data;
+
+        @Override
+        public OutboundSseEvent.Builder id(String id) {
+            this.id = id;
+            return this;
+        }
+
+        @Override
+        public OutboundSseEvent.Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        @Override
+        public OutboundSseEvent.Builder reconnectDelay(long milliseconds) {
+            return this;
+        }
+
+        @Override
+        public OutboundSseEvent.Builder mediaType(MediaType mediaType) {
+            this.mediaType = mediaType;
+            return this;
+        }
+
+        @Override
+        public OutboundSseEvent.Builder comment(String comment) {
+            this.comment = comment;
+            return this;
+        }
+
+        @Override
+        @SuppressWarnings("rawtypes")
+        public OutboundSseEvent.Builder data(Class type, Object data) {
+            this.data = data;
+            return this;
+        }
+
+        @Override
+        public OutboundSseEvent.Builder data(GenericType type, Object data) {
+            this.data = data;
+            return this;
+        }
+
+        @Override
+        public OutboundSseEvent.Builder data(Object data) {
+            this.data = data;
+            return this;
+        }
+
+        @Override
+        public OutboundSseEvent build() {
+            return new RecordedEvent(id, name, comment, mediaType, data);
+        }
+    }
+
+    record RecordedEvent(String id, String name, String comment, MediaType mediaType, Object data)
+            implements OutboundSseEvent {
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getComment() {
+            return comment;
+        }
+
+        @Override
+        public long getReconnectDelay() {
+            return -1;
+        }
+
+        @Override
+        public boolean isReconnectDelaySet() {
+            return false;
+        }
+
+        @Override
+        public Class<?> getType() {
+            return data == null ? String.class : data.getClass();
+        }
+
+        @Override
+        public Type getGenericType() {
+            return getType();
+        }
+
+        @Override
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        @Override
+        public Object getData() {
+            return data;
+        }
+
+        VacationStreamEvent payload() {
+            return (VacationStreamEvent) data;
+        }
+    }
+}
@@ -0,0 +1,519 @@
+package com.global.lbc.plans;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.global.lbc.features.employee.apparatus.application.service.EmployeeService;
+import com.global.lbc.features.employee.apparatus.model.Employee;
+import com.global.lbc.features.employee.apparatus.model.util.EmployeeRole;
+import com.global.lbc.features.employee.apparatus.model.util.EmploymentType;
+import com.global.lbc.features.report.apparatus.application.service.AbsenceReportService;
+import com.global.lbc.features.report.apparatus.model.util.AbsenceDimension;
+import com.global.lbc.features.vacation.CapturedStatements;
+import com.global.lbc.features.vacation.apparatus.application.service.VacationService;
+import com.global.lbc.features.vacation.apparatus.model.Vacation;
+import com.global.lbc.features.vacation.apparatus.usecases.ledger.VacationLedger;
+import com.global.lbc.shared.PaginationTotals;
+import com.global.lbc.shared.TotalsMode;
+import com.global.lbc.tools.dataset.SyntheticDatasetGenerator;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.NotFoundException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// ============================================================
+// QUERY PLAN REGRESSION SUITE
+// Loads a generated dataset (SyntheticDatasetGenerator) inside a transaction that is rolled
+// back at the end. Every EmployeeService / VacationService / VacationLedger / AbsenceReportService
+// query is then issued through the service itself, the SQL Hibernate sends is captured
+// (CapturedStatements) and prepared on the dataset's connection, and its first execution is
+// explained with EXPLAIN (FORMAT JSON) EXECUTE, on statistics of that dataset. A selective query
+// that plans a "Seq Scan" or a "Sort" means no index serves its predicate + ORDER BY pair. Shapes
+// that legitimately read most of a table list the nodes they may use.
+//
+// Run with: ./mvnw test -Pplan-tests   (optionally -Dplan-tests.employees=200000)
+// ============================================================
+@QuarkusTest
+@EnabledIfSystemProperty(named = "plan-tests", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanRegressionTest {
+
+    private static final String SAMPLE_ID = "00000000-0000-4000-8000-000000000000";
+
+    // Parameters past a shape's own arguments are the page's offset/limit
+    private static final int PAGE_SIZE = 50;
+
+    private static final int YEAR = LocalDate.now().getYear();
+
+    private static final List<String> FORBIDDEN_NODES = List.of("Seq Scan", "Sort", "Incremental Sort");
+
+    private final ObjectMapper json = new ObjectMapper();
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Inject
+    EmployeeService employees;
+
+    @Inject
+    VacationService vacations;
+
+    @Inject
+    VacationLedger ledger;
+
+    @Inject
+    AbsenceReportService absenceReport;
+
+    @Inject
+    PaginationTotals paginationTotals;
+
+    private Connection connection;
+    private Path directory;
+
+    // A manager of the dataset, for getSubordinates
+    private String sampleManager;
+
+    // Each shape is one service call; the SQL literals bind the captured statement's parameters in order
+    enum QueryShape {
+        // EmployeeService
+        GET_ACTIVE_EMPLOYEES("employee_profile") {
+            @Override
+            void call(QueryPlanRegressionTest test) {
+                test.employees.getActiveEmployees(2, PAGE_SIZE, TotalsMode.NONE);
+            }
+        },
+        // Most employees are active: a full read is the right plan
+        COUNT_ACTIVE_EMPLOYEES("employee_profile", Set.of("Seq Scan")) {
+            @Override
+            void call(QueryPlanRegressionTest test) {
+                test.employees.countActiveEmployees();
+            }
+        },
+        FIND_ALL("employee_profile") {
+            @Override
+            void call(QueryPlanRegressionTest test) {
+                test.employees.findAll(2, PAGE_SIZE);
+            }
+        },
+        FIND_BY_FISCAL_NUMBER("employee_profile", "'284447188'", "'PT'") {
+            @Override
+            void call(QueryPlanRegressionTest test) {
+                test.employees.findByFiscalNumber("284447188", "PT");
+            }
+        },
+        FIND_BY_SOCIAL_NUMBER("employee_profile", "'12385546187'") {
+            @Override
+            void call(QueryPlanRegressionTest test) {
+                test.employees.findBySocialNumber("12385546187");
+            }
+        },
+        // ?1 is sent once per LIKE
+        SEARCH_BY_NAME("employee_profile", "'%teix%'", "'%teix%'") {
+            @Override
+            void call(QueryPlanRegressionTest test) {
+                test.employees.searchByName("teix");
+            }
+        },
+        FIND_BY_ROLE("employee_profile", "'MANAGER'") {
+            @Override
+            void call(QueryPlanRegressionTest test) {
+                test.employees.findByRole(EmployeeRole.MANAGER);
+            }
+        },
+        COUNT_BY_ROLE("employee_profile", "'ADMIN'") {
+            @Override
+            void call(QueryPlanRegressionTest test) {
+                test.employees.countByRole(EmployeeRole.ADMIN);
+            }
+        },
+        FIND_BY_EMPLOYMENT_TYPE("employee_profile", "'INTERNSHIP'") {
+            @Override
+            void call(QueryPlanRegressionTest test) {
+                test.employees.findByEmploymentType(EmploymentType.INTERNSHIP);
+            }
+        },
+        GET_DELETED_EMPLOYEES("employee_profile") {
+            @Override
+            void call(QueryPlanRegressionTest test) {
+                test.employees.getDeletedEmployees(0, PAGE_SIZE, TotalsMode.NONE);
+            }
+        },
+        COUNT_DELETED_EMPLOYEES("employee_profile") {
+            @Override
+            void call(QueryPlanRegressionTest test) {
+                test.employees.countDeletedEmployees();
+            }
+        },
+        GET_DELETED_EMPLOYEES_BETWEEN("employee_profile",
+                "'" + (YEAR - 1) + "-01-01 00:00'", "'" + (YEAR - 1) + "-03-31 23:59'") {
+            @Override
+            void call(QueryPlanRegressionTest test) {
+                test.employees.getDeletedEmployeesBetween(LocalDateTime.of(YEAR - 1, 1, 1, 0, 0),
+                        LocalDateTime.of(YEAR - 1, 3, 31, 23, 59));
+            }
+        },
+        GET_DELETED_EMPLOYEES_BY_USER("employee_profile", "'dataset-generator'") {
+            @Override
+            void call(QueryPlanRegressionTest test) {
+                test.employees.getDeletedEmployeesByUser("dataset-generator");
+            }
+        },
+        GET_SUBORDINATES("employee_profile") {
+            @Override
+            void call(QueryPlanRegressionTest test) {
+                test.employees.getSubordinates(UUID.fromString(SAMPLE_ID));
+            }
+
+            @Override
+            List<String> arguments(QueryPlanRegressionTest test) {
+                return List.of(test.sampleManager);
+            }
+        },
+        // Every active employee but the top level has a manager. Only the DISTINCT is checked: the
+        // follow-up "id IN (...)" lists the managers of the committed data, not of the dataset.
+        GET_ALL_MANAGERS("employee_profile", Set.of("Seq Scan", "Sort")) {
+            @Override
+            void call(QueryPlanRegressionTest test) {
+                test.employees.getAllManagers();
+            }
+
+            @Override
+            boolean explains(String sql) {
+                return super.explains(sql) && sql.toLowerCase(Locale.ROOT).contains("distinct");
+            }
+        },
+        GET_TOP_LEVEL_EMPLOYEES("employee_profile") {
+            @Override
+            void call(QueryPlanRegressionTest test) {
+                test.employees.getTopLevelEmployees();
+            }
+        },
+        FIND_BY_HIRE_DATE_RANGE("employee_profile", "'" + (YEAR - 2) + "-01-01'", "'" + (YEAR - 2) + "-01-31'") {
+            @Override
+            void call(QueryPlanRegressionTest test) {
+                test.employees.findByHireDateRange(LocalDate.of(YEAR - 2, 1, 1), LocalDate.of(YEAR - 2, 1, 31));
+            }
+        },
+        // VacationService
+        VACATION_FIND_BY_ID("vacation_request", "'" + SAMPLE_ID + "'") {
+            @Override
+            void call(QueryPlanRegressionTest test) {
+                test.vacations.findById(UUID.fromString(SAMPLE_ID));
+            }
+        },
+        GET_PAGINATED_VACATIONS("vacation_request") {
+            @Override
+            void call(QueryPlanRegressionTest test) {
+                test.vacations.getPaginatedVacations(0, PAGE_SIZE, "startDate", "asc", null, null, TotalsMode.NONE);
+            }
+        },
+        GET_PAGINATED_VACATIONS_FROM_TO("vacation_request", "'" + YEAR + "-01-01'", "'" + YEAR + "-06-30'") {
+            @Override
+            void call(QueryPlanRegressionTest test) {
+                test.vacations.getPaginatedVacations(0, PAGE_SIZE, "startDate", "asc",
+                        LocalDate.of(YEAR, 1, 1), LocalDate.of(YEAR, 6, 30), TotalsMode.NONE);
+            }
+        },
+        // Half of the only partition left after pruning. Only the exact count is checked.
+        COUNT_VACATIONS_FROM_TO("vacation_request", Set.of("Seq Scan"), "'" + YEAR + "-01-01'", "'" + YEAR + "-06-30'") {
+            @Override
+            void call(QueryPlanRegressionTest test) {
+                test.paginationTotals.invalidate();
+                test.vacations.getPaginatedVacations(0, PAGE_SIZE, "startDate", "asc",
+                        LocalDate.of(YEAR, 1, 1), LocalDate.of(YEAR, 6, 30), TotalsMode.EXACT);
+            }
+
+            @Override
+            boolean explains(String sql) {
+                return super.explains(sql) && sql.toLowerCase(Locale.ROOT).contains("count(");
+            }
+        },
+        // VacationLedger: ?1 and ?2 are sent once per use
+        LEDGER_BALANCE_OF("vacation_ledger_entry", "'" + SAMPLE_ID + "'", "CURRENT_DATE", "'" + SAMPLE_ID + "'",
+                "CURRENT_DATE") {
+            @Override
+            void call(QueryPlanRegressionTest test) {
+                QuarkusTransaction.requiringNew().run(() -> {
+                    test.ledger.balanceOf(UUID.fromString(SAMPLE_ID), LocalDate.now());
+                    QuarkusTransaction.setRollbackOnly();
+                });
+            }
+        },
+        // settle() of a request with nothing debited yet, for a throwaway employee: all rolled back
+        LEDGER_DEBITED_FOR("vacation_ledger_entry", "'" + SAMPLE_ID + "'") {
+            @Override
+            void call(QueryPlanRegressionTest test) {
+                QuarkusTransaction.requiringNew().run(() -> {
+                    Employee employee = new Employee();
+                    employee.name = "Plan";
+                    employee.surname = "QueryPlanRegressionTest";
+                    employee.employmentType = EmploymentType.FULL_TIME;
+                    employee.employeeRole = EmployeeRole.EMPLOYEE;
+                    employee.hireDate = LocalDate.of(2020, 1, 1);
+                    employee.persist();
+
+                    Vacation vacation = new Vacation();
+                    vacation.id = UUID.fromString(SAMPLE_ID);
+                    vacation.employee = employee;
+                    test.ledger.settle(vacation, 0, "plan-tests");
+                    QuarkusTransaction.setRollbackOnly();
+                });
+            }
+        },
+        // AbsenceReportService
+        ABSENCE_REPORT_ROWS("absence_monthly_aggregate", "'TEAM'", "'" + YEAR + "-01-01'", "'" + YEAR + "-12-01'") {
+            @Override
+            void call(QueryPlanRegressionTest test) {
+                test.absenceReport.rows(AbsenceDimension.TEAM, YearMonth.of(YEAR, 1), YearMonth.of(YEAR, 12));
+            }
+        },
+        // fn_refresh_absence_month runs this inside the database: there is no statement to capture
+        ABSENCE_REFRESH_MONTH("vacation_request") {
+            @Override
+            void call(QueryPlanRegressionTest test) {
+            }
+
+            @Override
+            List<String> statements(QueryPlanRegressionTest test) {
+                return List.of("SELECT v.employee_id, v.start_date, v.end_date FROM vacation_request v "
+                        + "WHERE v.vacation_status = 'APPROVED' AND v.is_active = TRUE "
+                        + "AND v.end_date >= DATE '" + YEAR + "-03-01' AND v.start_date <= DATE '" + YEAR + "-03-31'");
+            }
+        };
+
+        private final String table;
+        private final Set<String> allowed;
+        private final List<String> arguments;
+
+        QueryShape(String table, String... arguments) {
+            this(table, Set.of(), arguments);
+        }
+
+        QueryShape(String table, Set<String> allowed, String... arguments) {
+            this.table = table;
+            this.allowed = allowed;
+            this.arguments = List.of(arguments);
+        }
+
+        abstract void call(QueryPlanRegressionTest test);
+
+        List<String> arguments(QueryPlanRegressionTest test) {
+            return arguments;
+        }
+
+        // Statements on other tables (e.g. the employee summary of each vacation) belong to other shapes
+        boolean explains(String sql) {
+            return sql.toLowerCase(Locale.ROOT).contains("from " + table);
+        }
+
+        List<String> statements(QueryPlanRegressionTest test) {
+            return test.issued(() -> call(test), this::explains);
+        }
+    }
+
+    @BeforeAll
+    void loadDataset() throws SQLException, IOException {
+        connection = dataSource.getConnection();
+        connection.setAutoCommit(false);
+
+        int employees = Integer.getInteger("plan-tests.employees", 50_000);
+        directory = Files.createTempDirectory("plan-dataset");
+        new SyntheticDatasetGenerator(42L, employees, 3, LocalDate.now()).writeTo(directory);
+
+        try (Statement statement = connection.createStatement()) {
+            int year = LocalDate.now().getYear();
+            for (int y = year - 4; y <= year + 1; y++) {
+                statement.execute("SELECT fn_ensure_yearly_partition('vacation_request', " + y + ")");
+            }
+            // Everything below is rolled back in tearDown, seed rows included
+            statement.execute("DELETE FROM absence_monthly_aggregate");
+            statement.execute("DELETE FROM vacation_booking");
+            statement.execute("DELETE FROM vacation_request");
+            statement.execute("DELETE FROM employee_profile");
+        }
+
+        CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+        copyIn(copy, "employee_profile", directory.resolve("employee_profile.copy"));
+        copyIn(copy, "vacation_request", directory.resolve("vacation_request.copy"));
+
+        try (Statement statement = connection.createStatement()) {
+            int year = LocalDate.now().getYear();
+            // Ledger as the application writes it: a yearly accrual per employee, a debit per approved
+            // request and a monthly snapshot per employee over the last year
+            statement.execute("INSERT INTO vacation_ledger_entry (employee_id, entry_type, balance_delta, effective_date, "
+                    + "created_by) SELECT e.id, 'ACCRUAL', 22, make_date(y, 1, 1), 'dataset-generator' "
+                    + "FROM employee_profile e, generate_series(" + (year - 3) + ", " + year + ") y");
+            statement.execute("INSERT INTO vacation_ledger_entry (employee_id, vacation_id, entry_type, balance_delta, "
+                    + "used_delta, effective_date, created_by) SELECT v.employee_id, v.id, 'DEBIT', -v.days_requested, "
+                    + "v.days_requested, COALESCE(v.approval_date::date, v.start_date), 'dataset-generator' "
+                    + "FROM vacation_request v WHERE v.vacation_status = 'APPROVED'");
+            statement.execute("INSERT INTO vacation_balance_snapshot (employee_id, as_of_date, balance, used) "
+                    + "SELECT e.id, (date_trunc('month', CURRENT_DATE) - m * INTERVAL '1 month')::date, 0, 0 "
+                    + "FROM employee_profile e, generate_series(1, 12) m");
+            // The COPY above marked every month with approved vacations: aggregate them all
+            statement.execute("SELECT fn_refresh_absence_report(10000)");
+
+            for (String table : List.of("employee_profile", "vacation_request", "vacation_ledger_entry",
+                    "vacation_balance_snapshot", "absence_monthly_aggregate")) {
+                statement.execute("ANALYZE " + table);
+            }
+
+            try (ResultSet rs = statement.executeQuery(
+                    "SELECT manager_id FROM employee_profile WHERE manager_id IS NOT NULL LIMIT 1")) {
+                rs.next();
+                sampleManager = "'" + rs.getString(1) + "'";
+            }
+        }
+    }
+
+    @AfterAll
+    void rollback() throws SQLException, IOException {
+        if (connection != null) {
+            connection.rollback();
+            connection.close();
+        }
+        if (directory != null) {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.toList()) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @EnumSource(QueryShape.class)
+    void planUsesIndexes(QueryShape shape) throws Exception {
+        assertIndexed(shape.name(), shape.statements(this), shape.arguments(this), shape.allowed);
+    }
+
+    // getPaginatedEmployees: every sort field accepted by EmployeeService.isValidSortField
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {"name", "surname", "hireDate", "employeeRole", "employmentType", "isActive", "createdAt",
+            "dateOfBirth", "salaryBase", "deletedAt"})
+    void paginatedEmployeesUseAnIndexPerSortField(String sortField) throws Exception {
+        List<String> statements = issued(() -> employees.getPaginatedEmployees(0, PAGE_SIZE, sortField, "desc",
+                TotalsMode.NONE), sql -> sql.contains("from employee_profile"));
+
+        assertIndexed("getPaginatedEmployees sort=" + sortField, statements, List.of(), Set.of());
+    }
+
+    // The statements the call sent, as Hibernate sent them. Calls for rows that only exist in the
+    // uncommitted dataset find nothing, which does not change the SQL.
+    List<String> issued(Runnable call, Predicate<String> explained) {
+        List<String> statements = CapturedStatements.during(() -> {
+                    try {
+                        call.run();
+                    } catch (NotFoundException ignored) {
+                        // The statement was sent all the same
+                    }
+                })
+                .stream()
+                .filter(explained)
+                .toList();
+        assertFalse(statements.isEmpty(), "no statement was captured");
+        return statements;
+    }
+
+    private void assertIndexed(String name, List<String> statements, List<String> arguments, Set<String> allowed)
+            throws SQLException, IOException {
+        for (String sql : statements) {
+            JsonNode plan = explain(sql, arguments);
+
+            List<String> offending = new ArrayList<>();
+            collectForbidden(plan.get(0).get("Plan"), allowed, offending);
+
+            assertTrue(offending.isEmpty(), () -> name + " regressed to " + offending
+                    + "\n" + sql + "\n" + plan.toPrettyString());
+        }
+    }
+
+    // Prepares the captured SQL as-is and explains its first execution, a custom plan for these values.
+    // A failure is rolled back to a savepoint so the dataset survives for the next shape.
+    private JsonNode explain(String sql, List<String> arguments) throws SQLException, IOException {
+        List<String> bound = new ArrayList<>();
+        StringBuilder prepared = new StringBuilder();
+        for (char c : sql.toCharArray()) {
+            if (c != '?') {
+                prepared.append(c);
+                continue;
+            }
+            bound.add(bound.size() < arguments.size() ? arguments.get(bound.size()) : String.valueOf(PAGE_SIZE));
+            prepared.append('$').append(bound.size());
+        }
+
+        Savepoint savepoint = connection.setSavepoint();
+        boolean isPrepared = false;
+        try (Statement statement = connection.createStatement()) {
+            try {
+                statement.execute("PREPARE plan_shape AS " + prepared);
+                isPrepared = true;
+                try (ResultSet rs = statement.executeQuery("EXPLAIN (FORMAT JSON) EXECUTE plan_shape"
+                        + (bound.isEmpty() ? "" : "(" + String.join(", ", bound) + ")"))) {
+                    rs.next();
+                    return json.readTree(rs.getString(1));
+                }
+            } catch (SQLException e) {
+                connection.rollback(savepoint);
+                throw e;
+            } finally {
+                if (isPrepared) {
+                    statement.execute("DEALLOCATE plan_shape");
+                }
+            }
+        }
+    }
+
+    private void collectForbidden(JsonNode node, Set<String> allowed, List<String> offending) {
+        String type = node.path("Node Type").asText();
+        if (FORBIDDEN_NODES.contains(type) && !allowed.contains(type)) {
+            offending.add(node.has("Relation Name") ? type + " on " + node.get("Relation Name").asText() : type);
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectForbidden(child, allowed, offending);
+        }
+    }
+
+    private void copyIn(CopyManager copy, String table, Path file) throws SQLException, IOException {
+        String columns = "employee_profile".equals(table)
+                ? SyntheticDatasetGenerator.EMPLOYEE_COLUMNS
+                : SyntheticDatasetGenerator.VACATION_COLUMNS;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            copy.copyIn("COPY " + table + " (" + columns + ") FROM STDIN", reader);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.global.lbc.shared;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchGetTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private BatchGet batchGet(int chunkSize) {
+        BatchGet batchGet = new BatchGet();
+        batchGet.objectMapper = objectMapper;
+        batchGet.maxIds = 10;
+        batchGet.chunkSize = chunkSize;
+        return batchGet;
+    }
+
+    @Test
+    void keepsRequestedOrderMarksMissingIdsAndQueriesOncePerChunk() throws Exception {
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        List<UUID> ids = List.of(b, missing, a, b, a);
+        List<List<UUID>> chunks = new ArrayList<>();
+        Function<List<UUID>, Map<UUID, String>> loader = chunk -> {
+            chunks.add(chunk);
+            return chunk.stream().filter(id -> !id.equals(missing))
+                    .collect(Collectors.toMap(id -> id, UUID::toString));
+        };
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        batchGet(2).stream(ids, loader).write(out);
+        JsonNode result = objectMapper.readTree(out.toByteArray());
+
+        assertEquals(5, result.size());
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(ids.get(i).toString(), result.get(i).get("id").asText());
+        }
+        assertFalse(result.get(1).get("found").asBoolean());
+        assertFalse(result.get(1).has("item"));
+        assertTrue(result.get(2).get("found").asBoolean());
+        assertEquals(a.toString(), result.get(2).get("item").asText());
+        // 5 IDs in chunks of 2; duplicates inside a chunk are loaded once
+        assertEquals(List.of(List.of(b, missing), List.of(a, b), List.of(a)), chunks);
+    }
+
+    @Test
+    void rejectsEmptyOversizedAndNullIds() {
+        BatchGet batchGet = batchGet(2);
+        BatchGetRequest empty = new BatchGetRequest();
+        empty.ids = List.of();
+        BatchGetRequest oversized = new BatchGetRequest();
+        oversized.ids = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            oversized.ids.add(UUID.randomUUID());
+        }
+        BatchGetRequest withNull = new BatchGetRequest();
+        withNull.ids = new ArrayList<>();
+        withNull.ids.add(null);
+
+        assertThrows(IllegalArgumentException.class, () -> batchGet.validate(null));
+        assertThrows(IllegalArgumentException.class, () -> batchGet.validate(empty));
+        assertThrows(IllegalArgumentException.class, () -> batchGet.validate(oversized));
+        assertThrows(IllegalArgumentException.class, () -> batchGet.validate(withNull));
+    }
+}
@@ -0,0 +1,160 @@
+package com.global.lbc.shared;
+
+import com.global.lbc.features.auth.apparatus.usecases.security.TokenService;
+import com.global.lbc.features.employee.apparatus.model.Employee;
+import com.global.lbc.features.employee.apparatus.model.util.EmployeeRole;
+import com.global.lbc.features.employee.apparatus.model.util.EmploymentType;
+import com.global.lbc.shared.tenant.Tenant;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// ?totals=exact|estimated|none end to end through GET /employees/paged: what each mode reports,
+// hasNext on the first and last page, and the cached exact count following a committed change.
+@QuarkusTest
+class PaginationTotalsTest {
+
+    private static final int EMPLOYEES = 3;
+
+    @Inject
+    TokenService tokenService;
+
+    @Inject
+    PaginationTotals paginationTotals;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    private final List<UUID> createdEmployees = new ArrayList<>();
+
+    @BeforeEach
+    void createEmployees() {
+        for (int i = 0; i < EMPLOYEES; i++) {
+            UUID id = QuarkusTransaction.requiringNew().call(() -> {
+                Employee employee = new Employee();
+                employee.name = "Totals";
+                employee.surname = "PaginationTotalsTest";
+                employee.employmentType = EmploymentType.FULL_TIME;
+                employee.employeeRole = EmployeeRole.EMPLOYEE;
+                employee.hireDate = LocalDate.of(2020, 1, 1);
+                employee.persist();
+                return employee.id;
+            });
+            createdEmployees.add(id);
+        }
+        // Written straight to the table, without domain events: counts cached by earlier tests are stale
+        paginationTotals.invalidate();
+    }
+
+    @AfterEach
+    void deleteEmployees() {
+        QuarkusTransaction.requiringNew().run(() -> createdEmployees.forEach(Employee::deleteById));
+        createdEmployees.clear();
+    }
+
+    @Test
+    void exactCountsEveryActiveEmployee() throws SQLException {
+        long active = countActive();
+
+        ExtractableResponse<Response> first = page("exact", 0, 1);
+        ExtractableResponse<Response> last = page("exact", (int) active - 1, 1);
+
+        assertEquals(200, first.statusCode());
+        assertEquals("exact", first.jsonPath().getString("totalsKind"));
+        assertEquals(active, first.jsonPath().getLong("totalItems"));
+        assertEquals(active, first.jsonPath().getLong("totalPages"));
+        assertTrue(first.jsonPath().getBoolean("hasNext"));
+        assertFalse(last.jsonPath().getBoolean("hasNext"));
+    }
+
+    @Test
+    void cachedExactCountFollowsACommittedChange() throws SQLException {
+        long active = countActive();
+        assertEquals(active, page("exact", 0, 10).jsonPath().getLong("totalItems"));
+
+        ExtractableResponse<Response> deleted = given().auth().oauth2(admin())
+                .when().delete("/employees/" + createdEmployees.get(0))
+                .then().extract();
+
+        assertEquals(200, deleted.statusCode());
+        // Well within pagination.totals.cache-ttl: the count is not served from before the delete
+        assertEquals(active - 1, page("exact", 0, 10).jsonPath().getLong("totalItems"));
+    }
+
+    @Test
+    void estimatedIsMarkedAsAnEstimate() {
+        ExtractableResponse<Response> response = page("estimated", 0, 10);
+
+        assertEquals(200, response.statusCode());
+        assertEquals("estimated", response.jsonPath().getString("totalsKind"));
+        assertTrue(response.jsonPath().getLong("totalItems") >= 0);
+        assertEquals((long) Math.ceil(response.jsonPath().getLong("totalItems") / 10.0),
+                response.jsonPath().getLong("totalPages"));
+    }
+
+    @Test
+    void noneSkipsTheCountAndStillReportsHasNext() throws SQLException {
+        int active = (int) countActive();
+
+        ExtractableResponse<Response> beforeLast = page("none", active - 2, 1);
+        ExtractableResponse<Response> last = page("none", active - 1, 1);
+
+        assertEquals(200, beforeLast.statusCode());
+        assertEquals("none", beforeLast.jsonPath().getString("totalsKind"));
+        assertEquals(-1, beforeLast.jsonPath().getLong("totalItems"));
+        assertEquals(-1, beforeLast.jsonPath().getLong("totalPages"));
+        assertEquals(1, beforeLast.jsonPath().getList("content").size());
+        assertTrue(beforeLast.jsonPath().getBoolean("hasNext"));
+        assertEquals(1, last.jsonPath().getList("content").size());
+        assertFalse(last.jsonPath().getBoolean("hasNext"));
+    }
+
+    @Test
+    void unknownModeIsRejected() {
+        assertEquals(400, page("approximate", 0, 10).statusCode());
+    }
+
+    private ExtractableResponse<Response> page(String totals, int page, int size) {
+        return given().auth().oauth2(admin())
+                .queryParam("activeOnly", true)
+                .queryParam("totals", totals)
+                .queryParam("page", page)
+                .queryParam("size", size)
+                .when().get("/employees/paged")
+                .then().extract();
+    }
+
+    private long countActive() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT count(*) FROM employee_profile WHERE is_active = TRUE")) {
+            rows.next();
+            return rows.getLong(1);
+        }
+    }
+
+    private String admin() {
+        return tokenService.issue(UUID.randomUUID(), "totals." + UUID.randomUUID() + "@example.com", null,
+                EmployeeRole.ADMIN.name(), Tenant.DEFAULT_ID);
+    }
+}
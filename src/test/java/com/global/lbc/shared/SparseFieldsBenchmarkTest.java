@@ -0,0 +1,175 @@
+package com.global.lbc.shared;
+
+import com.global.lbc.features.auth.apparatus.usecases.security.TokenService;
+import com.global.lbc.features.employee.apparatus.model.Employee;
+import com.global.lbc.features.employee.apparatus.model.util.EmployeeRole;
+import com.global.lbc.features.employee.apparatus.model.util.EmploymentType;
+import com.global.lbc.shared.tenant.Tenant;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// ?fields= end to end through EmployeeResource: the sparse page carries only the requested keys
+// (id always first, then whitelist order), sensitive columns cannot be projected, and
+// the same 100-row page costs a fraction of the bytes of the full one. With -Pbenchmarks both pages
+// are also timed end to end.
+@QuarkusTest
+class SparseFieldsBenchmarkTest {
+
+    private static final Logger LOG = Logger.getLogger(SparseFieldsBenchmarkTest.class);
+
+    private static final int PAGE_SIZE = 100;
+    private static final int EMPLOYEES = 40;
+    private static final int WARMUP_REQUESTS = 100;
+    private static final int REQUESTS = 300;
+
+    @Inject
+    TokenService tokenService;
+
+    private final List<UUID> createdEmployees = new ArrayList<>();
+    private UUID managerId;
+
+    @BeforeEach
+    void createEmployees() {
+        managerId = createEmployee("Manager", null, EmployeeRole.MANAGER);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            createEmployee("Sparse" + i, managerId, EmployeeRole.EMPLOYEE);
+        }
+    }
+
+    @AfterEach
+    void deleteEmployees() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            // Subordinates first: manager_id is a RESTRICT foreign key
+            for (int i = createdEmployees.size() - 1; i >= 0; i--) {
+                Employee.deleteById(createdEmployees.get(i));
+            }
+        });
+        createdEmployees.clear();
+    }
+
+    @Test
+    void sparsePageHasOnlyTheRequestedKeysInWhitelistOrder() {
+        List<Map<String, Object>> rows = page("surname,name").jsonPath().getList("content");
+
+        assertFalse(rows.isEmpty());
+        for (Map<String, Object> row : rows) {
+            assertEquals(List.of("id", "name", "surname"), List.copyOf(row.keySet()));
+        }
+    }
+
+    @Test
+    void singleEmployeeProjectionReadsTheManagerIdWithoutTheManager() {
+        UUID employee = createdEmployees.get(1);
+
+        ExtractableResponse<Response> response = given().auth().oauth2(admin())
+                .queryParam("fields", "managerId, name")
+                .when().get("/employees/" + employee)
+                .then().extract();
+
+        assertEquals(200, response.statusCode());
+        Map<String, Object> row = response.jsonPath().getMap("$");
+        assertEquals(List.of("id", "name", "managerId"), List.copyOf(row.keySet()));
+        assertEquals(managerId.toString(), row.get("managerId"));
+    }
+
+    @Test
+    void sensitiveAndUnknownFieldsAreRejected() {
+        for (String fields : List.of("name,socialNumber", "salaryBase", "name,password")) {
+            ExtractableResponse<Response> response = page(fields);
+            assertEquals(400, response.statusCode(), fields);
+            assertTrue(response.asString().contains(fields.substring(fields.indexOf(',') + 1)), fields);
+        }
+    }
+
+    @Test
+    void sparsePageIsAFractionOfTheFullPage() {
+        ExtractableResponse<Response> full = page(null);
+        ExtractableResponse<Response> sparse = page("name,surname");
+
+        assertEquals(200, full.statusCode());
+        assertEquals(200, sparse.statusCode());
+        assertEquals(full.jsonPath().getList("content.id"), sparse.jsonPath().getList("content.id"));
+        assertTrue(sparse.asByteArray().length * 3 < full.asByteArray().length,
+                () -> "sparse " + sparse.asByteArray().length + " bytes vs full " + full.asByteArray().length);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void sparsePageIsNotSlowerThanTheFullPage() {
+        // Interleaved so that both see the same warm caches and background load
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            page(null);
+            page("name,surname");
+        }
+        long fullNanos = 0;
+        long sparseNanos = 0;
+        for (int i = 0; i < REQUESTS; i++) {
+            long start = System.nanoTime();
+            assertEquals(200, page(null).statusCode());
+            fullNanos += System.nanoTime() - start;
+            start = System.nanoTime();
+            assertEquals(200, page("name,surname").statusCode());
+            sparseNanos += System.nanoTime() - start;
+        }
+
+        double fullMillis = fullNanos / 1_000_000.0 / REQUESTS;
+        double sparseMillis = sparseNanos / 1_000_000.0 / REQUESTS;
+        LOG.infof("%d-row page: full %.2f ms, ?fields=name,surname %.2f ms per request",
+                PAGE_SIZE, fullMillis, sparseMillis);
+        // Fewer columns read and written: allow for noise, but not for the projection costing more
+        assertTrue(sparseMillis < fullMillis * 1.25,
+                () -> "sparse " + sparseMillis + " ms vs full " + fullMillis + " ms");
+    }
+
+    private ExtractableResponse<Response> page(String fields) {
+        var request = given().auth().oauth2(admin())
+                .queryParam("size", PAGE_SIZE)
+                .queryParam("sortField", "name");
+        if (fields != null) {
+            request.queryParam("fields", fields);
+        }
+        return request.when().get("/employees/paged").then().extract();
+    }
+
+    private UUID createEmployee(String name, UUID manager, EmployeeRole role) {
+        UUID id = QuarkusTransaction.requiringNew().call(() -> {
+            Employee employee = new Employee();
+            employee.name = name;
+            employee.surname = "SparseFieldsTest";
+            employee.employmentType = EmploymentType.FULL_TIME;
+            employee.employeeRole = role;
+            employee.hireDate = LocalDate.of(2020, 1, 1);
+            employee.dateOfBirth = LocalDate.of(1990, 1, 1);
+            employee.salaryBase = 2500.0f;
+            employee.manager = manager == null ? null : Employee.findById(manager);
+            employee.persist();
+            return employee.id;
+        });
+        createdEmployees.add(id);
+        return id;
+    }
+
+    private String admin() {
+        return tokenService.issue(UUID.randomUUID(), "sparse." + UUID.randomUUID() + "@example.com", null,
+                EmployeeRole.ADMIN.name(), Tenant.DEFAULT_ID);
+    }
+}
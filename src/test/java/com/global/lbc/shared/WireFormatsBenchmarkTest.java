@@ -0,0 +1,217 @@
+package com.global.lbc.shared;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.global.lbc.features.auth.apparatus.usecases.security.TokenService;
+import com.global.lbc.features.employee.apparatus.application.dto.EmployeeResponse;
+import com.global.lbc.features.employee.apparatus.application.service.EmployeeService;
+import com.global.lbc.features.employee.apparatus.model.Employee;
+import com.global.lbc.features.employee.apparatus.model.util.EmployeeRole;
+import com.global.lbc.features.employee.apparatus.model.util.EmploymentType;
+import com.global.lbc.features.employee.apparatus.usecases.pt.social.number.SocialNumber;
+import com.global.lbc.shared.tenant.Tenant;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.MediaType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.jboss.logging.Logger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// JSON, CBOR and Smile negotiated through Accept / Content-Type against EmployeeResource, so the
+// bytes come from BinaryJacksonProvider and the application's ObjectMapper. The local mappers only
+// decode responses and encode request bodies. With -Pbenchmarks the codecs are also timed on a
+// page, using the application's own mappers.
+@QuarkusTest
+class WireFormatsBenchmarkTest {
+
+    private static final Logger LOG = Logger.getLogger(WireFormatsBenchmarkTest.class);
+
+    private static final int PAGE_SIZE = 100;
+    private static final int EMPLOYEES = 40;
+    private static final int WARMUP_ROUNDS = 2_000;
+    private static final int ROUNDS = 5_000;
+
+    private static final Map<String, ObjectMapper> DECODERS = Map.of(
+            MediaType.APPLICATION_JSON, new ObjectMapper(),
+            WireFormats.APPLICATION_CBOR, new ObjectMapper(new CBORFactory()),
+            WireFormats.APPLICATION_SMILE, new ObjectMapper(new SmileFactory()));
+
+    @Inject
+    TokenService tokenService;
+
+    @Inject
+    EmployeeService employeeService;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    WireFormats wireFormats;
+
+    private final List<UUID> createdEmployees = new ArrayList<>();
+
+    @BeforeEach
+    void createEmployees() {
+        for (int i = 0; i < EMPLOYEES; i++) {
+            createEmployee("Wire" + i);
+        }
+    }
+
+    @AfterEach
+    void deleteEmployees() {
+        QuarkusTransaction.requiringNew().run(() -> Employee.delete("id in ?1", createdEmployees));
+        createdEmployees.clear();
+    }
+
+    @Test
+    void everyFormatCarriesTheSameEmployee() throws Exception {
+        UUID id = createdEmployees.get(0);
+        JsonNode json = null;
+
+        for (String mediaType : DECODERS.keySet()) {
+            ExtractableResponse<Response> response = given().auth().oauth2(admin())
+                    .accept(mediaType)
+                    .when().get("/employees/" + id)
+                    .then().extract();
+
+            assertEquals(200, response.statusCode(), mediaType);
+            assertTrue(response.contentType().startsWith(mediaType), response.contentType());
+            JsonNode employee = DECODERS.get(mediaType).readTree(response.asByteArray());
+            if (json == null) {
+                json = employee;
+            }
+            // Custom serializers and date settings of the JSON mapper apply to the binary formats too
+            for (String field : List.of("id", "name", "socialNumber", "hireDate", "employeeRole")) {
+                assertEquals(json.path(field).asText(), employee.path(field).asText(), mediaType + " " + field);
+            }
+        }
+    }
+
+    @Test
+    void binaryPagesAreSmallerThanJson() throws Exception {
+        Map<String, byte[]> pages = new HashMap<>();
+        for (String mediaType : DECODERS.keySet()) {
+            ExtractableResponse<Response> response = given().auth().oauth2(admin())
+                    .accept(mediaType)
+                    .queryParam("size", PAGE_SIZE)
+                    .queryParam("sortField", "name")
+                    .when().get("/employees/paged")
+                    .then().extract();
+            assertEquals(200, response.statusCode(), mediaType);
+            pages.put(mediaType, response.asByteArray());
+        }
+
+        List<String> jsonIds = ids(MediaType.APPLICATION_JSON, pages);
+        for (String binary : List.of(WireFormats.APPLICATION_CBOR, WireFormats.APPLICATION_SMILE)) {
+            assertEquals(jsonIds, ids(binary, pages), binary);
+            assertTrue(pages.get(binary).length < pages.get(MediaType.APPLICATION_JSON).length,
+                    () -> binary + " " + pages.get(binary).length + " bytes vs json "
+                            + pages.get(MediaType.APPLICATION_JSON).length);
+        }
+    }
+
+    @Test
+    void binaryRequestBodiesAreRead() throws Exception {
+        UUID id = createdEmployees.get(1);
+
+        for (String binary : List.of(WireFormats.APPLICATION_CBOR, WireFormats.APPLICATION_SMILE)) {
+            byte[] body = DECODERS.get(binary).writeValueAsBytes(Map.of("ids", List.of(id.toString())));
+
+            ExtractableResponse<Response> response = given().auth().oauth2(admin())
+                    .contentType(binary)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .body(body)
+                    .when().post("/employees/batch-get")
+                    .then().extract();
+
+            assertEquals(200, response.statusCode(), binary);
+            assertEquals(List.of(id.toString()), response.jsonPath().getList("id"), binary);
+            assertEquals(List.of(true), response.jsonPath().getList("found"), binary);
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void encodeAndDecodeTimePerPage() throws Exception {
+        PaginatedResponse<EmployeeResponse> page =
+                employeeService.getPaginatedEmployees(0, PAGE_SIZE, "name", "asc", TotalsMode.NONE);
+
+        for (String mediaType : List.of(MediaType.APPLICATION_JSON, WireFormats.APPLICATION_CBOR,
+                WireFormats.APPLICATION_SMILE)) {
+            ObjectMapper mapper = MediaType.APPLICATION_JSON.equals(mediaType)
+                    ? objectMapper : wireFormats.mapperFor(mediaType);
+            byte[] bytes = mapper.writeValueAsBytes(page);
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                mapper.readTree(mapper.writeValueAsBytes(page));
+            }
+
+            long start = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                bytes = mapper.writeValueAsBytes(page);
+            }
+            double encodeMicros = (System.nanoTime() - start) / 1_000.0 / ROUNDS;
+            int rows = 0;
+            start = System.nanoTime();
+            for (int i = 0; i < ROUNDS; i++) {
+                rows += mapper.readTree(bytes).path("content").size();
+            }
+            double decodeMicros = (System.nanoTime() - start) / 1_000.0 / ROUNDS;
+
+            assertEquals((long) ROUNDS * page.content.size(), rows, mediaType);
+            LOG.infof("%s: %d bytes, encode %.1f us, decode %.1f us per %d-row page",
+                    mediaType, bytes.length, encodeMicros, decodeMicros, page.content.size());
+            // Generous bound: the same page costs milliseconds to read from the database
+            assertTrue(encodeMicros + decodeMicros < 20_000, () -> mediaType + " took "
+                    + encodeMicros + " us to encode and " + decodeMicros + " us to decode");
+        }
+    }
+
+    private List<String> ids(String mediaType, Map<String, byte[]> pages) throws Exception {
+        List<String> ids = new ArrayList<>();
+        for (JsonNode row : DECODERS.get(mediaType).readTree(pages.get(mediaType)).path("content")) {
+            ids.add(row.path("id").asText());
+        }
+        return ids;
+    }
+
+    private void createEmployee(String name) {
+        UUID id = QuarkusTransaction.requiringNew().call(() -> {
+            Employee employee = new Employee();
+            employee.name = name;
+            employee.surname = "WireFormatsTest";
+            employee.socialNumber = SocialNumber.of(String.format("1%010d",
+                    Math.floorMod(UUID.randomUUID().getMostSignificantBits(), 10_000_000_000L)));
+            employee.employmentType = EmploymentType.FULL_TIME;
+            employee.employeeRole = EmployeeRole.EMPLOYEE;
+            employee.hireDate = LocalDate.of(2020, 1, 1);
+            employee.dateOfBirth = LocalDate.of(1990, 1, 1);
+            employee.salaryBase = 2500.0f;
+            employee.persist();
+            return employee.id;
+        });
+        createdEmployees.add(id);
+    }
+
+    private String admin() {
+        return tokenService.issue(UUID.randomUUID(), "wire." + UUID.randomUUID() + "@example.com", null,
+                EmployeeRole.ADMIN.name(), Tenant.DEFAULT_ID);
+    }
+}
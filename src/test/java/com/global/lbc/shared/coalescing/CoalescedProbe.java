@@ -0,0 +1,26 @@
+package com.global.lbc.shared.coalescing;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Test-only bean behind CoalescingInterceptor: every call waits for the test to release it
+@ApplicationScoped
+public class CoalescedProbe {
+
+    final AtomicInteger executions = new AtomicInteger();
+    volatile CountDownLatch release = new CountDownLatch(0);
+    volatile RuntimeException failure;
+
+    @Coalesce
+    public String load(String id) throws InterruptedException {
+        executions.incrementAndGet();
+        release.await();
+        RuntimeException toThrow = failure;
+        if (toThrow != null) {
+            throw toThrow;
+        }
+        return "loaded " + id + " #" + executions.get();
+    }
+}
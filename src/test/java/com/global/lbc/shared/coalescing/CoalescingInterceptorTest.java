@@ -0,0 +1,129 @@
+package com.global.lbc.shared.coalescing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// @Coalesce through the real interceptor: concurrent identical calls share one execution and its
+// exception, while calls inside a transaction always run on their own.
+@QuarkusTest
+class CoalescingInterceptorTest {
+
+    private static final int CALLERS = 6;
+
+    @Inject
+    CoalescedProbe probe;
+
+    @Inject
+    MeterRegistry registry;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @BeforeEach
+    void reset() {
+        probe.executions.set(0);
+        probe.failure = null;
+        probe.release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void shutdown() {
+        probe.release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallsShareOneExecution() throws Exception {
+        List<Future<String>> results = callConcurrently(() -> probe.load("shared"));
+        probe.release.countDown();
+
+        String first = results.get(0).get();
+        for (Future<String> result : results) {
+            assertSame(first, result.get());
+        }
+        assertEquals(1, probe.executions.get());
+    }
+
+    @Test
+    void exceptionOfTheSharedExecutionReachesEveryCaller() throws Exception {
+        IllegalStateException failure = new IllegalStateException("replica down");
+        probe.failure = failure;
+
+        List<Future<String>> results = callConcurrently(() -> probe.load("failing"));
+        probe.release.countDown();
+
+        for (Future<String> result : results) {
+            ExecutionException thrown = assertThrows(ExecutionException.class, result::get);
+            assertSame(failure, thrown.getCause());
+        }
+        assertEquals(1, probe.executions.get());
+    }
+
+    @Test
+    void callsInsideATransactionAreNotCoalesced() throws Exception {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            results.add(executor.submit(() -> QuarkusTransaction.requiringNew().call(() -> probe.load("in-tx"))));
+        }
+        awaitExecutions(2);
+        probe.release.countDown();
+
+        for (Future<String> result : results) {
+            result.get();
+        }
+        assertEquals(2, probe.executions.get());
+    }
+
+    private List<Future<String>> callConcurrently(Callable<String> call) throws InterruptedException {
+        double followersBefore = followers();
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(call));
+        awaitExecutions(1);
+        for (int i = 1; i < CALLERS; i++) {
+            results.add(executor.submit(call));
+        }
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (followers() - followersBefore < CALLERS - 1) {
+            assertTrue(System.nanoTime() < deadline, "followers did not join within 5s");
+            Thread.sleep(5);
+        }
+        // Followers are counted just before they block on the flight
+        Thread.sleep(20);
+        return results;
+    }
+
+    private void awaitExecutions(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (probe.executions.get() < count) {
+            assertTrue(System.nanoTime() < deadline, "calls did not start within 5s");
+            Thread.sleep(5);
+        }
+    }
+
+    private double followers() {
+        Counter counter = registry.find("coalescing.calls")
+                .tag("method", "CoalescedProbe.load")
+                .tag("role", "follower")
+                .counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
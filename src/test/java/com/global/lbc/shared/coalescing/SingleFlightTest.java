@@ -0,0 +1,197 @@
+package com.global.lbc.shared.coalescing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentIdenticalCallsShareOneExecution() throws Exception {
+        SingleFlight singleFlight = singleFlight(Duration.ofSeconds(30));
+        SingleFlight.Key key = key("default", 42);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+
+        List<Future<Object>> results = startCallers(singleFlight, key, () -> {
+            executions.incrementAndGet();
+            release.await();
+            return "result";
+        });
+        awaitFollowers(CALLERS - 1);
+        release.countDown();
+
+        Object first = results.get(0).get();
+        for (Future<Object> result : results) {
+            assertSame(first, result.get());
+        }
+        assertEquals(1, executions.get());
+        assertEquals(1.0 * (CALLERS - 1) / CALLERS, registry.get("coalescing.ratio").gauge().value(), 1e-9);
+    }
+
+    @Test
+    void leaderExceptionReachesEveryFollowerAndIsNotRemembered() throws Exception {
+        SingleFlight singleFlight = singleFlight(Duration.ofSeconds(30));
+        SingleFlight.Key key = key("default", 7);
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("database down");
+
+        List<Future<Object>> results = startCallers(singleFlight, key, () -> {
+            release.await();
+            throw failure;
+        });
+        awaitFollowers(CALLERS - 1);
+        release.countDown();
+
+        for (Future<Object> result : results) {
+            ExecutionException thrown = assertThrows(ExecutionException.class, result::get);
+            assertSame(failure, thrown.getCause());
+        }
+        // The failed flight is gone: the next call runs again
+        assertEquals("recovered", singleFlight.execute(key, () -> "recovered"));
+    }
+
+    @Test
+    void errorsAreRethrownAsErrors() throws Exception {
+        SingleFlight singleFlight = singleFlight(Duration.ofSeconds(30));
+        SingleFlight.Key key = key("default", 9);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<Object>> results = startCallers(singleFlight, key, () -> {
+            release.await();
+            throw new OutOfMemoryError("simulated");
+        });
+        awaitFollowers(CALLERS - 1);
+        release.countDown();
+
+        for (Future<Object> result : results) {
+            assertInstanceOf(OutOfMemoryError.class, assertThrows(ExecutionException.class, result::get).getCause());
+        }
+    }
+
+    @Test
+    void differentArgumentsOrTenantsNeverShareAFlight() throws Exception {
+        SingleFlight singleFlight = singleFlight(Duration.ofSeconds(30));
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+
+        List<Future<Object>> results = new ArrayList<>();
+        for (SingleFlight.Key key : List.of(key("default", 1), key("default", 2), key("acme", 1))) {
+            results.add(executor.submit(() -> singleFlight.execute(key, () -> {
+                executions.incrementAndGet();
+                release.await();
+                return key.tenantId() + key.arguments();
+            })));
+        }
+        while (executions.get() < 3) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        assertEquals("default[1]", results.get(0).get());
+        assertEquals("default[2]", results.get(1).get());
+        assertEquals("acme[1]", results.get(2).get());
+    }
+
+    @Test
+    void followerStopsWaitingAfterMaxWaitAndRunsItself() throws Exception {
+        SingleFlight singleFlight = singleFlight(Duration.ofMillis(50));
+        SingleFlight.Key key = key("default", 3);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+
+        Future<Object> leader = executor.submit(() -> singleFlight.execute(key, () -> {
+            executions.incrementAndGet();
+            release.await();
+            return "slow";
+        }));
+        while (executions.get() == 0) {
+            Thread.sleep(5);
+        }
+
+        assertEquals("fast", singleFlight.execute(key, () -> {
+            executions.incrementAndGet();
+            return "fast";
+        }));
+        release.countDown();
+        assertEquals("slow", leader.get());
+        assertEquals(2, executions.get());
+    }
+
+    private List<Future<Object>> startCallers(SingleFlight singleFlight, SingleFlight.Key key,
+                                              Callable<Object> call) throws InterruptedException {
+        List<Future<Object>> results = new ArrayList<>();
+        results.add(executor.submit(() -> singleFlight.execute(key, call)));
+        // The leader must own the flight before the followers arrive
+        awaitLeaders(1);
+        for (int i = 1; i < CALLERS; i++) {
+            results.add(executor.submit(() -> singleFlight.execute(key, call)));
+        }
+        return results;
+    }
+
+    private void awaitLeaders(int count) throws InterruptedException {
+        awaitCounter("leader", count);
+    }
+
+    private void awaitFollowers(int count) throws InterruptedException {
+        awaitCounter("follower", count);
+    }
+
+    private void awaitCounter(String role, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (count(role) < count) {
+            assertTrue(System.nanoTime() < deadline, "callers did not arrive within 5s");
+            Thread.sleep(5);
+        }
+        // The counter is incremented just before the caller blocks on the flight
+        Thread.sleep(20);
+    }
+
+    private double count(String role) {
+        Counter counter = registry.find("coalescing.calls").tag("role", role).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private SingleFlight singleFlight(Duration maxWait) {
+        SingleFlight singleFlight = new SingleFlight();
+        singleFlight.registry = registry;
+        singleFlight.enabled = true;
+        singleFlight.maxWait = maxWait;
+        return singleFlight;
+    }
+
+    private static SingleFlight.Key key(String tenantId, Object argument) throws NoSuchMethodException {
+        Method method = SingleFlightTest.class.getDeclaredMethod("key", String.class, Object.class);
+        return new SingleFlight.Key(tenantId, method, List.of(argument));
+    }
+}
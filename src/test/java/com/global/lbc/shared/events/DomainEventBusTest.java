@@ -0,0 +1,179 @@
+package com.global.lbc.shared.events;
+
+import com.global.lbc.shared.tenant.Tenant;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Delivery guarantees of the bus, observed through a test-only subscriber: per-key order across
+// parallel lanes, in-place retries, giving up after max-attempts, nothing from rollbacks, and work
+// queued on the lanes or run with them paused.
+@QuarkusTest
+class DomainEventBusTest {
+
+    private static final int KEYS = 8;
+    private static final int EVENTS_PER_KEY = 100;
+
+    @Inject
+    DomainEventBus bus;
+
+    @Inject
+    ProbeSubscriber subscriber;
+
+    @Inject
+    Event<DomainEvent> domainEvents;
+
+    @Inject
+    MeterRegistry registry;
+
+    @BeforeEach
+    void awaitReplay() throws InterruptedException {
+        await(bus::isReplayed, "startup replay did not finish");
+    }
+
+    @Test
+    void eventsOfOneKeyAreHandledInPublicationOrder() throws InterruptedException {
+        List<UUID> keys = new ArrayList<>();
+        for (int i = 0; i < KEYS; i++) {
+            keys.add(UUID.randomUUID());
+        }
+        for (int sequence = 0; sequence < EVENTS_PER_KEY; sequence++) {
+            for (UUID key : keys) {
+                bus.publish(Tenant.DEFAULT, new ProbeEvent(key, sequence));
+            }
+        }
+
+        List<Integer> expected = IntStream.range(0, EVENTS_PER_KEY).boxed().toList();
+        for (UUID key : keys) {
+            await(() -> subscriber.received(key).size() == EVENTS_PER_KEY, "events of " + key + " not delivered");
+            assertEquals(expected, subscriber.received(key));
+        }
+    }
+
+    @Test
+    void failingSubscriberIsRetriedInPlaceWithoutReordering() throws InterruptedException {
+        UUID key = UUID.randomUUID();
+        subscriber.failTimes(key, 0, 2);
+        double retriedBefore = count("domain.events.retried");
+
+        for (int sequence = 0; sequence < 3; sequence++) {
+            bus.publish(Tenant.DEFAULT, new ProbeEvent(key, sequence));
+        }
+
+        await(() -> subscriber.received(key).size() == 3, "events not delivered after retries");
+        assertEquals(List.of(0, 1, 2), subscriber.received(key));
+        assertEquals(3, subscriber.attempts(key, 0));
+        assertEquals(1, subscriber.attempts(key, 1));
+        assertEquals(2, count("domain.events.retried") - retriedBefore, 1e-9);
+    }
+
+    @Test
+    void eventIsGivenUpAfterMaxAttemptsAndTheLaneMovesOn() throws InterruptedException {
+        UUID key = UUID.randomUUID();
+        subscriber.failTimes(key, 0, 10);
+        double failedBefore = count("domain.events.failed");
+
+        bus.publish(Tenant.DEFAULT, new ProbeEvent(key, 0));
+        bus.publish(Tenant.DEFAULT, new ProbeEvent(key, 1));
+
+        await(() -> subscriber.received(key).size() == 1, "lane stuck on a failing event");
+        assertEquals(List.of(1), subscriber.received(key));
+        assertEquals(3, subscriber.attempts(key, 0));
+        assertEquals(1, count("domain.events.failed") - failedBefore, 1e-9);
+    }
+
+    @Test
+    void onlyCommittedTransactionsPublish() throws InterruptedException {
+        UUID rolledBack = UUID.randomUUID();
+        UUID committed = UUID.randomUUID();
+
+        QuarkusTransaction.requiringNew().run(() -> {
+            domainEvents.fire(new ProbeEvent(rolledBack, 0));
+            QuarkusTransaction.setRollbackOnly();
+        });
+        QuarkusTransaction.requiringNew().run(() -> domainEvents.fire(new ProbeEvent(committed, 0)));
+
+        await(() -> subscriber.received(committed).size() == 1, "committed event not delivered");
+        assertEquals(Tenant.DEFAULT, subscriber.tenants.get(committed));
+        // The two keys may sit on different lanes: give the rolled-back one time to show up if it were sent
+        Thread.sleep(200);
+        assertEquals(0, subscriber.attempts(rolledBack, 0));
+    }
+
+    @Test
+    void taskOnTheLanesSeesEarlierEventsOfItsKeysAndNoLaterOnes() throws InterruptedException {
+        UUID key = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        List<Set<UUID>> taskKeys = new CopyOnWriteArrayList<>();
+        AtomicInteger seenByTask = new AtomicInteger(-1);
+
+        bus.publish(Tenant.DEFAULT, new ProbeEvent(key, 0));
+        bus.publish(Tenant.DEFAULT, new ProbeEvent(key, 1));
+        bus.runOnLanes(Set.of(key, other), keys -> {
+            taskKeys.add(keys);
+            if (keys.contains(key)) {
+                seenByTask.set(subscriber.received(key).size());
+            }
+        });
+        bus.publish(Tenant.DEFAULT, new ProbeEvent(key, 2));
+
+        await(() -> subscriber.received(key).size() == 3, "events not delivered");
+        assertEquals(2, seenByTask.get());
+        // Once per lane, every key exactly once
+        await(() -> taskKeys.stream().mapToInt(Set::size).sum() == 2, "task did not run for both keys");
+        assertTrue(taskKeys.size() <= 2);
+    }
+
+    @Test
+    void eventsPublishedWhileTheLanesArePausedAreAppliedAfterTheTask() throws InterruptedException {
+        UUID key = UUID.randomUUID();
+        bus.publish(Tenant.DEFAULT, new ProbeEvent(key, 0));
+        AtomicInteger seenByTask = new AtomicInteger(-1);
+
+        bus.withLanesPaused(() -> {
+            bus.publish(Tenant.DEFAULT, new ProbeEvent(key, 1));
+            try {
+                // Long enough for a running lane to have delivered it
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            seenByTask.set(subscriber.received(key).size());
+        });
+
+        // Queued before the pause: already delivered when the task ran
+        assertEquals(1, seenByTask.get());
+        await(() -> subscriber.received(key).size() == 2, "event published during the pause not delivered");
+        assertEquals(List.of(0, 1), subscriber.received(key));
+    }
+
+    private double count(String name) {
+        Counter counter = registry.find(name).tag("type", "ProbeEvent").counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static void await(BooleanSupplier condition, String message) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, message);
+            Thread.sleep(10);
+        }
+    }
+}
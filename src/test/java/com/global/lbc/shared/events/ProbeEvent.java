@@ -0,0 +1,17 @@
+package com.global.lbc.shared.events;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Test-only event: the sequence number lets ProbeSubscriber check delivery order per key
+public record ProbeEvent(UUID aggregateId, int sequence, Instant occurredAt) implements DomainEvent {
+
+    public ProbeEvent(UUID aggregateId, int sequence) {
+        this(aggregateId, sequence, Instant.now());
+    }
+
+    @Override
+    public String aggregateType() {
+        return "probe";
+    }
+}
@@ -0,0 +1,66 @@
+package com.global.lbc.shared.events;
+
+import com.global.lbc.shared.tenant.Tenant;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Test-only subscriber: records the sequences it handled per key, and can be told to fail a given
+// event a number of times before accepting it.
+@ApplicationScoped
+public class ProbeSubscriber implements DomainEventSubscriber {
+
+    final Map<UUID, List<Integer>> received = new ConcurrentHashMap<>();
+    final Map<String, AtomicInteger> failuresLeft = new ConcurrentHashMap<>();
+    final Map<String, AtomicInteger> attempts = new ConcurrentHashMap<>();
+    final Map<UUID, Tenant> tenants = new ConcurrentHashMap<>();
+
+    @Override
+    public void on(Tenant tenant, DomainEvent event) {
+        if (!(event instanceof ProbeEvent probe)) {
+            return;
+        }
+        String id = id(probe.aggregateId(), probe.sequence());
+        attempts.computeIfAbsent(id, k -> new AtomicInteger()).incrementAndGet();
+        AtomicInteger failures = failuresLeft.get(id);
+        if (failures != null && failures.getAndDecrement() > 0) {
+            throw new IllegalStateException("probe failure for " + id);
+        }
+        // Uneven handling times: lanes running in parallel must still keep each key in order
+        if (ThreadLocalRandom.current().nextInt(4) == 0) {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        tenants.put(probe.aggregateId(), tenant);
+        received.computeIfAbsent(probe.aggregateId(), k -> Collections.synchronizedList(new ArrayList<>()))
+                .add(probe.sequence());
+    }
+
+    void failTimes(UUID key, int sequence, int times) {
+        failuresLeft.put(id(key, sequence), new AtomicInteger(times));
+    }
+
+    int attempts(UUID key, int sequence) {
+        AtomicInteger count = attempts.get(id(key, sequence));
+        return count == null ? 0 : count.get();
+    }
+
+    List<Integer> received(UUID key) {
+        List<Integer> sequences = received.get(key);
+        return sequences == null ? List.of() : List.copyOf(sequences);
+    }
+
+    private static String id(UUID key, int sequence) {
+        return key + "#" + sequence;
+    }
+}
@@ -0,0 +1,151 @@
+package com.global.lbc.shared.idempotency;
+
+import com.global.lbc.features.auth.apparatus.usecases.security.TokenService;
+import com.global.lbc.shared.client.ClientIdentity;
+import com.global.lbc.shared.tenant.Tenant;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// End to end through IdempotencyFilter and IdempotencyStore, on a test-only endpoint that counts
+// how many times each request body actually ran.
+@QuarkusTest
+class IdempotencyFilterTest {
+
+    private static final int DUPLICATES = 6;
+
+    @Inject
+    TokenService tokenService;
+
+    @AfterEach
+    void reset() {
+        IdempotencyProbeResource.RUNS.clear();
+        IdempotencyProbeResource.FAIL_NEXT.set(false);
+    }
+
+    @Test
+    void concurrentDuplicatesRunTheRequestOnce() throws Exception {
+        String token = token();
+        String key = UUID.randomUUID().toString();
+        String body = "concurrent-" + key;
+
+        ExecutorService callers = Executors.newFixedThreadPool(DUPLICATES);
+        List<ExtractableResponse<Response>> responses = new ArrayList<>();
+        try {
+            List<Callable<ExtractableResponse<Response>>> requests = new ArrayList<>();
+            for (int i = 0; i < DUPLICATES; i++) {
+                requests.add(() -> post(token, key, body));
+            }
+            for (Future<ExtractableResponse<Response>> response : callers.invokeAll(requests)) {
+                responses.add(response.get());
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertEquals(1, IdempotencyProbeResource.RUNS.get(body).get());
+        long replayed = responses.stream()
+                .filter(response -> "true".equals(response.header(IdempotencyFilter.REPLAYED_HEADER)))
+                .count();
+        assertEquals(DUPLICATES - 1, replayed);
+        for (ExtractableResponse<Response> response : responses) {
+            assertEquals(201, response.statusCode());
+            assertEquals("ran " + body + " #1", response.asString());
+        }
+    }
+
+    @Test
+    void sameKeyWithAnotherBodyIsUnprocessable() {
+        String token = token();
+        String key = UUID.randomUUID().toString();
+
+        assertEquals(201, post(token, key, "first-" + key).statusCode());
+        ExtractableResponse<Response> reused = post(token, key, "second-" + key);
+
+        assertEquals(422, reused.statusCode());
+        assertNull(IdempotencyProbeResource.RUNS.get("second-" + key));
+    }
+
+    @Test
+    void serverErrorReleasesTheKeySoTheRetryRunsAgain() {
+        String token = token();
+        String key = UUID.randomUUID().toString();
+        String body = "retry-" + key;
+
+        IdempotencyProbeResource.FAIL_NEXT.set(true);
+        assertEquals(500, post(token, key, body).statusCode());
+
+        ExtractableResponse<Response> retry = post(token, key, body);
+        assertEquals(201, retry.statusCode());
+        assertNull(retry.header(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(2, IdempotencyProbeResource.RUNS.get(body).get());
+
+        // From now on the stored success is replayed
+        assertEquals("true", post(token, key, body).header(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(2, IdempotencyProbeResource.RUNS.get(body).get());
+    }
+
+    @Test
+    void keysBelongToTheUserNotToTheClientIdHeader() {
+        String key = UUID.randomUUID().toString();
+        String body = "owner-" + key;
+        String alice = token();
+        String bob = token();
+
+        assertEquals(201, given().auth().oauth2(alice)
+                .header(ClientIdentity.CLIENT_ID_HEADER, "shared-client")
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key)
+                .contentType("text/plain").body(body)
+                .when().post("/idempotency-probe")
+                .then().extract().statusCode());
+
+        // Same key and X-Client-Id from another user: not alice's stored response
+        ExtractableResponse<Response> other = given().auth().oauth2(bob)
+                .header(ClientIdentity.CLIENT_ID_HEADER, "shared-client")
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key)
+                .contentType("text/plain").body(body)
+                .when().post("/idempotency-probe")
+                .then().extract();
+        assertNull(other.header(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(2, IdempotencyProbeResource.RUNS.get(body).get());
+
+        // Same user with another X-Client-Id: still the same key
+        ExtractableResponse<Response> again = given().auth().oauth2(alice)
+                .header(ClientIdentity.CLIENT_ID_HEADER, "another-client")
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key)
+                .contentType("text/plain").body(body)
+                .when().post("/idempotency-probe")
+                .then().extract();
+        assertEquals("true", again.header(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(2, IdempotencyProbeResource.RUNS.get(body).get());
+    }
+
+    private ExtractableResponse<Response> post(String token, String key, String body) {
+        return given().auth().oauth2(token)
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key)
+                .contentType("text/plain")
+                .body(body)
+                .when().post("/idempotency-probe")
+                .then().extract();
+    }
+
+    private String token() {
+        return tokenService.issue(UUID.randomUUID(), "idempotency." + UUID.randomUUID() + "@example.com",
+                null, "EMPLOYEE", Tenant.DEFAULT_ID);
+    }
+}
@@ -0,0 +1,36 @@
+package com.global.lbc.shared.idempotency;
+
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Test-only endpoint behind IdempotencyFilter: counts how often each body really ran, and can be
+// told to fail with a 500 once.
+@Path("/idempotency-probe")
+public class IdempotencyProbeResource {
+
+    static final Map<String, AtomicInteger> RUNS = new ConcurrentHashMap<>();
+    static final AtomicBoolean FAIL_NEXT = new AtomicBoolean();
+
+    @POST
+    @Idempotent
+    @Consumes(MediaType.TEXT_PLAIN)
+    @Produces(MediaType.TEXT_PLAIN)
+    public Response run(String body) throws InterruptedException {
+        int run = RUNS.computeIfAbsent(body, b -> new AtomicInteger()).incrementAndGet();
+        // Long enough for concurrent duplicates to arrive while the first one is still running
+        Thread.sleep(200);
+        if (FAIL_NEXT.compareAndSet(true, false)) {
+            return Response.serverError().entity("failed " + body).build();
+        }
+        return Response.status(Response.Status.CREATED).entity("ran " + body + " #" + run).build();
+    }
+}
@@ -0,0 +1,240 @@
+package com.global.lbc.shared.invalidation;
+
+import com.global.lbc.features.employee.apparatus.model.Employee;
+import com.global.lbc.features.employee.apparatus.model.util.EmployeeRole;
+import com.global.lbc.features.employee.apparatus.model.util.EmploymentType;
+import com.global.lbc.features.employee.apparatus.usecases.hierarchy.HierarchyIndex;
+import com.global.lbc.features.vacation.apparatus.model.Vacation;
+import com.global.lbc.features.vacation.apparatus.usecases.projection.VacationStatsProjection;
+import com.global.lbc.shared.events.ProbeEvent;
+import com.global.lbc.shared.tenant.Tenant;
+import io.agroal.api.AgroalDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Plays the other instance: rows are written with plain Panache (no service, so no local domain
+// event) and announced with pg_notify under a foreign origin, exactly as a second instance would.
+// The in-memory projections of this instance must catch up from the notification alone, or from
+// the full reload when the listen connection was lost. The other way round, a burst of local
+// changes must leave this instance as a few notifications.
+@QuarkusTest
+class ClusterInvalidationTest {
+
+    private static final String OTHER_INSTANCE = UUID.randomUUID().toString();
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Inject
+    VacationStatsProjection projection;
+
+    @Inject
+    HierarchyIndex hierarchy;
+
+    @Inject
+    ClusterInvalidation invalidation;
+
+    @Inject
+    MeterRegistry registry;
+
+    private final List<UUID> createdEmployees = new ArrayList<>();
+
+    @AfterEach
+    void deleteRows() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            Vacation.delete("employee.id in ?1", createdEmployees);
+            for (int i = createdEmployees.size() - 1; i >= 0; i--) {
+                Employee.deleteById(createdEmployees.get(i));
+            }
+        });
+        createdEmployees.clear();
+    }
+
+    @Test
+    void vacationWrittenElsewhereReachesTheStats() throws SQLException {
+        int year = Year.now().getValue();
+        UUID employeeId = createEmployee();
+        UUID vacationId = createVacation(employeeId, LocalDate.of(year, 5, 4), LocalDate.of(year, 5, 8));
+        assertEquals(0, projection.stats(Tenant.DEFAULT, employeeId, year).pendingDays);
+
+        notifyFromOtherInstance("vacation", vacationId);
+
+        awaitTrue(() -> projection.stats(Tenant.DEFAULT, employeeId, year).pendingDays == 5);
+    }
+
+    @Test
+    void lostListenConnectionReloadsEverything() throws SQLException {
+        int year = Year.now().getValue();
+        UUID employeeId = createEmployee();
+        createVacation(employeeId, LocalDate.of(year, 6, 1), LocalDate.of(year, 6, 3));
+        double flushes = fullFlushes();
+
+        // Never announced: only the reload after reconnecting can bring it in
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT pg_terminate_backend(pid) FROM pg_stat_activity"
+                             + " WHERE application_name = 'cache-invalidation' AND datname = current_database()")) {
+            statement.execute();
+        }
+
+        // reconnect-delay is 2s
+        awaitTrue(() -> fullFlushes() > flushes, 10);
+        awaitTrue(() -> projection.stats(Tenant.DEFAULT, employeeId, year).pendingDays == 3, 10);
+    }
+
+    @Test
+    void burstOfLocalChangesLeavesAsAFewNotifications() throws SQLException {
+        Set<UUID> ids = Set.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN lbc_cache_invalidation");
+            }
+            try {
+                for (int i = 0; i < 100; i++) {
+                    for (UUID id : ids) {
+                        invalidation.on(Tenant.DEFAULT, new ProbeEvent(id, i));
+                    }
+                }
+
+                // The loop fits in one batch window, or straddles two
+                List<String> lines = new ArrayList<>();
+                int notifications = 0;
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                long deadline = System.nanoTime() + 2_000_000_000L;
+                while (System.nanoTime() < deadline) {
+                    PGNotification[] received = pgConnection.getNotifications(100);
+                    for (PGNotification notification : received == null ? new PGNotification[0] : received) {
+                        List<String> ours = ours(notification.getParameter(), ids);
+                        if (!ours.isEmpty()) {
+                            notifications++;
+                            lines.addAll(ours);
+                        }
+                    }
+                }
+
+                Set<UUID> announced = new HashSet<>();
+                for (String line : lines) {
+                    assertTrue(line.startsWith(Tenant.DEFAULT_ID + " probe "), line);
+                    announced.add(UUID.fromString(line.split(" ")[2]));
+                }
+                assertEquals(ids, announced);
+                assertTrue(notifications <= 2, notifications + " notifications for one burst");
+                assertTrue(lines.size() <= 2 * ids.size(), lines.size() + " entries for " + ids.size() + " aggregates");
+            } finally {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("UNLISTEN *");
+                }
+            }
+        }
+    }
+
+    @Test
+    void managerChangedElsewhereReachesTheHierarchy() throws SQLException {
+        UUID managerId = createEmployee();
+        UUID employeeId = createEmployee();
+        QuarkusTransaction.requiringNew().run(() -> {
+            Employee employee = Employee.findById(employeeId);
+            employee.manager = Employee.findById(managerId);
+        });
+        assertFalse(hierarchy.isAncestor(Tenant.DEFAULT, managerId, employeeId));
+
+        notifyFromOtherInstance("employee", employeeId);
+
+        awaitTrue(() -> hierarchy.isAncestor(Tenant.DEFAULT, managerId, employeeId));
+    }
+
+    private void notifyFromOtherInstance(String aggregateType, UUID id) throws SQLException {
+        String payload = OTHER_INSTANCE + '\n' + Tenant.DEFAULT_ID + ' ' + aggregateType + ' ' + id;
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            statement.setString(1, "lbc_cache_invalidation");
+            statement.setString(2, payload);
+            statement.execute();
+        }
+    }
+
+    // Entries of the payload about one of ids
+    private static List<String> ours(String payload, Set<UUID> ids) {
+        List<String> lines = new ArrayList<>();
+        for (String line : payload.split("\n")) {
+            String[] parts = line.split(" ");
+            if (parts.length == 3 && ids.stream().anyMatch(id -> id.toString().equals(parts[2]))) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    private double fullFlushes() {
+        Counter counter = registry.find("cache.invalidation.full.flushes").counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        awaitTrue(condition, 5);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition, int seconds) {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "not invalidated within " + seconds + "s");
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private UUID createVacation(UUID employeeId, LocalDate start, LocalDate end) {
+        return QuarkusTransaction.requiringNew().call(() -> {
+            Vacation vacation = new Vacation();
+            vacation.employee = Employee.findById(employeeId);
+            vacation.startDate = start;
+            vacation.endDate = end;
+            vacation.daysRequested = (int) (end.toEpochDay() - start.toEpochDay() + 1);
+            vacation.persist();
+            return vacation.id;
+        });
+    }
+
+    private UUID createEmployee() {
+        UUID id = QuarkusTransaction.requiringNew().call(() -> {
+            Employee employee = new Employee();
+            employee.name = "Invalidation";
+            employee.surname = "Test";
+            employee.employmentType = EmploymentType.FULL_TIME;
+            employee.employeeRole = EmployeeRole.EMPLOYEE;
+            employee.hireDate = LocalDate.of(2020, 1, 1);
+            employee.persist();
+            return employee.id;
+        });
+        createdEmployees.add(id);
+        return id;
+    }
+}
@@ -0,0 +1,65 @@
+package com.global.lbc.shared.invalidation;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InvalidationTest {
+
+    private static final String ORIGIN = UUID.randomUUID().toString();
+
+    @Test
+    void roundTripsABatch() {
+        List<Invalidation> batch = List.of(
+                new Invalidation("default", "employee", UUID.randomUUID()),
+                new Invalidation("acme", "vacation", UUID.randomUUID()));
+
+        List<String> payloads = Invalidation.encode(ORIGIN, batch);
+
+        assertEquals(1, payloads.size());
+        Invalidation.Decoded decoded = Invalidation.decode(payloads.get(0));
+        assertEquals(ORIGIN, decoded.origin());
+        assertEquals(batch, decoded.invalidations());
+    }
+
+    @Test
+    void splitsBurstsBelowThePayloadLimit() {
+        List<Invalidation> burst = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            burst.add(new Invalidation("tenant_with_a_long_identifier", "vacation", UUID.randomUUID()));
+        }
+
+        List<String> payloads = Invalidation.encode(ORIGIN, burst);
+
+        assertTrue(payloads.size() > 1);
+        List<Invalidation> decoded = new ArrayList<>();
+        for (String payload : payloads) {
+            assertTrue(payload.getBytes(StandardCharsets.UTF_8).length <= Invalidation.MAX_PAYLOAD_BYTES);
+            Invalidation.Decoded part = Invalidation.decode(payload);
+            assertEquals(ORIGIN, part.origin());
+            decoded.addAll(part.invalidations());
+        }
+        assertEquals(burst, decoded);
+    }
+
+    @Test
+    void skipsMalformedLines() {
+        UUID id = UUID.randomUUID();
+        String payload = ORIGIN + "\ndefault employee not-a-uuid\ngarbage\ndefault employee " + id;
+
+        Invalidation.Decoded decoded = Invalidation.decode(payload);
+
+        assertEquals(List.of(new Invalidation("default", "employee", id)), decoded.invalidations());
+    }
+
+    @Test
+    void emptyBatchSendsNothing() {
+        assertTrue(Invalidation.encode(ORIGIN, List.of()).isEmpty());
+    }
+}
@@ -0,0 +1,121 @@
+package com.global.lbc.shared.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Checks the GCRA arithmetic, the bucket cap and that admission stays far below the cost of a request.
+class ClientRateLimiterBenchmarkTest {
+
+    private static final int CLIENTS = 10_000;
+    private static final int THREADS = 4;
+    private static final int OPERATIONS_PER_THREAD = 2_000_000;
+
+    @Test
+    void burstIsAdmittedThenRequestsAreSpacedByTheRate() {
+        // 10/s with a burst of 5: one token every 100 ms
+        ClientRateLimiter limiter = new ClientRateLimiter(
+                Map.of(EndpointClass.SEARCH, new ClientRateLimiter.Quota(10, 5)));
+        long now = 0;
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("client:a", EndpointClass.SEARCH, now));
+        }
+        long wait = limiter.tryAcquire("client:a", EndpointClass.SEARCH, now);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), wait);
+
+        // Other clients and other classes are not affected
+        assertEquals(0, limiter.tryAcquire("client:b", EndpointClass.SEARCH, now));
+        assertEquals(0, limiter.tryAcquire("client:a", EndpointClass.READ, now));
+
+        now += wait;
+        assertEquals(0, limiter.tryAcquire("client:a", EndpointClass.SEARCH, now));
+        assertTrue(limiter.tryAcquire("client:a", EndpointClass.SEARCH, now) > 0);
+
+        // Once refilled the bucket is evicted, and a new one behaves the same
+        assertEquals(0, limiter.evictIdle(now + TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    @Test
+    void bucketsAreCappedAndNewcomersShareTheOverflowBucket() {
+        // 1/s with a burst of 2, at most 100 buckets
+        ClientRateLimiter limiter = new ClientRateLimiter(
+                Map.of(EndpointClass.WRITE, new ClientRateLimiter.Quota(1, 2)), 100);
+        long now = TimeUnit.SECONDS.toNanos(10);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, limiter.tryAcquire("ip:10.0.0." + i, EndpointClass.WRITE, now));
+        }
+        // Cap reached, nothing idle yet: the next clients share one bucket, and its burst
+        assertEquals(0, limiter.tryAcquire("ip:10.0.1.1", EndpointClass.WRITE, now));
+        assertEquals(0, limiter.tryAcquire("ip:10.0.1.2", EndpointClass.WRITE, now));
+        assertTrue(limiter.tryAcquire("ip:10.0.1.3", EndpointClass.WRITE, now) > 0);
+        assertEquals(101, limiter.size());
+
+        // Once the buckets are full again, a newcomer sweeps them and gets its own
+        now += TimeUnit.SECONDS.toNanos(5);
+        assertEquals(0, limiter.tryAcquire("ip:10.0.2.1", EndpointClass.WRITE, now));
+        assertEquals(0, limiter.tryAcquire("ip:10.0.2.1", EndpointClass.WRITE, now));
+        assertTrue(limiter.tryAcquire("ip:10.0.2.1", EndpointClass.WRITE, now) > 0);
+        assertEquals(1, limiter.size());
+    }
+
+    @Test
+    void admissionCostIsNegligible() throws Exception {
+        ClientRateLimiter limiter = new ClientRateLimiter(Map.of(
+                EndpointClass.READ, new ClientRateLimiter.Quota(1_000_000, 1_000)));
+        String[] clients = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            clients[i] = "ip:10.0." + (i / 256) + "." + (i % 256);
+        }
+
+        // Warm-up
+        run(limiter, clients, OPERATIONS_PER_THREAD / 4);
+
+        long start = System.nanoTime();
+        long admitted = run(limiter, clients, OPERATIONS_PER_THREAD);
+        long elapsed = System.nanoTime() - start;
+
+        double nanosPerOperation = (double) elapsed / OPERATIONS_PER_THREAD;
+        // The quota is far above the load: everything is admitted
+        assertEquals((long) THREADS * OPERATIONS_PER_THREAD, admitted);
+        // Generous bound: a request that reaches the DB costs milliseconds
+        assertTrue(nanosPerOperation < 5_000, "admission took " + nanosPerOperation + " ns");
+    }
+
+    private static long run(ClientRateLimiter limiter, String[] clients, int operations) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int offset = t * 7919;
+                results.add(executor.submit(() -> {
+                    long admitted = 0;
+                    for (int i = 0; i < operations; i++) {
+                        String client = clients[(offset + i) % clients.length];
+                        if (limiter.tryAcquire(client, EndpointClass.READ, System.nanoTime()) == 0) {
+                            admitted++;
+                        }
+                    }
+                    return admitted;
+                }));
+            }
+            long admitted = 0;
+            for (Future<Long> result : results) {
+                admitted += result.get();
+            }
+            return admitted;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.global.lbc.shared.routing;
+
+import com.global.lbc.features.auth.apparatus.usecases.security.TokenService;
+import com.global.lbc.shared.client.ClientIdentity;
+import com.global.lbc.shared.tenant.Tenant;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.hibernate.orm.runtime.customized.QuarkusConnectionProvider;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.jdbc.connections.spi.DatabaseConnectionInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Read routing through the real interceptor, resolver and pools. Both pools point at the test
+// database; the scheduled health check is off in the test profile, so each test sets the replica
+// state itself (recordLag / markUnavailable) and the route comes back from a test-only endpoint.
+@QuarkusTest
+class ReplicaRoutingTest {
+
+    @Inject
+    ReplicaHealthMonitor health;
+
+    @Inject
+    TokenService tokenService;
+
+    @Inject
+    AgroalDataSource primary;
+
+    @Inject
+    @DataSource("replica")
+    AgroalDataSource replica;
+
+    @AfterEach
+    void reset() {
+        health.markUnavailable("reset by the test");
+    }
+
+    @Test
+    void healthCheckOfANonStandbyReportsNoLag() {
+        health.check();
+
+        assertTrue(health.isAvailable());
+        assertEquals(0, health.lastLagMillis());
+    }
+
+    @Test
+    void readsUseTheReplicaOnlyWhileItIsHealthy() {
+        String client = UUID.randomUUID().toString();
+        assertEquals("PRIMARY", read(client));
+
+        health.recordLag(0);
+        assertEquals("REPLICA", read(client));
+
+        // Over replica.routing.max-lag
+        health.recordLag(60_000);
+        assertEquals("PRIMARY", read(client));
+        assertFalse(health.isAvailable());
+    }
+
+    @Test
+    void aClientReadsItsOwnWritesFromThePrimary() {
+        health.recordLag(0);
+        String writer = UUID.randomUUID().toString();
+        String other = UUID.randomUUID().toString();
+
+        assertEquals(200, given().auth().oauth2(token())
+                .header(ClientIdentity.CLIENT_ID_HEADER, writer)
+                .when().post("/routing-probe")
+                .then().extract().statusCode());
+
+        assertEquals("PRIMARY", read(writer));
+        assertEquals("REPLICA", read(other));
+    }
+
+    @Test
+    void replicaFailingBetweenChecksFallsBackToThePrimary() throws SQLException {
+        health.recordLag(0);
+        FailoverConnectionProvider provider = new FailoverConnectionProvider(new FailingProvider(),
+                new QuarkusConnectionProvider(primary), health);
+
+        try (Connection connection = provider.getConnection()) {
+            assertTrue(connection.isValid(1));
+        }
+
+        // No need to wait for the next health check
+        assertFalse(health.isAvailable());
+        assertEquals("PRIMARY", read(UUID.randomUUID().toString()));
+    }
+
+    @Test
+    void healthyReplicaConnectionsNeverTouchThePrimary() throws SQLException {
+        health.recordLag(0);
+        FailoverConnectionProvider provider = new FailoverConnectionProvider(new QuarkusConnectionProvider(replica),
+                new FailingProvider(), health);
+
+        try (Connection connection = provider.getConnection()) {
+            assertTrue(connection.isValid(1));
+        }
+        assertTrue(health.isAvailable());
+    }
+
+    private String read(String client) {
+        return given().auth().oauth2(token())
+                .header(ClientIdentity.CLIENT_ID_HEADER, client)
+                .when().get("/routing-probe")
+                .then().statusCode(200)
+                .extract().asString();
+    }
+
+    private String token() {
+        return tokenService.issue(UUID.randomUUID(), "routing." + UUID.randomUUID() + "@example.com", null,
+                "EMPLOYEE", Tenant.DEFAULT_ID);
+    }
+
+    // A pool whose database went away
+    static final class FailingProvider implements ConnectionProvider {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            throw new SQLException("Connection refused", "08001");
+        }
+
+        @Override
+        public void closeConnection(Connection connection) throws SQLException {
+            connection.close();
+        }
+
+        @Override
+        public boolean supportsAggressiveRelease() {
+            return false;
+        }
+
+        @Override
+        public DatabaseConnectionInfo getDatabaseConnectionInfo(Dialect dialect) {
+            return null;
+        }
+
+        @Override
+        public boolean isUnwrappableAs(Class<?> unwrapType) {
+            return false;
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> unwrapType) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
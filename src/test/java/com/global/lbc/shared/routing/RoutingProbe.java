@@ -0,0 +1,19 @@
+package com.global.lbc.shared.routing;
+
+import io.quarkus.hibernate.orm.panache.Panache;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+// Test-only read: opens the request's Hibernate session and reports the route it was opened on
+@ApplicationScoped
+public class RoutingProbe {
+
+    @Inject
+    DataSourceRoutingContext routingContext;
+
+    @ReadReplica
+    public String read() {
+        Panache.getEntityManager().createNativeQuery("SELECT 1").getSingleResult();
+        return routingContext.route().name();
+    }
+}
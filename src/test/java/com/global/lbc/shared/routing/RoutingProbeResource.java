@@ -0,0 +1,28 @@
+package com.global.lbc.shared.routing;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+
+// Test-only endpoint: GET reads through @ReadReplica, POST is a successful write for read-your-writes
+@Path("/routing-probe")
+public class RoutingProbeResource {
+
+    @Inject
+    RoutingProbe probe;
+
+    @GET
+    @Produces(MediaType.TEXT_PLAIN)
+    public String read() {
+        return probe.read();
+    }
+
+    @POST
+    @Produces(MediaType.TEXT_PLAIN)
+    public String write() {
+        return "written";
+    }
+}
@@ -0,0 +1,77 @@
+package com.global.lbc.shared.tenant;
+
+import com.global.lbc.features.auth.apparatus.usecases.security.AuthPrincipal;
+import org.junit.jupiter.api.Test;
+
+import java.security.Principal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The rules themselves, including the anonymous cases that auth.required=true already stops earlier
+class TenantResolutionTest {
+
+    private final Tenant acme = Tenant.of("acme");
+
+    private TenantResolution resolution() {
+        TenantRegistry registry = new TenantRegistry();
+        registry.register(acme);
+        TenantResolution resolution = new TenantResolution();
+        resolution.registry = registry;
+        return resolution;
+    }
+
+    @Test
+    void tokenDecidesTheTenant() {
+        TenantResolution resolution = resolution();
+
+        assertEquals(acme, resolution.resolve(null, principal("acme"), false).tenant());
+        assertEquals(acme, resolution.resolve("acme", principal("acme"), false).tenant());
+        assertEquals(Tenant.DEFAULT, resolution.resolve(null, principal(Tenant.DEFAULT_ID), false).tenant());
+    }
+
+    @Test
+    void headerNamingAnotherTenantThanTheTokenIsForbidden() {
+        TenantResolution resolution = resolution();
+
+        assertRefused(403, resolution.resolve(Tenant.DEFAULT_ID, principal("acme"), false));
+        assertRefused(403, resolution.resolve("acme", principal(Tenant.DEFAULT_ID), false));
+        // Not even on the login path
+        assertRefused(403, resolution.resolve("acme", principal(Tenant.DEFAULT_ID), true));
+    }
+
+    @Test
+    void anonymousCallersOnlyReachTheDefaultTenantExceptToLogIn() {
+        TenantResolution resolution = resolution();
+
+        assertEquals(Tenant.DEFAULT, resolution.resolve(null, null, false).tenant());
+        assertEquals(Tenant.DEFAULT, resolution.resolve(Tenant.DEFAULT_ID, null, false).tenant());
+        assertRefused(401, resolution.resolve("acme", null, false));
+        assertEquals(acme, resolution.resolve("acme", null, true).tenant());
+
+        // A principal without a tenant claim is no better than none
+        Principal foreign = () -> "someone";
+        assertRefused(401, resolution.resolve("acme", foreign, false));
+    }
+
+    @Test
+    void unknownTenantsAreBadRequests() {
+        TenantResolution resolution = resolution();
+
+        assertRefused(400, resolution.resolve("nobody_here", null, true));
+        assertRefused(400, resolution.resolve(null, principal("dropped"), false));
+    }
+
+    private static void assertRefused(int status, TenantResolution.Result result) {
+        assertTrue(result.isRefused());
+        assertEquals(status, result.status());
+        assertFalse(result.error().isBlank());
+    }
+
+    private static AuthPrincipal principal(String tenantId) {
+        return new AuthPrincipal(UUID.randomUUID(), "someone@" + tenantId + ".test", UUID.randomUUID(), "EMPLOYEE",
+                Long.MAX_VALUE, tenantId);
+    }
+}
@@ -0,0 +1,59 @@
+package com.global.lbc.tools.dataset;
+
+import com.global.lbc.features.employee.apparatus.usecases.any.fiscal.number.strategy.BrazilCPFValidationStrategy;
+import com.global.lbc.features.employee.apparatus.usecases.any.fiscal.number.strategy.PortugalNIFValidationStrategy;
+import com.global.lbc.features.employee.apparatus.usecases.pt.social.number.SocialNumber;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SyntheticDatasetGeneratorTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 1);
+
+    @Test
+    void identifiersAreValidAndUnique(@TempDir Path dir) throws Exception {
+        new SyntheticDatasetGenerator(7L, 20_000, 3, TODAY).writeTo(dir);
+
+        PortugalNIFValidationStrategy nif = new PortugalNIFValidationStrategy();
+        BrazilCPFValidationStrategy cpf = new BrazilCPFValidationStrategy();
+        Set<String> fiscalNumbers = new HashSet<>();
+        Set<String> socialNumbers = new HashSet<>();
+
+        List<String> rows = Files.readAllLines(dir.resolve("employee_profile.copy"));
+        assertEquals(20_000, rows.size());
+
+        for (String row : rows) {
+            String[] columns = row.split("\t");
+            String fiscalNumber = columns[3];
+            String country = columns[4];
+            String socialNumber = columns[5];
+
+            assertTrue("PT".equals(country) ? nif.validate(fiscalNumber) : cpf.validate(fiscalNumber), fiscalNumber);
+            assertTrue(fiscalNumbers.add(fiscalNumber), "duplicate fiscal number " + fiscalNumber);
+            if (!"\\N".equals(socialNumber)) {
+                assertEquals(socialNumber, SocialNumber.of(socialNumber).getValue());
+                assertTrue(socialNumbers.add(socialNumber), "duplicate social number " + socialNumber);
+            }
+        }
+    }
+
+    @Test
+    void sameSeedProducesIdenticalFiles(@TempDir Path first, @TempDir Path second) throws Exception {
+        new SyntheticDatasetGenerator(99L, 5_000, 2, TODAY).writeTo(first);
+        new SyntheticDatasetGenerator(99L, 5_000, 2, TODAY).writeTo(second);
+
+        for (String file : List.of("employee_profile.copy", "vacation_request.copy")) {
+            assertEquals(-1L, Files.mismatch(first.resolve(file), second.resolve(file)), file);
+        }
+    }
+}